@@ -0,0 +1,150 @@
+package by.nata.newscommentsservice.cache.benchmark;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.algorithm.impl.CacheAlgorithms;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.util.unit.DataSize;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code CacheBenchmark} class measures the throughput of every {@link Cache} algorithm under the
+ * workloads described by {@link Workload}. The cache is shared by all benchmark threads, so the thread
+ * count chosen with JMH's {@code -t} option (or the "jmhThreads" Gradle property) measures contention as
+ * well.
+ *
+ * <p>The {@code hits} and {@code misses} counters reported next to the throughput give the hit ratio of
+ * the algorithm as {@code hits / (hits + misses)}; the "gc" profiler enabled in the Gradle build reports
+ * the allocation per operation.</p>
+ *
+ * <p>The off-heap cache is limited by bytes; it gets {@value #OFF_HEAP_BYTES_PER_ENTRY} bytes per entry of
+ * {@code maxSize} in sixteen slabs, which holds about as many of the small benchmark entries.</p>
+ *
+ * <p>Benchmarks:</p>
+ * <p>- {@code getOrLoad}: reads a key and puts it on a miss, like the caching aspect does.</p>
+ * <p>- {@code put}: overwrites or inserts a key.</p>
+ * <p>- {@code getOrLoadWithDeletes}: like {@code getOrLoad}, but every sixteenth request deletes the key,
+ *   like an update of the news does.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheBenchmark {
+
+    private static final int TRACE_LENGTH = 1 << 20;
+    private static final int DELETE_MASK = 15;
+    private static final int OFF_HEAP_BYTES_PER_ENTRY = 24;
+
+    @Param({"LRU", "LFU", "CONCURRENT_LRU", "TINYLFU", "ARC", "2Q", "S3FIFO", "CLOCK", "OFFHEAP", "ADAPTIVE"})
+    public String algorithm;
+
+    @Param({"UNIFORM", "ZIPFIAN", "SCAN"})
+    public Workload workload;
+
+    @Param("1000")
+    public int maxSize;
+
+    @Param("10000")
+    public int keySpace;
+
+    private Cache<Integer, Integer> cache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.setMaxSize(maxSize);
+        long offHeapBytes = (long) maxSize * OFF_HEAP_BYTES_PER_ENTRY;
+        cacheProperties.getOffHeap().setMaxBytes(DataSize.ofBytes(offHeapBytes));
+        cacheProperties.getOffHeap().setSlabSize(DataSize.ofBytes(offHeapBytes / 16));
+        cache = CacheAlgorithms.create(algorithm, cacheProperties);
+        Integer[] warmup = workload.trace(maxSize * 10, keySpace, -1);
+        for (Integer key : warmup) {
+            if (cache.get(key) == null) {
+                cache.put(key, key);
+            }
+        }
+    }
+
+    @Benchmark
+    public Integer getOrLoad(Requests requests, Counters counters) {
+        Integer key = requests.next();
+        Integer value = cache.get(key);
+        if (value == null) {
+            counters.misses++;
+            cache.put(key, key);
+            return key;
+        }
+        counters.hits++;
+        return value;
+    }
+
+    @Benchmark
+    public Integer put(Requests requests) {
+        Integer key = requests.next();
+        return cache.put(key, key);
+    }
+
+    @Benchmark
+    public Integer getOrLoadWithDeletes(Requests requests, Counters counters) {
+        if ((requests.position & DELETE_MASK) == 0) {
+            cache.delete(requests.next());
+            return null;
+        }
+        return getOrLoad(requests, counters);
+    }
+
+    /**
+     * The {@code Requests} class holds the trace of keys replayed by one benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class Requests {
+
+        private Integer[] keys;
+        private int position;
+
+        @Setup(Level.Trial)
+        public void setUp(CacheBenchmark benchmark, ThreadParams threadParams) {
+            keys = benchmark.workload.trace(TRACE_LENGTH, benchmark.keySpace, threadParams.getThreadIndex());
+        }
+
+        Integer next() {
+            Integer key = keys[position];
+            position = (position + 1) & (TRACE_LENGTH - 1);
+            return key;
+        }
+    }
+
+    /**
+     * The {@code Counters} class reports the hits and misses of one benchmark thread.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+
+        public long hits;
+        public long misses;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            hits = 0;
+            misses = 0;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package by.nata.newscommentsservice.cache.benchmark;
+
+import by.nata.newscommentsservice.cache.codec.CompactRedisSerializer;
+import by.nata.newscommentsservice.cache.codec.StampedValue;
+import by.nata.newscommentsservice.service.dto.CommentResponseDto;
+import by.nata.newscommentsservice.service.dto.NewsResponseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code RedisSerializerBenchmark} class compares the serializers of the Redis cache values: the default
+ * Java serialization ({@code JDK}), the {@link CompactRedisSerializer} without compression ({@code COMPACT})
+ * and with LZ4 compression from 1 KiB ({@code COMPACT_LZ4}). The benchmarks measure the time of writing and
+ * reading a value, the payload sizes are compared by {@code CompactRedisSerializerTest}.
+ *
+ * <p>Payloads:</p>
+ * <p>- {@code SHORT_NEWS}: A news with a text of a few sentences.</p>
+ * <p>- {@code LONG_NEWS}: A news with a text of about 8 KiB, wrapped by the refresh-ahead decorator.</p>
+ * <p>- {@code COMMENT}: A comment.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedisSerializerBenchmark {
+
+    private static final String SENTENCE = "The city council approved the new budget after a long debate on public transport. ";
+
+    @Param({"JDK", "COMPACT", "COMPACT_LZ4"})
+    public String serializer;
+
+    @Param({"SHORT_NEWS", "LONG_NEWS", "COMMENT"})
+    public String payload;
+
+    private RedisSerializer<Object> redisSerializer;
+    private Object value;
+    private byte[] bytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        redisSerializer = switch (serializer) {
+            case "JDK" -> new JdkSerializationRedisSerializer();
+            case "COMPACT" -> new CompactRedisSerializer(0);
+            case "COMPACT_LZ4" -> new CompactRedisSerializer(1024);
+            default -> throw new IllegalArgumentException("Unknown serializer: " + serializer);
+        };
+        value = switch (payload) {
+            case "SHORT_NEWS" -> new NewsResponseDto(42L, "2023-11-20 10:00:00", "Budget approved",
+                    SENTENCE.repeat(3), "journalist");
+            case "LONG_NEWS" -> new StampedValue(new NewsResponseDto(42L, "2023-11-20 10:00:00",
+                    "Budget approved", SENTENCE.repeat(100), "journalist"), System.currentTimeMillis(), 12L);
+            case "COMMENT" -> new CommentResponseDto(7L, "Finally some good news!", "subscriber",
+                    "2023-11-20 11:00:00", 42L);
+            default -> throw new IllegalArgumentException("Unknown payload: " + payload);
+        };
+        bytes = redisSerializer.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return redisSerializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return redisSerializer.deserialize(bytes);
+    }
+}
@@ -0,0 +1,88 @@
+package by.nata.newscommentsservice.cache.benchmark;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * The {@code Workload} enum describes the key distributions the cache benchmarks replay. Every workload
+ * generates a fixed trace of boxed keys up front, so the measured operations neither draw random numbers
+ * nor allocate the keys they look up.
+ *
+ * <p>- {@link #UNIFORM}: every key of the key space is equally likely.</p>
+ * <p>- {@link #ZIPFIAN}: a few keys receive most of the requests, like popular news.</p>
+ * <p>- {@link #SCAN}: Zipfian requests interleaved with long runs of keys that are requested once,
+ *   like a crawler paging through the archive.</p>
+ */
+public enum Workload {
+
+    UNIFORM {
+        @Override
+        Integer[] trace(int length, int keySpace, long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            Integer[] keys = new Integer[length];
+            for (int i = 0; i < length; i++) {
+                keys[i] = random.nextInt(keySpace);
+            }
+            return keys;
+        }
+    },
+
+    ZIPFIAN {
+        @Override
+        Integer[] trace(int length, int keySpace, long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            double[] distribution = zipfDistribution(keySpace);
+            Integer[] keys = new Integer[length];
+            for (int i = 0; i < length; i++) {
+                keys[i] = zipfKey(distribution, random);
+            }
+            return keys;
+        }
+    },
+
+    SCAN {
+        @Override
+        Integer[] trace(int length, int keySpace, long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            double[] distribution = zipfDistribution(keySpace);
+            Integer[] keys = new Integer[length];
+            int scanKey = keySpace;
+            for (int i = 0; i < length; i++) {
+                boolean scanning = (i / SCAN_LENGTH) % 2 == 1;
+                keys[i] = scanning ? scanKey++ : zipfKey(distribution, random);
+            }
+            return keys;
+        }
+    };
+
+    private static final double ZIPF_EXPONENT = 0.99;
+    private static final int SCAN_LENGTH = 1_000;
+
+    /**
+     * Generates the trace of keys requested by this workload.
+     *
+     * @param length   The number of requests in the trace.
+     * @param keySpace The number of distinct keys the regular requests are drawn from.
+     * @param seed     The seed of the random generator, so every thread replays a different trace.
+     * @return The requested keys in request order.
+     */
+    abstract Integer[] trace(int length, int keySpace, long seed);
+
+    private static double[] zipfDistribution(int keySpace) {
+        double[] cumulative = new double[keySpace];
+        double sum = 0;
+        for (int rank = 0; rank < keySpace; rank++) {
+            sum += 1 / Math.pow(rank + 1, ZIPF_EXPONENT);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < keySpace; rank++) {
+            cumulative[rank] /= sum;
+        }
+        return cumulative;
+    }
+
+    private static int zipfKey(double[] distribution, SplittableRandom random) {
+        int index = Arrays.binarySearch(distribution, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, distribution.length - 1);
+    }
+}
@@ -1,5 +1,10 @@
 package by.nata.newscommentsservice.cache.algorithm.api;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * The {@code Cache} interface defines a simple cache that stores key-value pairs. Implementations
  * of this interface allow for the storage and retrieval of values associated with keys.
@@ -26,10 +31,83 @@ public interface Cache<K, V> {
      */
     V put(K key, V value);
 
+    /**
+     * Retrieves the values associated with the specified keys. Implementations that synchronize their
+     * operations look all keys up while holding the lock once.
+     *
+     * @param keys The keys whose associated values are to be retrieved.
+     * @return The found values by their keys, in the iteration order of {@code keys}; keys without a mapping are absent.
+     */
+    default Map<K, V> getAll(Collection<K> keys) {
+        Map<K, V> found = new LinkedHashMap<>(Math.max(keys.size() * 4 / 3 + 1, 16));
+        for (K key : keys) {
+            V value = get(key);
+            if (value != null) {
+                found.put(key, value);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Associates all specified values with their keys in the cache. Implementations that synchronize their
+     * operations store all entries while holding the lock once.
+     *
+     * @param entries The values to be stored by their keys.
+     */
+    default void putAll(Map<K, V> entries) {
+        entries.forEach(this::put);
+    }
+
     /**
      * Deletes the value associated with the specified key from the cache.
      *
      * @param key The key whose associated value is to be deleted.
      */
     void delete(K key);
+
+    /**
+     * Registers the listener notified about entries the cache evicts on its own. Only one listener is
+     * kept, a subsequent call replaces the previous one.
+     *
+     * @param listener The listener to notify about evictions.
+     */
+    void setEvictionListener(EvictionListener<K, V> listener);
+
+    /**
+     * Visits all entries of the cache, ordered from the first to the last candidate for eviction. Visiting
+     * an entry does not count as an access.
+     *
+     * @param visitor The visitor receiving the entries.
+     */
+    void forEachEntry(EntryVisitor<K, V> visitor);
+
+    /**
+     * Puts an entry that was previously visited by {@link #forEachEntry(EntryVisitor)}, e.g. when the cache is
+     * reloaded from a snapshot. Policies that count accesses start the entry with the given frequency.
+     *
+     * @param key       The key of the entry.
+     * @param value     The value of the entry.
+     * @param frequency The access frequency of the entry when it was visited.
+     * @return The restored value.
+     */
+    default V restore(K key, V value, int frequency) {
+        return put(key, value);
+    }
+
+    /**
+     * Puts an entry that was previously visited together with the time since it was written, see
+     * {@link EntryVisitor#visit(Object, Object, int, Duration)}. Caches that expire entries after write keep only
+     * the remaining time to live and skip entries whose time to live has already passed; other caches ignore
+     * the age.
+     *
+     * @param key       The key of the entry.
+     * @param value     The value of the entry.
+     * @param frequency The access frequency of the entry when it was visited.
+     * @param age       The time since the value was written.
+     * @return The restored value, or {@code null} if the entry was not restored, e.g. because it has already expired.
+     */
+    default V restore(K key, V value, int frequency, Duration age) {
+        return restore(key, value, frequency);
+    }
 }
@@ -0,0 +1,36 @@
+package by.nata.newscommentsservice.cache.algorithm.api;
+
+import java.time.Duration;
+
+/**
+ * The {@code EntryVisitor} interface receives the entries of a {@link Cache} visited by
+ * {@link Cache#forEachEntry(EntryVisitor)}.
+ *
+ * @param <K> The type of keys in the cache.
+ * @param <V> The type of values in the cache.
+ */
+@FunctionalInterface
+public interface EntryVisitor<K, V> {
+
+    /**
+     * Receives a single entry of the cache.
+     *
+     * @param key       The key of the entry.
+     * @param value     The value of the entry.
+     * @param frequency The access frequency the eviction policy keeps for the entry, {@code 1} if it does not count accesses.
+     */
+    void visit(K key, V value, int frequency);
+
+    /**
+     * Receives a single entry of a cache that keeps the write time of its entries. Caches that do not keep it
+     * call {@link #visit(Object, Object, int)}, which this method defaults to as well.
+     *
+     * @param key       The key of the entry.
+     * @param value     The value of the entry.
+     * @param frequency The access frequency the eviction policy keeps for the entry.
+     * @param age       The time since the value was written.
+     */
+    default void visit(K key, V value, int frequency, Duration age) {
+        visit(key, value, frequency);
+    }
+}
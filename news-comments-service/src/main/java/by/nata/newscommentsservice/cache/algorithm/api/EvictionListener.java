@@ -0,0 +1,20 @@
+package by.nata.newscommentsservice.cache.algorithm.api;
+
+/**
+ * The {@code EvictionListener} interface is notified when a {@link Cache} removes an entry on its own,
+ * either to stay within its size limit or because the entry has expired. Explicit deletions are not reported.
+ *
+ * @param <K> The type of keys in the cache.
+ * @param <V> The type of values in the cache.
+ */
+@FunctionalInterface
+public interface EvictionListener<K, V> {
+
+    /**
+     * Called when the entry is evicted from the cache.
+     *
+     * @param key   The key of the evicted entry.
+     * @param value The value of the evicted entry.
+     */
+    void onEviction(K key, V value);
+}
@@ -0,0 +1,21 @@
+package by.nata.newscommentsservice.cache.algorithm.api;
+
+/**
+ * The {@code Weigher} interface estimates how much memory an entry of a {@link Cache} retains, so that the
+ * cache can be limited by bytes instead of by the number of its entries.
+ *
+ * @param <K> The type of keys in the cache.
+ * @param <V> The type of values in the cache.
+ */
+@FunctionalInterface
+public interface Weigher<K, V> {
+
+    /**
+     * Returns the weight of the entry.
+     *
+     * @param key   The key of the entry.
+     * @param value The value of the entry.
+     * @return The estimated retained size of the entry in bytes, not negative.
+     */
+    long weigh(K key, V value);
+}
@@ -0,0 +1,91 @@
+package by.nata.newscommentsservice.cache.algorithm.decorator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * The {@code BloomFilter} class remembers which keys were seen within a window of recent insertions, using a
+ * bit array instead of the keys. A key may be reported as seen although it was not (with the configured false
+ * positive rate), but never the other way round. Once the number of keys added reaches the window size, all
+ * bits are cleared, so the filter only answers for the current window and keeps its false positive rate.
+ *
+ * <p>The bits are set with atomic operations, so the filter can be shared by concurrent callers. A reset
+ * racing with an insertion may lose that insertion, which only delays the admission of the key.</p>
+ */
+final class BloomFilter {
+
+    private static final LongBinaryOperator OR = (word, mask) -> word | mask;
+
+    private final AtomicLongArray words;
+    private final long bitMask;
+    private final int hashCount;
+    private final int windowSize;
+    private final AtomicInteger insertions = new AtomicInteger();
+
+    /**
+     * Constructs a filter sized for the specified number of keys per window.
+     *
+     * @param windowSize        The number of keys added before the filter is cleared.
+     * @param falsePositiveRate The expected probability of reporting an unseen key as seen.
+     */
+    BloomFilter(int windowSize, double falsePositiveRate) {
+        this.windowSize = Math.max(windowSize, 1);
+        double rate = Math.min(Math.max(falsePositiveRate, 1.0e-6), 0.5);
+        double bits = -this.windowSize * Math.log(rate) / (Math.log(2) * Math.log(2));
+        int wordCount = ceilingPowerOfTwo((int) Math.min(Math.ceil(bits / Long.SIZE), 1 << 26));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitMask = (long) wordCount * Long.SIZE - 1;
+        this.hashCount = (int) Math.max(1, Math.round(bits / this.windowSize * Math.log(2)));
+    }
+
+    /**
+     * Adds the key to the filter.
+     *
+     * @param key The key to add.
+     * @return {@code true} if the key was (probably) added before within the window, {@code false} if it is new.
+     */
+    boolean put(Object key) {
+        int hash = spread(key.hashCode());
+        int step = rehash(hash) | 1;
+        boolean present = true;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = (hash + (long) i * step) & bitMask;
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((words.get(index) & mask) == 0) {
+                words.getAndAccumulate(index, mask, OR);
+                present = false;
+            }
+        }
+        if (!present && insertions.incrementAndGet() >= windowSize) {
+            reset();
+        }
+        return present;
+    }
+
+    /**
+     * Clears the filter and starts a new window.
+     */
+    void reset() {
+        insertions.set(0);
+        for (int i = 0; i < words.length(); i++) {
+            words.set(i, 0L);
+        }
+    }
+
+    private static int spread(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+
+    private static int rehash(int hash) {
+        long h = hash * 0x9e3779b97f4a7c15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int ceilingPowerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+}
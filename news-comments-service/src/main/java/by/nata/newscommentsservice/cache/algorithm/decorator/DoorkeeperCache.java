@@ -0,0 +1,106 @@
+package by.nata.newscommentsservice.cache.algorithm.decorator;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.algorithm.api.EntryVisitor;
+import by.nata.newscommentsservice.cache.algorithm.api.EvictionListener;
+import by.nata.newscommentsservice.cache.stats.CacheStatsCounter;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The {@code DoorkeeperCache} class is a {@link Cache} decorator that keeps keys requested only once out of the
+ * underlying cache. The first put of a key within a window is only recorded in a {@link BloomFilter} and the
+ * value is not stored; the key is admitted on its next put within the window, i.e. after its second miss.
+ * Keys requested once, e.g. old news reached via search, therefore no longer evict hot entries.
+ *
+ * <p>A rejected put also deletes the key from the underlying cache, so an update of an entry that was
+ * admitted before the last reset of the filter does not leave the old value behind. Restored entries bypass
+ * the filter, as they were admitted before.</p>
+ *
+ * @param <K> The type of keys in the cache.
+ * @param <V> The type of values in the cache.
+ */
+public class DoorkeeperCache<K, V> implements Cache<K, V> {
+
+    private final Cache<K, V> delegate;
+    private final BloomFilter doorkeeper;
+    private final CacheStatsCounter counter;
+
+    /**
+     * Constructs an instance of {@code DoorkeeperCache}.
+     *
+     * @param delegate          The cache that stores the admitted entries.
+     * @param windowSize        The number of distinct keys recorded before the filter is cleared.
+     * @param falsePositiveRate The probability of admitting a key on its first put.
+     * @param counter           The counter the rejected puts are recorded in.
+     */
+    public DoorkeeperCache(Cache<K, V> delegate, int windowSize, double falsePositiveRate, CacheStatsCounter counter) {
+        this.delegate = delegate;
+        this.doorkeeper = new BloomFilter(windowSize, falsePositiveRate);
+        this.counter = counter;
+    }
+
+    @Override
+    public V get(K key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (doorkeeper.put(key)) {
+            return delegate.put(key, value);
+        }
+        delegate.delete(key);
+        counter.recordRejection();
+        return value;
+    }
+
+    @Override
+    public Map<K, V> getAll(Collection<K> keys) {
+        return delegate.getAll(keys);
+    }
+
+    @Override
+    public void putAll(Map<K, V> entries) {
+        Map<K, V> admitted = new LinkedHashMap<>(Math.max(entries.size() * 4 / 3 + 1, 16));
+        entries.forEach((key, value) -> {
+            if (doorkeeper.put(key)) {
+                admitted.put(key, value);
+            } else {
+                delegate.delete(key);
+                counter.recordRejection();
+            }
+        });
+        if (!admitted.isEmpty()) {
+            delegate.putAll(admitted);
+        }
+    }
+
+    @Override
+    public void delete(K key) {
+        delegate.delete(key);
+    }
+
+    @Override
+    public void setEvictionListener(EvictionListener<K, V> listener) {
+        delegate.setEvictionListener(listener);
+    }
+
+    @Override
+    public void forEachEntry(EntryVisitor<K, V> visitor) {
+        delegate.forEachEntry(visitor);
+    }
+
+    @Override
+    public V restore(K key, V value, int frequency) {
+        return delegate.restore(key, value, frequency);
+    }
+
+    @Override
+    public V restore(K key, V value, int frequency, Duration age) {
+        return delegate.restore(key, value, frequency, age);
+    }
+}
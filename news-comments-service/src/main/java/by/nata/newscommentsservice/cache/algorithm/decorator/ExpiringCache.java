@@ -0,0 +1,231 @@
+package by.nata.newscommentsservice.cache.algorithm.decorator;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.algorithm.api.EntryVisitor;
+import by.nata.newscommentsservice.cache.algorithm.api.EvictionListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+
+/**
+ * The {@code ExpiringCache} class is a {@link Cache} decorator that adds expire-after-write and
+ * expire-after-access semantics to any cache algorithm. Every value is stored in the underlying cache
+ * together with its write and last access time, and expiry is checked lazily when the entry is read:
+ * an expired entry is deleted from the underlying cache and reported as absent. Reads do not allocate,
+ * the access time of the stored holder is updated in place.
+ *
+ * <p>Entries that are never read again are not removed eagerly; they are evicted by the underlying
+ * algorithm like any other cold entry, or deleted by {@link #forEachEntry(EntryVisitor)}, which reports them
+ * to the eviction listener before it visits the live entries. Decorators that walk the entries to free room,
+ * like the {@link WeightedCache}, therefore stop accounting for expired entries before choosing victims.</p>
+ *
+ * <p>Entries are visited together with the time since they were written, and restored entries keep their
+ * original write time, so an entry reloaded from a snapshot does not live longer than its time to live.</p>
+ *
+ * <p>An expired entry is only deleted if the underlying cache still holds the same holder, checked while the
+ * writes of this decorator are held off, so a value written between the read and the delete is kept. Writes
+ * share a read lock and never wait for each other, only for such a check.</p>
+ *
+ * @param <K> The type of keys in the cache.
+ * @param <V> The type of values in the cache.
+ */
+public class ExpiringCache<K, V> implements Cache<K, V> {
+
+    private final Cache<K, Expirable<V>> delegate;
+    private final long expireAfterWriteNanos;
+    private final long expireAfterAccessNanos;
+    private final LongSupplier ticker;
+    private final ReadWriteLock expiryLock = new ReentrantReadWriteLock();
+    private EvictionListener<K, V> evictionListener = (key, value) -> {
+    };
+
+    /**
+     * Constructs an instance of {@code ExpiringCache} that uses {@link System#nanoTime()} as time source.
+     *
+     * @param delegate          The cache that stores the entries.
+     * @param expireAfterWrite  The time after which an entry expires once written, or {@code null} to disable.
+     * @param expireAfterAccess The time after which an entry expires once last accessed, or {@code null} to disable.
+     */
+    public ExpiringCache(Cache<K, Expirable<V>> delegate, Duration expireAfterWrite, Duration expireAfterAccess) {
+        this(delegate, expireAfterWrite, expireAfterAccess, System::nanoTime);
+    }
+
+    /**
+     * Constructs an instance of {@code ExpiringCache} with the specified time source.
+     *
+     * @param delegate          The cache that stores the entries.
+     * @param expireAfterWrite  The time after which an entry expires once written, or {@code null} to disable.
+     * @param expireAfterAccess The time after which an entry expires once last accessed, or {@code null} to disable.
+     * @param ticker            The time source returning nanoseconds.
+     */
+    public ExpiringCache(Cache<K, Expirable<V>> delegate, Duration expireAfterWrite,
+                         Duration expireAfterAccess, LongSupplier ticker) {
+        this.delegate = delegate;
+        this.expireAfterWriteNanos = toNanos(expireAfterWrite);
+        this.expireAfterAccessNanos = toNanos(expireAfterAccess);
+        this.ticker = ticker;
+    }
+
+    @Override
+    public V get(K key) {
+        Expirable<V> expirable = delegate.get(key);
+        if (expirable == null) {
+            return null;
+        }
+        long now = ticker.getAsLong();
+        if (isExpired(expirable, now)) {
+            expire(key, expirable);
+            return null;
+        }
+        if (expireAfterAccessNanos > 0) {
+            expirable.accessTime = now;
+        }
+        return expirable.value;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        expiryLock.readLock().lock();
+        try {
+            long now = ticker.getAsLong();
+            delegate.put(key, new Expirable<>(value, now, now));
+        } finally {
+            expiryLock.readLock().unlock();
+        }
+        return value;
+    }
+
+    @Override
+    public Map<K, V> getAll(Collection<K> keys) {
+        Map<K, Expirable<V>> stored = delegate.getAll(keys);
+        Map<K, V> found = new LinkedHashMap<>(Math.max(stored.size() * 4 / 3 + 1, 16));
+        long now = ticker.getAsLong();
+        stored.forEach((key, expirable) -> {
+            if (isExpired(expirable, now)) {
+                expire(key, expirable);
+            } else {
+                if (expireAfterAccessNanos > 0) {
+                    expirable.accessTime = now;
+                }
+                found.put(key, expirable.value);
+            }
+        });
+        return found;
+    }
+
+    @Override
+    public void putAll(Map<K, V> entries) {
+        Map<K, Expirable<V>> expirables = new LinkedHashMap<>(Math.max(entries.size() * 4 / 3 + 1, 16));
+        long now = ticker.getAsLong();
+        entries.forEach((key, value) -> expirables.put(key, new Expirable<>(value, now, now)));
+        expiryLock.readLock().lock();
+        try {
+            delegate.putAll(expirables);
+        } finally {
+            expiryLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(K key) {
+        expiryLock.readLock().lock();
+        try {
+            delegate.delete(key);
+        } finally {
+            expiryLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void setEvictionListener(EvictionListener<K, V> listener) {
+        this.evictionListener = listener;
+        delegate.setEvictionListener((key, expirable) -> listener.onEviction(key, expirable.value));
+    }
+
+    @Override
+    public void forEachEntry(EntryVisitor<K, V> visitor) {
+        long now = ticker.getAsLong();
+        List<StoredEntry<K, V>> live = new ArrayList<>();
+        List<StoredEntry<K, V>> expired = new ArrayList<>();
+        delegate.forEachEntry((key, expirable, frequency) ->
+                (isExpired(expirable, now) ? expired : live).add(new StoredEntry<>(key, expirable, frequency)));
+        expired.forEach(entry -> expire(entry.key(), entry.expirable()));
+        live.forEach(entry -> visitor.visit(entry.key(), entry.expirable().value, entry.frequency(),
+                Duration.ofNanos(now - entry.expirable().writeTime)));
+    }
+
+    @Override
+    public V restore(K key, V value, int frequency) {
+        return restore(key, value, frequency, Duration.ZERO);
+    }
+
+    /**
+     * Restores the entry with the write time it had when it was visited, so it expires after write when its
+     * original time to live ends. The restore counts as an access for the expiry after access.
+     */
+    @Override
+    public V restore(K key, V value, int frequency, Duration age) {
+        long ageNanos = Math.max(age.toNanos(), 0);
+        if (expireAfterWriteNanos > 0 && ageNanos >= expireAfterWriteNanos) {
+            return null;
+        }
+        long now = ticker.getAsLong();
+        expiryLock.readLock().lock();
+        try {
+            delegate.restore(key, new Expirable<>(value, now - ageNanos, now), frequency);
+        } finally {
+            expiryLock.readLock().unlock();
+        }
+        return value;
+    }
+
+    private void expire(K key, Expirable<V> expirable) {
+        expiryLock.writeLock().lock();
+        try {
+            if (delegate.get(key) != expirable) {
+                return;
+            }
+            delegate.delete(key);
+        } finally {
+            expiryLock.writeLock().unlock();
+        }
+        evictionListener.onEviction(key, expirable.value);
+    }
+
+    private boolean isExpired(Expirable<V> expirable, long now) {
+        return (expireAfterWriteNanos > 0 && now - expirable.writeTime >= expireAfterWriteNanos)
+                || (expireAfterAccessNanos > 0 && now - expirable.accessTime >= expireAfterAccessNanos);
+    }
+
+    private static long toNanos(Duration duration) {
+        return duration == null ? 0 : duration.toNanos();
+    }
+
+    private record StoredEntry<K, V>(K key, Expirable<V> expirable, int frequency) {
+    }
+
+    /**
+     * The holder stored in the underlying cache for every value of an {@link ExpiringCache}.
+     *
+     * @param <V> The type of the stored value.
+     */
+    public static final class Expirable<V> {
+
+        private final V value;
+        private final long writeTime;
+        private volatile long accessTime;
+
+        private Expirable(V value, long writeTime, long accessTime) {
+            this.value = value;
+            this.writeTime = writeTime;
+            this.accessTime = accessTime;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package by.nata.newscommentsservice.cache.algorithm.decorator;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Weigher;
+
+import java.lang.reflect.RecordComponent;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * The {@code RetainedSizeWeigher} class estimates the heap retained by a cache entry from the layout of a
+ * 64-bit JVM with compressed references: 12-byte object headers, 4-byte references and sizes rounded up to
+ * 8 bytes. Strings are weighed by their length and coder, so the text of a news article dominates the weight
+ * of its DTO, as it does on the heap.
+ *
+ * <p>Records, e.g. the response DTOs, are weighed by their components, collections and maps by their
+ * elements. Objects of other types, and components that cannot be read, count as a single small object. Every entry also carries a fixed
+ * overhead for the nodes the eviction policies keep per entry.</p>
+ *
+ * @param <K> The type of keys in the cache.
+ * @param <V> The type of values in the cache.
+ */
+public class RetainedSizeWeigher<K, V> implements Weigher<K, V> {
+
+    private static final int HEADER = 12;
+    private static final int REFERENCE = 4;
+    private static final int ARRAY_HEADER = 16;
+    private static final int STRING = 24;
+    private static final int BOXED = 16;
+    private static final int COLLECTION = 24;
+    private static final int MAP_ENTRY = 32;
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private static final ClassValue<RecordComponent[]> RECORD_COMPONENTS = new ClassValue<>() {
+        @Override
+        protected RecordComponent[] computeValue(Class<?> type) {
+            RecordComponent[] components = type.getRecordComponents();
+            for (RecordComponent component : components) {
+                component.getAccessor().trySetAccessible();
+            }
+            return components;
+        }
+    };
+
+    @Override
+    public long weigh(K key, V value) {
+        return ENTRY_OVERHEAD + sizeOf(key) + sizeOf(value);
+    }
+
+    private static long sizeOf(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String string) {
+            return STRING + align(ARRAY_HEADER + (long) string.length() * coder(string));
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+            return BOXED;
+        }
+        if (value instanceof Collection<?> collection) {
+            long size = COLLECTION + align(ARRAY_HEADER + (long) collection.size() * REFERENCE);
+            for (Object element : collection) {
+                size += sizeOf(element);
+            }
+            return size;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long size = COLLECTION + align(ARRAY_HEADER + (long) map.size() * REFERENCE);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += MAP_ENTRY + sizeOf(entry.getKey()) + sizeOf(entry.getValue());
+            }
+            return size;
+        }
+        if (value instanceof Record) {
+            return sizeOfRecord(value);
+        }
+        return align(HEADER + REFERENCE);
+    }
+
+    private static long sizeOfRecord(Object value) {
+        RecordComponent[] components = RECORD_COMPONENTS.get(value.getClass());
+        long fields = HEADER;
+        long size = 0;
+        for (RecordComponent component : components) {
+            if (component.getType().isPrimitive()) {
+                fields += Long.BYTES;
+            } else {
+                fields += REFERENCE;
+                try {
+                    size += sizeOf(component.getAccessor().invoke(value));
+                } catch (ReflectiveOperationException e) {
+                    size += align(HEADER + REFERENCE);
+                }
+            }
+        }
+        return align(fields) + size;
+    }
+
+    private static int coder(String string) {
+        for (int i = 0; i < string.length(); i++) {
+            if (string.charAt(i) > 0xFF) {
+                return 2;
+            }
+        }
+        return 1;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
@@ -0,0 +1,93 @@
+package by.nata.newscommentsservice.cache.algorithm.decorator;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.algorithm.api.EntryVisitor;
+import by.nata.newscommentsservice.cache.algorithm.api.EvictionListener;
+import by.nata.newscommentsservice.cache.stats.CacheStatsCounter;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * The {@code StatsCache} class is a {@link Cache} decorator that records hits, misses, puts and
+ * evictions of the underlying cache in a {@link CacheStatsCounter}.
+ *
+ * @param <K> The type of keys in the cache.
+ * @param <V> The type of values in the cache.
+ */
+public class StatsCache<K, V> implements Cache<K, V> {
+
+    private final Cache<K, V> delegate;
+    private final CacheStatsCounter counter;
+
+    /**
+     * Constructs an instance of {@code StatsCache}.
+     *
+     * @param delegate The cache whose operations are recorded.
+     * @param counter  The counter the statistics are recorded in.
+     */
+    public StatsCache(Cache<K, V> delegate, CacheStatsCounter counter) {
+        this.delegate = delegate;
+        this.counter = counter;
+        delegate.setEvictionListener((key, value) -> counter.recordEviction());
+    }
+
+    @Override
+    public V get(K key) {
+        V value = delegate.get(key);
+        if (value == null) {
+            counter.recordMiss();
+        } else {
+            counter.recordHit();
+        }
+        return value;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        counter.recordPut();
+        return delegate.put(key, value);
+    }
+
+    @Override
+    public Map<K, V> getAll(Collection<K> keys) {
+        Map<K, V> found = delegate.getAll(keys);
+        counter.recordHitsAndMisses(found.size(), keys.size() - found.size());
+        return found;
+    }
+
+    @Override
+    public void putAll(Map<K, V> entries) {
+        counter.recordPuts(entries.size());
+        delegate.putAll(entries);
+    }
+
+    @Override
+    public void delete(K key) {
+        delegate.delete(key);
+    }
+
+    @Override
+    public void setEvictionListener(EvictionListener<K, V> listener) {
+        delegate.setEvictionListener((key, value) -> {
+            counter.recordEviction();
+            listener.onEviction(key, value);
+        });
+    }
+
+    @Override
+    public void forEachEntry(EntryVisitor<K, V> visitor) {
+        delegate.forEachEntry(visitor);
+    }
+
+    @Override
+    public V restore(K key, V value, int frequency) {
+        return delegate.restore(key, value, frequency);
+    }
+
+    @Override
+    public V restore(K key, V value, int frequency, Duration age) {
+        return delegate.restore(key, value, frequency, age);
+    }
+}
@@ -0,0 +1,244 @@
+package by.nata.newscommentsservice.cache.algorithm.decorator;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.algorithm.api.EntryVisitor;
+import by.nata.newscommentsservice.cache.algorithm.api.EvictionListener;
+import by.nata.newscommentsservice.cache.algorithm.api.Weigher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code WeightedCache} class is a {@link Cache} decorator that limits the underlying cache by the total
+ * weight of its entries, as estimated by a {@link Weigher}, in addition to the number of entries the
+ * underlying algorithm keeps. A single news article with a long text therefore takes the room of many
+ * comments, and the memory used by the cache stays within its budget whatever it holds.
+ *
+ * <p>When a write exceeds the budget, the entries are visited in the eviction order of the underlying
+ * algorithm and the first ones are evicted until the total weight falls to {@value #LOW_WATERMARK_PERCENT}
+ * percent of the budget. Evicting a little more than needed lets the following writes fit without visiting
+ * the entries again. The weights of keys the pass does not find are discarded, e.g. of keys the underlying
+ * algorithm dropped without reporting them when it refused to admit them. An entry heavier than the whole
+ * budget is not cached.</p>
+ *
+ * <p>Entries the underlying cache removes while they are visited, e.g. the expired entries of an
+ * {@link ExpiringCache}, are reported to the eviction listener first, so their weight is released before the
+ * victims are chosen, and no live entry is evicted if that alone brings the cache back within its budget.</p>
+ *
+ * <p>The decorator takes no lock of its own, so the writes of a concurrent underlying cache, like the segments
+ * of a {@code ConcurrentLRUCache}, stay parallel. The weights are kept in a concurrent map and summed in a
+ * {@link LongAdder}, and a single eviction pass runs at a time: a write that exceeds the budget while another
+ * thread is evicting leaves the eviction to that thread, which checks the budget again when its pass ends.
+ * The weights are therefore approximate under concurrent writes: a key the underlying cache evicts while it is
+ * being written, or two concurrent writes of the same key, may leave a stale weight until the next eviction
+ * pass or the next write of the key.</p>
+ *
+ * @param <K> The type of keys in the cache.
+ * @param <V> The type of values in the cache.
+ */
+public class WeightedCache<K, V> implements Cache<K, V> {
+
+    private static final int LOW_WATERMARK_PERCENT = 95;
+
+    private final Cache<K, V> delegate;
+    private final long maxWeight;
+    private final long lowWatermark;
+    private final Weigher<? super K, ? super V> weigher;
+    private final Map<K, Weight> weights = new ConcurrentHashMap<>();
+    private final LongAdder totalWeight = new LongAdder();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private volatile EvictionListener<K, V> evictionListener = (key, value) -> {
+    };
+
+    /**
+     * Constructs an instance of {@code WeightedCache}.
+     *
+     * @param delegate  The cache that stores the entries.
+     * @param maxWeight The maximum total weight of the entries, in bytes.
+     * @param weigher   The weigher estimating the weight of every entry.
+     */
+    public WeightedCache(Cache<K, V> delegate, long maxWeight, Weigher<? super K, ? super V> weigher) {
+        this.delegate = delegate;
+        this.maxWeight = maxWeight;
+        this.lowWatermark = maxWeight / 100 * LOW_WATERMARK_PERCENT;
+        this.weigher = weigher;
+        delegate.setEvictionListener(this::onEviction);
+    }
+
+    @Override
+    public V get(K key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        long weight = weigher.weigh(key, value);
+        if (weight > maxWeight) {
+            delete(key);
+            return value;
+        }
+        delegate.put(key, value);
+        updateWeight(key, weight);
+        evictIfOverweight();
+        return value;
+    }
+
+    @Override
+    public Map<K, V> getAll(Collection<K> keys) {
+        return delegate.getAll(keys);
+    }
+
+    @Override
+    public void putAll(Map<K, V> entries) {
+        Map<K, V> admitted = new LinkedHashMap<>(Math.max(entries.size() * 4 / 3 + 1, 16));
+        Map<K, Long> admittedWeights = new HashMap<>(Math.max(entries.size() * 4 / 3 + 1, 16));
+        entries.forEach((key, value) -> {
+            long weight = weigher.weigh(key, value);
+            if (weight > maxWeight) {
+                delete(key);
+            } else {
+                admitted.put(key, value);
+                admittedWeights.put(key, weight);
+            }
+        });
+        if (admitted.isEmpty()) {
+            return;
+        }
+        delegate.putAll(admitted);
+        admittedWeights.forEach(this::updateWeight);
+        evictIfOverweight();
+    }
+
+    @Override
+    public void delete(K key) {
+        delegate.delete(key);
+        removeWeight(key);
+    }
+
+    @Override
+    public void setEvictionListener(EvictionListener<K, V> listener) {
+        this.evictionListener = listener;
+    }
+
+    @Override
+    public void forEachEntry(EntryVisitor<K, V> visitor) {
+        delegate.forEachEntry(visitor);
+    }
+
+    @Override
+    public V restore(K key, V value, int frequency) {
+        return restore(key, value, frequency, Duration.ZERO);
+    }
+
+    @Override
+    public V restore(K key, V value, int frequency, Duration age) {
+        long weight = weigher.weigh(key, value);
+        if (weight > maxWeight) {
+            return null;
+        }
+        V restored = delegate.restore(key, value, frequency, age);
+        if (restored == null) {
+            return null;
+        }
+        updateWeight(key, weight);
+        evictIfOverweight();
+        return restored;
+    }
+
+    /**
+     * Returns the total weight of the entries in the cache.
+     *
+     * @return The total weight, in bytes.
+     */
+    public long getTotalWeight() {
+        return totalWeight.sum();
+    }
+
+    private void onEviction(K key, V value) {
+        removeWeight(key);
+        evictionListener.onEviction(key, value);
+    }
+
+    private void evictIfOverweight() {
+        while (totalWeight.sum() > maxWeight && evicting.compareAndSet(false, true)) {
+            boolean released;
+            try {
+                released = evict();
+            } finally {
+                evicting.set(false);
+            }
+            if (!released) {
+                return;
+            }
+        }
+    }
+
+    private boolean evict() {
+        List<K> victims = new ArrayList<>();
+        List<V> values = new ArrayList<>();
+        Map<K, Weight> known = new HashMap<>(weights);
+        Set<K> visited = new HashSet<>(Math.max(known.size() * 4 / 3 + 1, 16));
+        long[] excess = {Long.MIN_VALUE};
+        delegate.forEachEntry((key, value, frequency) -> {
+            if (excess[0] == Long.MIN_VALUE) {
+                long total = totalWeight.sum();
+                excess[0] = total > maxWeight ? total - lowWatermark : 0;
+            }
+            visited.add(key);
+            Weight weight = weights.get(key);
+            if (excess[0] > 0 && weight != null) {
+                victims.add(key);
+                values.add(value);
+                excess[0] -= weight.value;
+            }
+        });
+        boolean released = !victims.isEmpty();
+        for (Map.Entry<K, Weight> weight : known.entrySet()) {
+            if (!visited.contains(weight.getKey()) && weights.remove(weight.getKey(), weight.getValue())) {
+                totalWeight.add(-weight.getValue().value);
+                released = true;
+            }
+        }
+        for (int i = 0; i < victims.size(); i++) {
+            delegate.delete(victims.get(i));
+            removeWeight(victims.get(i));
+            evictionListener.onEviction(victims.get(i), values.get(i));
+        }
+        return released;
+    }
+
+    private void updateWeight(K key, long weight) {
+        Weight previous = weights.put(key, new Weight(weight));
+        totalWeight.add(weight - (previous == null ? 0 : previous.value));
+    }
+
+    private void removeWeight(K key) {
+        Weight weight = weights.remove(key);
+        if (weight != null) {
+            totalWeight.add(-weight.value);
+        }
+    }
+
+    /**
+     * The weight recorded for a key. Instances are compared by identity, so the eviction pass only discards
+     * the weights it found before visiting the entries, not those of values written in the meantime.
+     */
+    private static final class Weight {
+
+        private final long value;
+
+        private Weight(long value) {
+            this.value = value;
+        }
+    }
+}
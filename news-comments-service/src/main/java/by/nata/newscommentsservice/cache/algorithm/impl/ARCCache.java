@@ -0,0 +1,200 @@
+package by.nata.newscommentsservice.cache.algorithm.impl;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.algorithm.api.EntryVisitor;
+import by.nata.newscommentsservice.cache.algorithm.api.EvictionListener;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The {@code ARCCache} class is an implementation of the Adaptive Replacement Cache (ARC).
+ * Entries seen once live in the recency list {@code T1} and entries seen at least twice in the frequency
+ * list {@code T2}. Keys evicted from either list are remembered in the ghost lists {@code B1} and
+ * {@code B2}. Storing a key that is remembered by a ghost list shows which of the two lists evicted too
+ * early, and the target size of {@code T1} is shifted towards recency or frequency accordingly, so the
+ * cache tunes itself to the current workload without any configuration. A value is read with
+ * {@code get} and stored with {@code put}, so ghost hits are recognised when a missing value is put
+ * back into the cache. This class is annotated with {@code @Component} to be managed as a Spring bean
+ * and is configured with prototype scope to create a new instance for each request.
+ *
+ * <p>All operations are synchronized on the cache instance.</p>
+ *
+ * <p>Dependencies:</p>
+ * <p>- {@link ConditionalOnProperty}: A Spring Boot annotation to conditionally enable the bean
+ *   based on the value of the "cache.algorithm" property.</p>
+ *
+ * @param <K> The type of keys in the cache.
+ * @param <V> The type of values in the cache.
+ */
+@Component
+@Scope("prototype")
+@ConditionalOnProperty(prefix = "cache", name = "algorithm", havingValue = "ARC")
+public class ARCCache<K, V> implements Cache<K, V> {
+
+    private final int maxSize;
+    private final LinkedHashMap<K, V> recent;
+    private final LinkedHashMap<K, V> frequent;
+    private final LinkedHashMap<K, Boolean> recentGhosts;
+    private final LinkedHashMap<K, Boolean> frequentGhosts;
+    private int targetRecentSize;
+    private EvictionListener<K, V> evictionListener = (key, value) -> {
+    };
+
+    /**
+     * Constructs an instance of {@code ARCCache} with the specified configuration properties.
+     *
+     * @param cacheProperties The configuration properties for the cache, including the maximum size.
+     */
+    @Autowired
+    public ARCCache(CacheProperties cacheProperties) {
+        this.maxSize = Math.max(cacheProperties.getMaxSize(), 0);
+        this.recent = new LinkedHashMap<>();
+        this.frequent = new LinkedHashMap<>();
+        this.recentGhosts = new LinkedHashMap<>();
+        this.frequentGhosts = new LinkedHashMap<>();
+    }
+
+    @Override
+    public synchronized V get(K key) {
+        if (recent.containsKey(key)) {
+            V value = recent.remove(key);
+            frequent.put(key, value);
+            return value;
+        }
+        if (frequent.containsKey(key)) {
+            V value = frequent.remove(key);
+            frequent.put(key, value);
+            return value;
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized V put(K key, V value) {
+        if (recent.containsKey(key) || frequent.containsKey(key)) {
+            recent.remove(key);
+            frequent.remove(key);
+            frequent.put(key, value);
+            return value;
+        }
+        if (maxSize <= 0) {
+            return value;
+        }
+        if (recentGhosts.containsKey(key)) {
+            int delta = Math.max(frequentGhosts.size() / recentGhosts.size(), 1);
+            targetRecentSize = Math.min(targetRecentSize + delta, maxSize);
+            recentGhosts.remove(key);
+            replace(false);
+            frequent.put(key, value);
+            return value;
+        }
+        if (frequentGhosts.containsKey(key)) {
+            int delta = Math.max(recentGhosts.size() / frequentGhosts.size(), 1);
+            targetRecentSize = Math.max(targetRecentSize - delta, 0);
+            frequentGhosts.remove(key);
+            replace(true);
+            frequent.put(key, value);
+            return value;
+        }
+        admit(key, value);
+        return value;
+    }
+
+    @Override
+    public synchronized Map<K, V> getAll(Collection<K> keys) {
+        return Cache.super.getAll(keys);
+    }
+
+    @Override
+    public synchronized void putAll(Map<K, V> entries) {
+        Cache.super.putAll(entries);
+    }
+
+    @Override
+    public synchronized void delete(K key) {
+        if (recent.remove(key) == null) {
+            frequent.remove(key);
+        }
+        recentGhosts.remove(key);
+        frequentGhosts.remove(key);
+    }
+
+    @Override
+    public synchronized void setEvictionListener(EvictionListener<K, V> listener) {
+        this.evictionListener = listener;
+    }
+
+    @Override
+    public synchronized void forEachEntry(EntryVisitor<K, V> visitor) {
+        recent.forEach((key, value) -> visitor.visit(key, value, 1));
+        frequent.forEach((key, value) -> visitor.visit(key, value, 2));
+    }
+
+    @Override
+    public synchronized V restore(K key, V value, int frequency) {
+        V result = put(key, value);
+        if (frequency > 1) {
+            get(key);
+        }
+        return result;
+    }
+
+    private void admit(K key, V value) {
+        int recentHistory = recent.size() + recentGhosts.size();
+        if (recentHistory >= maxSize) {
+            if (recent.size() < maxSize) {
+                removeEldest(recentGhosts);
+                replace(false);
+            } else {
+                Map.Entry<K, V> eldest = removeEldest(recent);
+                evictionListener.onEviction(eldest.getKey(), eldest.getValue());
+            }
+        } else {
+            int history = recentHistory + frequent.size() + frequentGhosts.size();
+            if (history >= maxSize) {
+                if (history >= 2 * maxSize) {
+                    removeEldest(frequentGhosts);
+                }
+                replace(false);
+            }
+        }
+        recent.put(key, value);
+    }
+
+    private void replace(boolean frequentGhostHit) {
+        if (recent.size() + frequent.size() < maxSize) {
+            return;
+        }
+        boolean fromRecent = !recent.isEmpty()
+                && (recent.size() > targetRecentSize || (frequentGhostHit && recent.size() == targetRecentSize));
+        if (fromRecent || frequent.isEmpty()) {
+            Map.Entry<K, V> eldest = removeEldest(recent);
+            recentGhosts.put(eldest.getKey(), Boolean.TRUE);
+            evictionListener.onEviction(eldest.getKey(), eldest.getValue());
+        } else {
+            Map.Entry<K, V> eldest = removeEldest(frequent);
+            frequentGhosts.put(eldest.getKey(), Boolean.TRUE);
+            evictionListener.onEviction(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    private static <K, V> Map.Entry<K, V> removeEldest(LinkedHashMap<K, V> list) {
+        Iterator<Map.Entry<K, V>> iterator = list.entrySet().iterator();
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        Map.Entry<K, V> eldest = iterator.next();
+        Map.Entry<K, V> removed = new AbstractMap.SimpleImmutableEntry<>(eldest);
+        iterator.remove();
+        return removed;
+    }
+}
@@ -0,0 +1,264 @@
+package by.nata.newscommentsservice.cache.algorithm.impl;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.algorithm.api.EntryVisitor;
+import by.nata.newscommentsservice.cache.algorithm.api.EvictionListener;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code AdaptiveCache} class is a cache that picks its eviction policy at runtime. The entries are kept
+ * by a live cache of one of the candidate policies listed in "cache.adaptive.policies", starting with the
+ * first one. Alongside it, every candidate runs a small shadow cache that stores only keys: reads of a
+ * sampled share of the keys are replayed against every shadow, which is scaled down by the same share, so
+ * the shadows estimate the hit ratio each policy would reach on the live traffic.
+ *
+ * <p>After every "cache.adaptive.evaluationPeriod" sampled reads the hit ratios of the shadows are compared.
+ * When another policy beats the shadow of the live policy by at least "cache.adaptive.minImprovement" in
+ * "cache.adaptive.requiredWindows" consecutive periods, a cache of that policy is created, the entries are
+ * moved into it in eviction order together with their access frequencies, and it becomes the live cache.
+ * Every switch is logged; the hit ratios of the shadows, the live policy and the number of switches are
+ * published as meters by the cache statistics.</p>
+ *
+ * <p>All operations are synchronized on the cache instance. This class is annotated with {@code @Component}
+ * to be managed as a Spring bean and is configured with prototype scope to create a new instance for each
+ * request.</p>
+ *
+ * <p>Dependencies:</p>
+ * <p>- {@link ConditionalOnProperty}: A Spring Boot annotation to conditionally enable the bean
+ *   based on the value of the "cache.algorithm" property.</p>
+ *
+ * @param <K> The type of keys in the cache.
+ * @param <V> The type of values in the cache.
+ */
+@Slf4j
+@Component
+@Scope("prototype")
+@ConditionalOnProperty(prefix = "cache", name = "algorithm", havingValue = "ADAPTIVE")
+public class AdaptiveCache<K, V> implements Cache<K, V> {
+
+    private static final int MIN_SHADOW_SIZE = 64;
+    private static final int SAMPLE_SPACE = 1 << 16;
+
+    private final CacheProperties cacheProperties;
+    private final Map<String, Shadow> shadows = new LinkedHashMap<>();
+    private final int sampleThreshold;
+    private final long evaluationPeriod;
+    private final double minImprovement;
+    private final int requiredWindows;
+    private Cache<K, V> live;
+    private String policy;
+    private String leader;
+    private int windowsWon;
+    private long sampledReads;
+    private long switchCount;
+    private String name = "adaptive";
+    private EvictionListener<K, V> evictionListener = (key, value) -> {
+    };
+
+    /**
+     * Constructs an instance of {@code AdaptiveCache} with the specified configuration properties.
+     *
+     * @param cacheProperties The configuration properties for the cache, including the maximum size and the
+     *                        candidate policies.
+     * @throws IllegalArgumentException If no candidate policy is configured or a policy is unknown.
+     */
+    @Autowired
+    public AdaptiveCache(CacheProperties cacheProperties) {
+        CacheProperties.Adaptive adaptive = cacheProperties.getAdaptive();
+        List<String> policies = adaptive.getPolicies();
+        if (policies == null || policies.isEmpty()) {
+            throw new IllegalArgumentException("No candidate policies configured for the adaptive cache");
+        }
+        int maxSize = Math.max(cacheProperties.getMaxSize(), 0);
+        double sampleRate = Math.min(1.0,
+                Math.max(adaptive.getSampleRate(), (double) MIN_SHADOW_SIZE / Math.max(maxSize, 1)));
+        CacheProperties shadowProperties = new CacheProperties();
+        shadowProperties.setMaxSize((int) Math.max(1, Math.round(maxSize * sampleRate)));
+        shadowProperties.setConcurrencyLevel(1);
+        for (String candidate : policies) {
+            shadows.put(candidate, new Shadow(newPolicy(candidate, shadowProperties)));
+        }
+        this.cacheProperties = cacheProperties;
+        this.sampleThreshold = (int) Math.round(sampleRate * SAMPLE_SPACE);
+        this.evaluationPeriod = Math.max(adaptive.getEvaluationPeriod(), 1);
+        this.minImprovement = adaptive.getMinImprovement();
+        this.requiredWindows = Math.max(adaptive.getRequiredWindows(), 1);
+        this.policy = policies.get(0);
+        this.live = newPolicy(policy, cacheProperties);
+    }
+
+    @Override
+    public synchronized V get(K key) {
+        V value = live.get(key);
+        if (isSampled(key)) {
+            replay(key);
+        }
+        return value;
+    }
+
+    @Override
+    public synchronized V put(K key, V value) {
+        return live.put(key, value);
+    }
+
+    @Override
+    public synchronized Map<K, V> getAll(Collection<K> keys) {
+        return Cache.super.getAll(keys);
+    }
+
+    @Override
+    public synchronized void putAll(Map<K, V> entries) {
+        live.putAll(entries);
+    }
+
+    @Override
+    public synchronized void delete(K key) {
+        live.delete(key);
+        if (isSampled(key)) {
+            shadows.values().forEach(shadow -> shadow.cache.delete(key));
+        }
+    }
+
+    @Override
+    public synchronized void setEvictionListener(EvictionListener<K, V> listener) {
+        this.evictionListener = listener;
+        live.setEvictionListener(listener);
+    }
+
+    @Override
+    public synchronized void forEachEntry(EntryVisitor<K, V> visitor) {
+        live.forEachEntry(visitor);
+    }
+
+    @Override
+    public synchronized V restore(K key, V value, int frequency) {
+        return live.restore(key, value, frequency);
+    }
+
+    /**
+     * Sets the name the cache is referred to by in the log.
+     *
+     * @param name The name of the cache.
+     */
+    public synchronized void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the policy of the live cache.
+     *
+     * @return The name of the live policy, e.g. "LRU".
+     */
+    public synchronized String getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Returns the hit ratio every shadow reached in the last evaluation period.
+     *
+     * @return The hit ratios by policy name, in the order of the candidate policies.
+     */
+    public synchronized Map<String, Double> getShadowHitRatios() {
+        Map<String, Double> hitRatios = new LinkedHashMap<>();
+        shadows.forEach((candidate, shadow) -> hitRatios.put(candidate, shadow.lastHitRatio));
+        return hitRatios;
+    }
+
+    /**
+     * Returns the number of times the live policy was switched.
+     *
+     * @return The number of switches.
+     */
+    public synchronized long getSwitchCount() {
+        return switchCount;
+    }
+
+    private void replay(K key) {
+        for (Shadow shadow : shadows.values()) {
+            shadow.reads++;
+            if (shadow.cache.get(key) != null) {
+                shadow.hits++;
+            } else {
+                shadow.cache.put(key, Boolean.TRUE);
+            }
+        }
+        if (++sampledReads % evaluationPeriod == 0) {
+            evaluate();
+        }
+    }
+
+    private void evaluate() {
+        String best = policy;
+        for (Map.Entry<String, Shadow> entry : shadows.entrySet()) {
+            Shadow shadow = entry.getValue();
+            shadow.lastHitRatio = shadow.reads == 0 ? 0.0 : (double) shadow.hits / shadow.reads;
+            shadow.hits = 0;
+            shadow.reads = 0;
+            if (shadow.lastHitRatio > shadows.get(best).lastHitRatio) {
+                best = entry.getKey();
+            }
+        }
+        double liveHitRatio = shadows.get(policy).lastHitRatio;
+        if (best.equals(policy) || shadows.get(best).lastHitRatio - liveHitRatio < minImprovement) {
+            leader = null;
+            windowsWon = 0;
+            return;
+        }
+        windowsWon = best.equals(leader) ? windowsWon + 1 : 1;
+        leader = best;
+        log.debug("Policy {} of cache {} beats {} in {} of {} periods: {}",
+                best, name, policy, windowsWon, requiredWindows, getShadowHitRatios());
+        if (windowsWon >= requiredWindows) {
+            switchTo(best);
+        }
+    }
+
+    private void switchTo(String next) {
+        Cache<K, V> replacement = newPolicy(next, cacheProperties);
+        replacement.setEvictionListener(evictionListener);
+        live.forEachEntry((key, value, frequency) -> replacement.restore(key, value, frequency));
+        log.info("Cache {} switched from {} to {}, shadow hit ratios {}", name, policy, next, getShadowHitRatios());
+        live = replacement;
+        policy = next;
+        switchCount++;
+        leader = null;
+        windowsWon = 0;
+    }
+
+    private boolean isSampled(Object key) {
+        if (sampleThreshold >= SAMPLE_SPACE) {
+            return true;
+        }
+        int hash = key == null ? 0 : key.hashCode() * 0x9e3779b9;
+        return ((hash ^ (hash >>> 16)) & (SAMPLE_SPACE - 1)) < sampleThreshold;
+    }
+
+    private static <K, V> Cache<K, V> newPolicy(String policy, CacheProperties cacheProperties) {
+        if (!CacheAlgorithms.SIZE_LIMITED.contains(policy)) {
+            throw new IllegalArgumentException("Unknown cache algorithm for the adaptive cache: " + policy);
+        }
+        return CacheAlgorithms.create(policy, cacheProperties);
+    }
+
+    private static final class Shadow {
+
+        private final Cache<Object, Boolean> cache;
+        private long reads;
+        private long hits;
+        private double lastHitRatio;
+
+        private Shadow(Cache<Object, Boolean> cache) {
+            this.cache = cache;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package by.nata.newscommentsservice.cache.algorithm.impl;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import lombok.experimental.UtilityClass;
+
+import java.util.List;
+
+/**
+ * The {@code CacheAlgorithms} utility class creates caches by the name of their algorithm, as used by the
+ * "cache.algorithm" property, outside of the Spring context, e.g. for the candidates of an {@link AdaptiveCache}
+ * or for offline simulations.
+ */
+@UtilityClass
+public class CacheAlgorithms {
+
+    /**
+     * The names of the algorithms that are limited by the number of their entries.
+     */
+    public static final List<String> SIZE_LIMITED = List.of(
+            "LRU", "LFU", "CONCURRENT_LRU", "TINYLFU", "ARC", "2Q", "S3FIFO", "CLOCK");
+
+    /**
+     * Creates a new cache of the algorithm.
+     *
+     * @param algorithm       The name of the algorithm, e.g. "LRU".
+     * @param cacheProperties The configuration properties for the cache, including the maximum size.
+     * @param <K>             The type of keys in the cache.
+     * @param <V>             The type of values in the cache.
+     * @return A new cache instance.
+     * @throws IllegalArgumentException If the algorithm is unknown.
+     */
+    public static <K, V> Cache<K, V> create(String algorithm, CacheProperties cacheProperties) {
+        return switch (algorithm) {
+            case "LRU" -> new LRUCache<>(cacheProperties);
+            case "LFU" -> new LFUCache<>(cacheProperties);
+            case "CONCURRENT_LRU" -> new ConcurrentLRUCache<>(cacheProperties);
+            case "TINYLFU" -> new TinyLFUCache<>(cacheProperties);
+            case "ARC" -> new ARCCache<>(cacheProperties);
+            case "2Q" -> new TwoQueueCache<>(cacheProperties);
+            case "S3FIFO" -> new S3FIFOCache<>(cacheProperties);
+            case "CLOCK" -> new ClockCache<>(cacheProperties);
+            case "OFFHEAP" -> new OffHeapCache<>(cacheProperties);
+            case "ADAPTIVE" -> new AdaptiveCache<>(cacheProperties);
+            default -> throw new IllegalArgumentException("Unknown cache algorithm: " + algorithm);
+        };
+    }
+}
@@ -0,0 +1,178 @@
+package by.nata.newscommentsservice.cache.algorithm.impl;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.algorithm.api.EntryVisitor;
+import by.nata.newscommentsservice.cache.algorithm.api.EvictionListener;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@code ClockCache} class is an implementation of the CLOCK (second chance) cache.
+ * Entries occupy the slots of a circular buffer and carry a reference bit that is set on every hit.
+ * When the cache is full, a clock hand sweeps the buffer: referenced entries lose their bit and are
+ * skipped, and the first unreferenced entry is evicted. A hit therefore only flips a bit instead of
+ * reordering a list, which approximates LRU at a lower cost per access. This class is annotated with
+ * {@code @Component} to be managed as a Spring bean and is configured with prototype scope to create
+ * a new instance for each request.
+ *
+ * <p>All operations are synchronized on the cache instance.</p>
+ *
+ * <p>Dependencies:</p>
+ * <p>- {@link ConditionalOnProperty}: A Spring Boot annotation to conditionally enable the bean
+ *   based on the value of the "cache.algorithm" property.</p>
+ *
+ * @param <K> The type of keys in the cache.
+ * @param <V> The type of values in the cache.
+ */
+@Component
+@Scope("prototype")
+@ConditionalOnProperty(prefix = "cache", name = "algorithm", havingValue = "CLOCK")
+public class ClockCache<K, V> implements Cache<K, V> {
+
+    private final int maxSize;
+    private final Map<K, Integer> slots;
+    private final Object[] keys;
+    private final Object[] values;
+    private final boolean[] referenced;
+    private final Deque<Integer> freeSlots;
+    private int hand;
+    private EvictionListener<K, V> evictionListener = (key, value) -> {
+    };
+
+    /**
+     * Constructs an instance of {@code ClockCache} with the specified configuration properties.
+     *
+     * @param cacheProperties The configuration properties for the cache, including the maximum size.
+     */
+    @Autowired
+    public ClockCache(CacheProperties cacheProperties) {
+        this.maxSize = Math.max(cacheProperties.getMaxSize(), 0);
+        this.slots = new HashMap<>(Math.max(maxSize, 16));
+        this.keys = new Object[maxSize];
+        this.values = new Object[maxSize];
+        this.referenced = new boolean[maxSize];
+        this.freeSlots = new ArrayDeque<>(maxSize);
+        for (int slot = 0; slot < maxSize; slot++) {
+            freeSlots.addLast(slot);
+        }
+    }
+
+    @Override
+    public synchronized V get(K key) {
+        Integer slot = slots.get(key);
+        if (slot == null) {
+            return null;
+        }
+        referenced[slot] = true;
+        return valueAt(slot);
+    }
+
+    @Override
+    public synchronized V put(K key, V value) {
+        Integer slot = slots.get(key);
+        if (slot != null) {
+            values[slot] = value;
+            referenced[slot] = true;
+            return value;
+        }
+        if (maxSize <= 0) {
+            return value;
+        }
+        if (freeSlots.isEmpty()) {
+            evict();
+        }
+        slot = freeSlots.pollFirst();
+        keys[slot] = key;
+        values[slot] = value;
+        referenced[slot] = false;
+        slots.put(key, slot);
+        return value;
+    }
+
+    @Override
+    public synchronized Map<K, V> getAll(Collection<K> keys) {
+        return Cache.super.getAll(keys);
+    }
+
+    @Override
+    public synchronized void putAll(Map<K, V> entries) {
+        Cache.super.putAll(entries);
+    }
+
+    @Override
+    public synchronized void delete(K key) {
+        Integer slot = slots.remove(key);
+        if (slot != null) {
+            clear(slot);
+        }
+    }
+
+    @Override
+    public synchronized void setEvictionListener(EvictionListener<K, V> listener) {
+        this.evictionListener = listener;
+    }
+
+    @Override
+    public synchronized void forEachEntry(EntryVisitor<K, V> visitor) {
+        visitFromHand(visitor, false);
+        visitFromHand(visitor, true);
+    }
+
+    @Override
+    public synchronized V restore(K key, V value, int frequency) {
+        V result = put(key, value);
+        Integer slot = slots.get(key);
+        if (slot != null && frequency > 1) {
+            referenced[slot] = true;
+        }
+        return result;
+    }
+
+    private void visitFromHand(EntryVisitor<K, V> visitor, boolean referencedEntries) {
+        for (int offset = 0; offset < maxSize; offset++) {
+            int slot = (hand + offset) % maxSize;
+            if (keys[slot] != null && referenced[slot] == referencedEntries) {
+                visitor.visit(keyAt(slot), valueAt(slot), referencedEntries ? 2 : 1);
+            }
+        }
+    }
+
+    private void evict() {
+        while (referenced[hand]) {
+            referenced[hand] = false;
+            hand = (hand + 1) % maxSize;
+        }
+        K key = keyAt(hand);
+        V value = valueAt(hand);
+        slots.remove(key);
+        clear(hand);
+        hand = (hand + 1) % maxSize;
+        evictionListener.onEviction(key, value);
+    }
+
+    private void clear(int slot) {
+        keys[slot] = null;
+        values[slot] = null;
+        referenced[slot] = false;
+        freeSlots.addLast(slot);
+    }
+
+    @SuppressWarnings("unchecked")
+    private K keyAt(int slot) {
+        return (K) keys[slot];
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int slot) {
+        return (V) values[slot];
+    }
+}
@@ -0,0 +1,232 @@
+package by.nata.newscommentsservice.cache.algorithm.impl;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.algorithm.api.EntryVisitor;
+import by.nata.newscommentsservice.cache.algorithm.api.EvictionListener;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The {@code ConcurrentLRUCache} class is a thread-safe implementation of Least Recently Used (LRU)
+ * cache based on lock striping. Keys are spread over a power-of-two number of segments, each of them
+ * an access-ordered LRU guarded by its own lock, so threads working with different segments never
+ * contend with each other. Eviction happens per segment, which keeps LRU semantics approximately.
+ * Bulk operations group their keys by segment and lock every affected segment once.
+ * This class is annotated with {@code @Component} to be managed as a Spring bean and is configured
+ * with prototype scope to create a new instance for each request.
+ *
+ * <p>Dependencies:</p>
+ * <p>- {@link ConditionalOnProperty}: A Spring Boot annotation to conditionally enable the bean
+ *   based on the value of the "cache.algorithm" property.</p>
+ *
+ * @param <K> The type of keys in the cache.
+ * @param <V> The type of values in the cache.
+ */
+@Component
+@Scope("prototype")
+@ConditionalOnProperty(prefix = "cache", name = "algorithm", havingValue = "CONCURRENT_LRU")
+public class ConcurrentLRUCache<K, V> implements Cache<K, V> {
+
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+    private volatile EvictionListener<K, V> evictionListener = (key, value) -> {
+    };
+
+    /**
+     * Constructs an instance of {@code ConcurrentLRUCache} with the specified configuration properties.
+     *
+     * @param cacheProperties The configuration properties for the cache, including the maximum size
+     *                        and the concurrency level.
+     */
+    @Autowired
+    public ConcurrentLRUCache(CacheProperties cacheProperties) {
+        this(cacheProperties.getMaxSize(), cacheProperties.getConcurrencyLevel());
+    }
+
+    /**
+     * Constructs an instance of {@code ConcurrentLRUCache} with the specified size and concurrency level.
+     *
+     * @param maxSize          The maximum number of entries in the cache.
+     * @param concurrencyLevel The maximum number of lock stripes.
+     */
+    public ConcurrentLRUCache(int maxSize, int concurrencyLevel) {
+        maxSize = Math.max(maxSize, 0);
+        int segmentCount = segmentCount(concurrencyLevel, maxSize);
+        this.segments = newSegmentArray(segmentCount);
+        this.segmentMask = segmentCount - 1;
+        for (int i = 0; i < segmentCount; i++) {
+            int segmentSize = maxSize / segmentCount + (i < maxSize % segmentCount ? 1 : 0);
+            segments[i] = new Segment<>(segmentSize, this);
+        }
+    }
+
+    @Override
+    public V get(K key) {
+        return segmentFor(key).get(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        segmentFor(key).put(key, value);
+        return value;
+    }
+
+    @Override
+    public Map<K, V> getAll(Collection<K> keys) {
+        Map<K, V> found = new LinkedHashMap<>(Math.max(keys.size() * 4 / 3 + 1, 16));
+        for (Map.Entry<Segment<K, V>, List<K>> group : groupBySegment(keys).entrySet()) {
+            group.getKey().getAll(group.getValue(), found);
+        }
+        if (found.size() < 2) {
+            return found;
+        }
+        Map<K, V> ordered = new LinkedHashMap<>(Math.max(found.size() * 4 / 3 + 1, 16));
+        for (K key : keys) {
+            V value = found.get(key);
+            if (value != null) {
+                ordered.put(key, value);
+            }
+        }
+        return ordered;
+    }
+
+    @Override
+    public void putAll(Map<K, V> entries) {
+        Map<Segment<K, V>, List<K>> groups = groupBySegment(entries.keySet());
+        for (Map.Entry<Segment<K, V>, List<K>> group : groups.entrySet()) {
+            group.getKey().putAll(group.getValue(), entries);
+        }
+    }
+
+    @Override
+    public void delete(K key) {
+        segmentFor(key).remove(key);
+    }
+
+    @Override
+    public void setEvictionListener(EvictionListener<K, V> listener) {
+        this.evictionListener = listener;
+    }
+
+    @Override
+    public void forEachEntry(EntryVisitor<K, V> visitor) {
+        for (Segment<K, V> segment : segments) {
+            segment.forEach(visitor);
+        }
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return segments[hash & segmentMask];
+    }
+
+    private Map<Segment<K, V>, List<K>> groupBySegment(Collection<K> keys) {
+        Map<Segment<K, V>, List<K>> groups = new IdentityHashMap<>();
+        for (K key : keys) {
+            groups.computeIfAbsent(segmentFor(key), segment -> new ArrayList<>()).add(key);
+        }
+        return groups;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K, V> Segment<K, V>[] newSegmentArray(int length) {
+        return new Segment[length];
+    }
+
+    private static int segmentCount(int concurrencyLevel, int maxSize) {
+        int limit = Math.max(1, Math.min(concurrencyLevel, maxSize));
+        return Integer.highestOneBit(limit);
+    }
+
+    private static final class Segment<K, V> {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<K, V> entries;
+
+        private Segment(int maxSize, ConcurrentLRUCache<K, V> owner) {
+            this.entries = new LinkedHashMap<>(Math.max(maxSize, 1), 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                    if (size() > maxSize) {
+                        owner.evictionListener.onEviction(eldest.getKey(), eldest.getValue());
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        private V get(K key) {
+            lock.lock();
+            try {
+                return entries.get(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void put(K key, V value) {
+            lock.lock();
+            try {
+                entries.put(key, value);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void getAll(List<K> keys, Map<K, V> found) {
+            lock.lock();
+            try {
+                for (K key : keys) {
+                    V value = entries.get(key);
+                    if (value != null) {
+                        found.put(key, value);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void putAll(List<K> keys, Map<K, V> values) {
+            lock.lock();
+            try {
+                for (K key : keys) {
+                    entries.put(key, values.get(key));
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void remove(K key) {
+            lock.lock();
+            try {
+                entries.remove(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void forEach(EntryVisitor<K, V> visitor) {
+            lock.lock();
+            try {
+                entries.forEach((key, value) -> visitor.visit(key, value, 1));
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
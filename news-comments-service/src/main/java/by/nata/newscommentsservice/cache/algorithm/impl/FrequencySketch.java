@@ -0,0 +1,107 @@
+package by.nata.newscommentsservice.cache.algorithm.impl;
+
+/**
+ * The {@code FrequencySketch} class is a Count-Min sketch that estimates how often keys were accessed
+ * within a recent period of time. Four 4-bit counters per key are packed into a {@code long} table,
+ * so the popularity of thousands of keys is tracked in a few kilobytes without storing the keys.
+ *
+ * <p>Once the number of recorded increments reaches a sample size of ten times the cache capacity, all
+ * counters are halved. This periodic aging lets the sketch forget keys that used to be popular.</p>
+ *
+ * <p>The sketch is not thread-safe and relies on the owning cache for synchronization.</p>
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long COUNTER_MASK = 0xfL;
+    private static final int MAX_FREQUENCY = 15;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int size;
+
+    /**
+     * Constructs a sketch sized for a cache holding up to the specified number of entries.
+     *
+     * @param maximumSize The maximum number of entries of the owning cache.
+     */
+    FrequencySketch(int maximumSize) {
+        int capacity = ceilingPowerOfTwo(Math.max(maximumSize, 8));
+        this.table = new long[capacity];
+        this.tableMask = capacity - 1;
+        this.sampleSize = 10 * Math.max(maximumSize, 1);
+    }
+
+    /**
+     * Returns the estimated number of occurrences of the key, capped at 15.
+     *
+     * @param key The key to estimate the frequency of.
+     * @return The estimated frequency.
+     */
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_FREQUENCY;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int offset = offsetOf(hash, i);
+            int count = (int) ((table[indexOf(hash, i)] >>> offset) & COUNTER_MASK);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Increments the estimated frequency of the key and ages all counters when the sample size is reached.
+     *
+     * @param key The key whose frequency is incremented.
+     */
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            added |= incrementAt(indexOf(hash, i), offsetOf(hash, i));
+        }
+        if (added && ++size >= sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int offset) {
+        long mask = COUNTER_MASK << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size >>>= 1;
+    }
+
+    private int indexOf(int hash, int depth) {
+        long h = (hash + SEEDS[depth]) * SEEDS[depth];
+        h += h >>> 32;
+        return (int) h & tableMask;
+    }
+
+    private static int offsetOf(int hash, int depth) {
+        return ((hash >>> (depth << 3)) & 15) << 2;
+    }
+
+    private static int spread(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+
+    private static int ceilingPowerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+}
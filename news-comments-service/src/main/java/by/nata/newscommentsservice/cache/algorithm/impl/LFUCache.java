@@ -1,6 +1,8 @@
 package by.nata.newscommentsservice.cache.algorithm.impl;
 
 import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.algorithm.api.EntryVisitor;
+import by.nata.newscommentsservice.cache.algorithm.api.EvictionListener;
 import by.nata.newscommentsservice.cache.config.CacheProperties;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -9,7 +11,6 @@ import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.PriorityQueue;
 
 /**
  * The {@code LFUCache} class is an implementation of Least Frequently Used (LFU) cache.
@@ -17,6 +18,14 @@ import java.util.PriorityQueue;
  * its maximum size. This class is annotated with {@code @Component} to be managed as a Spring
  * bean and is configured with prototype scope to create a new instance for each request.
  *
+ * <p>Entries are kept in frequency buckets that form a doubly linked list ordered by ascending
+ * access frequency. Every bucket holds its own doubly linked list of entries ordered from the most
+ * to the least recently used, so {@code get}, {@code put} and {@code delete} run in constant time:
+ * a hit moves the entry into the neighbouring bucket and an eviction removes the least recently
+ * used entry of the first (least frequent) bucket.</p>
+ *
+ * <p>The operations are synchronized on the cache, since every read moves the entry between buckets.</p>
+ *
  * <p>Dependencies:</p>
  * <p>- {@link ConditionalOnProperty}: A Spring Boot annotation to conditionally enable the bean
  *   based on the value of the "cache.algorithm" property.</p>
@@ -30,9 +39,10 @@ import java.util.PriorityQueue;
 public class LFUCache<K, V> implements Cache<K, V> {
 
     private final int maxSize;
-    private final Map<K, V> cache;
-    private final Map<K, Integer> frequency;
-    private final PriorityQueue<K> priorityQueue;
+    private final Map<K, Node<K, V>> cache;
+    private final FrequencyBucket<K, V> buckets;
+    private EvictionListener<K, V> evictionListener = (key, value) -> {
+    };
 
     /**
      * Constructs an instance of {@code LFUCache} with the specified configuration properties.
@@ -42,44 +52,175 @@ public class LFUCache<K, V> implements Cache<K, V> {
     @Autowired
     public LFUCache(CacheProperties cacheProperties) {
         this.maxSize = cacheProperties.getMaxSize();
-        this.cache = new HashMap<>(maxSize);
-        this.frequency = new HashMap<>(maxSize);
-        this.priorityQueue = new PriorityQueue<>(maxSize, (k1, k2) -> {
-            int freq1 = frequency.get(k1);
-            int freq2 = frequency.get(k2);
-            return Integer.compare(freq1, freq2);
-        });
+        this.cache = new HashMap<>(Math.max(maxSize, 16));
+        this.buckets = new FrequencyBucket<>(0);
     }
 
     @Override
-    public V get(K key) {
-        if (cache.containsKey(key)) {
-            int freq = frequency.get(key);
-            frequency.put(key, freq + 1);
-            priorityQueue.remove(key);
-            priorityQueue.offer(key);
-            return cache.get(key);
-        }
-        return null;
+    public synchronized V get(K key) {
+        Node<K, V> node = cache.get(key);
+        if (node == null) {
+            return null;
+        }
+        incrementFrequency(node);
+        return node.value;
     }
 
     @Override
-    public V put(K key, V value) {
+    public synchronized V put(K key, V value) {
+        Node<K, V> node = cache.get(key);
+        if (node != null) {
+            node.value = value;
+            incrementFrequency(node);
+            return value;
+        }
+        if (maxSize <= 0) {
+            return value;
+        }
         if (cache.size() >= maxSize) {
-            K leastFrequent = priorityQueue.poll();
-            cache.remove(leastFrequent);
-            frequency.remove(leastFrequent);
+            evict();
+        }
+        node = new Node<>(key, value);
+        FrequencyBucket<K, V> first = buckets.next;
+        if (first == buckets || first.frequency != 1) {
+            first = buckets.insertAfter(1);
         }
-        cache.put(key, value);
-        frequency.put(key, 1);
-        priorityQueue.offer(key);
+        first.addFirst(node);
+        cache.put(key, node);
         return value;
     }
 
     @Override
-    public void delete(K key) {
-        cache.remove(key);
-        frequency.remove(key);
-        priorityQueue.remove(key);
+    public synchronized void delete(K key) {
+        Node<K, V> node = cache.remove(key);
+        if (node != null) {
+            unlink(node);
+        }
+    }
+
+    @Override
+    public void setEvictionListener(EvictionListener<K, V> listener) {
+        this.evictionListener = listener;
+    }
+
+    @Override
+    public synchronized void forEachEntry(EntryVisitor<K, V> visitor) {
+        for (FrequencyBucket<K, V> bucket = buckets.next; bucket != buckets; bucket = bucket.next) {
+            int frequency = (int) Math.min(bucket.frequency, Integer.MAX_VALUE);
+            for (Node<K, V> node = bucket.entries.prev; node != bucket.entries; node = node.prev) {
+                visitor.visit(node.key, node.value, frequency);
+            }
+        }
+    }
+
+    @Override
+    public synchronized V restore(K key, V value, int frequency) {
+        if (cache.containsKey(key) || maxSize <= 0) {
+            return put(key, value);
+        }
+        if (cache.size() >= maxSize) {
+            evict();
+        }
+        long restoredFrequency = Math.max(frequency, 1);
+        FrequencyBucket<K, V> previous = buckets;
+        while (previous.next != buckets && previous.next.frequency <= restoredFrequency) {
+            previous = previous.next;
+        }
+        FrequencyBucket<K, V> bucket = previous != buckets && previous.frequency == restoredFrequency
+                ? previous : previous.insertAfter(restoredFrequency);
+        Node<K, V> node = new Node<>(key, value);
+        bucket.addFirst(node);
+        cache.put(key, node);
+        return value;
+    }
+
+    private void incrementFrequency(Node<K, V> node) {
+        FrequencyBucket<K, V> current = node.bucket;
+        FrequencyBucket<K, V> next = current.next;
+        if (next == buckets || next.frequency != current.frequency + 1) {
+            next = current.insertAfter(current.frequency + 1);
+        }
+        unlink(node);
+        next.addFirst(node);
+    }
+
+    private void evict() {
+        FrequencyBucket<K, V> leastFrequent = buckets.next;
+        if (leastFrequent == buckets) {
+            return;
+        }
+        Node<K, V> leastRecent = leastFrequent.entries.prev;
+        cache.remove(leastRecent.key);
+        unlink(leastRecent);
+        evictionListener.onEviction(leastRecent.key, leastRecent.value);
+    }
+
+    private void unlink(Node<K, V> node) {
+        FrequencyBucket<K, V> bucket = node.bucket;
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+        node.bucket = null;
+        if (bucket.isEmpty()) {
+            bucket.remove();
+        }
+    }
+
+    private static final class Node<K, V> {
+
+        private final K key;
+        private V value;
+        private FrequencyBucket<K, V> bucket;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        private Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private static final class FrequencyBucket<K, V> {
+
+        private final long frequency;
+        private final Node<K, V> entries;
+        private FrequencyBucket<K, V> prev;
+        private FrequencyBucket<K, V> next;
+
+        private FrequencyBucket(long frequency) {
+            this.frequency = frequency;
+            this.entries = new Node<>(null, null);
+            this.entries.prev = entries;
+            this.entries.next = entries;
+            this.prev = this;
+            this.next = this;
+        }
+
+        private FrequencyBucket<K, V> insertAfter(long frequency) {
+            FrequencyBucket<K, V> bucket = new FrequencyBucket<>(frequency);
+            bucket.prev = this;
+            bucket.next = next;
+            next.prev = bucket;
+            next = bucket;
+            return bucket;
+        }
+
+        private void addFirst(Node<K, V> node) {
+            node.bucket = this;
+            node.prev = entries;
+            node.next = entries.next;
+            entries.next.prev = node;
+            entries.next = node;
+        }
+
+        private boolean isEmpty() {
+            return entries.next == entries;
+        }
+
+        private void remove() {
+            prev.next = next;
+            next.prev = prev;
+        }
     }
 }
@@ -1,6 +1,8 @@
 package by.nata.newscommentsservice.cache.algorithm.impl;
 
 import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.algorithm.api.EntryVisitor;
+import by.nata.newscommentsservice.cache.algorithm.api.EvictionListener;
 import by.nata.newscommentsservice.cache.config.CacheProperties;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -16,6 +18,9 @@ import java.util.Map;
  * its maximum size. This class is annotated with {@code @Component} to be managed as a Spring
  * bean and is configured with prototype scope to create a new instance for each request.
  *
+ * <p>The operations are synchronized on the cache: a read reorders the access-ordered map, so request
+ * threads and the background snapshots must not work on it at the same time.</p>
+ *
  * <p>Dependencies:</p>
  * <p>- {@link ConditionalOnProperty}: A Spring Boot annotation to conditionally enable the bean
  *   based on the value of the "cache.algorithm" property.</p>
@@ -30,6 +35,8 @@ public class LRUCache<K, V> implements Cache<K, V> {
 
     private final int maxSize;
     private final LinkedHashMap<K, V> cache;
+    private EvictionListener<K, V> evictionListener = (key, value) -> {
+    };
 
     /**
      * Constructs an instance of {@code LRUCache} with the specified configuration properties.
@@ -42,24 +49,38 @@ public class LRUCache<K, V> implements Cache<K, V> {
         this.cache = new LinkedHashMap<>(maxSize, 0.75f, true) {
             @Override
             protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
-                return size() > maxSize;
+                if (size() > maxSize) {
+                    evictionListener.onEviction(eldest.getKey(), eldest.getValue());
+                    return true;
+                }
+                return false;
             }
         };
     }
 
     @Override
-    public V get(K key) {
+    public synchronized V get(K key) {
         return cache.get(key);
     }
 
     @Override
-    public V put(K key, V value) {
+    public synchronized V put(K key, V value) {
         cache.put(key, value);
         return value;
     }
 
     @Override
-    public void delete(K key) {
+    public synchronized void delete(K key) {
         cache.remove(key);
     }
+
+    @Override
+    public void setEvictionListener(EvictionListener<K, V> listener) {
+        this.evictionListener = listener;
+    }
+
+    @Override
+    public synchronized void forEachEntry(EntryVisitor<K, V> visitor) {
+        cache.forEach((key, value) -> visitor.visit(key, value, 1));
+    }
 }
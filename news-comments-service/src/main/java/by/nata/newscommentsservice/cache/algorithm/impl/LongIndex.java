@@ -0,0 +1,147 @@
+package by.nata.newscommentsservice.cache.algorithm.impl;
+
+import java.util.Arrays;
+
+/**
+ * The {@code LongIndex} class is an open-addressing hash map from {@code long} ids to {@code long} handles.
+ * Ids and handles are kept in two primitive arrays, so an entry costs sixteen bytes of heap and no objects,
+ * however many entries the index holds. Collisions are resolved by linear probing and removals shift the
+ * following entries back, so no tombstones accumulate.
+ *
+ * <p>Handles must not be negative, {@code -1} marks an empty slot and is returned for missing ids.</p>
+ *
+ * <p>The index is not thread-safe and relies on the owning cache for synchronization.</p>
+ */
+final class LongIndex {
+
+    static final long MISSING = -1L;
+
+    private long[] ids;
+    private long[] handles;
+    private int mask;
+    private int size;
+
+    /**
+     * Constructs an index sized for the specified number of entries.
+     *
+     * @param expectedSize The number of entries the index should hold without growing.
+     */
+    LongIndex(int expectedSize) {
+        allocate(ceilingPowerOfTwo(Math.max(expectedSize * 4 / 3 + 1, 16)));
+    }
+
+    /**
+     * Returns the handle stored for the id.
+     *
+     * @param id The id to look up.
+     * @return The handle, or {@link #MISSING} if the id is not in the index.
+     */
+    long get(long id) {
+        for (int slot = slot(id); ; slot = (slot + 1) & mask) {
+            long handle = handles[slot];
+            if (handle == MISSING || ids[slot] == id) {
+                return handle;
+            }
+        }
+    }
+
+    /**
+     * Stores the handle for the id, replacing the previous one.
+     *
+     * @param id     The id.
+     * @param handle The handle, not negative.
+     * @return The previous handle, or {@link #MISSING} if the id was not in the index.
+     */
+    long put(long id, long handle) {
+        int slot = slot(id);
+        while (handles[slot] != MISSING) {
+            if (ids[slot] == id) {
+                long previous = handles[slot];
+                handles[slot] = handle;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        ids[slot] = id;
+        handles[slot] = handle;
+        if (++size > (mask + 1) * 3 / 4) {
+            grow();
+        }
+        return MISSING;
+    }
+
+    /**
+     * Removes the id from the index.
+     *
+     * @param id The id to remove.
+     * @return The removed handle, or {@link #MISSING} if the id was not in the index.
+     */
+    long remove(long id) {
+        int slot = slot(id);
+        while (handles[slot] != MISSING) {
+            if (ids[slot] == id) {
+                long removed = handles[slot];
+                shiftBack(slot);
+                size--;
+                return removed;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void shiftBack(int hole) {
+        int slot = hole;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (handles[slot] == MISSING) {
+                break;
+            }
+            int home = slot(ids[slot]);
+            boolean movable = hole <= slot ? home <= hole || home > slot : home <= hole && home > slot;
+            if (movable) {
+                ids[hole] = ids[slot];
+                handles[hole] = handles[slot];
+                hole = slot;
+            }
+        }
+        handles[hole] = MISSING;
+    }
+
+    private void grow() {
+        long[] oldIds = ids;
+        long[] oldHandles = handles;
+        allocate(oldIds.length * 2);
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldHandles[i] != MISSING) {
+                int slot = slot(oldIds[i]);
+                while (handles[slot] != MISSING) {
+                    slot = (slot + 1) & mask;
+                }
+                ids[slot] = oldIds[i];
+                handles[slot] = oldHandles[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        ids = new long[capacity];
+        handles = new long[capacity];
+        Arrays.fill(handles, MISSING);
+        mask = capacity - 1;
+    }
+
+    private int slot(long id) {
+        long hash = (id ^ (id >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return (int) (hash ^ (hash >>> 33)) & mask;
+    }
+
+    private static int ceilingPowerOfTwo(int x) {
+        return 1 << -Integer.numberOfLeadingZeros(x - 1);
+    }
+}
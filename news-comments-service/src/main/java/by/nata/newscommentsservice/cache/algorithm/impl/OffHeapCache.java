@@ -0,0 +1,247 @@
+package by.nata.newscommentsservice.cache.algorithm.impl;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.algorithm.api.EntryVisitor;
+import by.nata.newscommentsservice.cache.algorithm.api.EvictionListener;
+import by.nata.newscommentsservice.cache.codec.CompactRedisSerializer;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * The {@code OffHeapCache} class is a cache that keeps its values outside of the Java heap. Keys and values are
+ * serialized in the compact binary format and appended to direct {@link ByteBuffer} slabs of
+ * "cache.offHeap.slabSize" bytes, up to "cache.offHeap.maxBytes" in total. The heap only holds a primitive
+ * {@link LongIndex} from the id of every key to the slab and offset of its record, so tens of thousands of
+ * cached news no longer fill the old generation, and values are decoded on every read.
+ *
+ * <p>The id of a {@link Long} or {@link Integer} key is the key itself, other keys use their hash code. Every
+ * record also stores its key, which is compared on reads, so two keys sharing an id never return each other's
+ * value; the later write evicts the earlier entry instead.</p>
+ *
+ * <p>Slabs are filled one after another. When all are full, the oldest slab is recycled and the entries still
+ * living in it are evicted, so entries leave the cache in the order they were written. Space of replaced and
+ * deleted records is reclaimed when their slab is recycled. Values larger than a slab are not cached. The
+ * "cache.maxSize" property is not used, the cache is limited by bytes only.</p>
+ *
+ * <p>All operations are synchronized on the cache instance. This class is annotated with {@code @Component}
+ * to be managed as a Spring bean and is configured with prototype scope to create a new instance for each
+ * request.</p>
+ *
+ * <p>Dependencies:</p>
+ * <p>- {@link ConditionalOnProperty}: A Spring Boot annotation to conditionally enable the bean
+ *   based on the value of the "cache.algorithm" property.</p>
+ *
+ * @param <K> The type of keys in the cache.
+ * @param <V> The type of values in the cache.
+ */
+@Component
+@Scope("prototype")
+@ConditionalOnProperty(prefix = "cache", name = "algorithm", havingValue = "OFFHEAP")
+public class OffHeapCache<K, V> implements Cache<K, V> {
+
+    private static final int LENGTH_OFFSET = 0;
+    private static final int ID_OFFSET = 4;
+    private static final int KEY_LENGTH_OFFSET = 12;
+    private static final int HEADER_SIZE = 16;
+
+    private final int slabSize;
+    private final ByteBuffer[] slabs;
+    private final int[] slabLimits;
+    private final LongIndex index;
+    private final CompactRedisSerializer keySerializer = new CompactRedisSerializer(0);
+    private final CompactRedisSerializer valueSerializer;
+    private int head;
+    private EvictionListener<K, V> evictionListener = (key, value) -> {
+    };
+    // Recycled records are only decoded for a listener set by the caller, never for the no-op default
+    private boolean notifyEvictions;
+
+    /**
+     * Constructs an instance of {@code OffHeapCache} with the specified configuration properties.
+     *
+     * @param cacheProperties The configuration properties for the cache, including the memory limits.
+     */
+    @Autowired
+    public OffHeapCache(CacheProperties cacheProperties) {
+        CacheProperties.OffHeap offHeap = cacheProperties.getOffHeap();
+        long maxBytes = Math.max(offHeap.getMaxBytes().toBytes(), HEADER_SIZE);
+        this.slabSize = (int) Math.min(Math.min(offHeap.getSlabSize().toBytes(), maxBytes), Integer.MAX_VALUE);
+        int slabCount = (int) Math.min(Math.max(maxBytes / slabSize, 1), Integer.MAX_VALUE);
+        this.slabs = new ByteBuffer[slabCount];
+        this.slabLimits = new int[slabCount];
+        this.index = new LongIndex(1024);
+        this.valueSerializer = new CompactRedisSerializer(cacheProperties.getSerialization().getCompressionThreshold());
+        this.slabs[0] = ByteBuffer.allocateDirect(slabSize);
+    }
+
+    @Override
+    public synchronized V get(K key) {
+        long handle = find(key, keySerializer.serialize(key));
+        return handle == LongIndex.MISSING ? null : valueAt(handle);
+    }
+
+    @Override
+    public synchronized V put(K key, V value) {
+        byte[] keyBytes = keySerializer.serialize(key);
+        byte[] valueBytes = valueSerializer.serialize(value);
+        long length = (long) HEADER_SIZE + keyBytes.length + valueBytes.length;
+        long id = idOf(key);
+        if (length > slabSize) {
+            if (find(key, keyBytes) != LongIndex.MISSING) {
+                index.remove(id);
+            }
+            return value;
+        }
+        if (slabLimits[head] + length > slabSize) {
+            advance();
+        }
+        int offset = slabLimits[head];
+        ByteBuffer slab = slabs[head];
+        slab.putInt(offset + LENGTH_OFFSET, (int) length);
+        slab.putLong(offset + ID_OFFSET, id);
+        slab.putInt(offset + KEY_LENGTH_OFFSET, keyBytes.length);
+        slab.put(offset + HEADER_SIZE, keyBytes);
+        slab.put(offset + HEADER_SIZE + keyBytes.length, valueBytes);
+        slabLimits[head] = offset + (int) length;
+        long previous = index.put(id, handle(head, offset));
+        if (notifyEvictions && previous != LongIndex.MISSING && !keyMatches(previous, keyBytes)) {
+            evictionListener.onEviction(keyAt(previous), valueAt(previous));
+        }
+        return value;
+    }
+
+    @Override
+    public synchronized Map<K, V> getAll(Collection<K> keys) {
+        return Cache.super.getAll(keys);
+    }
+
+    @Override
+    public synchronized void putAll(Map<K, V> entries) {
+        Cache.super.putAll(entries);
+    }
+
+    @Override
+    public synchronized void delete(K key) {
+        if (find(key, keySerializer.serialize(key)) != LongIndex.MISSING) {
+            index.remove(idOf(key));
+        }
+    }
+
+    @Override
+    public synchronized void setEvictionListener(EvictionListener<K, V> listener) {
+        this.evictionListener = listener;
+        this.notifyEvictions = true;
+    }
+
+    @Override
+    public synchronized void forEachEntry(EntryVisitor<K, V> visitor) {
+        for (int i = 1; i <= slabs.length; i++) {
+            int slab = (head + i) % slabs.length;
+            forEachLiveRecord(slab, handle -> visitor.visit(keyAt(handle), valueAt(handle), 1));
+        }
+    }
+
+    /**
+     * Returns the number of entries in the cache.
+     *
+     * @return The number of entries.
+     */
+    public synchronized int size() {
+        return index.size();
+    }
+
+    private void advance() {
+        head = (head + 1) % slabs.length;
+        if (slabs[head] == null) {
+            slabs[head] = ByteBuffer.allocateDirect(slabSize);
+        } else {
+            forEachLiveRecord(head, handle -> {
+                index.remove(slabs[slabOf(handle)].getLong(offsetOf(handle) + ID_OFFSET));
+                if (notifyEvictions) {
+                    evictionListener.onEviction(keyAt(handle), valueAt(handle));
+                }
+            });
+        }
+        slabLimits[head] = 0;
+    }
+
+    private void forEachLiveRecord(int slab, HandleConsumer consumer) {
+        ByteBuffer buffer = slabs[slab];
+        int offset = 0;
+        while (offset < slabLimits[slab]) {
+            int length = buffer.getInt(offset + LENGTH_OFFSET);
+            long handle = handle(slab, offset);
+            if (index.get(buffer.getLong(offset + ID_OFFSET)) == handle) {
+                consumer.accept(handle);
+            }
+            offset += length;
+        }
+    }
+
+    private long find(K key, byte[] keyBytes) {
+        long handle = index.get(idOf(key));
+        return handle != LongIndex.MISSING && keyMatches(handle, keyBytes) ? handle : LongIndex.MISSING;
+    }
+
+    private boolean keyMatches(long handle, byte[] keyBytes) {
+        ByteBuffer slab = slabs[slabOf(handle)];
+        int offset = offsetOf(handle);
+        int keyLength = slab.getInt(offset + KEY_LENGTH_OFFSET);
+        return keyLength == keyBytes.length
+                && slab.slice(offset + HEADER_SIZE, keyLength).equals(ByteBuffer.wrap(keyBytes));
+    }
+
+    @SuppressWarnings("unchecked")
+    private K keyAt(long handle) {
+        ByteBuffer slab = slabs[slabOf(handle)];
+        int offset = offsetOf(handle);
+        byte[] keyBytes = new byte[slab.getInt(offset + KEY_LENGTH_OFFSET)];
+        slab.get(offset + HEADER_SIZE, keyBytes);
+        return (K) keySerializer.deserialize(keyBytes);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(long handle) {
+        ByteBuffer slab = slabs[slabOf(handle)];
+        int offset = offsetOf(handle);
+        int keyLength = slab.getInt(offset + KEY_LENGTH_OFFSET);
+        byte[] valueBytes = new byte[slab.getInt(offset + LENGTH_OFFSET) - HEADER_SIZE - keyLength];
+        slab.get(offset + HEADER_SIZE + keyLength, valueBytes);
+        return (V) valueSerializer.deserialize(valueBytes);
+    }
+
+    private static long idOf(Object key) {
+        if (key instanceof Long number) {
+            return number;
+        }
+        if (key instanceof Integer number) {
+            return number;
+        }
+        return key == null ? 0 : key.hashCode() * 0x9e3779b97f4a7c15L;
+    }
+
+    private static long handle(int slab, int offset) {
+        return ((long) slab << 32) | offset;
+    }
+
+    private static int slabOf(long handle) {
+        return (int) (handle >>> 32);
+    }
+
+    private static int offsetOf(long handle) {
+        return (int) handle;
+    }
+
+    @FunctionalInterface
+    private interface HandleConsumer {
+
+        void accept(long handle);
+    }
+}
@@ -0,0 +1,254 @@
+package by.nata.newscommentsservice.cache.algorithm.impl;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.algorithm.api.EntryVisitor;
+import by.nata.newscommentsservice.cache.algorithm.api.EvictionListener;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code S3FIFOCache} class is an implementation of the S3-FIFO cache.
+ * New entries are admitted into a small FIFO queue that holds a tenth of the cache. When an entry leaves
+ * the small queue, it moves into the main FIFO queue if it was read while waiting there; otherwise it is
+ * evicted and only its key is remembered in a ghost queue, so that storing the key again admits it
+ * straight into the main queue. The main queue evicts like CLOCK: every entry keeps a small access
+ * counter, and an entry at the head of the queue with a non-zero counter is reinserted at the tail with a
+ * decremented counter instead of being evicted. One-hit wonders are thereby dropped quickly while hits
+ * only update a counter. This class is annotated with {@code @Component} to be managed as a Spring bean
+ * and is configured with prototype scope to create a new instance for each request.
+ *
+ * <p>All operations are synchronized on the cache instance.</p>
+ *
+ * <p>Dependencies:</p>
+ * <p>- {@link ConditionalOnProperty}: A Spring Boot annotation to conditionally enable the bean
+ *   based on the value of the "cache.algorithm" property.</p>
+ *
+ * @param <K> The type of keys in the cache.
+ * @param <V> The type of values in the cache.
+ */
+@Component
+@Scope("prototype")
+@ConditionalOnProperty(prefix = "cache", name = "algorithm", havingValue = "S3FIFO")
+public class S3FIFOCache<K, V> implements Cache<K, V> {
+
+    private static final double SMALL_RATIO = 0.1;
+    private static final int MAX_FREQUENCY = 3;
+
+    private final int maxSize;
+    private final int maxSmall;
+    private final int maxMain;
+    private final Map<K, Node<K, V>> cache;
+    private final FifoQueue<K, V> small;
+    private final FifoQueue<K, V> main;
+    private final LinkedHashMap<K, Boolean> ghosts;
+    private EvictionListener<K, V> evictionListener = (key, value) -> {
+    };
+
+    /**
+     * Constructs an instance of {@code S3FIFOCache} with the specified configuration properties.
+     *
+     * @param cacheProperties The configuration properties for the cache, including the maximum size.
+     */
+    @Autowired
+    public S3FIFOCache(CacheProperties cacheProperties) {
+        this.maxSize = Math.max(cacheProperties.getMaxSize(), 0);
+        this.maxSmall = Math.max(1, (int) (maxSize * SMALL_RATIO));
+        this.maxMain = Math.max(1, maxSize - maxSmall);
+        this.cache = new HashMap<>(Math.max(maxSize, 16));
+        this.small = new FifoQueue<>();
+        this.main = new FifoQueue<>();
+        this.ghosts = new LinkedHashMap<>();
+    }
+
+    @Override
+    public synchronized V get(K key) {
+        Node<K, V> node = cache.get(key);
+        if (node == null) {
+            return null;
+        }
+        node.frequency = Math.min(node.frequency + 1, MAX_FREQUENCY);
+        return node.value;
+    }
+
+    @Override
+    public synchronized V put(K key, V value) {
+        Node<K, V> node = cache.get(key);
+        if (node != null) {
+            node.value = value;
+            node.frequency = Math.min(node.frequency + 1, MAX_FREQUENCY);
+            return value;
+        }
+        if (maxSize <= 0) {
+            return value;
+        }
+        boolean remembered = ghosts.remove(key) != null;
+        while (cache.size() >= maxSize) {
+            evict();
+        }
+        node = new Node<>(key, value);
+        cache.put(key, node);
+        if (remembered) {
+            main.addLast(node, true);
+        } else {
+            small.addLast(node, false);
+        }
+        return value;
+    }
+
+    @Override
+    public synchronized Map<K, V> getAll(Collection<K> keys) {
+        return Cache.super.getAll(keys);
+    }
+
+    @Override
+    public synchronized void putAll(Map<K, V> entries) {
+        Cache.super.putAll(entries);
+    }
+
+    @Override
+    public synchronized void delete(K key) {
+        Node<K, V> node = cache.remove(key);
+        if (node != null) {
+            queueOf(node).remove(node);
+        }
+        ghosts.remove(key);
+    }
+
+    @Override
+    public synchronized void setEvictionListener(EvictionListener<K, V> listener) {
+        this.evictionListener = listener;
+    }
+
+    @Override
+    public synchronized void forEachEntry(EntryVisitor<K, V> visitor) {
+        for (FifoQueue<K, V> queue : List.of(small, main)) {
+            for (Node<K, V> node = queue.head.next; node != queue.head; node = node.next) {
+                visitor.visit(node.key, node.value, node.frequency + 1);
+            }
+        }
+    }
+
+    @Override
+    public synchronized V restore(K key, V value, int frequency) {
+        V result = put(key, value);
+        Node<K, V> node = cache.get(key);
+        if (node != null) {
+            node.frequency = Math.min(Math.max(frequency - 1, 0), MAX_FREQUENCY);
+        }
+        return result;
+    }
+
+    private void evict() {
+        if (small.size >= maxSmall || main.size == 0) {
+            evictSmall();
+        } else {
+            evictMain();
+        }
+    }
+
+    private void evictSmall() {
+        while (small.size > 0) {
+            Node<K, V> node = small.pollFirst();
+            if (node.frequency > 0) {
+                node.frequency = 0;
+                main.addLast(node, true);
+                if (main.size > maxMain) {
+                    evictMain();
+                    return;
+                }
+            } else {
+                ghosts.put(node.key, Boolean.TRUE);
+                if (ghosts.size() > maxMain) {
+                    Iterator<K> eldest = ghosts.keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                }
+                evictEntry(node);
+                return;
+            }
+        }
+        evictMain();
+    }
+
+    private void evictMain() {
+        while (main.size > 0) {
+            Node<K, V> node = main.pollFirst();
+            if (node.frequency > 0) {
+                node.frequency--;
+                main.addLast(node, true);
+            } else {
+                evictEntry(node);
+                return;
+            }
+        }
+    }
+
+    private void evictEntry(Node<K, V> node) {
+        cache.remove(node.key);
+        evictionListener.onEviction(node.key, node.value);
+    }
+
+    private FifoQueue<K, V> queueOf(Node<K, V> node) {
+        return node.inMain ? main : small;
+    }
+
+    private static final class Node<K, V> {
+
+        private final K key;
+        private V value;
+        private int frequency;
+        private boolean inMain;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        private Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private static final class FifoQueue<K, V> {
+
+        private final Node<K, V> head;
+        private int size;
+
+        private FifoQueue() {
+            this.head = new Node<>(null, null);
+            this.head.prev = head;
+            this.head.next = head;
+        }
+
+        private void addLast(Node<K, V> node, boolean inMain) {
+            node.inMain = inMain;
+            node.next = head;
+            node.prev = head.prev;
+            head.prev.next = node;
+            head.prev = node;
+            size++;
+        }
+
+        private Node<K, V> pollFirst() {
+            Node<K, V> first = head.next;
+            remove(first);
+            return first;
+        }
+
+        private void remove(Node<K, V> node) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package by.nata.newscommentsservice.cache.algorithm.impl;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.algorithm.api.EntryVisitor;
+import by.nata.newscommentsservice.cache.algorithm.api.EvictionListener;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code TinyLFUCache} class is an implementation of the Window TinyLFU (W-TinyLFU) cache.
+ * New entries are admitted into a small window LRU that absorbs bursts of recent keys. Entries evicted
+ * from the window become candidates for the main region, a segmented LRU split into probation and
+ * protected segments, and enter it only if a {@link FrequencySketch} estimates them to be accessed more
+ * often than the entry the main region would evict. One-off scans therefore cannot push frequently
+ * used entries out of the cache. This class is annotated with {@code @Component} to be managed as a
+ * Spring bean and is configured with prototype scope to create a new instance for each request.
+ *
+ * <p>All operations are synchronized on the cache instance.</p>
+ *
+ * <p>Dependencies:</p>
+ * <p>- {@link ConditionalOnProperty}: A Spring Boot annotation to conditionally enable the bean
+ *   based on the value of the "cache.algorithm" property.</p>
+ *
+ * @param <K> The type of keys in the cache.
+ * @param <V> The type of values in the cache.
+ */
+@Component
+@Scope("prototype")
+@ConditionalOnProperty(prefix = "cache", name = "algorithm", havingValue = "TINYLFU")
+public class TinyLFUCache<K, V> implements Cache<K, V> {
+
+    private static final double WINDOW_RATIO = 0.01;
+    private static final double PROTECTED_RATIO = 0.8;
+    private static final int MAX_RESTORED_FREQUENCY = 15;
+
+    private final int maxSize;
+    private final int maxWindow;
+    private final int maxProtected;
+    private final Map<K, Node<K, V>> cache;
+    private final FrequencySketch sketch;
+    private final AccessQueue<K, V> window;
+    private final AccessQueue<K, V> probation;
+    private final AccessQueue<K, V> protectedQueue;
+    private EvictionListener<K, V> evictionListener = (key, value) -> {
+    };
+
+    /**
+     * Constructs an instance of {@code TinyLFUCache} with the specified configuration properties.
+     *
+     * @param cacheProperties The configuration properties for the cache, including the maximum size.
+     */
+    @Autowired
+    public TinyLFUCache(CacheProperties cacheProperties) {
+        this.maxSize = Math.max(cacheProperties.getMaxSize(), 0);
+        this.maxWindow = Math.max(1, (int) (maxSize * WINDOW_RATIO));
+        this.maxProtected = (int) ((maxSize - Math.min(maxWindow, maxSize)) * PROTECTED_RATIO);
+        this.cache = new HashMap<>(Math.max(maxSize, 16));
+        this.sketch = new FrequencySketch(maxSize);
+        this.window = new AccessQueue<>();
+        this.probation = new AccessQueue<>();
+        this.protectedQueue = new AccessQueue<>();
+    }
+
+    @Override
+    public synchronized V get(K key) {
+        sketch.increment(key);
+        Node<K, V> node = cache.get(key);
+        if (node == null) {
+            return null;
+        }
+        onHit(node);
+        return node.value;
+    }
+
+    @Override
+    public synchronized V put(K key, V value) {
+        Node<K, V> node = cache.get(key);
+        if (node != null) {
+            node.value = value;
+            onHit(node);
+            return value;
+        }
+        if (maxSize <= 0) {
+            return value;
+        }
+        node = new Node<>(key, value);
+        cache.put(key, node);
+        window.addLast(node, Region.WINDOW);
+        evict();
+        return value;
+    }
+
+    @Override
+    public synchronized Map<K, V> getAll(Collection<K> keys) {
+        return Cache.super.getAll(keys);
+    }
+
+    @Override
+    public synchronized void putAll(Map<K, V> entries) {
+        Cache.super.putAll(entries);
+    }
+
+    @Override
+    public synchronized void delete(K key) {
+        Node<K, V> node = cache.remove(key);
+        if (node != null) {
+            queueOf(node).remove(node);
+        }
+    }
+
+    @Override
+    public synchronized void setEvictionListener(EvictionListener<K, V> listener) {
+        this.evictionListener = listener;
+    }
+
+    @Override
+    public synchronized void forEachEntry(EntryVisitor<K, V> visitor) {
+        for (AccessQueue<K, V> queue : List.of(probation, window, protectedQueue)) {
+            for (Node<K, V> node = queue.first(); node != null; node = node.next != queue.head ? node.next : null) {
+                visitor.visit(node.key, node.value, sketch.frequency(node.key));
+            }
+        }
+    }
+
+    @Override
+    public synchronized V restore(K key, V value, int frequency) {
+        for (int i = 0; i < Math.min(frequency, MAX_RESTORED_FREQUENCY); i++) {
+            sketch.increment(key);
+        }
+        return put(key, value);
+    }
+
+    private void onHit(Node<K, V> node) {
+        switch (node.region) {
+            case WINDOW -> window.moveToLast(node);
+            case PROTECTED -> protectedQueue.moveToLast(node);
+            case PROBATION -> {
+                probation.remove(node);
+                protectedQueue.addLast(node, Region.PROTECTED);
+                if (protectedQueue.size > maxProtected) {
+                    Node<K, V> demoted = protectedQueue.first();
+                    protectedQueue.remove(demoted);
+                    probation.addLast(demoted, Region.PROBATION);
+                }
+            }
+        }
+    }
+
+    private void evict() {
+        while (window.size > maxWindow) {
+            Node<K, V> candidate = window.first();
+            window.remove(candidate);
+            probation.addLast(candidate, Region.PROBATION);
+            if (cache.size() > maxSize) {
+                Node<K, V> victim = probation.first() != candidate ? probation.first() : protectedQueue.first();
+                if (victim == null || sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+                    victim = candidate;
+                }
+                queueOf(victim).remove(victim);
+                cache.remove(victim.key);
+                evictionListener.onEviction(victim.key, victim.value);
+            }
+        }
+    }
+
+    private AccessQueue<K, V> queueOf(Node<K, V> node) {
+        return switch (node.region) {
+            case WINDOW -> window;
+            case PROBATION -> probation;
+            case PROTECTED -> protectedQueue;
+        };
+    }
+
+    private enum Region {
+        WINDOW, PROBATION, PROTECTED
+    }
+
+    private static final class Node<K, V> {
+
+        private final K key;
+        private V value;
+        private Region region;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        private Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private static final class AccessQueue<K, V> {
+
+        private final Node<K, V> head = new Node<>(null, null);
+        private int size;
+
+        private AccessQueue() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        private Node<K, V> first() {
+            return head.next == head ? null : head.next;
+        }
+
+        private void addLast(Node<K, V> node, Region region) {
+            node.region = region;
+            node.next = head;
+            node.prev = head.prev;
+            head.prev.next = node;
+            head.prev = node;
+            size++;
+        }
+
+        private void remove(Node<K, V> node) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+
+        private void moveToLast(Node<K, V> node) {
+            Region region = node.region;
+            remove(node);
+            addLast(node, region);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package by.nata.newscommentsservice.cache.algorithm.impl;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.algorithm.api.EntryVisitor;
+import by.nata.newscommentsservice.cache.algorithm.api.EvictionListener;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The {@code TwoQueueCache} class is an implementation of the 2Q cache.
+ * New entries are admitted into a FIFO queue ({@code A1in}) that holds roughly a quarter of the cache.
+ * Entries evicted from it leave only their key behind in a ghost queue ({@code A1out}); a key that is
+ * stored again while it is remembered there has proven to be reused and is promoted into the main LRU
+ * queue ({@code Am}). Keys that are touched once therefore never displace the entries of the main queue.
+ * This class is annotated with {@code @Component} to be managed as a Spring bean and is configured with
+ * prototype scope to create a new instance for each request.
+ *
+ * <p>All operations are synchronized on the cache instance.</p>
+ *
+ * <p>Dependencies:</p>
+ * <p>- {@link ConditionalOnProperty}: A Spring Boot annotation to conditionally enable the bean
+ *   based on the value of the "cache.algorithm" property.</p>
+ *
+ * @param <K> The type of keys in the cache.
+ * @param <V> The type of values in the cache.
+ */
+@Component
+@Scope("prototype")
+@ConditionalOnProperty(prefix = "cache", name = "algorithm", havingValue = "2Q")
+public class TwoQueueCache<K, V> implements Cache<K, V> {
+
+    private static final double IN_RATIO = 0.25;
+    private static final double OUT_RATIO = 0.5;
+
+    private final int maxSize;
+    private final int maxIn;
+    private final int maxOut;
+    private final LinkedHashMap<K, V> in;
+    private final LinkedHashMap<K, Boolean> out;
+    private final LinkedHashMap<K, V> main;
+    private EvictionListener<K, V> evictionListener = (key, value) -> {
+    };
+
+    /**
+     * Constructs an instance of {@code TwoQueueCache} with the specified configuration properties.
+     *
+     * @param cacheProperties The configuration properties for the cache, including the maximum size.
+     */
+    @Autowired
+    public TwoQueueCache(CacheProperties cacheProperties) {
+        this.maxSize = Math.max(cacheProperties.getMaxSize(), 0);
+        this.maxIn = Math.max(1, (int) (maxSize * IN_RATIO));
+        this.maxOut = Math.max(1, (int) (maxSize * OUT_RATIO));
+        this.in = new LinkedHashMap<>();
+        this.out = new LinkedHashMap<>();
+        this.main = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    @Override
+    public synchronized V get(K key) {
+        V value = main.get(key);
+        return value != null ? value : in.get(key);
+    }
+
+    @Override
+    public synchronized V put(K key, V value) {
+        if (main.containsKey(key)) {
+            main.put(key, value);
+            return value;
+        }
+        if (in.containsKey(key)) {
+            in.put(key, value);
+            return value;
+        }
+        if (maxSize <= 0) {
+            return value;
+        }
+        boolean reused = out.remove(key) != null;
+        if (in.size() + main.size() >= maxSize) {
+            evict();
+        }
+        if (reused) {
+            main.put(key, value);
+        } else {
+            in.put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public synchronized Map<K, V> getAll(Collection<K> keys) {
+        return Cache.super.getAll(keys);
+    }
+
+    @Override
+    public synchronized void putAll(Map<K, V> entries) {
+        Cache.super.putAll(entries);
+    }
+
+    @Override
+    public synchronized void delete(K key) {
+        if (main.remove(key) == null) {
+            in.remove(key);
+        }
+        out.remove(key);
+    }
+
+    @Override
+    public synchronized void setEvictionListener(EvictionListener<K, V> listener) {
+        this.evictionListener = listener;
+    }
+
+    @Override
+    public synchronized void forEachEntry(EntryVisitor<K, V> visitor) {
+        in.forEach((key, value) -> visitor.visit(key, value, 1));
+        main.forEach((key, value) -> visitor.visit(key, value, 2));
+    }
+
+    @Override
+    public synchronized V restore(K key, V value, int frequency) {
+        if (frequency <= 1 || maxSize <= 0 || main.containsKey(key) || in.containsKey(key)) {
+            return put(key, value);
+        }
+        out.remove(key);
+        if (in.size() + main.size() >= maxSize) {
+            evict();
+        }
+        main.put(key, value);
+        return value;
+    }
+
+    private void evict() {
+        if (in.size() > maxIn || main.isEmpty()) {
+            Map.Entry<K, V> eldest = removeEldest(in);
+            if (eldest != null) {
+                out.put(eldest.getKey(), Boolean.TRUE);
+                if (out.size() > maxOut) {
+                    removeEldest(out);
+                }
+                evictionListener.onEviction(eldest.getKey(), eldest.getValue());
+            }
+            return;
+        }
+        Map.Entry<K, V> eldest = removeEldest(main);
+        evictionListener.onEviction(eldest.getKey(), eldest.getValue());
+    }
+
+    private static <K, V> Map.Entry<K, V> removeEldest(LinkedHashMap<K, V> queue) {
+        Iterator<Map.Entry<K, V>> iterator = queue.entrySet().iterator();
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        Map.Entry<K, V> eldest = iterator.next();
+        Map.Entry<K, V> removed = new AbstractMap.SimpleImmutableEntry<>(eldest);
+        iterator.remove();
+        return removed;
+    }
+}
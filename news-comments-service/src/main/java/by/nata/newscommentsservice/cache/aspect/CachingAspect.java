@@ -1,43 +1,82 @@
 package by.nata.newscommentsservice.cache.aspect;
 
 import by.nata.newscommentsservice.cache.algorithm.api.Cache;
-import by.nata.newscommentsservice.service.dto.CommentResponseDto;
-import by.nata.newscommentsservice.service.dto.NewsResponseDto;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import by.nata.newscommentsservice.cache.config.CacheRegistry;
+import by.nata.newscommentsservice.cache.key.CacheKeyResolver;
+import by.nata.newscommentsservice.cache.key.CacheOperation;
+import by.nata.newscommentsservice.cache.loader.SingleFlightLoader;
+import by.nata.newscommentsservice.cache.stats.CacheStatsRegistry;
+import by.nata.newscommentsservice.cache.trace.CacheTraceRecorder;
+import by.nata.newscommentsservice.cache.trace.TraceOperation;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
-import java.lang.reflect.Field;
+import java.lang.annotation.Annotation;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The {@code CachingAspect} class is an aspect that provides caching functionality for methods
  * marked with custom cache-related annotations. It allows caching of method results, retrieval
  * of cached data, and deletion of cached data based on annotations.
  *
+ * <p>Every cache name gets its own {@link Cache} instance, kept by the {@link CacheRegistry}, so size limits and expiry settings apply per cache name. Concurrent misses of the same key
+ * are coalesced by a {@link SingleFlightLoader}, so only one thread calls the cached method.</p>
+ *
+ * <p>The cache names and keys are taken from the {@code cacheNames} and {@code key} attributes of the
+ * annotations, which are resolved once per method by the {@link CacheKeyResolver}.</p>
+ *
+ * <p>The aspect is not created when the "spring" profile is active as well, since the cache manager of that
+ * profile serves the same annotations through Spring's cache interceptor.</p>
+ *
  * <p>Dependencies:</p>
  * <p>- {@link Cache}: An interface that defines the caching behavior, including methods for
  *   getting, putting, and deleting cached data.</p>
+ * <p>- {@link CacheRegistry}: Provides the cache of each cache name.</p>
+ * <p>- {@link CacheKeyResolver}: Resolves the cache names and compiles the key expressions of the methods.</p>
+ * <p>- {@link CacheStatsRegistry}: Records the time spent loading values after a cache miss.</p>
+ * <p>- {@link CacheTraceRecorder}: Records the accesses of the caches for offline simulations.</p>
  */
 @Aspect
 @Component
-@Profile({"dev", "aspect"})
-@SuppressWarnings("unchecked")
+@Profile("(dev | aspect) & !spring")
 public class CachingAspect {
 
-    private final Cache<String, Object> cache;
+    private final CacheRegistry cacheRegistry;
+    private final CacheKeyResolver cacheKeyResolver;
+    private final CacheStatsRegistry cacheStatsRegistry;
+    private final CacheTraceRecorder cacheTraceRecorder;
+    private final Duration loadTimeout;
+    private final Map<String, SingleFlightLoader<Object>> loaders = new ConcurrentHashMap<>();
 
     /**
-     * Constructs an instance of {@code CachingAspect} with the specified cache.
+     * Constructs an instance of {@code CachingAspect} with the specified cache registry.
      *
-     * @param cache The cache implementation used for storing and managing cached data.
+     * @param cacheRegistry      The registry providing the caches used for storing and managing cached data.
+     * @param cacheKeyResolver   The resolver of the cache names and keys of the cached methods.
+     * @param cacheStatsRegistry The registry the load times of the cached methods are recorded in.
+     * @param cacheTraceRecorder The recorder of the accesses of the caches.
+     * @param cacheProperties    The configuration properties for the caches, including the load timeout.
      */
     @Autowired
-    public CachingAspect(Cache<String, Object> cache) {
-        this.cache = cache;
+    public CachingAspect(CacheRegistry cacheRegistry, CacheKeyResolver cacheKeyResolver,
+                         CacheStatsRegistry cacheStatsRegistry, CacheTraceRecorder cacheTraceRecorder,
+                         CacheProperties cacheProperties) {
+        this.cacheRegistry = cacheRegistry;
+        this.cacheKeyResolver = cacheKeyResolver;
+        this.cacheStatsRegistry = cacheStatsRegistry;
+        this.cacheTraceRecorder = cacheTraceRecorder;
+        this.loadTimeout = cacheProperties.getLoadTimeout();
     }
 
     /**
@@ -49,15 +88,27 @@ public class CachingAspect {
      */
     @Around(value = "@annotation(org.springframework.cache.annotation.Cacheable)")
     public Object cacheMethodGetResult(ProceedingJoinPoint joinPoint) throws Throwable {
-        Object[] args = joinPoint.getArgs();
-        String key = getPrefix(joinPoint) + args[0];
+        CacheOperation operation = getOperation(joinPoint, Cacheable.class);
+        Object key = operation.generateKey(joinPoint.getArgs(), null);
+        if (key == null) {
+            return joinPoint.proceed();
+        }
 
-        Object cachedValue = cache.get(key);
-        if (cachedValue != null) {
-            return cachedValue;
+        for (String cacheName : operation.cacheNames()) {
+            cacheTraceRecorder.record(cacheName, TraceOperation.GET, key);
+            Object cachedValue = getCache(cacheName).get(key);
+            if (cachedValue != null) {
+                return cachedValue;
+            }
         }
-        Object methodResult = joinPoint.proceed();
-        return cache.put(key, methodResult);
+        String cacheName = operation.cacheNames().get(0);
+        return getLoader(cacheName).load(key, () -> {
+            long loadStart = System.nanoTime();
+            Object methodResult = joinPoint.proceed();
+            cacheStatsRegistry.counter(cacheName).recordLoad(System.nanoTime() - loadStart);
+            put(operation, key, methodResult);
+            return methodResult;
+        });
     }
 
     /**
@@ -71,42 +122,72 @@ public class CachingAspect {
     public Object cacheMethodPutResult(ProceedingJoinPoint joinPoint) throws Throwable {
         Object methodResult = joinPoint.proceed();
 
-        Field idField = methodResult.getClass().getDeclaredField("id");
-        idField.setAccessible(true);
-        Long idValue = (Long) idField.get(methodResult);
-
-        String key = getPrefix(joinPoint) + idValue;
-
-        return cache.put(key, methodResult);
+        CacheOperation operation = getOperation(joinPoint, CachePut.class);
+        Object key = operation.generateKey(joinPoint.getArgs(), methodResult);
+        if (key != null && methodResult != null) {
+            operation.cacheNames().forEach(cacheName -> cacheTraceRecorder.record(cacheName, TraceOperation.PUT, key));
+        }
+        put(operation, key, methodResult);
+        return methodResult;
     }
 
     /**
      * Deletes cached data related to methods marked with {@code @CacheEvict}.
      *
      * @param joinPoint The method being executed and its arguments.
+     * @return The method's result.
      * @throws Throwable If an error occurs during method execution.
      */
     @Around(value = "@annotation(org.springframework.cache.annotation.CacheEvict)")
-    public void cacheMethodDeleteResult(ProceedingJoinPoint joinPoint) throws Throwable {
-        Object[] args = joinPoint.getArgs();
+    public Object cacheMethodDeleteResult(ProceedingJoinPoint joinPoint) throws Throwable {
+        CacheOperation operation = getOperation(joinPoint, CacheEvict.class);
+        if (operation.beforeInvocation()) {
+            evict(operation, joinPoint.getArgs(), null);
+        }
+        Object methodResult = joinPoint.proceed();
+        if (!operation.beforeInvocation()) {
+            evict(operation, joinPoint.getArgs(), methodResult);
+        }
+        return methodResult;
+    }
 
-        String key = getPrefix(joinPoint) + args[0];
-        joinPoint.proceed();
-        cache.delete(key);
+    private void put(CacheOperation operation, Object key, Object value) {
+        if (key == null || value == null) {
+            return;
+        }
+        for (String cacheName : operation.cacheNames()) {
+            getCache(cacheName).put(key, value);
+        }
     }
 
-    private static String getPrefix(ProceedingJoinPoint joinPoint) {
-        String str;
+    private void evict(CacheOperation operation, Object[] args, Object methodResult) {
+        if (operation.allEntries()) {
+            for (String cacheName : operation.cacheNames()) {
+                cacheTraceRecorder.record(cacheName, TraceOperation.CLEAR, null);
+                cacheRegistry.removeCache(cacheName);
+            }
+            return;
+        }
+        Object key = operation.generateKey(args, methodResult);
+        if (key == null) {
+            return;
+        }
+        for (String cacheName : operation.cacheNames()) {
+            cacheTraceRecorder.record(cacheName, TraceOperation.DELETE, key);
+            getCache(cacheName).delete(key);
+        }
+    }
+
+    private CacheOperation getOperation(ProceedingJoinPoint joinPoint, Class<? extends Annotation> operationType) {
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        Class returnType = signature.getReturnType();
+        return cacheKeyResolver.resolve(signature.getMethod(), joinPoint.getTarget(), operationType);
+    }
 
-        if (returnType.isAssignableFrom(NewsResponseDto.class)) {
-            str = "news_";
-        } else if (returnType.isAssignableFrom(CommentResponseDto.class)) {
-            str = "comment_";
-        } else {
-            str = "other_";
-        }
-        return str;
+    private Cache<Object, Object> getCache(String cacheName) {
+        return cacheRegistry.getCache(cacheName);
+    }
+
+    private SingleFlightLoader<Object> getLoader(String cacheName) {
+        return loaders.computeIfAbsent(cacheName, name -> new SingleFlightLoader<>(loadTimeout));
     }
 }
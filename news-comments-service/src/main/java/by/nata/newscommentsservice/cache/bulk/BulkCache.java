@@ -0,0 +1,76 @@
+package by.nata.newscommentsservice.cache.bulk;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The {@code BulkCache} interface reads and writes several entries of a named cache in one operation, so a
+ * page of results can be assembled from cached entries with one round trip instead of one per entry. The
+ * caches are the same the caching annotations of the services use, e.g. the "comment" cache filled by
+ * {@code getCommentById}.
+ *
+ * <p>Implementations:</p>
+ * <p>- {@link LocalBulkCache}: The in-process caches of the caching aspect or the Spring cache manager ("dev", "aspect" and "spring" profiles).</p>
+ * <p>- {@link RedisBulkCache}: The Redis caches ("prod" profile), read with MGET and written in a pipeline.</p>
+ * <p>- {@link NoOpBulkCache}: Any other profile, where nothing is cached.</p>
+ */
+public interface BulkCache {
+
+    /**
+     * Retrieves the cached values of the specified keys.
+     *
+     * @param cacheName The name of the cache.
+     * @param keys      The keys whose values are to be retrieved.
+     * @param <K>       The type of the keys.
+     * @param <V>       The type of the values.
+     * @return The found values by their keys; keys without a cached value are absent.
+     */
+    <K, V> Map<K, V> getAll(String cacheName, Collection<K> keys);
+
+    /**
+     * Stores the specified values in the cache, like a value loader of a cache miss does.
+     *
+     * @param cacheName The name of the cache.
+     * @param entries   The values to be stored by their keys.
+     * @param <K>       The type of the keys.
+     * @param <V>       The type of the values.
+     */
+    <K, V> void putAll(String cacheName, Map<K, V> entries);
+
+    /**
+     * Retrieves the values of the specified keys, loading all keys missing from the cache with a single call
+     * of {@code loader} and storing the loaded values with a single {@link #putAll(String, Map)}.
+     *
+     * @param cacheName The name of the cache.
+     * @param keys      The keys whose values are to be retrieved, in the order of the result.
+     * @param loader    Loads the values of the keys missing from the cache.
+     * @param <K>       The type of the keys.
+     * @param <V>       The type of the values.
+     * @return The values in the order of {@code keys}; keys neither cached nor loaded are skipped.
+     */
+    default <K, V> List<V> getOrLoadAll(String cacheName, List<K> keys, Function<Collection<K>, Map<K, V>> loader) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        Map<K, V> values = new LinkedHashMap<>(getAll(cacheName, keys));
+        if (values.size() < keys.size()) {
+            List<K> missing = keys.stream()
+                    .filter(key -> !values.containsKey(key))
+                    .distinct()
+                    .toList();
+            Map<K, V> loaded = loader.apply(missing);
+            if (!loaded.isEmpty()) {
+                putAll(cacheName, loaded);
+                values.putAll(loaded);
+            }
+        }
+        return keys.stream()
+                .map(values::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
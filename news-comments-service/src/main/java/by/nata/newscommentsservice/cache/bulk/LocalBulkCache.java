@@ -0,0 +1,46 @@
+package by.nata.newscommentsservice.cache.bulk;
+
+import by.nata.newscommentsservice.cache.config.CacheRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * The {@code LocalBulkCache} class is the {@link BulkCache} of the "dev", "aspect" and "spring" profiles. It works on
+ * the in-process caches of the {@link CacheRegistry}, whose algorithms look up or store all entries of a bulk
+ * operation while holding their lock once.
+ *
+ * <p>Dependencies:</p>
+ * <p>- {@link CacheRegistry}: Provides the caches by their names.</p>
+ */
+@Component
+@Profile({"dev", "aspect", "spring"})
+public class LocalBulkCache implements BulkCache {
+
+    private final CacheRegistry cacheRegistry;
+
+    /**
+     * Constructs an instance of {@code LocalBulkCache}.
+     *
+     * @param cacheRegistry The registry of the in-process caches.
+     */
+    @Autowired
+    public LocalBulkCache(CacheRegistry cacheRegistry) {
+        this.cacheRegistry = cacheRegistry;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> Map<K, V> getAll(String cacheName, Collection<K> keys) {
+        return (Map<K, V>) cacheRegistry.getCache(cacheName).getAll((Collection<Object>) keys);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> void putAll(String cacheName, Map<K, V> entries) {
+        cacheRegistry.getCache(cacheName).putAll((Map<Object, Object>) entries);
+    }
+}
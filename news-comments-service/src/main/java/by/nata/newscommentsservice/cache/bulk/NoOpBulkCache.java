@@ -0,0 +1,25 @@
+package by.nata.newscommentsservice.cache.bulk;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * The {@code NoOpBulkCache} class is the {@link BulkCache} of the profiles without caching, e.g. "test".
+ * Nothing is ever found and nothing is stored, so every value comes from its loader.
+ */
+@Component
+@Profile("!prod & !dev & !aspect & !spring")
+public class NoOpBulkCache implements BulkCache {
+
+    @Override
+    public <K, V> Map<K, V> getAll(String cacheName, Collection<K> keys) {
+        return Map.of();
+    }
+
+    @Override
+    public <K, V> void putAll(String cacheName, Map<K, V> entries) {
+    }
+}
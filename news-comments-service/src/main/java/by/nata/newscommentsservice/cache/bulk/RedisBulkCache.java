@@ -0,0 +1,174 @@
+package by.nata.newscommentsservice.cache.bulk;
+
+import by.nata.newscommentsservice.cache.codec.StampedValue;
+import by.nata.newscommentsservice.cache.key.RedisCacheKeys;
+import by.nata.newscommentsservice.cache.manager.TwoLevelCache;
+import by.nata.newscommentsservice.cache.tag.CacheTags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code RedisBulkCache} class is the {@link BulkCache} of the "prod" profile. It works on the caches of
+ * the Spring cache manager: the keys of a Redis cache are read with a single MGET and its entries are written
+ * with SET commands sent in one pipeline, using the keys computed by {@link RedisCacheKeys} and the serializers
+ * and time-to-live the {@link RedisCache} itself uses. For a {@link TwoLevelCache} the in-process level is consulted first and only
+ * the remaining keys go to Redis. Caches of any other type are accessed key by key.
+ *
+ * <p>Values written by the refresh-ahead decorator are unwrapped, values are written without a refresh stamp.
+ * Values the configured format cannot read count as missing, so they are loaded and overwritten.
+ * Written entries are reported to the {@link CacheTags} once the pipeline has been executed.</p>
+ *
+ * <p>Dependencies:</p>
+ * <p>- {@link CacheManager}: Provides the caches by their names.</p>
+ * <p>- {@link RedisConnectionFactory}: Provides the connections the bulk commands are sent on.</p>
+ * <p>- {@link CacheTags}: Tags the written entries.</p>
+ */
+@Slf4j
+@Component
+@Profile("prod")
+public class RedisBulkCache implements BulkCache {
+
+    private final CacheManager cacheManager;
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final CacheTags cacheTags;
+
+    /**
+     * Constructs an instance of {@code RedisBulkCache}.
+     *
+     * @param cacheManager           The cache manager providing the caches.
+     * @param redisConnectionFactory The factory of the Redis connections.
+     * @param cacheTags              The tags the written entries are reported to.
+     */
+    @Autowired
+    public RedisBulkCache(CacheManager cacheManager, RedisConnectionFactory redisConnectionFactory,
+                          CacheTags cacheTags) {
+        this.cacheManager = cacheManager;
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.cacheTags = cacheTags;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> Map<K, V> getAll(String cacheName, Collection<K> keys) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || keys.isEmpty()) {
+            return Map.of();
+        }
+        Map<Object, Object> found;
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            found = twoLevelCache.getAll((Collection<Object>) keys, missing -> getAll(twoLevelCache.getRemote(), missing));
+        } else {
+            found = getAll(cache, (Collection<Object>) keys);
+        }
+        found.replaceAll((key, value) -> unwrap(value));
+        return (Map<K, V>) found;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> void putAll(String cacheName, Map<K, V> entries) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || entries.isEmpty()) {
+            return;
+        }
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            twoLevelCache.putAll((Map<Object, Object>) entries, values -> putAll(twoLevelCache.getRemote(), values));
+        } else {
+            putAll(cache, (Map<Object, Object>) entries);
+        }
+        cacheTags.tagWritten(cacheName, entries);
+    }
+
+    private Map<Object, Object> getAll(Cache cache, Collection<Object> keys) {
+        Map<Object, Object> found = new LinkedHashMap<>(Math.max(keys.size() * 4 / 3 + 1, 16));
+        if (!(cache instanceof RedisCache redisCache)) {
+            for (Object key : keys) {
+                Cache.ValueWrapper wrapper = cache.get(key);
+                if (wrapper != null && wrapper.get() != null) {
+                    found.put(key, wrapper.get());
+                }
+            }
+            return found;
+        }
+        List<Object> keyList = new ArrayList<>(keys);
+        byte[][] rawKeys = keyList.stream()
+                .map(key -> RedisCacheKeys.serialize(redisCache, key))
+                .toArray(byte[][]::new);
+        List<byte[]> rawValues;
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            rawValues = connection.stringCommands().mGet(rawKeys);
+        }
+        if (rawValues == null) {
+            return found;
+        }
+        RedisCacheConfiguration configuration = redisCache.getCacheConfiguration();
+        for (int i = 0; i < rawValues.size(); i++) {
+            byte[] rawValue = rawValues.get(i);
+            if (rawValue != null) {
+                Object value = readValue(configuration, rawValue);
+                if (value != null) {
+                    found.put(keyList.get(i), value);
+                }
+            }
+        }
+        return found;
+    }
+
+    private static Object readValue(RedisCacheConfiguration configuration, byte[] rawValue) {
+        try {
+            return configuration.getValueSerializationPair().read(ByteBuffer.wrap(rawValue));
+        } catch (SerializationException e) {
+            log.debug("Treating unreadable cached value as missing: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void putAll(Cache cache, Map<Object, Object> entries) {
+        if (!(cache instanceof RedisCache redisCache)) {
+            entries.forEach(cache::put);
+            return;
+        }
+        RedisCacheConfiguration configuration = redisCache.getCacheConfiguration();
+        Duration ttl = configuration.getTtl();
+        Expiration expiration = ttl == null || ttl.isZero() || ttl.isNegative()
+                ? Expiration.persistent() : Expiration.from(ttl);
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            connection.openPipeline();
+            try {
+                entries.forEach((key, value) -> {
+                    if (value != null) {
+                        connection.stringCommands().set(RedisCacheKeys.serialize(redisCache, key),
+                                ByteUtils.getBytes(configuration.getValueSerializationPair().write(value)),
+                                expiration, RedisStringCommands.SetOption.upsert());
+                    }
+                });
+            } finally {
+                connection.closePipeline();
+            }
+        }
+    }
+
+    private static Object unwrap(Object value) {
+        return value instanceof StampedValue stamped ? stamped.value() : value;
+    }
+}
@@ -0,0 +1,88 @@
+package by.nata.newscommentsservice.cache.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The {@code BinaryInput} class reads values written by {@link BinaryOutput} from a {@link ByteBuffer},
+ * which may be a heap buffer or a memory-mapped file.
+ */
+public class BinaryInput {
+
+    private final ByteBuffer buffer;
+
+    /**
+     * Constructs an instance of {@code BinaryInput} reading from the current position of the buffer.
+     *
+     * @param buffer The buffer to read from.
+     */
+    public BinaryInput(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Constructs an instance of {@code BinaryInput} reading the whole array.
+     *
+     * @param bytes The bytes to read from.
+     */
+    public BinaryInput(byte[] bytes) {
+        this(ByteBuffer.wrap(bytes));
+    }
+
+    public int readByte() {
+        return buffer.get() & 0xFF;
+    }
+
+    public int readInt() {
+        return buffer.getInt();
+    }
+
+    public long readLong() {
+        return buffer.getLong();
+    }
+
+    public long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed variable-length number");
+    }
+
+    public long readZigZagLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public String readString() {
+        long length = readVarLong();
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[Math.toIntExact(length - 1)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public byte[] readBytes(int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    public void skip(int length) {
+        buffer.position(buffer.position() + length);
+    }
+
+    public int position() {
+        return buffer.position();
+    }
+
+    public boolean hasRemaining() {
+        return buffer.hasRemaining();
+    }
+}
@@ -0,0 +1,132 @@
+package by.nata.newscommentsservice.cache.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The {@code BinaryOutput} class is a growable byte buffer used by {@link CompactCodec} to encode values.
+ * Integers are written as variable-length quantities, so small ids and lengths take a single byte.
+ */
+public class BinaryOutput {
+
+    private byte[] buffer;
+    private int position;
+
+    /**
+     * Constructs an instance of {@code BinaryOutput} with a default initial capacity.
+     */
+    public BinaryOutput() {
+        this(256);
+    }
+
+    /**
+     * Constructs an instance of {@code BinaryOutput}.
+     *
+     * @param initialCapacity The initial capacity of the buffer in bytes.
+     */
+    public BinaryOutput(int initialCapacity) {
+        this.buffer = new byte[Math.max(initialCapacity, 16)];
+    }
+
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeInt(int value) {
+        ensureCapacity(4);
+        buffer[position++] = (byte) (value >>> 24);
+        buffer[position++] = (byte) (value >>> 16);
+        buffer[position++] = (byte) (value >>> 8);
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeLong(long value) {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+
+    /**
+     * Writes a non-negative number using 7 bits per byte.
+     *
+     * @param value The number to write.
+     */
+    public void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    /**
+     * Writes a signed number in zig-zag encoding, so numbers close to zero take few bytes.
+     *
+     * @param value The number to write.
+     */
+    public void writeZigZagLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Writes a nullable string as its UTF-8 length plus one followed by its bytes; {@code null} is written as zero.
+     *
+     * @param value The string to write.
+     */
+    public void writeString(String value) {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length + 1L);
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    public void writeBytes(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buffer, position, length);
+        position += length;
+    }
+
+    public int position() {
+        return position;
+    }
+
+    /**
+     * Discards everything written after the specified position.
+     *
+     * @param position The position to return to.
+     */
+    public void reset(int position) {
+        this.position = position;
+    }
+
+    /**
+     * Overwrites four bytes at the specified position, e.g. a length written before the data it describes.
+     *
+     * @param position The position of the integer.
+     * @param value    The new value.
+     */
+    public void setInt(int position, int value) {
+        buffer[position] = (byte) (value >>> 24);
+        buffer[position + 1] = (byte) (value >>> 16);
+        buffer[position + 2] = (byte) (value >>> 8);
+        buffer[position + 3] = (byte) value;
+    }
+
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void ensureCapacity(int length) {
+        if (position + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package by.nata.newscommentsservice.cache.codec;
+
+import by.nata.newscommentsservice.service.dto.CommentResponseDto;
+import by.nata.newscommentsservice.service.dto.NewsResponseDto;
+import lombok.experimental.UtilityClass;
+
+/**
+ * The {@code CompactCodec} utility class encodes cache keys and values in a compact binary format instead of
+ * Java serialization. Every value starts with a one-byte type tag followed by the fields of the value; numbers
+ * are zig-zag variable-length encoded and strings are length-prefixed UTF-8.
+ *
+ * <p>Supported types are {@code null}, {@link Long}, {@link Integer}, {@link String}, {@link NewsResponseDto}
+ * and {@link CommentResponseDto}. Use {@link #supports(Object)} before encoding values of unknown type.</p>
+ */
+@UtilityClass
+public class CompactCodec {
+
+    private static final int NULL = 0;
+    private static final int LONG = 1;
+    private static final int INTEGER = 2;
+    private static final int STRING = 3;
+    private static final int NEWS = 4;
+    private static final int COMMENT = 5;
+
+    /**
+     * Checks whether the value can be encoded.
+     *
+     * @param value The value to check.
+     * @return {@code true} if the type of the value is supported, {@code false} otherwise.
+     */
+    public static boolean supports(Object value) {
+        return value == null || value instanceof Long || value instanceof Integer || value instanceof String
+                || value instanceof NewsResponseDto || value instanceof CommentResponseDto;
+    }
+
+    /**
+     * Encodes the value.
+     *
+     * @param value  The value to encode.
+     * @param output The output the value is written to.
+     * @throws IllegalArgumentException If the type of the value is not supported.
+     */
+    public static void encode(Object value, BinaryOutput output) {
+        if (value == null) {
+            output.writeByte(NULL);
+        } else if (value instanceof Long number) {
+            output.writeByte(LONG);
+            output.writeZigZagLong(number);
+        } else if (value instanceof Integer number) {
+            output.writeByte(INTEGER);
+            output.writeZigZagLong(number);
+        } else if (value instanceof String string) {
+            output.writeByte(STRING);
+            output.writeString(string);
+        } else if (value instanceof NewsResponseDto news) {
+            output.writeByte(NEWS);
+            writeNullableLong(news.id(), output);
+            output.writeString(news.time());
+            output.writeString(news.title());
+            output.writeString(news.text());
+            output.writeString(news.username());
+        } else if (value instanceof CommentResponseDto comment) {
+            output.writeByte(COMMENT);
+            writeNullableLong(comment.id(), output);
+            output.writeString(comment.text());
+            output.writeString(comment.username());
+            output.writeString(comment.time());
+            writeNullableLong(comment.newsId(), output);
+        } else {
+            throw new IllegalArgumentException("Unsupported type: " + value.getClass().getName());
+        }
+    }
+
+    /**
+     * Decodes a value written by {@link #encode(Object, BinaryOutput)}.
+     *
+     * @param input The input the value is read from.
+     * @return The decoded value.
+     * @throws IllegalStateException If the input contains an unknown type tag.
+     */
+    public static Object decode(BinaryInput input) {
+        int type = input.readByte();
+        return switch (type) {
+            case NULL -> null;
+            case LONG -> input.readZigZagLong();
+            case INTEGER -> (int) input.readZigZagLong();
+            case STRING -> input.readString();
+            case NEWS -> new NewsResponseDto(readNullableLong(input), input.readString(), input.readString(),
+                    input.readString(), input.readString());
+            case COMMENT -> new CommentResponseDto(readNullableLong(input), input.readString(), input.readString(),
+                    input.readString(), readNullableLong(input));
+            default -> throw new IllegalStateException("Unknown type tag: " + type);
+        };
+    }
+
+    private static void writeNullableLong(Long value, BinaryOutput output) {
+        if (value == null) {
+            output.writeByte(0);
+        } else {
+            output.writeByte(1);
+            output.writeZigZagLong(value);
+        }
+    }
+
+    private static Long readNullableLong(BinaryInput input) {
+        return input.readByte() == 0 ? null : input.readZigZagLong();
+    }
+}
@@ -0,0 +1,131 @@
+package by.nata.newscommentsservice.cache.codec;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * The {@code CompactRedisSerializer} class serializes the values of the Redis caches with {@link CompactCodec}
+ * instead of Java serialization, which stores the class descriptors of every record along with its fields.
+ * Values the codec does not support, e.g. pages of search results, fall back to Java serialization inside the
+ * same envelope, so every cached value can be written.
+ *
+ * <p>Every payload starts with a header byte whose flags tell how the body is encoded:</p>
+ * <p>- {@code COMPRESSED}: The body is LZ4 compressed and preceded by its uncompressed length.</p>
+ * <p>- {@code STAMPED}: The value is a {@link StampedValue}, whose write time and load
+ *   duration precede the wrapped value.</p>
+ * <p>- {@code JAVA}: The value is written with Java serialization, preceded by its length.</p>
+ *
+ * <p>Bodies of at least {@code compressionThreshold} bytes are compressed, which pays off for the text of long
+ * news; the compressed form is only kept if it is smaller. Payloads written by the default Java serializer
+ * before the format was switched are still read, so existing entries need not be flushed.</p>
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    private static final int MAGIC = 0x10;
+    private static final int COMPRESSED = 0x01;
+    private static final int STAMPED = 0x02;
+    private static final int JAVA = 0x04;
+    private static final int FLAGS = COMPRESSED | STAMPED | JAVA;
+    private static final int JAVA_STREAM_MAGIC = 0xAC;
+    private static final byte[] EMPTY = new byte[0];
+
+    private final int compressionThreshold;
+    private final JdkSerializationRedisSerializer javaSerializer = new JdkSerializationRedisSerializer();
+    private final LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
+    private final LZ4FastDecompressor decompressor = LZ4Factory.fastestInstance().fastDecompressor();
+
+    /**
+     * Constructs an instance of {@code CompactRedisSerializer}.
+     *
+     * @param compressionThreshold The size in bytes from which encoded values are compressed; zero or less
+     *                             disables compression.
+     */
+    public CompactRedisSerializer(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return EMPTY;
+        }
+        BinaryOutput body = new BinaryOutput();
+        int flags = MAGIC;
+        if (value instanceof StampedValue stamped) {
+            flags |= STAMPED;
+            body.writeVarLong(stamped.writeTime());
+            body.writeVarLong(stamped.loadMillis());
+            value = stamped.value();
+        }
+        if (CompactCodec.supports(value)) {
+            CompactCodec.encode(value, body);
+        } else {
+            flags |= JAVA;
+            byte[] bytes = javaSerializer.serialize(value);
+            body.writeVarLong(bytes.length);
+            body.writeBytes(bytes, 0, bytes.length);
+        }
+        int length = body.position();
+        if (compressionThreshold > 0 && length >= compressionThreshold) {
+            byte[] compressed = new byte[compressor.maxCompressedLength(length)];
+            int compressedLength = compressor.compress(body.buffer(), 0, length, compressed, 0, compressed.length);
+            if (compressedLength < length) {
+                BinaryOutput output = new BinaryOutput(compressedLength + 11);
+                output.writeByte(flags | COMPRESSED);
+                output.writeVarLong(length);
+                output.writeBytes(compressed, 0, compressedLength);
+                return output.toByteArray();
+            }
+        }
+        byte[] payload = new byte[length + 1];
+        payload[0] = (byte) flags;
+        System.arraycopy(body.buffer(), 0, payload, 1, length);
+        return payload;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        int header = bytes[0] & 0xFF;
+        if (header == JAVA_STREAM_MAGIC) {
+            return javaSerializer.deserialize(bytes);
+        }
+        if ((header & ~FLAGS) != MAGIC) {
+            throw new SerializationException("Unknown cache value header: " + header);
+        }
+        try {
+            BinaryInput input;
+            if ((header & COMPRESSED) != 0) {
+                BinaryInput compressed = new BinaryInput(bytes);
+                compressed.skip(1);
+                int length = (int) compressed.readVarLong();
+                byte[] body = new byte[length];
+                decompressor.decompress(bytes, compressed.position(), body, 0, length);
+                input = new BinaryInput(body);
+            } else {
+                input = new BinaryInput(bytes);
+                input.skip(1);
+            }
+            long writeTime = 0;
+            long loadMillis = 0;
+            if ((header & STAMPED) != 0) {
+                writeTime = input.readVarLong();
+                loadMillis = input.readVarLong();
+            }
+            Object value = (header & JAVA) != 0
+                    ? javaSerializer.deserialize(input.readBytes((int) input.readVarLong()))
+                    : CompactCodec.decode(input);
+            return (header & STAMPED) != 0 ? new StampedValue(value, writeTime, loadMillis) : value;
+        } catch (SerializationException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new SerializationException("Cannot deserialize cache value", e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package by.nata.newscommentsservice.cache.codec;
+
+import java.io.Serializable;
+
+/**
+ * The {@code StampedValue} record is a cached value stored together with the time it was written and the time it
+ * took to load it, as written by the refresh-ahead decorator of the Redis caches. The {@link CompactRedisSerializer}
+ * encodes the stamp in front of the wrapped value.
+ *
+ * @param value      The cached value.
+ * @param writeTime  The time the value was written, in milliseconds since the epoch.
+ * @param loadMillis The time it took to load the value, in milliseconds.
+ */
+public record StampedValue(Object value, long writeTime, long loadMillis) implements Serializable {
+}
@@ -0,0 +1,35 @@
+package by.nata.newscommentsservice.cache.codec;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.interceptor.SimpleCacheErrorHandler;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * The {@code UnreadableValueErrorHandler} class is a {@link org.springframework.cache.interceptor.CacheErrorHandler}
+ * that treats a cached value the configured serializer cannot read as a cache miss. The entry is evicted, so the
+ * cached method is called and its result replaces the value. Such values are left behind when the serialization
+ * format is switched, e.g. compact payloads read back with Java serialization after "cache.serialization.format"
+ * was changed to "JDK". Any other error is rethrown, as by the default handler.
+ */
+@Slf4j
+public class UnreadableValueErrorHandler extends SimpleCacheErrorHandler {
+
+    @Override
+    public void handleCacheGetError(RuntimeException exception, Cache cache, Object key) {
+        if (!isUnreadableValue(exception)) {
+            throw exception;
+        }
+        log.warn("Evicting unreadable entry {} of cache {}: {}", key, cache.getName(), exception.getMessage());
+        cache.evict(key);
+    }
+
+    private static boolean isUnreadableValue(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SerializationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
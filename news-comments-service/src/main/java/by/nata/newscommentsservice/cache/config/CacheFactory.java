@@ -0,0 +1,137 @@
+package by.nata.newscommentsservice.cache.config;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.algorithm.decorator.DoorkeeperCache;
+import by.nata.newscommentsservice.cache.algorithm.decorator.ExpiringCache;
+import by.nata.newscommentsservice.cache.algorithm.decorator.RetainedSizeWeigher;
+import by.nata.newscommentsservice.cache.algorithm.decorator.StatsCache;
+import by.nata.newscommentsservice.cache.algorithm.decorator.WeightedCache;
+import by.nata.newscommentsservice.cache.algorithm.impl.AdaptiveCache;
+import by.nata.newscommentsservice.cache.algorithm.impl.ConcurrentLRUCache;
+import by.nata.newscommentsservice.cache.stats.CacheStatsCounter;
+import by.nata.newscommentsservice.cache.stats.CacheStatsRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * The {@code CacheFactory} class creates named caches backed by the algorithm selected with the
+ * "cache.algorithm" property. Every call obtains a new instance of the prototype-scoped algorithm bean
+ * and decorates it according to the settings configured for the cache name in {@link CacheProperties}. With
+ * "cache.doorkeeper.enabled" every cache gets an admission filter in front of it.
+ * Every created cache records its statistics in the {@link CacheStatsRegistry} under the cache name, an
+ * {@link AdaptiveCache} also publishes its policy decisions there.
+ *
+ * <p>Dependencies:</p>
+ * <p>- {@link CacheProperties}: The configuration properties with the per cache settings.</p>
+ * <p>- {@link CacheStatsRegistry}: The registry of the statistics of every cache.</p>
+ */
+@Component
+public class CacheFactory {
+
+    private final ObjectProvider<Cache<?, ?>> cacheProvider;
+    private final CacheProperties cacheProperties;
+    private final CacheStatsRegistry cacheStatsRegistry;
+
+    /**
+     * Constructs an instance of {@code CacheFactory}.
+     *
+     * @param cacheProvider      The provider of new instances of the configured cache algorithm.
+     * @param cacheProperties    The configuration properties for the caches.
+     * @param cacheStatsRegistry The registry the statistics of the created caches are recorded in.
+     */
+    @Autowired
+    public CacheFactory(ObjectProvider<Cache<?, ?>> cacheProvider, CacheProperties cacheProperties,
+                        CacheStatsRegistry cacheStatsRegistry) {
+        this.cacheProvider = cacheProvider;
+        this.cacheProperties = cacheProperties;
+        this.cacheStatsRegistry = cacheStatsRegistry;
+    }
+
+    /**
+     * Creates a new cache for the specified cache name.
+     *
+     * @param cacheName The name of the cache, used to look up its settings.
+     * @param <K>       The type of keys in the cache.
+     * @param <V>       The type of values in the cache.
+     * @return A new cache instance.
+     */
+    public <K, V> Cache<K, V> create(String cacheName) {
+        return create(cacheName, null);
+    }
+
+    /**
+     * Creates a new cache for the specified cache name, falling back to a default expiry when none is
+     * configured for the cache name.
+     *
+     * @param cacheName     The name of the cache, used to look up its settings.
+     * @param defaultExpiry The expire-after-write applied when the cache name has no expiry configured,
+     *                      or {@code null} to keep such entries until they are evicted.
+     * @param <K>           The type of keys in the cache.
+     * @param <V>           The type of values in the cache.
+     * @return A new cache instance.
+     */
+    public <K, V> Cache<K, V> create(String cacheName, Duration defaultExpiry) {
+        Cache<K, V> cache;
+        CacheProperties.Expiry expiry = cacheProperties.getExpiry().get(cacheName);
+        if (expiry != null && (expiry.getExpireAfterWrite() != null || expiry.getExpireAfterAccess() != null)) {
+            cache = new ExpiringCache<>(newAlgorithm(cacheName),
+                    expiry.getExpireAfterWrite(), expiry.getExpireAfterAccess());
+        } else if (defaultExpiry != null && !defaultExpiry.isZero()) {
+            cache = new ExpiringCache<>(newAlgorithm(cacheName), defaultExpiry, null);
+        } else {
+            cache = newAlgorithm(cacheName);
+        }
+        if (!"OFFHEAP".equals(cacheProperties.getAlgorithm())) {
+            cache = weighed(cache);
+        }
+        CacheStatsCounter counter = cacheStatsRegistry.counter(cacheName);
+        CacheProperties.Doorkeeper doorkeeper = cacheProperties.getDoorkeeper();
+        if (doorkeeper.isEnabled()) {
+            int windowSize = doorkeeper.getWindowSize() > 0
+                    ? doorkeeper.getWindowSize() : 10 * Math.max(cacheProperties.getMaxSize(), 1);
+            cache = new DoorkeeperCache<>(cache, windowSize, doorkeeper.getFalsePositiveRate(), counter);
+        }
+        return new StatsCache<>(cache, counter);
+    }
+
+    /**
+     * Creates a new {@link ConcurrentLRUCache} with its own size and time to live, for caches that do not use the
+     * "cache.algorithm" property, like the caches of query results and missing ids. The cache is bounded by
+     * "cache.maxWeightBytes" like every other cache and records its statistics under the cache name. It has no
+     * doorkeeper, the values it stores were already loaded from the database once.
+     *
+     * @param cacheName        The name the statistics of the cache are recorded under.
+     * @param maxSize          The maximum number of entries in the cache.
+     * @param expireAfterWrite The time after which an entry expires once written.
+     * @param <K>              The type of keys in the cache.
+     * @param <V>              The type of values in the cache.
+     * @return A new cache instance.
+     */
+    public <K, V> Cache<K, V> createConcurrentLru(String cacheName, int maxSize, Duration expireAfterWrite) {
+        Cache<K, V> cache = new ExpiringCache<>(new ConcurrentLRUCache<>(maxSize, cacheProperties.getConcurrencyLevel()),
+                expireAfterWrite, null);
+        return new StatsCache<>(weighed(cache), cacheStatsRegistry.counter(cacheName));
+    }
+
+    private <K, V> Cache<K, V> weighed(Cache<K, V> cache) {
+        DataSize maxWeight = cacheProperties.getMaxWeightBytes();
+        if (maxWeight == null || maxWeight.toBytes() <= 0) {
+            return cache;
+        }
+        return new WeightedCache<>(cache, maxWeight.toBytes(), new RetainedSizeWeigher<>());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <K, V> Cache<K, V> newAlgorithm(String cacheName) {
+        Cache<K, V> algorithm = (Cache<K, V>) cacheProvider.getObject();
+        if (algorithm instanceof AdaptiveCache<K, V> adaptiveCache) {
+            adaptiveCache.setName(cacheName);
+            cacheStatsRegistry.registerAdaptive(cacheName, adaptiveCache);
+        }
+        return algorithm;
+    }
+}
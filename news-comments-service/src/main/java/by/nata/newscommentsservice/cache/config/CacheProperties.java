@@ -2,6 +2,13 @@ package by.nata.newscommentsservice.cache.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * The {@code CacheProperties} class is a configuration properties class that allows customization
@@ -9,15 +16,66 @@ import org.springframework.stereotype.Component;
  *
  * <p>Usage:</p>
  * <p>- Create an instance of this class to customize cache behavior through application properties.</p>
- * <p>- Use the "cache.maxSize" property to set the maximum size of the cache.</p>
- * <p>- Use the "cache.algorithm" property to specify the caching algorithm (e.g., "LRU" or "LFU").</p>
+ * <p>- Use the "cache.maxSize" property to set the maximum size of each cache.</p>
+ * <p>- Use the "cache.maxWeightBytes" property to also limit each in-process cache by the estimated heap retained by its
+ *   entries, in bytes or with a unit, for example "cache.maxWeightBytes=32MB"; it does not apply to the "OFFHEAP" caches.</p>
+ * <p>- Use the "cache.algorithm" property to specify the caching algorithm (e.g., "LRU", "LFU", "CONCURRENT_LRU", "TINYLFU", "ARC", "2Q", "S3FIFO", "CLOCK", "OFFHEAP" or "ADAPTIVE").</p>
+ * <p>- Use the "cache.cacheNames" property to restrict the Spring cache manager of the "spring" profile to the listed
+ *   caches, for example "cache.cacheNames=news,comment,newsWithComments"; by default it creates every cache that is requested.</p>
+ * <p>- Use the "cache.concurrencyLevel" property to set the number of lock stripes used by concurrent caches.</p>
+ * <p>- Use the "cache.expiry.&lt;cacheName&gt;.expireAfterWrite" and "cache.expiry.&lt;cacheName&gt;.expireAfterAccess"
+ *   properties to set the time-to-live of the entries of a cache, for example "cache.expiry.news.expireAfterWrite=5m".</p>
+ * <p>- Use the "cache.adaptive.*" properties to set the candidate policies of the "ADAPTIVE" caches, the share of keys
+ *   replayed against their shadow caches and how clearly and for how many periods a policy has to win before it replaces
+ *   the live one.</p>
+ * <p>- Use the "cache.offHeap.maxBytes" and "cache.offHeap.slabSize" properties to set the total size and the size of every
+ *   direct buffer slab of the "OFFHEAP" caches, in bytes or with a unit, for example "cache.offHeap.maxBytes=256MB".</p>
+ * <p>- Use the "cache.doorkeeper.enabled" property to admit a key into the in-process caches only on its second put within
+ *   a window of "cache.doorkeeper.windowSize" keys (zero means ten times "cache.maxSize"), tracked by a Bloom filter with
+ *   the "cache.doorkeeper.falsePositiveRate".</p>
+ * <p>- Use the "cache.loadTimeout" property to set how long a thread waits for a value another thread is loading.</p>
+ * <p>- Use the "cache.negative.*" properties to set the size and time-to-live of the cache of ids known not to exist.</p>
+ * <p>- Use the "cache.query.*" properties to set the size and time-to-live of the cache of paginated list and search results.</p>
+ * <p>- Use the "cache.refreshAhead.*" properties to reload entries of the Redis caches in the background before they expire.</p>
+ * <p>- Use the "cache.serialization.format" property to store the values of the Redis caches with "JDK" serialization,
+ *   the default, or in the "COMPACT" binary format, and "cache.serialization.compressionThreshold" to set the encoded size in bytes from which
+ *   compact values are compressed with LZ4 (zero disables compression).</p>
+ * <p>- Use the "cache.snapshot.*" properties to periodically save the in-process caches to a file and reload them on startup.</p>
+ * <p>- Use the "cache.trace.*" properties to record the accesses of a sample of the keys of the in-process caches to a file,
+ *   from which the miss ratio of every algorithm and size is simulated offline with the "simulateCache" Gradle task.</p>
+ * <p>- Use the "cache.warmup.*" properties to preload the newest and the hot news into the caches before the instance
+ *   reports itself ready.</p>
+ * <p>- Use the "cache.hotKeys.*" properties to detect the keys receiving most reads of the Redis caches of the "prod" profile
+ *   and to serve them from a small per-instance replica for "cache.hotKeys.replicaTtl"; the current hot keys are exposed
+ *   at "/actuator/hotkeys".</p>
+ * <p>- Use the "cache.near.enabled" property to put an in-process cache in front of the Redis caches of the "prod" profile,
+ *   and "cache.near.channel" to set the Redis channel used to invalidate it, and the query and negative result caches,
+ *   on the other instances. Caches without "cache.expiry.&lt;cacheName&gt;" keep their in-process entries for
+ *   "cache.near.localTtl".</p>
  */
 @Component
 @ConfigurationProperties("cache")
 public class CacheProperties {
 
     private int maxSize;
+    private DataSize maxWeightBytes;
     private String algorithm;
+    private List<String> cacheNames = new ArrayList<>();
+    private int concurrencyLevel = 16;
+    private Map<String, Expiry> expiry = new HashMap<>();
+    private Duration loadTimeout = Duration.ofSeconds(5);
+    private Adaptive adaptive = new Adaptive();
+    private OffHeap offHeap = new OffHeap();
+    private Doorkeeper doorkeeper = new Doorkeeper();
+    private HotKeys hotKeys = new HotKeys();
+    private Near near = new Near();
+    private Negative negative = new Negative();
+    private Query query = new Query();
+    private Warmup warmup = new Warmup();
+    private RefreshAhead refreshAhead = new RefreshAhead();
+    private Snapshot snapshot = new Snapshot();
+    private Trace trace = new Trace();
+    private Serialization serialization = new Serialization();
 
     public int getMaxSize() {
         return maxSize;
@@ -27,6 +85,14 @@ public class CacheProperties {
         this.maxSize = maxSize;
     }
 
+    public DataSize getMaxWeightBytes() {
+        return maxWeightBytes;
+    }
+
+    public void setMaxWeightBytes(DataSize maxWeightBytes) {
+        this.maxWeightBytes = maxWeightBytes;
+    }
+
     public String getAlgorithm() {
         return algorithm;
     }
@@ -34,4 +100,664 @@ public class CacheProperties {
     public void setAlgorithm(String algorithm) {
         this.algorithm = algorithm;
     }
+
+    public List<String> getCacheNames() {
+        return cacheNames;
+    }
+
+    public void setCacheNames(List<String> cacheNames) {
+        this.cacheNames = cacheNames;
+    }
+
+    public int getConcurrencyLevel() {
+        return concurrencyLevel;
+    }
+
+    public void setConcurrencyLevel(int concurrencyLevel) {
+        this.concurrencyLevel = concurrencyLevel;
+    }
+
+    public Map<String, Expiry> getExpiry() {
+        return expiry;
+    }
+
+    public void setExpiry(Map<String, Expiry> expiry) {
+        this.expiry = expiry;
+    }
+
+    public Duration getLoadTimeout() {
+        return loadTimeout;
+    }
+
+    public void setLoadTimeout(Duration loadTimeout) {
+        this.loadTimeout = loadTimeout;
+    }
+
+    public Adaptive getAdaptive() {
+        return adaptive;
+    }
+
+    public void setAdaptive(Adaptive adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    public OffHeap getOffHeap() {
+        return offHeap;
+    }
+
+    public void setOffHeap(OffHeap offHeap) {
+        this.offHeap = offHeap;
+    }
+
+    public Doorkeeper getDoorkeeper() {
+        return doorkeeper;
+    }
+
+    public void setDoorkeeper(Doorkeeper doorkeeper) {
+        this.doorkeeper = doorkeeper;
+    }
+
+    public HotKeys getHotKeys() {
+        return hotKeys;
+    }
+
+    public void setHotKeys(HotKeys hotKeys) {
+        this.hotKeys = hotKeys;
+    }
+
+    public Near getNear() {
+        return near;
+    }
+
+    public void setNear(Near near) {
+        this.near = near;
+    }
+
+    public Negative getNegative() {
+        return negative;
+    }
+
+    public void setNegative(Negative negative) {
+        this.negative = negative;
+    }
+
+    public Query getQuery() {
+        return query;
+    }
+
+    public void setQuery(Query query) {
+        this.query = query;
+    }
+
+    public Warmup getWarmup() {
+        return warmup;
+    }
+
+    public void setWarmup(Warmup warmup) {
+        this.warmup = warmup;
+    }
+
+    public RefreshAhead getRefreshAhead() {
+        return refreshAhead;
+    }
+
+    public void setRefreshAhead(RefreshAhead refreshAhead) {
+        this.refreshAhead = refreshAhead;
+    }
+
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(Snapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public Trace getTrace() {
+        return trace;
+    }
+
+    public void setTrace(Trace trace) {
+        this.trace = trace;
+    }
+
+    public Serialization getSerialization() {
+        return serialization;
+    }
+
+    public void setSerialization(Serialization serialization) {
+        this.serialization = serialization;
+    }
+
+    /**
+     * Expiration settings of a single cache, both durations are optional.
+     */
+    public static class Expiry {
+
+        private Duration expireAfterWrite;
+        private Duration expireAfterAccess;
+
+        public Duration getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+
+        public void setExpireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+
+        public Duration getExpireAfterAccess() {
+            return expireAfterAccess;
+        }
+
+        public void setExpireAfterAccess(Duration expireAfterAccess) {
+            this.expireAfterAccess = expireAfterAccess;
+        }
+    }
+
+    /**
+     * Settings of the caches choosing their eviction policy at runtime.
+     */
+    public static class Adaptive {
+
+        private List<String> policies = new ArrayList<>(List.of("LRU", "LFU", "TINYLFU", "ARC", "S3FIFO"));
+        private double sampleRate = 0.1;
+        private long evaluationPeriod = 10_000;
+        private double minImprovement = 0.02;
+        private int requiredWindows = 3;
+
+        public List<String> getPolicies() {
+            return policies;
+        }
+
+        public void setPolicies(List<String> policies) {
+            this.policies = policies;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public long getEvaluationPeriod() {
+            return evaluationPeriod;
+        }
+
+        public void setEvaluationPeriod(long evaluationPeriod) {
+            this.evaluationPeriod = evaluationPeriod;
+        }
+
+        public double getMinImprovement() {
+            return minImprovement;
+        }
+
+        public void setMinImprovement(double minImprovement) {
+            this.minImprovement = minImprovement;
+        }
+
+        public int getRequiredWindows() {
+            return requiredWindows;
+        }
+
+        public void setRequiredWindows(int requiredWindows) {
+            this.requiredWindows = requiredWindows;
+        }
+    }
+
+    /**
+     * Memory limits of the caches keeping their values outside of the heap.
+     */
+    public static class OffHeap {
+
+        private DataSize maxBytes = DataSize.ofMegabytes(64);
+        private DataSize slabSize = DataSize.ofMegabytes(1);
+
+        public DataSize getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(DataSize maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        public DataSize getSlabSize() {
+            return slabSize;
+        }
+
+        public void setSlabSize(DataSize slabSize) {
+            this.slabSize = slabSize;
+        }
+    }
+
+    /**
+     * Settings of the admission filter that keeps keys requested only once out of the in-process caches.
+     */
+    public static class Doorkeeper {
+
+        private boolean enabled;
+        private int windowSize;
+        private double falsePositiveRate = 0.01;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getWindowSize() {
+            return windowSize;
+        }
+
+        public void setWindowSize(int windowSize) {
+            this.windowSize = windowSize;
+        }
+
+        public double getFalsePositiveRate() {
+            return falsePositiveRate;
+        }
+
+        public void setFalsePositiveRate(double falsePositiveRate) {
+            this.falsePositiveRate = falsePositiveRate;
+        }
+    }
+
+    /**
+     * Settings of the detection of hot keys and of their per-instance replica.
+     */
+    public static class HotKeys {
+
+        private boolean enabled;
+        private int capacity = 64;
+        private long windowSize = 100_000;
+        private double sampleRate = 0.1;
+        private double minShare = 0.02;
+        private int maxHotKeys = 16;
+        private Duration replicaTtl = Duration.ofSeconds(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public long getWindowSize() {
+            return windowSize;
+        }
+
+        public void setWindowSize(long windowSize) {
+            this.windowSize = windowSize;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public double getMinShare() {
+            return minShare;
+        }
+
+        public void setMinShare(double minShare) {
+            this.minShare = minShare;
+        }
+
+        public int getMaxHotKeys() {
+            return maxHotKeys;
+        }
+
+        public void setMaxHotKeys(int maxHotKeys) {
+            this.maxHotKeys = maxHotKeys;
+        }
+
+        public Duration getReplicaTtl() {
+            return replicaTtl;
+        }
+
+        public void setReplicaTtl(Duration replicaTtl) {
+            this.replicaTtl = replicaTtl;
+        }
+    }
+
+    /**
+     * Settings of the in-process near cache kept in front of Redis.
+     */
+    public static class Near {
+
+        private boolean enabled;
+        private String channel = "news-service:cache-invalidation";
+        private Duration localTtl = Duration.ofMinutes(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getChannel() {
+            return channel;
+        }
+
+        public void setChannel(String channel) {
+            this.channel = channel;
+        }
+
+        public Duration getLocalTtl() {
+            return localTtl;
+        }
+
+        public void setLocalTtl(Duration localTtl) {
+            this.localTtl = localTtl;
+        }
+    }
+
+    /**
+     * Settings of the cache of ids that were looked up and not found.
+     */
+    public static class Negative {
+
+        private boolean enabled = true;
+        private int maxSize = 10_000;
+        private Duration ttl = Duration.ofSeconds(10);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+
+    /**
+     * Settings of the cache of paginated list and search results.
+     */
+    public static class Query {
+
+        private boolean enabled = true;
+        private int maxSize = 1_000;
+        private Duration ttl = Duration.ofMinutes(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+
+    /**
+     * Settings of the warm-up of the caches on startup.
+     */
+    public static class Warmup {
+
+        private boolean enabled;
+        private int newestCount = 100;
+        private String hotKeysFile;
+        private int batchSize = 50;
+        private int parallelism = 4;
+        private Duration timeout = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getNewestCount() {
+            return newestCount;
+        }
+
+        public void setNewestCount(int newestCount) {
+            this.newestCount = newestCount;
+        }
+
+        public String getHotKeysFile() {
+            return hotKeysFile;
+        }
+
+        public void setHotKeysFile(String hotKeysFile) {
+            this.hotKeysFile = hotKeysFile;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    /**
+     * Settings of the background refresh of entries that are close to expiry.
+     */
+    public static class RefreshAhead {
+
+        private boolean enabled;
+        private double fraction = 0.8;
+        private double beta = 1.0;
+        private int threads = 2;
+        private int queueCapacity = 1_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getFraction() {
+            return fraction;
+        }
+
+        public void setFraction(double fraction) {
+            this.fraction = fraction;
+        }
+
+        public double getBeta() {
+            return beta;
+        }
+
+        public void setBeta(double beta) {
+            this.beta = beta;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    /**
+     * Settings of the snapshots of the in-process caches.
+     */
+    public static class Snapshot {
+
+        private boolean enabled;
+        private String file = "cache.snapshot";
+        private Duration interval = Duration.ofMinutes(1);
+        private Duration maxAge = Duration.ofMinutes(10);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getFile() {
+            return file;
+        }
+
+        public void setFile(String file) {
+            this.file = file;
+        }
+
+        public Duration getInterval() {
+            return interval;
+        }
+
+        public void setInterval(Duration interval) {
+            this.interval = interval;
+        }
+
+        public Duration getMaxAge() {
+            return maxAge;
+        }
+
+        public void setMaxAge(Duration maxAge) {
+            this.maxAge = maxAge;
+        }
+    }
+
+    /**
+     * Settings of the recording of the cache access traces.
+     */
+    public static class Trace {
+
+        private boolean enabled;
+        private String file = "cache.trace";
+        private double sampleRate = 0.1;
+        private int queueCapacity = 65_536;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getFile() {
+            return file;
+        }
+
+        public void setFile(String file) {
+            this.file = file;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    /**
+     * Settings of the serialization of the values stored in Redis.
+     */
+    public static class Serialization {
+
+        private String format = "JDK";
+        private int compressionThreshold = 1024;
+
+        public String getFormat() {
+            return format;
+        }
+
+        public void setFormat(String format) {
+            this.format = format;
+        }
+
+        public int getCompressionThreshold() {
+            return compressionThreshold;
+        }
+
+        public void setCompressionThreshold(int compressionThreshold) {
+            this.compressionThreshold = compressionThreshold;
+        }
+    }
 }
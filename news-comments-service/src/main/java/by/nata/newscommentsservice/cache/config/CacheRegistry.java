@@ -0,0 +1,75 @@
+package by.nata.newscommentsservice.cache.config;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * The {@code CacheRegistry} class keeps the named in-process caches used by the caching aspect. A cache is
+ * created by the {@link CacheFactory} the first time its name is requested and is shared by all callers
+ * afterwards. A cache decorator set with {@link #setCacheDecorator(BiFunction)} wraps every cache created
+ * afterwards, e.g. to track the entries written to it.
+ *
+ * <p>Dependencies:</p>
+ * <p>- {@link CacheFactory}: Creates the cache of each cache name.</p>
+ */
+@Component
+public class CacheRegistry {
+
+    private final CacheFactory cacheFactory;
+    private final Map<String, Cache<Object, Object>> caches = new ConcurrentHashMap<>();
+    private volatile BiFunction<String, Cache<Object, Object>, Cache<Object, Object>> cacheDecorator =
+            (cacheName, cache) -> cache;
+
+    /**
+     * Constructs an instance of {@code CacheRegistry}.
+     *
+     * @param cacheFactory The factory creating the caches.
+     */
+    @Autowired
+    public CacheRegistry(CacheFactory cacheFactory) {
+        this.cacheFactory = cacheFactory;
+    }
+
+    /**
+     * Returns the cache with the specified name, creating it on first use.
+     *
+     * @param cacheName The name of the cache.
+     * @return The cache.
+     */
+    public Cache<Object, Object> getCache(String cacheName) {
+        return caches.computeIfAbsent(cacheName, name -> cacheDecorator.apply(name, cacheFactory.create(name)));
+    }
+
+    /**
+     * Sets the decorator applied to every cache created from now on.
+     *
+     * @param cacheDecorator Wraps a new cache, given its name and the cache created by the factory.
+     */
+    public void setCacheDecorator(BiFunction<String, Cache<Object, Object>, Cache<Object, Object>> cacheDecorator) {
+        this.cacheDecorator = cacheDecorator;
+    }
+
+    /**
+     * Drops the cache with the specified name together with all its entries; the next request creates a new one.
+     *
+     * @param cacheName The name of the cache.
+     */
+    public void removeCache(String cacheName) {
+        caches.remove(cacheName);
+    }
+
+    /**
+     * Returns the caches created so far.
+     *
+     * @return An unmodifiable view of the caches by their names.
+     */
+    public Map<String, Cache<Object, Object>> getCaches() {
+        return Collections.unmodifiableMap(caches);
+    }
+}
@@ -0,0 +1,33 @@
+package by.nata.newscommentsservice.cache.config;
+
+import by.nata.newscommentsservice.cache.manager.LocalCacheManager;
+import by.nata.newscommentsservice.cache.stats.CacheStatsRegistry;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * The {@code LocalCacheConfig} class is a Spring configuration class that enables Spring's caching with the
+ * in-process caches of the configured "cache.algorithm" when the "spring" profile is active. The cached methods
+ * then go through the same cache interceptor as with the Redis caches of the "prod" profile, instead of the
+ * caching aspect of the "dev" and "aspect" profiles, so both paths can be compared under the same annotations.
+ * The aspect stays off when "spring" is combined with one of those profiles, so no method is cached twice. The
+ * algorithm, size and cache names of the profile are set in "application-spring.yml".
+ *
+ * <p>Bean:</p>
+ * <p>- The {@link LocalCacheManager}, providing the caches listed in "cache.cacheNames", or every requested cache
+ *   when the list is empty.</p>
+ */
+@Configuration
+@EnableCaching
+@Profile("spring")
+public class LocalCacheConfig {
+
+    @Bean
+    public LocalCacheManager cacheManager(CacheRegistry cacheRegistry, CacheStatsRegistry cacheStatsRegistry,
+                                          CacheProperties cacheProperties) {
+        return new LocalCacheManager(cacheRegistry, cacheStatsRegistry, cacheProperties.getCacheNames(),
+                cacheProperties.getLoadTimeout());
+    }
+}
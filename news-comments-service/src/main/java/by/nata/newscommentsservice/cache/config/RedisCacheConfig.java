@@ -1,10 +1,30 @@
 package by.nata.newscommentsservice.cache.config;
 
+import by.nata.newscommentsservice.cache.codec.CompactRedisSerializer;
+import by.nata.newscommentsservice.cache.codec.UnreadableValueErrorHandler;
+import by.nata.newscommentsservice.cache.hotkey.HotKeyCacheResolver;
+import by.nata.newscommentsservice.cache.hotkey.HotKeyRegistry;
+import by.nata.newscommentsservice.cache.invalidation.RedisCacheInvalidationBus;
+import by.nata.newscommentsservice.cache.refresh.RefreshAheadCacheResolver;
+import by.nata.newscommentsservice.cache.tag.CacheTags;
+import by.nata.newscommentsservice.cache.tag.TaggingCacheResolver;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.cache.interceptor.SimpleCacheResolver;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
 
 import java.time.Duration;
 
@@ -14,7 +34,20 @@ import java.time.Duration;
  *
  * <p>Bean:</p>
  * <p>- The default cache configuration includes a 5-minute time-to-live (TTL) for cache entries and
- *   disables caching of null values.</p>
+ *   disables caching of null values. Values are written with Java serialization, or with the
+ *   {@link CompactRedisSerializer} when "cache.serialization.format" is "COMPACT".</p>
+ * <p>- The cache manager customizer overrides the TTL of every cache that has "cache.expiry.&lt;cacheName&gt;.expireAfterWrite"
+ *   configured in {@link CacheProperties}. Redis has no expire-after-access, so that setting only applies to local caches.</p>
+ * <p>- The caching configurer resolves the caches of the annotated methods through a {@link RefreshAheadCacheResolver}
+ *   when "cache.refreshAhead.enabled" is {@code true}, which reloads entries in the background before they expire.
+ *   Entries it stamped are only unwrapped by that resolver, so the caches are to be cleared when it is switched off.
+ *   When "cache.hotKeys.enabled" is {@code true}, the caches are first decorated by a {@link HotKeyCacheResolver},
+ *   which serves the hot keys from a per-instance replica. The outermost {@link TaggingCacheResolver} tags the
+ *   written entries with the {@link CacheTags} after they are stored. The {@link UnreadableValueErrorHandler}
+ *   treats values the configured format cannot read, e.g. after the format was switched, as misses and evicts them.</p>
+ * <p>- The listener container subscribing the {@link RedisCacheInvalidationBus} to the "cache.near.channel" channel,
+ *   so the in-process caches of every instance follow the changes made on the other instances. It is the only
+ *   listener container of the channel.</p>
  */
 @Configuration
 @EnableCaching
@@ -22,9 +55,66 @@ import java.time.Duration;
 public class RedisCacheConfig {
 
     @Bean
-    public RedisCacheConfiguration redisCacheConfiguration() {
-        return RedisCacheConfiguration.defaultCacheConfig()
+    public RedisCacheConfiguration redisCacheConfiguration(CacheProperties cacheProperties) {
+        RedisCacheConfiguration configuration = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(5))
                 .disableCachingNullValues();
+        CacheProperties.Serialization serialization = cacheProperties.getSerialization();
+        if (!"COMPACT".equalsIgnoreCase(serialization.getFormat())) {
+            return configuration;
+        }
+        return configuration.serializeValuesWith(RedisSerializationContext.SerializationPair
+                .fromSerializer(new CompactRedisSerializer(serialization.getCompressionThreshold())));
+    }
+
+    @Bean
+    public RedisCacheManagerBuilderCustomizer redisCacheManagerBuilderCustomizer(RedisCacheConfiguration redisCacheConfiguration,
+                                                                                 CacheProperties cacheProperties) {
+        return builder -> cacheProperties.getExpiry().forEach((cacheName, expiry) -> {
+            if (expiry.getExpireAfterWrite() != null) {
+                builder.withCacheConfiguration(cacheName, redisCacheConfiguration.entryTtl(expiry.getExpireAfterWrite()));
+            }
+        });
+    }
+
+    @Bean
+    public CachingConfigurer cachingConfigurer(ObjectProvider<CacheManager> cacheManager,
+                                                           RedisCacheConfiguration redisCacheConfiguration,
+                                                           CacheProperties cacheProperties,
+                                                           HotKeyRegistry hotKeyRegistry,
+                                                           ObjectProvider<CacheTags> cacheTags,
+                                                           ListableBeanFactory beanFactory) {
+        return new CachingConfigurer() {
+            @Override
+            public CacheResolver cacheResolver() {
+                CacheResolver resolver = new SimpleCacheResolver(cacheManager.getObject());
+                if (cacheProperties.getHotKeys().isEnabled()) {
+                    resolver = new HotKeyCacheResolver(resolver, hotKeyRegistry);
+                }
+                if (cacheProperties.getRefreshAhead().isEnabled()) {
+                    resolver = new RefreshAheadCacheResolver(resolver, cacheName -> {
+                        CacheProperties.Expiry expiry = cacheProperties.getExpiry().get(cacheName);
+                        return expiry != null && expiry.getExpireAfterWrite() != null
+                                ? expiry.getExpireAfterWrite() : redisCacheConfiguration.getTtl();
+                    }, cacheProperties.getRefreshAhead(), beanFactory);
+                }
+                return new TaggingCacheResolver(resolver, cacheTags.getObject());
+            }
+
+            @Override
+            public CacheErrorHandler errorHandler() {
+                return new UnreadableValueErrorHandler();
+            }
+        };
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationBusListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                              RedisCacheInvalidationBus cacheInvalidationBus,
+                                                                              CacheProperties cacheProperties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(cacheInvalidationBus, new ChannelTopic(cacheProperties.getNear().getChannel()));
+        return container;
     }
 }
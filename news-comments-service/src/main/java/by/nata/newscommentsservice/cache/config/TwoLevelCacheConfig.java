@@ -0,0 +1,46 @@
+package by.nata.newscommentsservice.cache.config;
+
+import by.nata.newscommentsservice.cache.invalidation.CacheInvalidationBus;
+import by.nata.newscommentsservice.cache.manager.TwoLevelCacheManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+/**
+ * The {@code TwoLevelCacheConfig} class is a Spring configuration class that replaces the Redis cache
+ * manager of the "prod" profile with a {@link TwoLevelCacheManager} when the "cache.near.enabled" property
+ * is {@code true}. The in-process caches use the algorithm selected with "cache.algorithm", which has to be
+ * thread-safe (e.g. "CONCURRENT_LRU" or "TINYLFU").
+ *
+ * <p>Bean:</p>
+ * <p>- The two-level cache manager, wrapping a Redis cache manager built from the default
+ *   {@link RedisCacheConfiguration} and all {@link RedisCacheManagerBuilderCustomizer} beans. The invalidations
+ *   are exchanged on the {@link CacheInvalidationBus}, whose listener container is declared by {@link RedisCacheConfig}.</p>
+ */
+@Configuration
+@Profile("prod")
+@ConditionalOnProperty(prefix = "cache.near", name = "enabled", havingValue = "true")
+public class TwoLevelCacheConfig {
+
+    @Bean
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+                                             RedisCacheConfiguration redisCacheConfiguration,
+                                             ObjectProvider<RedisCacheManagerBuilderCustomizer> customizers,
+                                             CacheFactory cacheFactory,
+                                             CacheInvalidationBus cacheInvalidationBus,
+                                             CacheProperties cacheProperties) {
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(redisConnectionFactory)
+                .cacheDefaults(redisCacheConfiguration);
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        RedisCacheManager redisCacheManager = builder.build();
+        redisCacheManager.initializeCaches();
+        return new TwoLevelCacheManager(redisCacheManager, cacheFactory, cacheInvalidationBus,
+                cacheProperties.getLoadTimeout(), cacheProperties.getNear().getLocalTtl());
+    }
+}
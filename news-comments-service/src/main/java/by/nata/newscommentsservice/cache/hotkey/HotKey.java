@@ -0,0 +1,12 @@
+package by.nata.newscommentsservice.cache.hotkey;
+
+/**
+ * The {@code HotKey} record describes a key that receives a large share of the reads of a cache.
+ *
+ * <p>Properties:</p>
+ * <p>- {@code key}: The cache key.
+ * <p>- {@code count}: The estimated number of sampled reads of the key in the current window.
+ * <p>- {@code error}: The maximum overestimation of {@code count}.
+ */
+public record HotKey(Object key, long count, long error) {
+}
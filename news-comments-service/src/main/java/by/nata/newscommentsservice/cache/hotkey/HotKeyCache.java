@@ -0,0 +1,186 @@
+package by.nata.newscommentsservice.cache.hotkey;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * The {@code HotKeyCache} class is a Spring {@link Cache} decorator that keeps the values of hot keys in a small
+ * in-process replica, so the reads of a key receiving most of the traffic, e.g. the news of a breaking story,
+ * do not all go to the same Redis node. Every read is reported to the {@link HotKeyDetector} of the cache;
+ * a value read from the underlying cache for a hot key is copied into the replica and served from there until
+ * its short time-to-live passes.
+ *
+ * <p>Writes and evictions on this instance drop the replicated value, as do evictions that bypass the decorator
+ * and report their keys to {@link #evictReplicas(Collection)}. Changes made by other instances are seen
+ * once the replicated value expires, so the time-to-live bounds how long a stale value can be served.</p>
+ */
+public class HotKeyCache implements Cache {
+
+    private final Cache delegate;
+    private final HotKeyDetector detector;
+    private final long replicaTtlNanos;
+    private final int maxReplicas;
+    private final LongSupplier ticker;
+    private final Map<Object, Replica> replicas = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs an instance of {@code HotKeyCache} that uses {@link System#nanoTime()} as time source.
+     *
+     * @param delegate    The cache that stores the entries.
+     * @param detector    The detector of the hot keys of the cache.
+     * @param replicaTtl  The time a replicated value is served.
+     * @param maxReplicas The number of replicated values from which expired ones are purged on every write.
+     */
+    public HotKeyCache(Cache delegate, HotKeyDetector detector, Duration replicaTtl, int maxReplicas) {
+        this(delegate, detector, replicaTtl, maxReplicas, System::nanoTime);
+    }
+
+    /**
+     * Constructs an instance of {@code HotKeyCache} with the specified time source.
+     *
+     * @param delegate    The cache that stores the entries.
+     * @param detector    The detector of the hot keys of the cache.
+     * @param replicaTtl  The time a replicated value is served.
+     * @param maxReplicas The number of replicated values from which expired ones are purged on every write.
+     * @param ticker      The time source returning nanoseconds.
+     */
+    public HotKeyCache(Cache delegate, HotKeyDetector detector, Duration replicaTtl, int maxReplicas,
+                       LongSupplier ticker) {
+        this.delegate = delegate;
+        this.detector = detector;
+        this.replicaTtlNanos = replicaTtl.toNanos();
+        this.maxReplicas = maxReplicas;
+        this.ticker = ticker;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        detector.record(key);
+        Object replicated = getReplica(key);
+        if (replicated != null) {
+            return new SimpleValueWrapper(replicated);
+        }
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper != null) {
+            replicate(key, wrapper.get());
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        detector.record(key);
+        Object replicated = getReplica(key);
+        if (replicated != null && (type == null || type.isInstance(replicated))) {
+            return (T) replicated;
+        }
+        T value = delegate.get(key, type);
+        replicate(key, value);
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        detector.record(key);
+        Object replicated = getReplica(key);
+        if (replicated != null) {
+            return (T) replicated;
+        }
+        T value = delegate.get(key, valueLoader);
+        replicate(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        replicas.remove(key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        replicas.remove(key);
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        replicas.remove(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        replicas.remove(key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        replicas.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = delegate.invalidate();
+        replicas.clear();
+        return invalidated;
+    }
+
+    /**
+     * Drops the replicated values of the specified keys.
+     *
+     * @param keys The keys whose entries were evicted from the underlying cache.
+     */
+    public void evictReplicas(Collection<?> keys) {
+        keys.forEach(replicas::remove);
+    }
+
+    private Object getReplica(Object key) {
+        Replica replica = replicas.get(key);
+        if (replica == null) {
+            return null;
+        }
+        if (ticker.getAsLong() - replica.expiresAt >= 0) {
+            replicas.remove(key, replica);
+            return null;
+        }
+        return replica.value;
+    }
+
+    private void replicate(Object key, Object value) {
+        if (value == null || replicaTtlNanos <= 0 || !detector.isHot(key)) {
+            return;
+        }
+        long now = ticker.getAsLong();
+        if (replicas.size() >= maxReplicas) {
+            replicas.values().removeIf(replica -> now - replica.expiresAt >= 0);
+        }
+        replicas.put(key, new Replica(value, now + replicaTtlNanos));
+    }
+
+    private record Replica(Object value, long expiresAt) {
+    }
+}
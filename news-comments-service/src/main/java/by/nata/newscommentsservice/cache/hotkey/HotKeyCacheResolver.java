@@ -0,0 +1,35 @@
+package by.nata.newscommentsservice.cache.hotkey;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.CacheResolver;
+
+import java.util.Collection;
+
+/**
+ * The {@code HotKeyCacheResolver} class is a {@link CacheResolver} that decorates every cache resolved by
+ * another resolver with the {@link HotKeyCache} of the cache name from the {@link HotKeyRegistry}.
+ */
+public class HotKeyCacheResolver implements CacheResolver {
+
+    private final CacheResolver delegate;
+    private final HotKeyRegistry hotKeyRegistry;
+
+    /**
+     * Constructs an instance of {@code HotKeyCacheResolver}.
+     *
+     * @param delegate       The resolver of the caches to be decorated.
+     * @param hotKeyRegistry The registry of the hot key detectors.
+     */
+    public HotKeyCacheResolver(CacheResolver delegate, HotKeyRegistry hotKeyRegistry) {
+        this.delegate = delegate;
+        this.hotKeyRegistry = hotKeyRegistry;
+    }
+
+    @Override
+    public Collection<? extends Cache> resolveCaches(CacheOperationInvocationContext<?> context) {
+        return delegate.resolveCaches(context).stream()
+                .map(hotKeyRegistry::decorate)
+                .toList();
+    }
+}
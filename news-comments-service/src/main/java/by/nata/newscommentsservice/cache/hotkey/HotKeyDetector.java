@@ -0,0 +1,107 @@
+package by.nata.newscommentsservice.cache.hotkey;
+
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * The {@code HotKeyDetector} class finds the keys of a cache that receive a large share of its reads. A sample
+ * of the reads is recorded in a {@link SpaceSavingSketch}, and a key is hot while its guaranteed count reaches
+ * "cache.hotKeys.minShare" of the sampled reads of the current window. At most "cache.hotKeys.maxHotKeys" keys,
+ * the most frequent ones, are hot at a time.
+ *
+ * <p>Only the sampled reads take a lock; the current hot keys are published as an immutable set, so checking
+ * whether a key is hot is lock-free.</p>
+ */
+public class HotKeyDetector {
+
+    private final SpaceSavingSketch<Object> sketch;
+    private final int capacity;
+    private final double sampleRate;
+    private final double minShare;
+    private final int maxHotKeys;
+    private final DoubleSupplier random;
+    private volatile Set<Object> hotKeySet = Set.of();
+    private volatile List<HotKey> hotKeys = List.of();
+    private int offersSinceUpdate;
+
+    /**
+     * Constructs an instance of {@code HotKeyDetector} sampling with a thread-local random source.
+     *
+     * @param settings The hot key settings.
+     */
+    public HotKeyDetector(CacheProperties.HotKeys settings) {
+        this(settings, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    /**
+     * Constructs an instance of {@code HotKeyDetector} with the specified random source.
+     *
+     * @param settings The hot key settings.
+     * @param random   The source of random numbers in the range [0, 1) deciding which reads are sampled.
+     */
+    public HotKeyDetector(CacheProperties.HotKeys settings, DoubleSupplier random) {
+        this.capacity = Math.max(settings.getCapacity(), 1);
+        this.sketch = new SpaceSavingSketch<>(capacity, settings.getWindowSize());
+        this.sampleRate = settings.getSampleRate();
+        this.minShare = settings.getMinShare();
+        this.maxHotKeys = Math.max(settings.getMaxHotKeys(), 0);
+        this.random = random;
+    }
+
+    /**
+     * Records a read of the key, if it is sampled.
+     *
+     * @param key The key that was read.
+     */
+    public void record(Object key) {
+        if (sampleRate < 1.0 && random.getAsDouble() >= sampleRate) {
+            return;
+        }
+        synchronized (this) {
+            boolean halved = sketch.offer(key);
+            if (halved || ++offersSinceUpdate >= capacity
+                    || (!hotKeySet.contains(key) && sketch.guaranteedCount(key) >= threshold())) {
+                update();
+            }
+        }
+    }
+
+    /**
+     * Checks whether the key is currently hot.
+     *
+     * @param key The key.
+     * @return {@code true} if the key is hot, {@code false} otherwise.
+     */
+    public boolean isHot(Object key) {
+        return hotKeySet.contains(key);
+    }
+
+    /**
+     * Returns the current hot keys, the most frequent first.
+     *
+     * @return The hot keys.
+     */
+    public List<HotKey> getHotKeys() {
+        return hotKeys;
+    }
+
+    private long threshold() {
+        if (sketch.total() < capacity) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(1, (long) Math.ceil(minShare * sketch.total()));
+    }
+
+    private void update() {
+        offersSinceUpdate = 0;
+        hotKeys = List.copyOf(sketch.heavyHitters(threshold(), maxHotKeys));
+        hotKeySet = hotKeys.stream()
+                .map(HotKey::key)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
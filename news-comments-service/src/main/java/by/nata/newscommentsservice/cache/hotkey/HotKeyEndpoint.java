@@ -0,0 +1,39 @@
+package by.nata.newscommentsservice.cache.hotkey;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code HotKeyEndpoint} class is an actuator endpoint exposing the current hot keys of the caches at
+ * {@code /actuator/hotkeys} and {@code /actuator/hotkeys/{cacheName}}.
+ *
+ * <p>Dependencies:</p>
+ * <p>- {@link HotKeyRegistry}: The registry holding the hot key detector of every cache.</p>
+ */
+@Component
+@Endpoint(id = "hotkeys")
+public class HotKeyEndpoint {
+
+    private final HotKeyRegistry hotKeyRegistry;
+
+    @Autowired
+    public HotKeyEndpoint(HotKeyRegistry hotKeyRegistry) {
+        this.hotKeyRegistry = hotKeyRegistry;
+    }
+
+    @ReadOperation
+    public Map<String, List<HotKey>> hotKeys() {
+        return hotKeyRegistry.hotKeys();
+    }
+
+    @ReadOperation
+    public List<HotKey> hotKeys(@Selector String cacheName) {
+        return hotKeyRegistry.hotKeys().getOrDefault(cacheName, List.of());
+    }
+}
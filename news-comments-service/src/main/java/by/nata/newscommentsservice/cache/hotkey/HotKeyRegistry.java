@@ -0,0 +1,169 @@
+package by.nata.newscommentsservice.cache.hotkey;
+
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import by.nata.newscommentsservice.cache.warmup.CacheWarmer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code HotKeyRegistry} class keeps a {@link HotKeyDetector} and a {@link HotKeyCache} per cache name, created
+ * on first use with the "cache.hotKeys.*" settings. Keeping the decorators here lets the code that evicts entries
+ * directly from the underlying caches, e.g. the cache tags, drop their replicated values as well.
+ *
+ * <p>When "cache.warmup.hotKeysFile" is set, the current hot keys of the cache warmed up by the {@link CacheWarmer}
+ * are written to the file on shutdown, one id per line, so the next start preloads them. The file is left
+ * untouched if no hot keys were detected, e.g. because "cache.hotKeys.enabled" is {@code false}.</p>
+ *
+ * <p>Dependencies:</p>
+ * <p>- {@link CacheProperties}: The "cache.hotKeys.*" settings and the "cache.warmup.hotKeysFile" setting.</p>
+ */
+@Slf4j
+@Component
+public class HotKeyRegistry implements SmartLifecycle {
+
+    private final CacheProperties.HotKeys settings;
+    private final String hotKeysFile;
+    private final Map<String, HotKeyDetector> detectors = new ConcurrentHashMap<>();
+    private final Map<String, HotKeyCache> caches = new ConcurrentHashMap<>();
+    private volatile boolean running;
+
+    /**
+     * Constructs an instance of {@code HotKeyRegistry}.
+     *
+     * @param cacheProperties The configuration properties for the caches.
+     */
+    @Autowired
+    public HotKeyRegistry(CacheProperties cacheProperties) {
+        this.settings = cacheProperties.getHotKeys();
+        this.hotKeysFile = cacheProperties.getWarmup().getHotKeysFile();
+    }
+
+    /**
+     * Returns the detector of the specified cache, creating it on first use.
+     *
+     * @param cacheName The name of the cache.
+     * @return The hot key detector of the cache.
+     */
+    public HotKeyDetector detector(String cacheName) {
+        return detectors.computeIfAbsent(cacheName, name -> new HotKeyDetector(settings));
+    }
+
+    /**
+     * Returns the decorator serving the hot keys of the specified cache, creating it on first use.
+     *
+     * @param cache The cache to be decorated.
+     * @return The hot-key decorator of the cache.
+     */
+    public HotKeyCache decorate(Cache cache) {
+        return caches.computeIfAbsent(cache.getName(), name -> new HotKeyCache(cache, detector(name),
+                settings.getReplicaTtl(), settings.getMaxHotKeys()));
+    }
+
+    /**
+     * Drops the replicated values of the specified keys, e.g. after their entries were evicted from the underlying
+     * cache without going through the decorator.
+     *
+     * @param cacheName The name of the cache.
+     * @param keys      The keys whose replicated values are to be dropped.
+     */
+    public void evictReplicas(String cacheName, Collection<?> keys) {
+        HotKeyCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.evictReplicas(keys);
+        }
+    }
+
+    /**
+     * Returns the current hot keys of every cache, ordered by cache name.
+     *
+     * @return The hot keys by cache name.
+     */
+    public Map<String, List<HotKey>> hotKeys() {
+        Map<String, List<HotKey>> hotKeys = new TreeMap<>();
+        detectors.forEach((cacheName, detector) -> hotKeys.put(cacheName, detector.getHotKeys()));
+        return Collections.unmodifiableMap(hotKeys);
+    }
+
+    /**
+     * Writes the current hot keys of the cache warmed up by the {@link CacheWarmer} to the hot-key file, replacing
+     * the previous file. Nothing is written if no file is configured or no hot key has been detected.
+     *
+     * @return The number of hot keys written.
+     */
+    public int saveHotKeys() {
+        HotKeyDetector detector = detectors.get(CacheWarmer.CACHE_NAME);
+        if (hotKeysFile == null || detector == null) {
+            return 0;
+        }
+        List<String> lines = new ArrayList<>();
+        for (HotKey hotKey : detector.getHotKeys()) {
+            if (hotKey.key() instanceof Number id) {
+                lines.add(String.valueOf(id.longValue()));
+            }
+        }
+        if (lines.isEmpty()) {
+            return 0;
+        }
+        Path file = Path.of(hotKeysFile);
+        List<String> content = new ArrayList<>(lines.size() + 1);
+        content.add("# Hot keys of cache '" + CacheWarmer.CACHE_NAME + "', the most frequent first");
+        content.addAll(lines);
+        try {
+            Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temporary, content);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Saved {} hot keys to {}", lines.size(), file);
+            return lines.size();
+        } catch (IOException e) {
+            log.warn("Cannot save hot keys to {}", file, e);
+            return 0;
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        if (running) {
+            running = false;
+            saveHotKeys();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server, so the saved hot keys include the reads of the last requests.
+     *
+     * @return The lifecycle phase.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    public CacheProperties.HotKeys getSettings() {
+        return settings;
+    }
+}
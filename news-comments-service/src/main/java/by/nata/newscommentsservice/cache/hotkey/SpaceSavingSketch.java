@@ -0,0 +1,135 @@
+package by.nata.newscommentsservice.cache.hotkey;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code SpaceSavingSketch} class finds the most frequent keys of a stream with the Space-Saving algorithm.
+ * It keeps a fixed number of counters; a key without a counter takes over the counter with the smallest count
+ * when all counters are in use, inheriting that count as its possible overestimation. Every key whose true
+ * frequency exceeds {@code total / capacity} is guaranteed to have a counter, and {@code count - error} is a
+ * lower bound of its frequency.
+ *
+ * <p>Once the number of recorded keys reaches the window size, all counts are halved, so keys that are no
+ * longer requested fade out and new hot keys are found quickly.</p>
+ *
+ * <p>The sketch is not thread-safe and relies on the owning {@link HotKeyDetector} for synchronization.</p>
+ *
+ * @param <K> The type of the keys.
+ */
+final class SpaceSavingSketch<K> {
+
+    private final int capacity;
+    private final long windowSize;
+    private final Map<K, Counter> counters;
+    private long total;
+
+    /**
+     * Constructs an instance of {@code SpaceSavingSketch}.
+     *
+     * @param capacity   The number of counters.
+     * @param windowSize The number of recorded keys after which all counts are halved.
+     */
+    SpaceSavingSketch(int capacity, long windowSize) {
+        this.capacity = Math.max(capacity, 1);
+        this.windowSize = Math.max(windowSize, this.capacity);
+        this.counters = new HashMap<>(this.capacity * 4 / 3 + 1);
+    }
+
+    /**
+     * Records an occurrence of the key.
+     *
+     * @param key The key.
+     * @return {@code true} if the counts were halved, {@code false} otherwise.
+     */
+    boolean offer(K key) {
+        total++;
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.count++;
+        } else if (counters.size() < capacity) {
+            counters.put(key, new Counter(1, 0));
+        } else {
+            Map.Entry<K, Counter> min = null;
+            for (Map.Entry<K, Counter> entry : counters.entrySet()) {
+                if (min == null || entry.getValue().count < min.getValue().count) {
+                    min = entry;
+                }
+            }
+            counters.remove(min.getKey());
+            long minCount = min.getValue().count;
+            counters.put(key, new Counter(minCount + 1, minCount));
+        }
+        if (total >= windowSize) {
+            halve();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the guaranteed number of occurrences of the key, i.e. its count minus its possible overestimation.
+     *
+     * @param key The key.
+     * @return The lower bound of the frequency, zero if the key has no counter.
+     */
+    long guaranteedCount(K key) {
+        Counter counter = counters.get(key);
+        return counter == null ? 0 : counter.count - counter.error;
+    }
+
+    /**
+     * Returns the keys whose guaranteed count reaches the threshold, the most frequent first.
+     *
+     * @param threshold The minimum guaranteed count.
+     * @param limit     The maximum number of keys returned.
+     * @return The heavy hitters.
+     */
+    List<HotKey> heavyHitters(long threshold, int limit) {
+        List<HotKey> hitters = new ArrayList<>();
+        counters.forEach((key, counter) -> {
+            if (counter.count - counter.error >= threshold) {
+                hitters.add(new HotKey(key, counter.count, counter.error));
+            }
+        });
+        hitters.sort(Comparator.comparingLong(HotKey::count).reversed());
+        return hitters.size() > limit ? new ArrayList<>(hitters.subList(0, limit)) : hitters;
+    }
+
+    /**
+     * Returns the number of keys recorded in the current window.
+     *
+     * @return The number of recorded keys.
+     */
+    long total() {
+        return total;
+    }
+
+    private void halve() {
+        total >>>= 1;
+        Iterator<Counter> iterator = counters.values().iterator();
+        while (iterator.hasNext()) {
+            Counter counter = iterator.next();
+            counter.count >>>= 1;
+            counter.error >>>= 1;
+            if (counter.count == 0) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static final class Counter {
+
+        private long count;
+        private long error;
+
+        private Counter(long count, long error) {
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package by.nata.newscommentsservice.cache.invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * The {@code CacheInvalidationBus} interface announces changes of the per-instance caches, e.g. the in-process level
+ * of the two-level caches and the query and negative result caches, to the other instances of the service, so that
+ * they drop their stale copies as well. A change is identified by the name of the cache and the changed key.
+ *
+ * <p>Implementations:</p>
+ * <p>- {@link RedisCacheInvalidationBus}: Publishes the changes on the Redis channel of the near cache ("prod" profile).</p>
+ * <p>- {@link NoOpCacheInvalidationBus}: Any other profile, where a single instance holds the only copy.</p>
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Announces to the other instances that an entry has changed.
+     *
+     * @param cacheName The name of the cache.
+     * @param key       The key of the changed entry, or {@code null} if the whole cache has changed.
+     */
+    void publish(String cacheName, Object key);
+
+    /**
+     * Registers a listener that is called whenever another instance announces a change of the cache.
+     *
+     * @param cacheName The name of the cache.
+     * @param listener  Receives the key of the changed entry, or {@code null} if the whole cache has changed.
+     */
+    void subscribe(String cacheName, Consumer<Object> listener);
+
+    /**
+     * Announces a change to the other instances. Inside a transaction the change is announced after completion,
+     * so the other instances do not reload the uncommitted state right before the commit.
+     *
+     * @param cacheName The name of the cache.
+     * @param key       The key of the changed entry, or {@code null} if the whole cache has changed.
+     */
+    default void invalidate(String cacheName, Object key) {
+        TransactionCompletion.afterCompletion(() -> publish(cacheName, key));
+    }
+}
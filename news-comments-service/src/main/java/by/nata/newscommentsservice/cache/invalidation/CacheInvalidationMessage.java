@@ -0,0 +1,17 @@
+package by.nata.newscommentsservice.cache.invalidation;
+
+import java.io.Serializable;
+
+/**
+ * The {@code CacheInvalidationMessage} record is published on the {@link CacheInvalidationBus} whenever an
+ * instance changes an entry of a cache, so that the other service instances drop their local copy of the entry.
+ *
+ * <p>Properties:</p>
+ * <p>- {@code origin}: The identifier of the instance that changed the entry.
+ * <p>- {@code cacheName}: The name of the cache the entry belongs to.
+ * <p>- {@code key}: The key of the changed entry, or {@code null} if the whole cache was cleared.
+ */
+public record CacheInvalidationMessage(String origin, String cacheName,
+                                       Object key
+) implements Serializable {
+}
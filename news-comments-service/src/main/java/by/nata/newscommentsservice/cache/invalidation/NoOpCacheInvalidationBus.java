@@ -0,0 +1,23 @@
+package by.nata.newscommentsservice.cache.invalidation;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * The {@code NoOpCacheInvalidationBus} class is the {@link CacheInvalidationBus} of the profiles without a shared
+ * Redis, e.g. "dev" or "test". The caches of the instance are the only copies, so there is nobody to notify.
+ */
+@Component
+@Profile("!prod")
+public class NoOpCacheInvalidationBus implements CacheInvalidationBus {
+
+    @Override
+    public void publish(String cacheName, Object key) {
+    }
+
+    @Override
+    public void subscribe(String cacheName, Consumer<Object> listener) {
+    }
+}
@@ -0,0 +1,84 @@
+package by.nata.newscommentsservice.cache.invalidation;
+
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * The {@code RedisCacheInvalidationBus} class is the {@link CacheInvalidationBus} of the "prod" profile. Changes are
+ * published as {@link CacheInvalidationMessage} on the "cache.near.channel" Redis channel. Every instance has a
+ * single bus, which deserializes each message once, ignores the messages the instance has sent itself and passes
+ * the others to the listeners of the cache name.
+ *
+ * <p>Dependencies:</p>
+ * <p>- {@link RedisTemplate}: Publishes the invalidation messages.</p>
+ * <p>- {@link CacheProperties}: The "cache.near.channel" setting.</p>
+ */
+@Slf4j
+@Component
+@Profile("prod")
+public class RedisCacheInvalidationBus implements CacheInvalidationBus, MessageListener {
+
+    private final RedisTemplate<Object, Object> redisTemplate;
+    private final String channel;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final RedisSerializer<Object> messageSerializer = new JdkSerializationRedisSerializer();
+    private final Map<String, List<Consumer<Object>>> listeners = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs an instance of {@code RedisCacheInvalidationBus}.
+     *
+     * @param redisTemplate   The template used to publish invalidation messages.
+     * @param cacheProperties The configuration properties for the caches, including the channel.
+     */
+    @Autowired
+    public RedisCacheInvalidationBus(RedisTemplate<Object, Object> redisTemplate, CacheProperties cacheProperties) {
+        this.redisTemplate = redisTemplate;
+        this.channel = cacheProperties.getNear().getChannel();
+    }
+
+    @Override
+    public void publish(String cacheName, Object key) {
+        redisTemplate.convertAndSend(channel, new CacheInvalidationMessage(instanceId, cacheName, key));
+    }
+
+    @Override
+    public void subscribe(String cacheName, Consumer<Object> listener) {
+        listeners.computeIfAbsent(cacheName, name -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidationMessage invalidation;
+        try {
+            invalidation = (CacheInvalidationMessage) messageSerializer.deserialize(message.getBody());
+        } catch (SerializationException | ClassCastException e) {
+            log.warn("Ignore unreadable cache invalidation message on channel {}", channel, e);
+            return;
+        }
+        if (invalidation == null || instanceId.equals(invalidation.origin())) {
+            return;
+        }
+        List<Consumer<Object>> cacheListeners = listeners.get(invalidation.cacheName());
+        if (cacheListeners == null) {
+            return;
+        }
+        log.debug("Invalidate entry {} of cache {} changed by instance {}", invalidation.key(), invalidation.cacheName(), invalidation.origin());
+        cacheListeners.forEach(listener -> listener.accept(invalidation.key()));
+    }
+}
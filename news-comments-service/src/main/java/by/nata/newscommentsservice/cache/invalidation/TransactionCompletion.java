@@ -0,0 +1,46 @@
+package by.nata.newscommentsservice.cache.invalidation;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The {@code TransactionCompletion} class runs cache invalidations at the end of the current transaction. An
+ * invalidation made inside a transaction is not enough on its own: until the commit, other requests still read
+ * the old state from the database and may cache it again, so the invalidation has to be repeated, or only made,
+ * once the transaction has completed. Without an active transaction synchronization the actions run at once.
+ */
+@UtilityClass
+public class TransactionCompletion {
+
+    /**
+     * Runs the action after completion of the current transaction, or at once outside a transaction.
+     *
+     * @param action The invalidation to run.
+     */
+    public static void afterCompletion(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Runs the action at once and, inside a transaction, again after its completion, so values cached from the
+     * uncommitted state in the meantime are invalidated as well.
+     *
+     * @param action The invalidation to run.
+     */
+    public static void nowAndAfterCompletion(Runnable action) {
+        action.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            afterCompletion(action);
+        }
+    }
+}
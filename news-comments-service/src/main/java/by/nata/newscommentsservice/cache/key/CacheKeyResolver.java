@@ -0,0 +1,215 @@
+package by.nata.newscommentsservice.cache.key;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The {@code CacheKeyResolver} class turns the {@code @Cacheable}, {@code @CachePut} and {@code @CacheEvict}
+ * annotations of a method into a {@link CacheOperation}. Every method is resolved once, the resulting
+ * operation is kept for all further invocations.
+ *
+ * <p>Cache names are taken from the {@code cacheNames} attribute of the annotation, or from the
+ * {@code @CacheConfig} annotation of the class if the attribute is empty.</p>
+ *
+ * <p>Keys are computed as follows:</p>
+ * <p>- An empty {@code key} uses the default key of Spring: the only argument of the method, or a
+ *   {@link org.springframework.cache.interceptor.SimpleKey} of all arguments.</p>
+ * <p>- Simple expressions referring to an argument or the result, optionally followed by a single
+ *   property, e.g. {@code #id}, {@code #p0} or {@code #result.id}, are compiled to direct array access
+ *   and a {@link MethodHandle} of the accessor method, field or record component.</p>
+ * <p>- Any other expression is parsed once and evaluated as a SpEL expression on every invocation, with
+ *   the arguments and {@code #result} available as variables.</p>
+ */
+@Component
+public class CacheKeyResolver {
+
+    private static final Pattern SIMPLE_KEY = Pattern.compile("#(\\w+)(?:\\.(\\w+))?");
+    private static final Pattern INDEXED_ARGUMENT = Pattern.compile("[ap](\\d+)");
+    private static final String RESULT = "result";
+
+    private final Map<OperationKey, CacheOperation> operations = new ConcurrentHashMap<>();
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+    /**
+     * Returns the cache operation of a method.
+     *
+     * @param method        The invoked method.
+     * @param target        The object the method is invoked on.
+     * @param operationType The type of the cache annotation, e.g. {@code Cacheable.class}.
+     * @return The resolved cache operation.
+     * @throws IllegalStateException If the method has no cache names configured.
+     */
+    public CacheOperation resolve(Method method, Object target, Class<? extends Annotation> operationType) {
+        return operations.computeIfAbsent(new OperationKey(method, operationType),
+                operationKey -> compile(method, AopUtils.getTargetClass(target), operationType));
+    }
+
+    private CacheOperation compile(Method method, Class<?> targetClass, Class<? extends Annotation> operationType) {
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        Annotation annotation = AnnotatedElementUtils.findMergedAnnotation(specificMethod, operationType);
+        if (annotation == null) {
+            throw new IllegalStateException("Method " + specificMethod + " is not annotated with @"
+                    + operationType.getSimpleName());
+        }
+
+        String[] cacheNames;
+        String key;
+        boolean allEntries = false;
+        boolean beforeInvocation = false;
+        if (annotation instanceof Cacheable cacheable) {
+            cacheNames = cacheable.cacheNames();
+            key = cacheable.key();
+        } else if (annotation instanceof CachePut cachePut) {
+            cacheNames = cachePut.cacheNames();
+            key = cachePut.key();
+        } else if (annotation instanceof CacheEvict cacheEvict) {
+            cacheNames = cacheEvict.cacheNames();
+            key = cacheEvict.key();
+            allEntries = cacheEvict.allEntries();
+            beforeInvocation = cacheEvict.beforeInvocation();
+        } else {
+            throw new IllegalArgumentException("Unsupported cache operation: " + operationType.getName());
+        }
+
+        if (cacheNames.length == 0) {
+            CacheConfig cacheConfig = AnnotatedElementUtils.findMergedAnnotation(targetClass, CacheConfig.class);
+            cacheNames = cacheConfig != null ? cacheConfig.cacheNames() : cacheNames;
+        }
+        if (cacheNames.length == 0) {
+            throw new IllegalStateException("No cache names configured for method " + specificMethod);
+        }
+        return new CacheOperation(List.of(cacheNames), compileKey(specificMethod, key), allEntries, beforeInvocation);
+    }
+
+    private KeyAccessor compileKey(Method method, String key) {
+        if (!StringUtils.hasText(key)) {
+            return (args, result) -> SimpleKeyGenerator.generateKey(args);
+        }
+        Matcher matcher = SIMPLE_KEY.matcher(key.trim());
+        if (matcher.matches()) {
+            KeyAccessor accessor = compileSimpleKey(method, matcher.group(1), matcher.group(2));
+            if (accessor != null) {
+                return accessor;
+            }
+        }
+        return compileExpression(method, key);
+    }
+
+    private KeyAccessor compileSimpleKey(Method method, String variable, String property) {
+        KeyAccessor source;
+        Class<?> sourceType;
+        if (RESULT.equals(variable)) {
+            source = (args, result) -> result;
+            sourceType = method.getReturnType();
+        } else {
+            int index = parameterIndex(method, variable);
+            if (index < 0) {
+                return null;
+            }
+            source = (args, result) -> args[index];
+            sourceType = method.getParameterTypes()[index];
+        }
+        if (property == null) {
+            return source;
+        }
+        MethodHandle getter = findGetter(sourceType, property);
+        if (getter == null) {
+            return null;
+        }
+        return (args, result) -> {
+            Object value = source.key(args, result);
+            return value != null ? invoke(getter, value) : null;
+        };
+    }
+
+    private int parameterIndex(Method method, String variable) {
+        String[] parameterNames = parameterNameDiscoverer.getParameterNames(method);
+        if (parameterNames != null) {
+            for (int i = 0; i < parameterNames.length; i++) {
+                if (parameterNames[i].equals(variable)) {
+                    return i;
+                }
+            }
+        }
+        Matcher matcher = INDEXED_ARGUMENT.matcher(variable);
+        if (matcher.matches()) {
+            int index = Integer.parseInt(matcher.group(1));
+            return index < method.getParameterCount() ? index : -1;
+        }
+        return -1;
+    }
+
+    private static MethodHandle findGetter(Class<?> type, String property) {
+        String capitalized = StringUtils.capitalize(property);
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodType getterType = MethodType.methodType(Object.class, Object.class);
+        for (String name : new String[]{property, "get" + capitalized, "is" + capitalized}) {
+            try {
+                Method getter = type.getMethod(name);
+                if (getter.getReturnType() != void.class && !Modifier.isStatic(getter.getModifiers())) {
+                    return lookup.unreflect(getter).asType(getterType);
+                }
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                // try the next naming convention
+            }
+        }
+        try {
+            Field field = type.getField(property);
+            if (!Modifier.isStatic(field.getModifiers())) {
+                return lookup.unreflectGetter(field).asType(getterType);
+            }
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            // fall back to the expression
+        }
+        return null;
+    }
+
+    private static Object invoke(MethodHandle getter, Object target) {
+        try {
+            return (Object) getter.invokeExact(target);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot compute cache key", e);
+        }
+    }
+
+    private KeyAccessor compileExpression(Method method, String key) {
+        Expression expression = parser.parseExpression(key);
+        return (args, result) -> {
+            MethodBasedEvaluationContext context =
+                    new MethodBasedEvaluationContext(null, method, args, parameterNameDiscoverer);
+            context.setVariable(RESULT, result);
+            return expression.getValue(context);
+        };
+    }
+
+    private record OperationKey(Method method, Class<? extends Annotation> operationType) {
+    }
+}
@@ -0,0 +1,28 @@
+package by.nata.newscommentsservice.cache.key;
+
+import java.util.List;
+
+/**
+ * The {@code CacheOperation} record describes a cache annotation of a single method after it has been
+ * resolved by the {@link CacheKeyResolver}: the names of the caches the method uses and the compiled
+ * accessor computing its cache keys.
+ *
+ * @param cacheNames       The names of the caches, never empty.
+ * @param keyAccessor      The compiled key expression.
+ * @param allEntries       Whether {@code @CacheEvict} removes all entries of the caches.
+ * @param beforeInvocation Whether {@code @CacheEvict} removes the entries before the method is called.
+ */
+public record CacheOperation(List<String> cacheNames, KeyAccessor keyAccessor, boolean allEntries,
+                             boolean beforeInvocation) {
+
+    /**
+     * Computes the cache key of an invocation.
+     *
+     * @param args   The arguments of the invocation.
+     * @param result The result of the invocation, or {@code null} if the method has not been called yet.
+     * @return The cache key, or {@code null} if the invocation must not be cached.
+     */
+    public Object generateKey(Object[] args, Object result) {
+        return keyAccessor.key(args, result);
+    }
+}
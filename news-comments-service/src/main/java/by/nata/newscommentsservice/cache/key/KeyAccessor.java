@@ -0,0 +1,18 @@
+package by.nata.newscommentsservice.cache.key;
+
+/**
+ * The {@code KeyAccessor} interface is a compiled cache key expression. It computes the cache key of a
+ * single invocation from the arguments of the cached method and, for {@code @CachePut}, its result.
+ */
+@FunctionalInterface
+public interface KeyAccessor {
+
+    /**
+     * Computes the cache key of an invocation.
+     *
+     * @param args   The arguments of the invocation.
+     * @param result The result of the invocation, or {@code null} if the method has not been called yet.
+     * @return The cache key, or {@code null} if the key cannot be computed and the invocation must not be cached.
+     */
+    Object key(Object[] args, Object result);
+}
@@ -0,0 +1,110 @@
+package by.nata.newscommentsservice.cache.key;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.core.convert.ConversionFailedException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * The {@code RedisCacheKeys} class computes the Redis keys of the entries of a {@link RedisCache} for the commands
+ * sent to Redis directly, like bulk reads and writes or the eviction of tagged entries. It follows
+ * {@code RedisCache.createCacheKey} and {@code RedisCache.convertKey} step by step, so a key computed here
+ * addresses the entry the cache itself wrote:
+ *
+ * <p>- A {@link String} key is used as it is.</p>
+ * <p>- Other keys are converted by the conversion service of the cache configuration. Should the conversion of
+ *   an array, collection or map fail, its elements are converted one by one.</p>
+ * <p>- Keys the conversion service cannot convert are used by their {@code toString()}, if their class overrides it.</p>
+ * <p>- The key prefix of the cache is prepended, unless the configuration disables it.</p>
+ */
+@UtilityClass
+public class RedisCacheKeys {
+
+    /**
+     * Computes the serialized Redis key of an entry of the cache.
+     *
+     * @param redisCache The cache the key belongs to.
+     * @param key        The key of the entry.
+     * @return The Redis key of the entry.
+     */
+    public static byte[] serialize(RedisCache redisCache, Object key) {
+        RedisCacheConfiguration configuration = redisCache.getCacheConfiguration();
+        return ByteUtils.getBytes(configuration.getKeySerializationPair().write(createCacheKey(redisCache, key)));
+    }
+
+    /**
+     * Computes the Redis key of an entry of the cache, before serialization.
+     *
+     * @param redisCache The cache the key belongs to.
+     * @param key        The key of the entry.
+     * @return The Redis key of the entry, including the key prefix of the cache.
+     */
+    public static String createCacheKey(RedisCache redisCache, Object key) {
+        RedisCacheConfiguration configuration = redisCache.getCacheConfiguration();
+        String convertedKey = convertKey(configuration.getConversionService(), key);
+        return configuration.usePrefix()
+                ? configuration.getKeyPrefixFor(redisCache.getName()) + convertedKey : convertedKey;
+    }
+
+    private static String convertKey(ConversionService conversionService, Object key) {
+        if (key instanceof String stringKey) {
+            return stringKey;
+        }
+        TypeDescriptor source = TypeDescriptor.forObject(key);
+        if (conversionService.canConvert(source, TypeDescriptor.valueOf(String.class))) {
+            try {
+                return conversionService.convert(key, String.class);
+            } catch (ConversionFailedException e) {
+                if (source.isArray() || source.isCollection() || source.isMap()) {
+                    return convertCollectionLikeOrMapKey(conversionService, key, source);
+                }
+                throw e;
+            }
+        }
+        if (hasToStringMethod(key.getClass())) {
+            return key.toString();
+        }
+        throw new IllegalStateException(String.format("Cannot convert cache key %s to String; Please register a "
+                + "suitable Converter via 'RedisCacheConfiguration.configureKeyConverters(...)' or override '%s.toString()'",
+                source, key.getClass().getName()));
+    }
+
+    private static String convertCollectionLikeOrMapKey(ConversionService conversionService, Object key,
+                                                        TypeDescriptor source) {
+        if (source.isMap()) {
+            int count = 0;
+            StringBuilder target = new StringBuilder("{");
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) key).entrySet()) {
+                target.append(convertKey(conversionService, entry.getKey())).append("=")
+                        .append(convertKey(conversionService, entry.getValue()));
+                // RedisCache appends the separator after every entry but the first, so does this
+                target.append(++count > 1 ? "," : "");
+            }
+            target.append("}");
+            return target.toString();
+        }
+        StringJoiner joiner = new StringJoiner(",");
+        Collection<?> collection = source.isCollection()
+                ? (Collection<?>) key : Arrays.asList(ObjectUtils.toObjectArray(key));
+        for (Object element : collection) {
+            joiner.add(convertKey(conversionService, element));
+        }
+        return "[" + joiner + "]";
+    }
+
+    private static boolean hasToStringMethod(Class<?> type) {
+        Method toString = ReflectionUtils.findMethod(type, "toString");
+        return toString != null && !Object.class.equals(toString.getDeclaringClass());
+    }
+}
@@ -0,0 +1,84 @@
+package by.nata.newscommentsservice.cache.loader;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The {@code SingleFlightLoader} class deduplicates concurrent loads of the same key. The first thread
+ * that misses a key becomes the leader and runs the loader, every other thread asking for the same key
+ * while the load is in flight waits for the leader's result instead of loading the value again. If the
+ * leader fails, its exception is rethrown to all waiting threads.
+ *
+ * <p>A waiting thread gives up after the configured timeout and loads the value on its own, so a stuck
+ * load cannot block request threads indefinitely.</p>
+ *
+ * @param <K> The type of keys.
+ */
+@Slf4j
+public class SingleFlightLoader<K> {
+
+    private final ConcurrentMap<K, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final long timeoutNanos;
+
+    /**
+     * Constructs an instance of {@code SingleFlightLoader}.
+     *
+     * @param timeout The maximum time a thread waits for the load of another thread.
+     */
+    public SingleFlightLoader(Duration timeout) {
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    /**
+     * Loads the value of the key, or waits for the load already started by another thread.
+     *
+     * @param key    The key of the value.
+     * @param loader The loader of the value.
+     * @param <V>    The type of the value.
+     * @return The loaded value.
+     * @throws Throwable The exception thrown by the loader.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V load(K key, Loader<V> loader) throws Throwable {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, future);
+        if (leader == null) {
+            try {
+                V value = loader.load();
+                future.complete(value);
+                return value;
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, future);
+            }
+        }
+        try {
+            return (V) leader.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            log.warn("Load of key {} did not finish within {} ms, loading it without waiting", key, TimeUnit.NANOSECONDS.toMillis(timeoutNanos));
+            return loader.load();
+        }
+    }
+
+    /**
+     * The loader of a value, allowed to throw any exception of the loaded method.
+     *
+     * @param <V> The type of the value.
+     */
+    @FunctionalInterface
+    public interface Loader<V> {
+
+        V load() throws Throwable;
+    }
+}
@@ -0,0 +1,111 @@
+package by.nata.newscommentsservice.cache.manager;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.config.CacheRegistry;
+import by.nata.newscommentsservice.cache.loader.SingleFlightLoader;
+import by.nata.newscommentsservice.cache.stats.CacheStatsRegistry;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * The {@code LocalCache} class is a Spring {@link org.springframework.cache.Cache} backed by the in-process cache
+ * of its name in the {@link CacheRegistry}, so the caches created by the {@link by.nata.newscommentsservice.cache.config.CacheFactory}
+ * from the configured "cache.algorithm" serve the standard cache annotations and share their entries with the
+ * bulk lookups, tags and snapshots working on the registry.
+ *
+ * <p>Concurrent misses of the same key on {@link #get(Object, Callable)}, used by {@code @Cacheable(sync = true)},
+ * are coalesced by a {@link SingleFlightLoader}, so only one thread calls the value loader, as in the caching aspect.
+ * Null values are not cached.</p>
+ *
+ * <p>Dependencies:</p>
+ * <p>- {@link CacheRegistry}: Provides the in-process cache of the name.</p>
+ * <p>- {@link CacheStatsRegistry}: Records the time spent loading values after a cache miss.</p>
+ */
+public class LocalCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final CacheRegistry cacheRegistry;
+    private final CacheStatsRegistry cacheStatsRegistry;
+    private final SingleFlightLoader<Object> singleFlightLoader;
+
+    /**
+     * Constructs an instance of {@code LocalCache}.
+     *
+     * @param name               The name of the cache.
+     * @param cacheRegistry      The registry of the in-process caches.
+     * @param cacheStatsRegistry The registry the load times are recorded in.
+     * @param loadTimeout        The maximum time a thread waits for a value another thread is loading.
+     */
+    public LocalCache(String name, CacheRegistry cacheRegistry, CacheStatsRegistry cacheStatsRegistry,
+                      Duration loadTimeout) {
+        super(false);
+        this.name = name;
+        this.cacheRegistry = cacheRegistry;
+        this.cacheStatsRegistry = cacheStatsRegistry;
+        this.singleFlightLoader = new SingleFlightLoader<>(loadTimeout);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Cache<Object, Object> getNativeCache() {
+        return cacheRegistry.getCache(name);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        return getNativeCache().get(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = lookup(key);
+        if (value != null) {
+            return (T) value;
+        }
+        try {
+            return singleFlightLoader.load(key, () -> {
+                Object present = lookup(key);
+                if (present != null) {
+                    return (T) present;
+                }
+                long loadStart = System.nanoTime();
+                T loaded = valueLoader.call();
+                cacheStatsRegistry.counter(name).recordLoad(System.nanoTime() - loadStart);
+                if (loaded != null) {
+                    getNativeCache().put(key, loaded);
+                }
+                return loaded;
+            });
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value != null) {
+            getNativeCache().put(key, value);
+        } else {
+            getNativeCache().delete(key);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        getNativeCache().delete(key);
+    }
+
+    @Override
+    public void clear() {
+        cacheRegistry.removeCache(name);
+    }
+}
@@ -0,0 +1,60 @@
+package by.nata.newscommentsservice.cache.manager;
+
+import by.nata.newscommentsservice.cache.config.CacheRegistry;
+import by.nata.newscommentsservice.cache.stats.CacheStatsRegistry;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code LocalCacheManager} class is a Spring {@link CacheManager} that exposes the in-process caches of the
+ * {@link CacheRegistry} as {@link LocalCache}s. With a list of cache names, only those caches are provided and
+ * an unknown name resolves to {@code null}; with an empty list, a cache is created for every requested name.
+ *
+ * <p>Dependencies:</p>
+ * <p>- {@link CacheRegistry}: Provides the in-process caches by their names.</p>
+ * <p>- {@link CacheStatsRegistry}: Records the load times of the caches.</p>
+ */
+public class LocalCacheManager implements CacheManager {
+
+    private final CacheRegistry cacheRegistry;
+    private final CacheStatsRegistry cacheStatsRegistry;
+    private final List<String> cacheNames;
+    private final Duration loadTimeout;
+    private final Map<String, LocalCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs an instance of {@code LocalCacheManager}.
+     *
+     * @param cacheRegistry      The registry of the in-process caches.
+     * @param cacheStatsRegistry The registry the load times are recorded in.
+     * @param cacheNames         The names of the provided caches, or an empty list to create caches on demand.
+     * @param loadTimeout        The maximum time a thread waits for a value another thread is loading.
+     */
+    public LocalCacheManager(CacheRegistry cacheRegistry, CacheStatsRegistry cacheStatsRegistry,
+                             Collection<String> cacheNames, Duration loadTimeout) {
+        this.cacheRegistry = cacheRegistry;
+        this.cacheStatsRegistry = cacheStatsRegistry;
+        this.cacheNames = List.copyOf(cacheNames);
+        this.loadTimeout = loadTimeout;
+    }
+
+    @Override
+    public org.springframework.cache.Cache getCache(String name) {
+        if (!cacheNames.isEmpty() && !cacheNames.contains(name)) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, cacheName ->
+                new LocalCache(cacheName, cacheRegistry, cacheStatsRegistry, loadTimeout));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return cacheNames.isEmpty() ? Collections.unmodifiableSet(caches.keySet()) : cacheNames;
+    }
+}
@@ -0,0 +1,213 @@
+package by.nata.newscommentsservice.cache.manager;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.loader.SingleFlightLoader;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The {@code TwoLevelCache} class is a Spring {@link org.springframework.cache.Cache} that keeps a bounded
+ * in-process cache (L1) in front of a shared remote cache (L2). Reads are served from L1 when possible and
+ * fall back to L2, copying the found value into L1. Writes and evictions go to both levels and are announced
+ * through the owning {@link TwoLevelCacheManager}, so the other instances drop their stale L1 copies.
+ *
+ * <p>Concurrent misses of the same key on {@link #get(Object, Callable)} are coalesced by a
+ * {@link SingleFlightLoader}, so only one thread per instance calls the value loader.</p>
+ *
+ * <p>L1 is created by the supplied factory and must be thread-safe. An entry that is read from L2 while
+ * another instance changes it may survive in L1 until it expires, so the factory must create an L1 that
+ * expires its entries.</p>
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final org.springframework.cache.Cache remote;
+    private final Supplier<Cache<Object, Object>> localFactory;
+    private final TwoLevelCacheManager cacheManager;
+    private final SingleFlightLoader<Object> singleFlightLoader;
+    private volatile Cache<Object, Object> local;
+
+    /**
+     * Constructs an instance of {@code TwoLevelCache}.
+     *
+     * @param name         The name of the cache.
+     * @param remote       The shared remote cache (L2).
+     * @param localFactory The factory of the in-process cache (L1), also used to reset L1 on clear.
+     * @param cacheManager The manager announcing invalidations to the other instances.
+     * @param loadTimeout  The maximum time a thread waits for a value another thread is loading.
+     */
+    public TwoLevelCache(String name, org.springframework.cache.Cache remote,
+                         Supplier<Cache<Object, Object>> localFactory, TwoLevelCacheManager cacheManager,
+                         Duration loadTimeout) {
+        super(false);
+        this.name = name;
+        this.remote = remote;
+        this.localFactory = localFactory;
+        this.cacheManager = cacheManager;
+        this.singleFlightLoader = new SingleFlightLoader<>(loadTimeout);
+        this.local = localFactory.get();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = local.get(key);
+        if (value != null) {
+            return value;
+        }
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper == null || wrapper.get() == null) {
+            return null;
+        }
+        value = wrapper.get();
+        local.put(key, value);
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = lookup(key);
+        if (value != null) {
+            return (T) value;
+        }
+        try {
+            return singleFlightLoader.load(key, () -> {
+                Object present = lookup(key);
+                if (present != null) {
+                    return (T) present;
+                }
+                T loaded = valueLoader.call();
+                if (loaded != null) {
+                    remote.put(key, loaded);
+                    local.put(key, loaded);
+                }
+                return loaded;
+            });
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        if (value != null) {
+            local.put(key, value);
+        } else {
+            local.delete(key);
+        }
+        cacheManager.publishInvalidation(name, key);
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.delete(key);
+        cacheManager.publishInvalidation(name, key);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        clearLocal();
+        cacheManager.publishInvalidation(name, null);
+    }
+
+    /**
+     * Returns the shared remote cache (L2).
+     *
+     * @return The remote cache.
+     */
+    public org.springframework.cache.Cache getRemote() {
+        return remote;
+    }
+
+    /**
+     * Retrieves the values of several keys. The keys are looked up in L1 first, the remaining ones are fetched
+     * from L2 with the supplied bulk lookup, since Spring's cache abstraction has none, and copied into L1.
+     *
+     * @param keys         The keys whose values are to be retrieved.
+     * @param remoteLookup Fetches the values of the keys missing from L1 from L2 in one operation.
+     * @return The found values by their keys; keys found in neither level are absent.
+     */
+    public Map<Object, Object> getAll(Collection<Object> keys,
+                                      Function<Collection<Object>, Map<Object, Object>> remoteLookup) {
+        Map<Object, Object> found = new LinkedHashMap<>(local.getAll(keys));
+        if (found.size() == keys.size()) {
+            return found;
+        }
+        List<Object> missing = keys.stream()
+                .filter(key -> !found.containsKey(key))
+                .toList();
+        Map<Object, Object> remoteFound = remoteLookup.apply(missing);
+        if (!remoteFound.isEmpty()) {
+            local.putAll(remoteFound);
+            found.putAll(remoteFound);
+        }
+        return found;
+    }
+
+    /**
+     * Stores several loaded values in both levels. Like the value loader of {@link #get(Object, Callable)}, no
+     * invalidation is announced, as the values are not changed but only loaded.
+     *
+     * @param entries      The values to be stored by their keys.
+     * @param remoteWriter Writes the values to L2 in one operation.
+     */
+    public void putAll(Map<Object, Object> entries, Consumer<Map<Object, Object>> remoteWriter) {
+        remoteWriter.accept(entries);
+        local.putAll(entries);
+    }
+
+    /**
+     * Evicts several entries from both levels and announces their invalidation, like {@link #evict(Object)}
+     * does for a single entry.
+     *
+     * @param keys          The keys of the entries to be evicted.
+     * @param remoteEvicter Evicts the entries from L2 in one operation.
+     */
+    public void evictAll(Collection<Object> keys, Consumer<Collection<Object>> remoteEvicter) {
+        remoteEvicter.accept(keys);
+        for (Object key : keys) {
+            local.delete(key);
+            cacheManager.publishInvalidation(name, key);
+        }
+    }
+
+    /**
+     * Removes the entry from L1 only, used when another instance has changed it.
+     *
+     * @param key The key of the changed entry.
+     */
+    void evictLocal(Object key) {
+        local.delete(key);
+    }
+
+    /**
+     * Drops all entries of L1 only, used when another instance has cleared the cache.
+     */
+    void clearLocal() {
+        local = localFactory.get();
+    }
+}
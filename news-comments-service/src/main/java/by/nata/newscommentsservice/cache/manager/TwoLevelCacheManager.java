@@ -0,0 +1,89 @@
+package by.nata.newscommentsservice.cache.manager;
+
+import by.nata.newscommentsservice.cache.config.CacheFactory;
+import by.nata.newscommentsservice.cache.invalidation.CacheInvalidationBus;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code TwoLevelCacheManager} class is a Spring {@link CacheManager} that puts an in-process cache,
+ * created by the {@link CacheFactory} from the configured "cache.algorithm", in front of every cache of a
+ * {@link RedisCacheManager}. Changes of an entry on one instance are announced on the
+ * {@link CacheInvalidationBus}, and every other instance removes the entry from its in-process cache.
+ *
+ * <p>An entry read from Redis while another instance changes it, or whose invalidation message is lost, stays
+ * stale in the in-process cache until it expires, so every in-process cache expires its entries: caches without
+ * "cache.expiry.&lt;cacheName&gt;" use the local time-to-live passed to the manager.</p>
+ *
+ * <p>Dependencies:</p>
+ * <p>- {@link RedisCacheManager}: The manager of the shared Redis caches (L2).</p>
+ * <p>- {@link CacheFactory}: Creates the in-process caches (L1).</p>
+ * <p>- {@link CacheInvalidationBus}: Exchanges the invalidations with the other instances.</p>
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final RedisCacheManager redisCacheManager;
+    private final CacheFactory cacheFactory;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final Duration loadTimeout;
+    private final Duration localTtl;
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs an instance of {@code TwoLevelCacheManager}.
+     *
+     * @param redisCacheManager    The manager of the shared Redis caches.
+     * @param cacheFactory         The factory of the in-process caches.
+     * @param cacheInvalidationBus The bus the invalidations are exchanged with the other instances on.
+     * @param loadTimeout          The maximum time a thread waits for a value another thread is loading.
+     * @param localTtl             The time-to-live of the in-process entries of caches without a configured expiry.
+     */
+    public TwoLevelCacheManager(RedisCacheManager redisCacheManager, CacheFactory cacheFactory,
+                                CacheInvalidationBus cacheInvalidationBus, Duration loadTimeout, Duration localTtl) {
+        this.redisCacheManager = redisCacheManager;
+        this.cacheFactory = cacheFactory;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.loadTimeout = loadTimeout;
+        this.localTtl = localTtl;
+    }
+
+    @Override
+    public org.springframework.cache.Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            org.springframework.cache.Cache remote = redisCacheManager.getCache(cacheName);
+            if (remote == null) {
+                return null;
+            }
+            TwoLevelCache cache = new TwoLevelCache(cacheName, remote,
+                    () -> cacheFactory.create(cacheName, localTtl), this, loadTimeout);
+            cacheInvalidationBus.subscribe(cacheName, key -> {
+                if (key == null) {
+                    cache.clearLocal();
+                } else {
+                    cache.evictLocal(key);
+                }
+            });
+            return cache;
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+
+    /**
+     * Announces to the other instances that an entry has changed.
+     *
+     * @param cacheName The name of the cache.
+     * @param key       The key of the changed entry, or {@code null} if the whole cache was cleared.
+     */
+    void publishInvalidation(String cacheName, Object key) {
+        cacheInvalidationBus.publish(cacheName, key);
+    }
+}
@@ -0,0 +1,112 @@
+package by.nata.newscommentsservice.cache.negative;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.config.CacheFactory;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import by.nata.newscommentsservice.cache.invalidation.CacheInvalidationBus;
+import by.nata.newscommentsservice.cache.invalidation.TransactionCompletion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code NegativeResultCache} class remembers ids that were looked up and not found, so repeated
+ * requests for deleted or nonexistent entities are answered from memory instead of the database. Every
+ * entity type has its own bounded, thread-safe cache whose entries expire after a short time-to-live.
+ *
+ * <p>Every instance remembers its own lookups, so an invalidation is also announced on the
+ * {@link CacheInvalidationBus} as a change of the "&lt;entityType&gt;-negative" cache, and the other instances
+ * forget the id when they receive it. Inside a transaction the id is forgotten again after completion and only
+ * then announced, so a lookup of the uncommitted entity in the meantime does not keep it reported as missing.</p>
+ *
+ * <p>Usage:</p>
+ * <p>- Call {@link #recordMissing(String, Object)} when a lookup finds nothing.</p>
+ * <p>- Call {@link #isKnownMissing(String, Object)} before querying the database.</p>
+ * <p>- Call {@link #invalidate(String, Object)} when an entity with the id is saved.</p>
+ *
+ * <p>Dependencies:</p>
+ * <p>- {@link CacheProperties}: The "cache.negative.*" settings, the cache can be disabled with
+ *   "cache.negative.enabled=false".</p>
+ * <p>- {@link CacheFactory}: Creates the caches, bounded by size and weight, and records their statistics as
+ *   "&lt;entityType&gt;-negative".</p>
+ * <p>- {@link CacheInvalidationBus}: Announces the invalidations to the other instances and receives theirs.</p>
+ */
+@Component
+public class NegativeResultCache {
+
+    public static final String NEWS = "news";
+    public static final String COMMENT = "comment";
+
+    private final CacheProperties.Negative settings;
+    private final CacheFactory cacheFactory;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final Map<String, Cache<Object, Boolean>> caches = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs an instance of {@code NegativeResultCache}.
+     *
+     * @param cacheProperties      The configuration properties for the caches.
+     * @param cacheFactory         The factory creating the caches.
+     * @param cacheInvalidationBus The bus the invalidations are exchanged with the other instances on.
+     */
+    @Autowired
+    public NegativeResultCache(CacheProperties cacheProperties, CacheFactory cacheFactory,
+                               CacheInvalidationBus cacheInvalidationBus) {
+        this.settings = cacheProperties.getNegative();
+        this.cacheFactory = cacheFactory;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+    }
+
+    /**
+     * Checks whether the id has recently been looked up and not found.
+     *
+     * @param entityType The type of the entity, e.g. {@link #NEWS}.
+     * @param id         The id of the entity.
+     * @return {@code true} if the entity is known not to exist, {@code false} otherwise.
+     */
+    public boolean isKnownMissing(String entityType, Object id) {
+        return settings.isEnabled() && id != null && cacheOf(entityType).get(id) != null;
+    }
+
+    /**
+     * Remembers that the entity with the id does not exist.
+     *
+     * @param entityType The type of the entity, e.g. {@link #NEWS}.
+     * @param id         The id of the entity.
+     */
+    public void recordMissing(String entityType, Object id) {
+        if (settings.isEnabled() && id != null) {
+            cacheOf(entityType).put(id, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Forgets that the entity with the id does not exist, on this and on the other instances.
+     *
+     * @param entityType The type of the entity, e.g. {@link #NEWS}.
+     * @param id         The id of the entity.
+     */
+    public void invalidate(String entityType, Object id) {
+        if (!settings.isEnabled() || id == null) {
+            return;
+        }
+        Cache<Object, Boolean> cache = cacheOf(entityType);
+        TransactionCompletion.nowAndAfterCompletion(() -> cache.delete(id));
+        cacheInvalidationBus.invalidate(entityType + "-negative", id);
+    }
+
+    private Cache<Object, Boolean> cacheOf(String entityType) {
+        return caches.computeIfAbsent(entityType, type -> {
+            Cache<Object, Boolean> cache = cacheFactory.createConcurrentLru(type + "-negative", settings.getMaxSize(),
+                    settings.getTtl());
+            cacheInvalidationBus.subscribe(type + "-negative", id -> {
+                if (id != null) {
+                    cache.delete(id);
+                }
+            });
+            return cache;
+        });
+    }
+}
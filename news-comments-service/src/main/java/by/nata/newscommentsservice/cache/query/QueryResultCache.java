@@ -0,0 +1,124 @@
+package by.nata.newscommentsservice.cache.query;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.config.CacheFactory;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import by.nata.newscommentsservice.cache.invalidation.CacheInvalidationBus;
+import by.nata.newscommentsservice.cache.invalidation.TransactionCompletion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * The {@code QueryResultCache} class caches the results of paginated list and search queries. A result is
+ * stored under a key made of the query name, the page number, page size and sort order of the request,
+ * the normalized query parameters and the current generation of the entity type the query reads.
+ *
+ * <p>Every entity type has a generation counter that is incremented whenever an entity of the type is
+ * saved, updated or deleted. Incrementing the counter invalidates all cached results of the type at once,
+ * because the keys of later lookups no longer match the keys of the stored results; the stale results are
+ * evicted by the size bound or the time-to-live of the cache. Inside a transaction the counter is
+ * incremented again after completion, so results loaded before the commit are not served afterwards.</p>
+ *
+ * <p>The counters are kept per instance, so every invalidation is also announced on the {@link CacheInvalidationBus}
+ * as a change of the "&lt;entityType&gt;-query" cache, after completion of the transaction, and the other instances
+ * increment their own counter of the entity type when they receive it.</p>
+ *
+ * <p>Dependencies:</p>
+ * <p>- {@link CacheProperties}: The "cache.query.*" settings, the cache can be disabled with
+ *   "cache.query.enabled=false".</p>
+ * <p>- {@link CacheFactory}: Creates the caches, bounded by size and weight, and records their statistics as
+ *   "&lt;entityType&gt;-query".</p>
+ * <p>- {@link CacheInvalidationBus}: Announces the invalidations to the other instances and receives theirs.</p>
+ */
+@Component
+@SuppressWarnings("unchecked")
+public class QueryResultCache {
+
+    public static final String NEWS = "news";
+    public static final String COMMENT = "comment";
+
+    private final CacheProperties.Query settings;
+    private final CacheFactory cacheFactory;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Map<String, Cache<QueryKey, List<?>>> caches = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs an instance of {@code QueryResultCache}.
+     *
+     * @param cacheProperties      The configuration properties for the caches.
+     * @param cacheFactory         The factory creating the caches.
+     * @param cacheInvalidationBus The bus the invalidations are exchanged with the other instances on.
+     */
+    @Autowired
+    public QueryResultCache(CacheProperties cacheProperties, CacheFactory cacheFactory,
+                            CacheInvalidationBus cacheInvalidationBus) {
+        this.settings = cacheProperties.getQuery();
+        this.cacheFactory = cacheFactory;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+    }
+
+    /**
+     * Returns the cached result of a query, or runs the query and caches its result.
+     *
+     * @param entityType The type of the entities the query reads, e.g. {@link #NEWS}.
+     * @param query      The name of the query.
+     * @param pageable   The requested page.
+     * @param loader     Runs the query.
+     * @param params     The normalized parameters of the query, may contain {@code null}.
+     * @param <T>        The type of the elements of the result.
+     * @return The result of the query.
+     */
+    public <T> List<T> getOrLoad(String entityType, String query, Pageable pageable, Supplier<List<T>> loader,
+                                 Object... params) {
+        if (!settings.isEnabled()) {
+            return loader.get();
+        }
+        QueryKey key = new QueryKey(generationOf(entityType).get(), query,
+                pageable.isPaged() ? pageable.getPageNumber() : -1,
+                pageable.isPaged() ? pageable.getPageSize() : -1,
+                pageable.getSort().toString(), Arrays.asList(params));
+        Cache<QueryKey, List<?>> cache = cacheOf(entityType);
+        List<T> result = (List<T>) cache.get(key);
+        if (result == null) {
+            result = loader.get();
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Invalidates all cached results of the queries reading the entity type.
+     *
+     * @param entityType The type of the changed entity, e.g. {@link #NEWS}.
+     */
+    public void invalidate(String entityType) {
+        AtomicLong generation = generationOf(entityType);
+        TransactionCompletion.nowAndAfterCompletion(generation::incrementAndGet);
+        cacheInvalidationBus.invalidate(entityType + "-query", null);
+    }
+
+    private AtomicLong generationOf(String entityType) {
+        return generations.computeIfAbsent(entityType, type -> {
+            AtomicLong generation = new AtomicLong();
+            cacheInvalidationBus.subscribe(type + "-query", key -> generation.incrementAndGet());
+            return generation;
+        });
+    }
+
+    private Cache<QueryKey, List<?>> cacheOf(String entityType) {
+        return caches.computeIfAbsent(entityType, type ->
+                cacheFactory.createConcurrentLru(type + "-query", settings.getMaxSize(), settings.getTtl()));
+    }
+
+    private record QueryKey(long generation, String query, int page, int size, String sort, List<Object> params) {
+    }
+}
@@ -0,0 +1,332 @@
+package by.nata.newscommentsservice.cache.refresh;
+
+import by.nata.newscommentsservice.cache.codec.StampedValue;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * The {@code RefreshAheadCache} class is a Spring {@link Cache} decorator that reloads entries in the
+ * background before they expire. Values are stored as {@link StampedValue}s, together with the time they were
+ * written and the time it took to load them. When the view returned by {@link #forInvocation(Callable)} finds an entry that is due
+ * for refresh, the caller gets the cached value immediately and the reloader of the view is submitted to an executor,
+ * which writes the reloaded value back to the cache. Every key is refreshed by at most one task at a time.
+ *
+ * <p>The value loader passed to {@link #get(Object, Callable)} belongs to the invocation that is reading the cache
+ * and must not outlive it, so it is only used to load missing entries; reads through the cache itself never
+ * refresh.</p>
+ *
+ * <p>A reloader may call the cached method through its proxy again, so the reload runs with the advice of the
+ * bean, e.g. its transaction. While the reloader runs, the refreshed key reads as missing on the refreshing thread,
+ * so the cache interceptor loads the value and writes it back through this cache like on any miss. The value the
+ * reloader returns is only written if the reload did not write it already.</p>
+ *
+ * <p>An entry is due once its age passes the configured fraction of the time-to-live. The exact moment is
+ * randomized with probabilistic early expiration: the entry is refreshed when
+ * {@code age - loadTime * beta * ln(random) >= fraction * ttl}, so entries that are expensive to load are
+ * refreshed earlier and hot keys written at the same moment are not all refreshed by the same read.</p>
+ *
+ * <p>Stored values are always unwrapped on reads, also when refresh-ahead is disabled, so entries written
+ * while it was enabled stay readable. A failed refresh keeps the cached value until it expires.</p>
+ */
+@Slf4j
+public class RefreshAheadCache implements Cache {
+
+    private static final ThreadLocal<Refresh> CURRENT_REFRESH = new ThreadLocal<>();
+
+    private final Cache delegate;
+    private final boolean enabled;
+    private final long refreshAfterMillis;
+    private final double beta;
+    private final Executor executor;
+    private final LongSupplier clock;
+    private final DoubleSupplier random;
+    private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs an instance of {@code RefreshAheadCache} that uses the system clock.
+     *
+     * @param delegate The cache that stores the entries.
+     * @param ttl      The time-to-live of the entries of the cache.
+     * @param settings The refresh-ahead settings.
+     * @param executor The executor running the background refreshes.
+     */
+    public RefreshAheadCache(Cache delegate, Duration ttl, CacheProperties.RefreshAhead settings, Executor executor) {
+        this(delegate, ttl, settings, executor, System::currentTimeMillis,
+                () -> 1.0 - ThreadLocalRandom.current().nextDouble());
+    }
+
+    /**
+     * Constructs an instance of {@code RefreshAheadCache} with the specified clock and random source.
+     *
+     * @param delegate The cache that stores the entries.
+     * @param ttl      The time-to-live of the entries of the cache.
+     * @param settings The refresh-ahead settings.
+     * @param executor The executor running the background refreshes.
+     * @param clock    The time source returning milliseconds since the epoch.
+     * @param random   The source of random numbers in the range (0, 1].
+     */
+    public RefreshAheadCache(Cache delegate, Duration ttl, CacheProperties.RefreshAhead settings, Executor executor,
+                             LongSupplier clock, DoubleSupplier random) {
+        this.delegate = delegate;
+        this.enabled = settings.isEnabled() && ttl != null && !ttl.isZero();
+        this.refreshAfterMillis = ttl == null ? 0 : (long) (ttl.toMillis() * settings.getFraction());
+        this.beta = settings.getBeta();
+        this.executor = executor;
+        this.clock = clock;
+        this.random = random;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        if (isRefreshing(key)) {
+            return null;
+        }
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper != null && wrapper.get() instanceof StampedValue stamped) {
+            return new SimpleValueWrapper(stamped.value());
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        if (isRefreshing(key)) {
+            return null;
+        }
+        Object value = unwrap(delegate.get(key, Object.class));
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return get(key, valueLoader, null);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, stamp(value, 0));
+        if (isRefreshing(key)) {
+            CURRENT_REFRESH.get().written = true;
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, stamp(value, 0));
+        if (existing != null && existing.get() instanceof StampedValue stamped) {
+            return new SimpleValueWrapper(stamped.value());
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    /**
+     * Returns a view of the cache for one invocation of a cached method, which refreshes the entries that are due
+     * with the reloader. The reloader runs on a background thread, so it must not depend on the invocation.
+     *
+     * @param reloader Loads the value of the invocation again.
+     * @return The view of the cache.
+     */
+    public Cache forInvocation(Callable<?> reloader) {
+        return new InvocationCache(reloader);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(Object key, Callable<T> valueLoader, Callable<?> reloader) {
+        if (isRefreshing(key)) {
+            Object reloaded;
+            try {
+                reloaded = load(valueLoader);
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            if (reloaded != null) {
+                delegate.put(key, reloaded);
+                CURRENT_REFRESH.get().written = true;
+            }
+            return (T) unwrap(reloaded);
+        }
+        Object value = delegate.get(key, () -> load(valueLoader));
+        if (value instanceof StampedValue stamped) {
+            if (reloader != null && isDueForRefresh(stamped)) {
+                refresh(key, reloader);
+            }
+            return (T) stamped.value();
+        }
+        return (T) value;
+    }
+
+    private boolean isDueForRefresh(StampedValue stamped) {
+        if (!enabled) {
+            return false;
+        }
+        long age = clock.getAsLong() - stamped.writeTime();
+        return age - stamped.loadMillis() * beta * Math.log(random.getAsDouble()) >= refreshAfterMillis;
+    }
+
+    private void refresh(Object key, Callable<?> reloader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                Refresh refresh = new Refresh(getName(), key);
+                CURRENT_REFRESH.set(refresh);
+                try {
+                    Object reloaded = load(reloader);
+                    if (reloaded != null && !refresh.written) {
+                        delegate.put(key, reloaded);
+                    }
+                } catch (Exception e) {
+                    log.warn("Cannot refresh entry {} of cache {}", key, getName(), e);
+                } finally {
+                    CURRENT_REFRESH.remove();
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+            log.debug("Refresh of entry {} of cache {} rejected", key, getName());
+        }
+    }
+
+    private boolean isRefreshing(Object key) {
+        Refresh refresh = CURRENT_REFRESH.get();
+        return refresh != null && refresh.cacheName.equals(getName()) && refresh.key.equals(key);
+    }
+
+    private Object load(Callable<?> valueLoader) throws Exception {
+        long start = clock.getAsLong();
+        Object value = valueLoader.call();
+        return stamp(value, clock.getAsLong() - start);
+    }
+
+    private Object stamp(Object value, long loadMillis) {
+        return enabled && value != null ? new StampedValue(value, clock.getAsLong(), loadMillis) : value;
+    }
+
+    private static Object unwrap(Object value) {
+        return value instanceof StampedValue stamped ? stamped.value() : value;
+    }
+
+    private final class InvocationCache implements Cache {
+
+        private final Callable<?> reloader;
+
+        private InvocationCache(Callable<?> reloader) {
+            this.reloader = reloader;
+        }
+
+        @Override
+        public String getName() {
+            return RefreshAheadCache.this.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return RefreshAheadCache.this.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return RefreshAheadCache.this.get(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return RefreshAheadCache.this.get(key, type);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return RefreshAheadCache.this.get(key, valueLoader, reloader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            RefreshAheadCache.this.put(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return RefreshAheadCache.this.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            RefreshAheadCache.this.evict(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            return RefreshAheadCache.this.evictIfPresent(key);
+        }
+
+        @Override
+        public void clear() {
+            RefreshAheadCache.this.clear();
+        }
+
+        @Override
+        public boolean invalidate() {
+            return RefreshAheadCache.this.invalidate();
+        }
+    }
+
+    private static final class Refresh {
+
+        private final String cacheName;
+        private final Object key;
+        private boolean written;
+
+        private Refresh(String cacheName, Object key) {
+            this.cacheName = cacheName;
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package by.nata.newscommentsservice.cache.refresh;
+
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.cache.interceptor.CacheableOperation;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.ObjectUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * The {@code RefreshAheadCacheResolver} class is a {@link CacheResolver} that decorates every cache resolved by
+ * another resolver with a {@link RefreshAheadCache}, and hands every invocation a view of it that refreshes the
+ * due entries by calling the cached method again. Resolvers wrapping it must not keep the caches it resolves,
+ * because the views belong to a single invocation.
+ *
+ * <p>Only the invocations of {@code @Cacheable} methods get a view; the other operations, e.g. {@code @CachePut},
+ * work on the decorated cache directly. A refresh calls the method with the arguments of the invocation that found
+ * the entry due through the proxy of the target bean, looked up once per bean in the bean factory, so it runs with
+ * the advice of the bean, e.g. inside its read-only transaction, and the cache interceptor writes the reloaded value.
+ * Beans whose proxy is not found are not refreshed. The background refreshes run on a small pool of daemon threads
+ * with a bounded queue; refreshes that do not fit into the queue are dropped and retried by a later read.</p>
+ */
+public class RefreshAheadCacheResolver implements CacheResolver {
+
+    private final CacheResolver delegate;
+    private final Function<String, Duration> ttlResolver;
+    private final CacheProperties.RefreshAhead settings;
+    private final ListableBeanFactory beanFactory;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, RefreshAheadCache> caches = new ConcurrentHashMap<>();
+    private final Map<Object, Optional<Object>> proxies = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs an instance of {@code RefreshAheadCacheResolver}.
+     *
+     * @param delegate    The resolver of the caches to be decorated.
+     * @param ttlResolver Returns the time-to-live of the entries of a cache by its name.
+     * @param settings    The refresh-ahead settings.
+     * @param beanFactory The bean factory providing the proxies of the cached beans.
+     */
+    public RefreshAheadCacheResolver(CacheResolver delegate, Function<String, Duration> ttlResolver,
+                                     CacheProperties.RefreshAhead settings, ListableBeanFactory beanFactory) {
+        this.delegate = delegate;
+        this.ttlResolver = ttlResolver;
+        this.settings = settings;
+        this.beanFactory = beanFactory;
+        int threads = Math.max(1, settings.getThreads());
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cache-refresh-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, settings.getQueueCapacity())), threadFactory);
+    }
+
+    @Override
+    public Collection<? extends Cache> resolveCaches(CacheOperationInvocationContext<?> context) {
+        List<RefreshAheadCache> resolved = delegate.resolveCaches(context).stream()
+                .map(cache -> caches.computeIfAbsent(cache.getName(), name ->
+                        new RefreshAheadCache(cache, ttlResolver.apply(name), settings, executor)))
+                .toList();
+        if (!(context.getOperation() instanceof CacheableOperation)) {
+            return resolved;
+        }
+        Object proxy = proxyOf(context.getTarget(), context.getMethod());
+        if (proxy == null) {
+            return resolved;
+        }
+        Callable<Object> reloader = reloader(proxy, context.getMethod(), context.getArgs().clone());
+        return resolved.stream()
+                .map(cache -> cache.forInvocation(reloader))
+                .toList();
+    }
+
+    private Object proxyOf(Object target, Method method) {
+        return proxies.computeIfAbsent(target, bean -> beanFactory.getBeansOfType(method.getDeclaringClass(), false, false)
+                        .values().stream()
+                        .filter(candidate -> AopProxyUtils.getSingletonTarget(candidate) == bean)
+                        .<Object>map(candidate -> candidate)
+                        .findFirst())
+                .orElse(null);
+    }
+
+    private static Callable<Object> reloader(Object proxy, Method method, Object[] args) {
+        return () -> {
+            try {
+                return ObjectUtils.unwrapOptional(method.invoke(proxy, args));
+            } catch (InvocationTargetException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        };
+    }
+}
@@ -0,0 +1,273 @@
+package by.nata.newscommentsservice.cache.snapshot;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.algorithm.api.EntryVisitor;
+import by.nata.newscommentsservice.cache.codec.BinaryInput;
+import by.nata.newscommentsservice.cache.codec.BinaryOutput;
+import by.nata.newscommentsservice.cache.codec.CompactCodec;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import by.nata.newscommentsservice.cache.config.CacheRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code CacheSnapshotter} class saves the contents of the in-process caches to a file at a fixed interval
+ * and on shutdown, and reloads them on startup, so a restarted instance resumes with a warm cache. The snapshot
+ * is encoded in chunks of {@value #CHUNK_SIZE} bytes that are written to a temporary file as they fill up, and
+ * the file is then atomically moved over the previous snapshot; it is read through a read-only memory mapping.
+ *
+ * <p>Keys and values are encoded with {@link CompactCodec}; entries of unsupported types are skipped. The
+ * entries of every cache are stored from the first to the last candidate for eviction together with their
+ * access frequency and write time and are restored in the same order with
+ * {@link Cache#restore(Object, Object, int, Duration)}, so the recency order and frequencies of the eviction
+ * policy survive the restart, and restored entries expire when their original time to live ends. A snapshot
+ * older than the configured maximum age is ignored. Restored entries pass through the decorators of the
+ * {@link CacheRegistry}, so they are tagged again like written entries.</p>
+ *
+ * <p>File format: the magic number, the creation time in milliseconds since the epoch and the number of caches,
+ * then for every cache its name and its entries, each as a marker byte, key, value, frequency and the
+ * milliseconds between its write and the creation of the snapshot, ended by a zero byte.</p>
+ *
+ * <p>Dependencies:</p>
+ * <p>- {@link CacheProperties}: The "cache.snapshot.*" settings, snapshots are taken only with
+ *   "cache.snapshot.enabled=true".</p>
+ * <p>- {@link CacheRegistry}: Provides the caches to save and restore.</p>
+ */
+@Slf4j
+@Component
+@Profile({"dev", "aspect", "spring"})
+@ConditionalOnProperty(prefix = "cache.snapshot", name = "enabled", havingValue = "true")
+public class CacheSnapshotter implements SmartLifecycle {
+
+    private static final int MAGIC = 0x4E435332;
+    private static final int ENTRY = 1;
+    private static final int END_OF_CACHE = 0;
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final CacheRegistry cacheRegistry;
+    private final CacheProperties.Snapshot settings;
+    private final Path file;
+    private final Object saveLock = new Object();
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Constructs an instance of {@code CacheSnapshotter}.
+     *
+     * @param cacheRegistry   The registry of the caches to save and restore.
+     * @param cacheProperties The configuration properties for the caches, including the snapshot settings.
+     */
+    @Autowired
+    public CacheSnapshotter(CacheRegistry cacheRegistry, CacheProperties cacheProperties) {
+        this.cacheRegistry = cacheRegistry;
+        this.settings = cacheProperties.getSnapshot();
+        this.file = Path.of(settings.getFile());
+    }
+
+    @Override
+    public synchronized void start() {
+        restore();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cache-snapshot-");
+        threadFactory.setDaemon(true);
+        scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        long interval = settings.getInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::save, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Scheduled cache snapshot did not finish within {} seconds", SHUTDOWN_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        scheduler = null;
+        save();
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /**
+     * Starts before and stops after the web server, so requests are served from the restored caches and
+     * the final snapshot contains the entries of the last requests.
+     *
+     * @return The lifecycle phase.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    /**
+     * Saves the contents of all caches to the snapshot file. Concurrent calls are serialized, so they never
+     * write the same temporary file.
+     *
+     * @return The number of saved entries.
+     */
+    public int save() {
+        synchronized (saveLock) {
+            return writeSnapshot();
+        }
+    }
+
+    /**
+     * Restores the contents of the caches from the snapshot file, if it exists and is recent enough.
+     *
+     * @return The number of restored entries.
+     */
+    public int restore() {
+        if (!Files.isRegularFile(file)) {
+            return 0;
+        }
+        int restored = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            BinaryInput input = new BinaryInput(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            if (input.readInt() != MAGIC) {
+                log.warn("Ignoring cache snapshot {} with unknown format", file);
+                return 0;
+            }
+            long snapshotAge = System.currentTimeMillis() - input.readLong();
+            if (snapshotAge > settings.getMaxAge().toMillis()) {
+                log.info("Ignoring cache snapshot {} taken {} ms ago", file, snapshotAge);
+                return 0;
+            }
+            int cacheCount = input.readInt();
+            for (int i = 0; i < cacheCount; i++) {
+                Cache<Object, Object> cache = cacheRegistry.getCache(input.readString());
+                while (input.readByte() == ENTRY) {
+                    Object key = CompactCodec.decode(input);
+                    Object value = CompactCodec.decode(input);
+                    int frequency = (int) input.readVarLong();
+                    Duration age = Duration.ofMillis(Math.max(snapshotAge, 0) + input.readVarLong());
+                    if (cache.restore(key, value, frequency, age) != null) {
+                        restored++;
+                    }
+                }
+            }
+            log.info("Restored {} cache entries from {}", restored, file);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Cannot restore cache snapshot from {}, restored {} entries", file, restored, e);
+        }
+        return restored;
+    }
+
+    private int writeSnapshot() {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ChunkWriter writer = new ChunkWriter(channel);
+            BinaryOutput output = writer.output;
+            long now = System.currentTimeMillis();
+            output.writeInt(MAGIC);
+            output.writeLong(now);
+            Map<String, Cache<Object, Object>> caches = Map.copyOf(cacheRegistry.getCaches());
+            output.writeInt(caches.size());
+            int saved = 0;
+            for (Map.Entry<String, Cache<Object, Object>> cache : caches.entrySet()) {
+                saved += writeCache(cache.getKey(), cache.getValue(), writer);
+            }
+            writer.flush();
+            channel.force(false);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Saved {} cache entries to {}", saved, file);
+            return saved;
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Cannot save cache snapshot to {}", file, e);
+            return 0;
+        }
+    }
+
+    private static int writeCache(String cacheName, Cache<Object, Object> cache, ChunkWriter writer) {
+        BinaryOutput output = writer.output;
+        output.writeString(cacheName);
+        int[] count = new int[1];
+        int[] end = {output.position()};
+        try {
+            cache.forEachEntry(new EntryVisitor<>() {
+                @Override
+                public void visit(Object key, Object value, int frequency) {
+                    visit(key, value, frequency, Duration.ZERO);
+                }
+
+                @Override
+                public void visit(Object key, Object value, int frequency, Duration age) {
+                    if (key == null || value == null || !CompactCodec.supports(key) || !CompactCodec.supports(value)) {
+                        return;
+                    }
+                    output.writeByte(ENTRY);
+                    CompactCodec.encode(key, output);
+                    CompactCodec.encode(value, output);
+                    output.writeVarLong(Math.max(frequency, 0));
+                    output.writeVarLong(Math.max(age.toMillis(), 0));
+                    count[0]++;
+                    writer.flushIfFull();
+                    end[0] = output.position();
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.warn("Cannot save all entries of cache {}, saved {} entries", cacheName, count[0], e);
+            output.reset(end[0]);
+        }
+        output.writeByte(END_OF_CACHE);
+        return count[0];
+    }
+
+    /**
+     * Writes the encoded snapshot to the file in chunks, so the whole snapshot is never held in memory and is
+     * not copied once more into a mapping of the file.
+     */
+    private static final class ChunkWriter {
+
+        private final FileChannel channel;
+        private final BinaryOutput output = new BinaryOutput(CHUNK_SIZE + CHUNK_SIZE / 4);
+
+        private ChunkWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private void flushIfFull() {
+            if (output.position() >= CHUNK_SIZE) {
+                try {
+                    flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        private void flush() throws IOException {
+            ByteBuffer chunk = ByteBuffer.wrap(output.buffer(), 0, output.position());
+            while (chunk.hasRemaining()) {
+                channel.write(chunk);
+            }
+            output.reset(0);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package by.nata.newscommentsservice.cache.stats;
+
+/**
+ * The {@code CacheStats} record is an immutable snapshot of the statistics of a single cache.
+ *
+ * <p>Properties:</p>
+ * <p>- {@code hitCount}: The number of reads that found a value in the cache.
+ * <p>- {@code missCount}: The number of reads that did not find a value in the cache.
+ * <p>- {@code putCount}: The number of values written to the cache.
+ * <p>- {@code evictionCount}: The number of entries the cache evicted because of size or expiry.
+ * <p>- {@code rejectionCount}: The number of puts whose value the admission filter did not store.
+ * <p>- {@code loadCount}: The number of values loaded by the cached methods after a miss.
+ * <p>- {@code totalLoadTimeNanos}: The total time spent loading values, in nanoseconds.
+ */
+public record CacheStats(long hitCount, long missCount,
+                         long putCount, long evictionCount, long rejectionCount,
+                         long loadCount, long totalLoadTimeNanos
+) {
+
+    /**
+     * Returns the ratio of reads that were served from the cache, or {@code 1.0} if there were no reads.
+     *
+     * @return The hit ratio.
+     */
+    public double hitRatio() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * Returns the ratio of puts rejected by the admission filter, or {@code 0.0} if there were no puts.
+     *
+     * @return The rejection rate.
+     */
+    public double rejectionRate() {
+        return putCount == 0 ? 0.0 : (double) rejectionCount / putCount;
+    }
+
+    /**
+     * Returns the average time spent loading a value, in nanoseconds.
+     *
+     * @return The average load penalty.
+     */
+    public double averageLoadPenaltyNanos() {
+        return loadCount == 0 ? 0.0 : (double) totalLoadTimeNanos / loadCount;
+    }
+}
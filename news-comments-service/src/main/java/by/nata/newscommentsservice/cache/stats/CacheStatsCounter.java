@@ -0,0 +1,128 @@
+package by.nata.newscommentsservice.cache.stats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code CacheStatsCounter} class accumulates the statistics of a single cache. Every counter is a
+ * {@link LongAdder}, which spreads concurrent updates over internal cells, so recording a hit on the
+ * read path does not make request threads contend on a shared variable.
+ */
+public class CacheStatsCounter {
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder putCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder rejectionCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+
+    public void recordHit() {
+        hitCount.increment();
+    }
+
+    public void recordMiss() {
+        missCount.increment();
+    }
+
+    public void recordPut() {
+        putCount.increment();
+    }
+
+    /**
+     * Records the outcome of a bulk lookup.
+     *
+     * @param hits   The number of keys that were found.
+     * @param misses The number of keys that were not found.
+     */
+    public void recordHitsAndMisses(int hits, int misses) {
+        hitCount.add(hits);
+        missCount.add(misses);
+    }
+
+    public void recordPuts(int count) {
+        putCount.add(count);
+    }
+
+    public void recordEviction() {
+        evictionCount.increment();
+    }
+
+    /**
+     * Records a put whose value the admission filter of the cache did not store.
+     */
+    public void recordRejection() {
+        rejectionCount.increment();
+    }
+
+    /**
+     * Records that a value has been loaded after a miss.
+     *
+     * @param loadTimeNanos The time spent loading the value, in nanoseconds.
+     */
+    public void recordLoad(long loadTimeNanos) {
+        loadCount.increment();
+        totalLoadTime.add(loadTimeNanos);
+    }
+
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    public long missCount() {
+        return missCount.sum();
+    }
+
+    public long putCount() {
+        return putCount.sum();
+    }
+
+    public long evictionCount() {
+        return evictionCount.sum();
+    }
+
+    public long rejectionCount() {
+        return rejectionCount.sum();
+    }
+
+    public long loadCount() {
+        return loadCount.sum();
+    }
+
+    public long totalLoadTimeNanos() {
+        return totalLoadTime.sum();
+    }
+
+    /**
+     * Returns the current hit ratio, see {@link CacheStats#hitRatio()}. Only the hit and miss counters are read.
+     *
+     * @return The hit ratio.
+     */
+    public double hitRatio() {
+        long hits = hitCount.sum();
+        long requestCount = hits + missCount.sum();
+        return requestCount == 0 ? 1.0 : (double) hits / requestCount;
+    }
+
+    /**
+     * Returns the current rejection rate, see {@link CacheStats#rejectionRate()}. Only the put and rejection
+     * counters are read.
+     *
+     * @return The rejection rate.
+     */
+    public double rejectionRate() {
+        long puts = putCount.sum();
+        return puts == 0 ? 0.0 : (double) rejectionCount.sum() / puts;
+    }
+
+    /**
+     * Returns a snapshot of the current statistics.
+     *
+     * @return The {@link CacheStats} snapshot.
+     */
+    public CacheStats snapshot() {
+        return new CacheStats(hitCount.sum(), missCount.sum(),
+                putCount.sum(), evictionCount.sum(), rejectionCount.sum(),
+                loadCount.sum(), totalLoadTime.sum());
+    }
+}
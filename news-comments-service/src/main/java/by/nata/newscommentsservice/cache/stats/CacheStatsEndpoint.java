@@ -0,0 +1,38 @@
+package by.nata.newscommentsservice.cache.stats;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * The {@code CacheStatsEndpoint} class is an actuator endpoint exposing the statistics of the custom
+ * caches at {@code /actuator/cachestats} and {@code /actuator/cachestats/{cacheName}}.
+ *
+ * <p>Dependencies:</p>
+ * <p>- {@link CacheStatsRegistry}: The registry holding the statistics of every cache.</p>
+ */
+@Component
+@Endpoint(id = "cachestats")
+public class CacheStatsEndpoint {
+
+    private final CacheStatsRegistry cacheStatsRegistry;
+
+    @Autowired
+    public CacheStatsEndpoint(CacheStatsRegistry cacheStatsRegistry) {
+        this.cacheStatsRegistry = cacheStatsRegistry;
+    }
+
+    @ReadOperation
+    public Map<String, CacheStats> cacheStats() {
+        return cacheStatsRegistry.snapshots();
+    }
+
+    @ReadOperation
+    public CacheStats cacheStats(@Selector String cacheName) {
+        return cacheStatsRegistry.snapshots().get(cacheName);
+    }
+}
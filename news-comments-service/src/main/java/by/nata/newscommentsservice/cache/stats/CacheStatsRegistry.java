@@ -0,0 +1,150 @@
+package by.nata.newscommentsservice.cache.stats;
+
+import by.nata.newscommentsservice.cache.algorithm.impl.AdaptiveCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The {@code CacheStatsRegistry} class keeps a {@link CacheStatsCounter} per cache name and publishes
+ * every counter as Micrometer meters tagged with the cache name. Meters are registered once, when the counter
+ * of a cache is first requested, and read the counters lazily when they are scraped; every meter reads only
+ * the counters it reports.
+ *
+ * <p>Published meters:</p>
+ * <p>- {@code custom.cache.gets} with tag {@code result=hit|miss}.</p>
+ * <p>- {@code custom.cache.puts}, {@code custom.cache.evictions}, {@code custom.cache.rejections}.</p>
+ * <p>- {@code custom.cache.loads}: A timer of the time spent loading values after a miss.</p>
+ * <p>- {@code custom.cache.hit.ratio}: A gauge of the ratio of reads served from the cache.</p>
+ * <p>- {@code custom.cache.rejection.rate}: A gauge of the ratio of puts rejected by the admission filter.</p>
+ *
+ * <p>Meters of the caches choosing their policy at runtime, registered with {@link #registerAdaptive}:</p>
+ * <p>- {@code custom.cache.adaptive.shadow.hit.ratio} with tag {@code policy}: A gauge of the hit ratio the shadow
+ *   cache of every candidate policy reached in the last evaluation period.</p>
+ * <p>- {@code custom.cache.adaptive.active} with tag {@code policy}: A gauge that is 1 for the live policy and 0
+ *   for the others.</p>
+ * <p>- {@code custom.cache.adaptive.switches}: The number of times the live policy was switched.</p>
+ */
+@Component
+public class CacheStatsRegistry {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CacheStatsCounter> counters = new ConcurrentHashMap<>();
+    private final Map<String, AtomicReference<AdaptiveCache<?, ?>>> adaptiveCaches = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs an instance of {@code CacheStatsRegistry}.
+     *
+     * @param meterRegistry The registry the cache meters are published to.
+     */
+    @Autowired
+    public CacheStatsRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Returns the counter of the specified cache, creating and publishing it on first use.
+     *
+     * @param cacheName The name of the cache.
+     * @return The statistics counter of the cache.
+     */
+    public CacheStatsCounter counter(String cacheName) {
+        return counters.computeIfAbsent(cacheName, this::register);
+    }
+
+    /**
+     * Publishes the policy decisions of an adaptive cache as meters tagged with the cache name. When the cache
+     * of a name is created again, the meters follow the new cache.
+     *
+     * @param cacheName     The name of the cache.
+     * @param adaptiveCache The cache whose decisions are published.
+     */
+    public void registerAdaptive(String cacheName, AdaptiveCache<?, ?> adaptiveCache) {
+        adaptiveCaches.computeIfAbsent(cacheName, name -> registerAdaptiveMeters(name, adaptiveCache))
+                .set(adaptiveCache);
+    }
+
+    /**
+     * Returns a snapshot of the statistics of every cache, ordered by cache name.
+     *
+     * @return The statistics by cache name.
+     */
+    public Map<String, CacheStats> snapshots() {
+        Map<String, CacheStats> snapshots = new TreeMap<>();
+        counters.forEach((cacheName, counter) -> snapshots.put(cacheName, counter.snapshot()));
+        return Collections.unmodifiableMap(snapshots);
+    }
+
+    private AtomicReference<AdaptiveCache<?, ?>> registerAdaptiveMeters(String cacheName,
+                                                                        AdaptiveCache<?, ?> adaptiveCache) {
+        AtomicReference<AdaptiveCache<?, ?>> reference = new AtomicReference<>(adaptiveCache);
+        Tags tags = Tags.of("cache", cacheName);
+        for (String policy : adaptiveCache.getShadowHitRatios().keySet()) {
+            Gauge.builder("custom.cache.adaptive.shadow.hit.ratio", reference,
+                            ref -> ref.get().getShadowHitRatios().getOrDefault(policy, 0.0))
+                    .tags(tags).tag("policy", policy)
+                    .description("The hit ratio the shadow cache of the policy reached in the last evaluation period")
+                    .register(meterRegistry);
+            Gauge.builder("custom.cache.adaptive.active", reference,
+                            ref -> policy.equals(ref.get().getPolicy()) ? 1 : 0)
+                    .tags(tags).tag("policy", policy)
+                    .description("Whether the policy is the live policy of the cache")
+                    .register(meterRegistry);
+        }
+        FunctionCounter.builder("custom.cache.adaptive.switches", reference, ref -> ref.get().getSwitchCount())
+                .tags(tags)
+                .description("The number of times the cache switched its live policy")
+                .register(meterRegistry);
+        return reference;
+    }
+
+    private CacheStatsCounter register(String cacheName) {
+        CacheStatsCounter counter = new CacheStatsCounter();
+        Tags tags = Tags.of("cache", cacheName);
+        FunctionCounter.builder("custom.cache.gets", counter, CacheStatsCounter::hitCount)
+                .tags(tags).tag("result", "hit")
+                .description("The number of times cache lookup methods have returned a cached value")
+                .register(meterRegistry);
+        FunctionCounter.builder("custom.cache.gets", counter, CacheStatsCounter::missCount)
+                .tags(tags).tag("result", "miss")
+                .description("The number of times cache lookup methods have not returned a value")
+                .register(meterRegistry);
+        FunctionCounter.builder("custom.cache.puts", counter, CacheStatsCounter::putCount)
+                .tags(tags)
+                .description("The number of entries added to the cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("custom.cache.evictions", counter, CacheStatsCounter::evictionCount)
+                .tags(tags)
+                .description("The number of entries evicted from the cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("custom.cache.rejections", counter, CacheStatsCounter::rejectionCount)
+                .tags(tags)
+                .description("The number of entries the admission filter did not add to the cache")
+                .register(meterRegistry);
+        FunctionTimer.builder("custom.cache.loads", counter,
+                        CacheStatsCounter::loadCount, CacheStatsCounter::totalLoadTimeNanos, TimeUnit.NANOSECONDS)
+                .tags(tags)
+                .description("The time spent loading values after a cache miss")
+                .register(meterRegistry);
+        Gauge.builder("custom.cache.hit.ratio", counter, CacheStatsCounter::hitRatio)
+                .tags(tags)
+                .description("The ratio of cache lookups that returned a cached value")
+                .register(meterRegistry);
+        Gauge.builder("custom.cache.rejection.rate", counter, CacheStatsCounter::rejectionRate)
+                .tags(tags)
+                .description("The ratio of entries added to the cache that the admission filter did not store")
+                .register(meterRegistry);
+        return counter;
+    }
+}
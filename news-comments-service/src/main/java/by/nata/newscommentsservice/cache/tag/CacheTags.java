@@ -0,0 +1,107 @@
+package by.nata.newscommentsservice.cache.tag;
+
+import by.nata.newscommentsservice.cache.invalidation.TransactionCompletion;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code CacheTags} interface keeps track of the cached entries that depend on another entity, so they can
+ * be evicted together when the entity changes. An entry is tagged with the names of the entities it was built
+ * from, e.g. a comment with {@code news:42}, and evicting the tag removes every entry tagged with it from its
+ * cache in one operation, whatever cache it belongs to.
+ *
+ * <p>The tags of the entries a cache receives are derived by the {@link EntryTagger} registered for its name with
+ * {@link #tagWrites(String, EntryTagger)}. The caches report their writes with {@link #tagWritten(String, Map)} after
+ * the entries are stored, so an eviction of the tags running while a value is loaded cannot miss the entry; tagging
+ * from the loader would let the eviction run between the tagging and the write and leave the stale entry untagged.</p>
+ *
+ * <p>Tags:</p>
+ * <p>- {@link #news(Object)}: Entries that do not outlive the news, e.g. its comments and the views that
+ *   contain it; evicted when the news is deleted.</p>
+ * <p>- {@link #newsView(Object)}: Composite views of the news and its comments; evicted whenever the news or
+ *   one of its comments changes.</p>
+ *
+ * <p>Implementations:</p>
+ * <p>- {@link LocalCacheTags}: The in-process caches of the caching aspect or the Spring cache manager ("dev", "aspect" and "spring" profiles).</p>
+ * <p>- {@link RedisCacheTags}: The Redis caches ("prod" profile), the tags are kept as Redis sets.</p>
+ * <p>- {@link NoOpCacheTags}: Any other profile, where nothing is cached.</p>
+ */
+public interface CacheTags {
+
+    /**
+     * Tags cached entries of a cache.
+     *
+     * @param cacheName The name of the cache.
+     * @param keys      The keys of the entries.
+     * @param tags      The tags the entries depend on.
+     */
+    void tagAll(String cacheName, Collection<?> keys, Collection<String> tags);
+
+    /**
+     * Registers how the entries written to a cache are tagged, replacing a previous tagger of the cache.
+     *
+     * @param cacheName The name of the cache.
+     * @param tagger    Derives the tags of the written entries.
+     */
+    void tagWrites(String cacheName, EntryTagger tagger);
+
+    /**
+     * Tags entries that have just been written to a cache with the tags its {@link EntryTagger} derives from them.
+     * Nothing is tagged for a cache without a tagger.
+     *
+     * @param cacheName The name of the cache.
+     * @param entries   The written values by their keys.
+     */
+    void tagWritten(String cacheName, Map<?, ?> entries);
+
+    /**
+     * Evicts all entries tagged with any of the tags and forgets the tags.
+     *
+     * @param tags The tags whose entries are to be evicted.
+     */
+    void evict(Collection<String> tags);
+
+    /**
+     * Tags a cached entry of a cache.
+     *
+     * @param cacheName The name of the cache.
+     * @param key       The key of the entry.
+     * @param tags      The tags the entry depends on.
+     */
+    default void tag(String cacheName, Object key, String... tags) {
+        tagAll(cacheName, List.of(key), List.of(tags));
+    }
+
+    /**
+     * Evicts all entries tagged with any of the tags. Inside a transaction the tags are evicted again after
+     * completion, so entries loaded from the uncommitted state in the meantime are not served afterwards.
+     *
+     * @param tags The tags of the changed entities.
+     */
+    default void invalidate(String... tags) {
+        List<String> tagList = List.of(tags);
+        TransactionCompletion.nowAndAfterCompletion(() -> evict(tagList));
+    }
+
+    /**
+     * Returns the tag of the entries that do not outlive the news.
+     *
+     * @param newsId The id of the news.
+     * @return The tag, e.g. {@code news:42}.
+     */
+    static String news(Object newsId) {
+        return "news:" + newsId;
+    }
+
+    /**
+     * Returns the tag of the composite views of the news and its comments.
+     *
+     * @param newsId The id of the news.
+     * @return The tag, e.g. {@code news-view:42}.
+     */
+    static String newsView(Object newsId) {
+        return "news-view:" + newsId;
+    }
+}
@@ -0,0 +1,20 @@
+package by.nata.newscommentsservice.cache.tag;
+
+import java.util.Collection;
+
+/**
+ * The {@code EntryTagger} interface derives the tags of an entry written to a cache, e.g. the tag of the news a
+ * cached comment belongs to. It is registered per cache name with {@link CacheTags#tagWrites(String, EntryTagger)}.
+ */
+@FunctionalInterface
+public interface EntryTagger {
+
+    /**
+     * Returns the tags of the written entry.
+     *
+     * @param key   The key of the entry.
+     * @param value The value of the entry.
+     * @return The tags the entry depends on, empty if it is not to be tagged.
+     */
+    Collection<String> tags(Object key, Object value);
+}
@@ -0,0 +1,36 @@
+package by.nata.newscommentsservice.cache.tag;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code EntryTaggers} class keeps the {@link EntryTagger} of every cache name for the {@link CacheTags}
+ * implementations and groups written entries by their tags, so entries with the same tags are tagged at once.
+ */
+final class EntryTaggers {
+
+    private final Map<String, EntryTagger> taggers = new ConcurrentHashMap<>();
+
+    void register(String cacheName, EntryTagger tagger) {
+        taggers.put(cacheName, tagger);
+    }
+
+    Map<List<String>, List<Object>> groupByTags(String cacheName, Map<?, ?> entries) {
+        EntryTagger tagger = taggers.get(cacheName);
+        if (tagger == null || entries.isEmpty()) {
+            return Map.of();
+        }
+        Map<List<String>, List<Object>> keysByTags = new LinkedHashMap<>();
+        entries.forEach((key, value) -> {
+            Collection<String> tags = value != null ? tagger.tags(key, value) : List.of();
+            if (!tags.isEmpty()) {
+                keysByTags.computeIfAbsent(List.copyOf(tags), group -> new ArrayList<>()).add(key);
+            }
+        });
+        return keysByTags;
+    }
+}
@@ -0,0 +1,101 @@
+package by.nata.newscommentsservice.cache.tag;
+
+import by.nata.newscommentsservice.cache.config.CacheRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code LocalCacheTags} class is the {@link CacheTags} of the "dev", "aspect" and "spring" profiles. Every tag maps
+ * to the set of entries of the in-process caches tagged with it; evicting the tag removes the set and deletes
+ * its entries from their caches.
+ *
+ * <p>Every cache of the {@link CacheRegistry} is wrapped in a {@link TagTrackingCache}, which tags the entries
+ * after they are written and removes an entry from the sets of its tags once it is deleted or the cache evicts it
+ * by size or expiry, so the sets only hold entries that are cached.</p>
+ *
+ * <p>Dependencies:</p>
+ * <p>- {@link CacheRegistry}: Provides the caches by their names.</p>
+ */
+@Component
+@Profile({"dev", "aspect", "spring"})
+public class LocalCacheTags implements CacheTags {
+
+    private final CacheRegistry cacheRegistry;
+    private final EntryTaggers entryTaggers = new EntryTaggers();
+    private final Map<String, Set<TaggedEntry>> entries = new ConcurrentHashMap<>();
+    private final Map<TaggedEntry, Set<String>> tagsByEntry = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs an instance of {@code LocalCacheTags}.
+     *
+     * @param cacheRegistry The registry of the in-process caches.
+     */
+    @Autowired
+    public LocalCacheTags(CacheRegistry cacheRegistry) {
+        this.cacheRegistry = cacheRegistry;
+        cacheRegistry.setCacheDecorator((cacheName, cache) -> new TagTrackingCache(cacheName, cache, this));
+    }
+
+    @Override
+    public void tagWrites(String cacheName, EntryTagger tagger) {
+        entryTaggers.register(cacheName, tagger);
+    }
+
+    @Override
+    public void tagWritten(String cacheName, Map<?, ?> entries) {
+        entryTaggers.groupByTags(cacheName, entries).forEach((tags, keys) -> tagAll(cacheName, keys, tags));
+    }
+
+    @Override
+    public void tagAll(String cacheName, Collection<?> keys, Collection<String> tags) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        for (Object key : keys) {
+            TaggedEntry entry = new TaggedEntry(cacheName, key);
+            tagsByEntry.computeIfAbsent(entry, tagged -> ConcurrentHashMap.newKeySet()).addAll(tags);
+            for (String tag : tags) {
+                entries.computeIfAbsent(tag, name -> ConcurrentHashMap.newKeySet()).add(entry);
+            }
+        }
+    }
+
+    @Override
+    public void evict(Collection<String> tags) {
+        for (String tag : tags) {
+            Set<TaggedEntry> tagged = entries.remove(tag);
+            if (tagged != null) {
+                tagged.forEach(entry -> cacheRegistry.getCache(entry.cacheName()).delete(entry.key()));
+            }
+        }
+    }
+
+    /**
+     * Removes an entry that left its cache from the sets of its tags.
+     *
+     * @param cacheName The name of the cache.
+     * @param key       The key of the entry.
+     */
+    void forget(String cacheName, Object key) {
+        TaggedEntry entry = new TaggedEntry(cacheName, key);
+        Set<String> tags = tagsByEntry.remove(entry);
+        if (tags == null) {
+            return;
+        }
+        for (String tag : tags) {
+            entries.computeIfPresent(tag, (name, tagged) -> {
+                tagged.remove(entry);
+                return tagged.isEmpty() ? null : tagged;
+            });
+        }
+    }
+
+    private record TaggedEntry(String cacheName, Object key) {
+    }
+}
@@ -0,0 +1,32 @@
+package by.nata.newscommentsservice.cache.tag;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * The {@code NoOpCacheTags} class is the {@link CacheTags} of the profiles without caching, e.g. "test".
+ * Nothing is cached, so there is nothing to track or evict.
+ */
+@Component
+@Profile("!prod & !dev & !aspect & !spring")
+public class NoOpCacheTags implements CacheTags {
+
+    @Override
+    public void tagAll(String cacheName, Collection<?> keys, Collection<String> tags) {
+    }
+
+    @Override
+    public void tagWrites(String cacheName, EntryTagger tagger) {
+    }
+
+    @Override
+    public void tagWritten(String cacheName, Map<?, ?> entries) {
+    }
+
+    @Override
+    public void evict(Collection<String> tags) {
+    }
+}
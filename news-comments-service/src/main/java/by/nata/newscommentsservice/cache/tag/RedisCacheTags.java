@@ -0,0 +1,199 @@
+package by.nata.newscommentsservice.cache.tag;
+
+import by.nata.newscommentsservice.cache.codec.BinaryInput;
+import by.nata.newscommentsservice.cache.codec.BinaryOutput;
+import by.nata.newscommentsservice.cache.codec.CompactRedisSerializer;
+import by.nata.newscommentsservice.cache.hotkey.HotKeyCache;
+import by.nata.newscommentsservice.cache.hotkey.HotKeyRegistry;
+import by.nata.newscommentsservice.cache.key.RedisCacheKeys;
+import by.nata.newscommentsservice.cache.manager.TwoLevelCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code RedisCacheTags} class is the {@link CacheTags} of the "prod" profile. Every tag is a Redis set
+ * named "cache-tag::&lt;tag&gt;" whose members are the cache names and keys of the tagged entries, so the tags
+ * are shared by all instances. A set expires with the longest time-to-live of its entries.
+ *
+ * <p>Evicting tags reads and deletes their sets with a single Lua script, then deletes the tagged entries of
+ * each Redis cache with a single DEL. For a {@link TwoLevelCache} the entries are also removed from the
+ * in-process level and their invalidation is announced to the other instances. The values of the evicted keys
+ * replicated by the {@link HotKeyCache} of this instance are dropped as well.</p>
+ *
+ * <p>Dependencies:</p>
+ * <p>- {@link CacheManager}: Provides the caches by their names.</p>
+ * <p>- {@link RedisConnectionFactory}: Provides the connections the tag sets are accessed on.</p>
+ * <p>- {@link HotKeyRegistry}: Provides the hot-key replicas of the caches.</p>
+ */
+@Slf4j
+@Component
+@Profile("prod")
+public class RedisCacheTags implements CacheTags {
+
+    private static final String TAG_PREFIX = "cache-tag::";
+    private static final byte[] ADD_SCRIPT = """
+            for i = 2, #ARGV do
+                redis.call('SADD', KEYS[1], ARGV[i])
+            end
+            local ttl = tonumber(ARGV[1])
+            if ttl <= 0 then
+                redis.call('PERSIST', KEYS[1])
+            elseif redis.call('PTTL', KEYS[1]) < ttl then
+                redis.call('PEXPIRE', KEYS[1], ttl)
+            end
+            """.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] POP_SCRIPT = """
+            local members = {}
+            for _, key in ipairs(KEYS) do
+                for _, member in ipairs(redis.call('SMEMBERS', key)) do
+                    members[#members + 1] = member
+                end
+                redis.call('DEL', key)
+            end
+            return members
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final CacheManager cacheManager;
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final HotKeyRegistry hotKeyRegistry;
+    private final EntryTaggers entryTaggers = new EntryTaggers();
+    private final CompactRedisSerializer keySerializer = new CompactRedisSerializer(0);
+
+    /**
+     * Constructs an instance of {@code RedisCacheTags}.
+     *
+     * @param cacheManager           The cache manager providing the caches.
+     * @param redisConnectionFactory The factory of the Redis connections.
+     * @param hotKeyRegistry         The registry of the hot-key replicas.
+     */
+    @Autowired
+    public RedisCacheTags(CacheManager cacheManager, RedisConnectionFactory redisConnectionFactory,
+                          HotKeyRegistry hotKeyRegistry) {
+        this.cacheManager = cacheManager;
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.hotKeyRegistry = hotKeyRegistry;
+    }
+
+    @Override
+    public void tagWrites(String cacheName, EntryTagger tagger) {
+        entryTaggers.register(cacheName, tagger);
+    }
+
+    @Override
+    public void tagWritten(String cacheName, Map<?, ?> entries) {
+        entryTaggers.groupByTags(cacheName, entries).forEach((tags, keys) -> tagAll(cacheName, keys, tags));
+    }
+
+    @Override
+    public void tagAll(String cacheName, Collection<?> keys, Collection<String> tags) {
+        if (keys.isEmpty() || tags.isEmpty()) {
+            return;
+        }
+        byte[][] arguments = new byte[keys.size() + 1][];
+        arguments[0] = String.valueOf(ttlMillis(cacheName)).getBytes(StandardCharsets.UTF_8);
+        int i = 1;
+        for (Object key : keys) {
+            arguments[i++] = encodeMember(cacheName, key);
+        }
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            connection.openPipeline();
+            try {
+                for (String tag : tags) {
+                    byte[][] keysAndArguments = new byte[arguments.length + 1][];
+                    keysAndArguments[0] = tagKey(tag);
+                    System.arraycopy(arguments, 0, keysAndArguments, 1, arguments.length);
+                    connection.scriptingCommands().eval(ADD_SCRIPT, ReturnType.STATUS, 1, keysAndArguments);
+                }
+            } finally {
+                connection.closePipeline();
+            }
+        }
+    }
+
+    @Override
+    public void evict(Collection<String> tags) {
+        if (tags.isEmpty()) {
+            return;
+        }
+        byte[][] tagKeys = tags.stream()
+                .map(RedisCacheTags::tagKey)
+                .toArray(byte[][]::new);
+        List<byte[]> members;
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            members = connection.scriptingCommands().eval(POP_SCRIPT, ReturnType.MULTI, tagKeys.length, tagKeys);
+        }
+        if (members == null || members.isEmpty()) {
+            return;
+        }
+        Map<String, List<Object>> keysByCache = new LinkedHashMap<>();
+        for (byte[] member : members) {
+            BinaryInput input = new BinaryInput(member);
+            String cacheName = input.readString();
+            Object key = keySerializer.deserialize(input.readBytes(member.length - input.position()));
+            keysByCache.computeIfAbsent(cacheName, name -> new ArrayList<>()).add(key);
+        }
+        keysByCache.forEach((cacheName, keys) -> {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache instanceof TwoLevelCache twoLevelCache) {
+                twoLevelCache.evictAll(keys, remoteKeys -> evictAll(twoLevelCache.getRemote(), remoteKeys));
+            } else if (cache != null) {
+                evictAll(cache, keys);
+            }
+            hotKeyRegistry.evictReplicas(cacheName, keys);
+        });
+        log.debug("Evicted {} entries tagged with {}", members.size(), tags);
+    }
+
+    private void evictAll(Cache cache, Collection<Object> keys) {
+        if (!(cache instanceof RedisCache redisCache)) {
+            keys.forEach(cache::evict);
+            return;
+        }
+        byte[][] rawKeys = keys.stream()
+                .map(key -> RedisCacheKeys.serialize(redisCache, key))
+                .toArray(byte[][]::new);
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            connection.keyCommands().del(rawKeys);
+        }
+    }
+
+    private long ttlMillis(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            cache = twoLevelCache.getRemote();
+        }
+        if (!(cache instanceof RedisCache redisCache)) {
+            return 0;
+        }
+        Duration ttl = redisCache.getCacheConfiguration().getTtl();
+        return ttl == null || ttl.isNegative() ? 0 : ttl.toMillis();
+    }
+
+    private byte[] encodeMember(String cacheName, Object key) {
+        byte[] serializedKey = keySerializer.serialize(key);
+        BinaryOutput output = new BinaryOutput(cacheName.length() + serializedKey.length + 8);
+        output.writeString(cacheName);
+        output.writeBytes(serializedKey, 0, serializedKey.length);
+        return output.toByteArray();
+    }
+
+    private static byte[] tagKey(String tag) {
+        return (TAG_PREFIX + tag).getBytes(StandardCharsets.UTF_8);
+    }
+}
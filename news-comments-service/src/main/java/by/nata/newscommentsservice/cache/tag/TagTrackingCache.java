@@ -0,0 +1,89 @@
+package by.nata.newscommentsservice.cache.tag;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.algorithm.api.EntryVisitor;
+import by.nata.newscommentsservice.cache.algorithm.api.EvictionListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * The {@code TagTrackingCache} class is the {@link Cache} decorator the {@link LocalCacheTags} put around every
+ * in-process cache. Entries are tagged after they are written or restored, and entries that are deleted or that
+ * the cache evicts on its own are removed from the tags again.
+ */
+final class TagTrackingCache implements Cache<Object, Object> {
+
+    private final String cacheName;
+    private final Cache<Object, Object> delegate;
+    private final LocalCacheTags cacheTags;
+
+    TagTrackingCache(String cacheName, Cache<Object, Object> delegate, LocalCacheTags cacheTags) {
+        this.cacheName = cacheName;
+        this.delegate = delegate;
+        this.cacheTags = cacheTags;
+        delegate.setEvictionListener((key, value) -> cacheTags.forget(cacheName, key));
+    }
+
+    @Override
+    public Object get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public Object put(Object key, Object value) {
+        Object previous = delegate.put(key, value);
+        if (value != null) {
+            cacheTags.tagWritten(cacheName, Map.of(key, value));
+        }
+        return previous;
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<Object> keys) {
+        return delegate.getAll(keys);
+    }
+
+    @Override
+    public void putAll(Map<Object, Object> entries) {
+        delegate.putAll(entries);
+        cacheTags.tagWritten(cacheName, entries);
+    }
+
+    @Override
+    public void delete(Object key) {
+        delegate.delete(key);
+        cacheTags.forget(cacheName, key);
+    }
+
+    @Override
+    public void setEvictionListener(EvictionListener<Object, Object> listener) {
+        delegate.setEvictionListener((key, value) -> {
+            cacheTags.forget(cacheName, key);
+            listener.onEviction(key, value);
+        });
+    }
+
+    @Override
+    public void forEachEntry(EntryVisitor<Object, Object> visitor) {
+        delegate.forEachEntry(visitor);
+    }
+
+    @Override
+    public Object restore(Object key, Object value, int frequency) {
+        return tagRestored(key, delegate.restore(key, value, frequency));
+    }
+
+    @Override
+    public Object restore(Object key, Object value, int frequency, Duration age) {
+        return tagRestored(key, delegate.restore(key, value, frequency, age));
+    }
+
+    private Object tagRestored(Object key, Object restored) {
+        if (restored != null) {
+            cacheTags.tagWritten(cacheName, Map.of(key, restored));
+        }
+        return restored;
+    }
+}
@@ -0,0 +1,104 @@
+package by.nata.newscommentsservice.cache.tag;
+
+import org.springframework.cache.Cache;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * The {@code TaggingCache} class is a Spring {@link Cache} decorator that reports the entries written through it
+ * to the {@link CacheTags} once the underlying cache has stored them, so they are tagged after the write. A value
+ * loaded by {@link #get(Object, Callable)} is reported after the underlying cache returned it, i.e. after it was
+ * stored.
+ */
+public class TaggingCache implements Cache {
+
+    private final Cache delegate;
+    private final CacheTags cacheTags;
+
+    /**
+     * Constructs an instance of {@code TaggingCache}.
+     *
+     * @param delegate  The cache that stores the entries.
+     * @param cacheTags The tags the written entries are reported to.
+     */
+    public TaggingCache(Cache delegate, CacheTags cacheTags) {
+        this.delegate = delegate;
+        this.cacheTags = cacheTags;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        boolean[] loaded = new boolean[1];
+        T value = delegate.get(key, () -> {
+            T loadedValue = valueLoader.call();
+            loaded[0] = true;
+            return loadedValue;
+        });
+        if (loaded[0]) {
+            tagWritten(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        tagWritten(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            tagWritten(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    private void tagWritten(Object key, Object value) {
+        if (value != null) {
+            cacheTags.tagWritten(getName(), Map.of(key, value));
+        }
+    }
+}
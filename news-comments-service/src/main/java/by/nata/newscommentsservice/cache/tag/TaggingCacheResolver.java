@@ -0,0 +1,37 @@
+package by.nata.newscommentsservice.cache.tag;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.CacheResolver;
+
+import java.util.Collection;
+
+/**
+ * The {@code TaggingCacheResolver} class is a {@link CacheResolver} that decorates every cache resolved by another
+ * resolver with a {@link TaggingCache}. It is the outermost resolver, so the values it sees are the values of the
+ * cached methods, not the stamped values of the refresh-ahead decorator. Refreshed entries are reported as well,
+ * as a refresh calls the cached method through the cache interceptor again.
+ */
+public class TaggingCacheResolver implements CacheResolver {
+
+    private final CacheResolver delegate;
+    private final CacheTags cacheTags;
+
+    /**
+     * Constructs an instance of {@code TaggingCacheResolver}.
+     *
+     * @param delegate  The resolver of the caches to be decorated.
+     * @param cacheTags The tags the written entries are reported to.
+     */
+    public TaggingCacheResolver(CacheResolver delegate, CacheTags cacheTags) {
+        this.delegate = delegate;
+        this.cacheTags = cacheTags;
+    }
+
+    @Override
+    public Collection<? extends Cache> resolveCaches(CacheOperationInvocationContext<?> context) {
+        return delegate.resolveCaches(context).stream()
+                .map(cache -> new TaggingCache(cache, cacheTags))
+                .toList();
+    }
+}
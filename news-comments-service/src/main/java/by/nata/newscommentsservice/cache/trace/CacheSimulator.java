@@ -0,0 +1,138 @@
+package by.nata.newscommentsservice.cache.trace;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.algorithm.impl.CacheAlgorithms;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code CacheSimulator} class replays a {@link CacheTrace} against the cache algorithms at several sizes and
+ * prints the miss ratio of every combination, i.e. the miss-ratio curve of every algorithm, for each recorded cache.
+ *
+ * <p>Usage: {@code ./gradlew simulateCache -Ptrace=cache.trace [-Psizes=100,1000] [-Palgorithms=LRU,TINYLFU]}.
+ * The sizes are the numbers of entries of the full cache; they are scaled down by the sample rate of the trace.</p>
+ *
+ * <p>A recorded get is a get-or-load: a miss stores the key, as the caching aspect does. A recorded clear replaces the
+ * cache with an empty one.</p>
+ */
+@UtilityClass
+public class CacheSimulator {
+
+    private static final List<Integer> DEFAULT_SIZES = List.of(100, 250, 500, 1_000, 2_500, 5_000, 10_000);
+
+    /**
+     * Simulates the caches of a trace file and prints their miss ratios.
+     *
+     * @param args The trace file, then optionally the comma-separated cache sizes and algorithms.
+     * @throws IOException If the trace file cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: CacheSimulator <trace file> [sizes] [algorithms]");
+            System.exit(1);
+        }
+        CacheTrace trace = CacheTrace.read(Path.of(args[0]));
+        List<Integer> sizes = args.length > 1 && !args[1].isBlank()
+                ? Arrays.stream(args[1].split(",")).map(String::trim).map(Integer::valueOf).toList()
+                : DEFAULT_SIZES;
+        List<String> algorithms = args.length > 2 && !args[2].isBlank()
+                ? Arrays.stream(args[2].split(",")).map(String::trim).toList()
+                : CacheAlgorithms.SIZE_LIMITED;
+        for (String cacheName : trace.getCacheNames()) {
+            print(System.out, trace, cacheName, sizes, simulate(trace, cacheName, sizes, algorithms));
+        }
+    }
+
+    /**
+     * Replays the accesses of a cache against every algorithm and size.
+     *
+     * @param trace      The recorded trace.
+     * @param cacheName  The name of the cache to replay.
+     * @param sizes      The numbers of entries of the full cache.
+     * @param algorithms The names of the algorithms, as used by the "cache.algorithm" property.
+     * @return The miss ratios of every algorithm, in the order of the sizes.
+     * @throws IllegalArgumentException If an algorithm is unknown.
+     */
+    public static Map<String, double[]> simulate(CacheTrace trace, String cacheName, List<Integer> sizes,
+                                                 List<String> algorithms) {
+        Map<String, double[]> missRatios = new LinkedHashMap<>();
+        for (String algorithm : algorithms) {
+            double[] ratios = new double[sizes.size()];
+            for (int i = 0; i < sizes.size(); i++) {
+                ratios[i] = replay(trace, cacheName, algorithm, scale(sizes.get(i), trace.getSampleRate()));
+            }
+            missRatios.put(algorithm, ratios);
+        }
+        return missRatios;
+    }
+
+    private static double replay(CacheTrace trace, String cacheName, String algorithm, int maxSize) {
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.setMaxSize(maxSize);
+        Replay replay = new Replay(algorithm, cacheProperties);
+        trace.replay(cacheName, replay::visit);
+        return replay.gets == 0 ? 0.0 : (double) replay.misses / replay.gets;
+    }
+
+    private static int scale(int size, double sampleRate) {
+        return (int) Math.max(1, Math.round(size * sampleRate));
+    }
+
+    private static void print(PrintStream out, CacheTrace trace, String cacheName, List<Integer> sizes,
+                              Map<String, double[]> missRatios) {
+        out.printf("%nCache '%s': %d gets, %d puts, %d deletes, %d clears, sample rate %.4f%n", cacheName,
+                trace.count(cacheName, TraceOperation.GET), trace.count(cacheName, TraceOperation.PUT),
+                trace.count(cacheName, TraceOperation.DELETE), trace.count(cacheName, TraceOperation.CLEAR),
+                trace.getSampleRate());
+        out.printf("%-16s", "miss ratio");
+        sizes.forEach(size -> out.printf("%10d", size));
+        out.println();
+        missRatios.forEach((algorithm, ratios) -> {
+            out.printf("%-16s", algorithm);
+            for (double ratio : ratios) {
+                out.printf("%10.4f", ratio);
+            }
+            out.println();
+        });
+    }
+
+    private static final class Replay {
+
+        private static final Object PRESENT = Boolean.TRUE;
+
+        private final String algorithm;
+        private final CacheProperties cacheProperties;
+        private Cache<Long, Object> cache;
+        private long gets;
+        private long misses;
+
+        private Replay(String algorithm, CacheProperties cacheProperties) {
+            this.algorithm = algorithm;
+            this.cacheProperties = cacheProperties;
+            this.cache = CacheAlgorithms.create(algorithm, cacheProperties);
+        }
+
+        private void visit(TraceOperation operation, long keyId) {
+            switch (operation) {
+                case GET -> {
+                    gets++;
+                    if (cache.get(keyId) == null) {
+                        misses++;
+                        cache.put(keyId, PRESENT);
+                    }
+                }
+                case PUT -> cache.put(keyId, PRESENT);
+                case DELETE -> cache.delete(keyId);
+                case CLEAR -> cache = CacheAlgorithms.create(algorithm, cacheProperties);
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package by.nata.newscommentsservice.cache.trace;
+
+import by.nata.newscommentsservice.cache.codec.BinaryInput;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code CacheTrace} class holds the cache accesses recorded by the {@link CacheTraceRecorder}, grouped by
+ * cache name, so they can be replayed against any number of caches. Keys are reduced to 64-bit ids: a
+ * {@link Long} or {@link Integer} key is its own id, other keys are identified by their hash code.
+ *
+ * <p>Only a sample of the keys is recorded, but every access of a sampled key is. A cache of {@code n} entries
+ * is therefore simulated by replaying the trace against a cache of {@code n * sampleRate} entries.</p>
+ *
+ * <p>File format: the magic number and the sample rate, then a sequence of records starting with a type byte.
+ * A cache record (type 0) holds the name of the next cache index; an access record (type 1 + the ordinal of the
+ * {@link TraceOperation}) holds the cache index as a variable-length number and the key id zig-zag encoded.</p>
+ */
+public final class CacheTrace {
+
+    static final int MAGIC = 0x4E435431;
+    static final int CACHE_RECORD = 0;
+
+    private static final TraceOperation[] OPERATIONS = TraceOperation.values();
+
+    private final double sampleRate;
+    private final Map<String, Accesses> accessesByCache;
+
+    private CacheTrace(double sampleRate, Map<String, Accesses> accessesByCache) {
+        this.sampleRate = sampleRate;
+        this.accessesByCache = accessesByCache;
+    }
+
+    /**
+     * Reads a trace file written by the {@link CacheTraceRecorder}. A record cut off at the end of the file,
+     * e.g. when the instance was killed, is ignored.
+     *
+     * @param file The trace file.
+     * @return The trace.
+     * @throws IOException If the file cannot be read or is not a trace file.
+     */
+    public static CacheTrace read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            BinaryInput input = new BinaryInput(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            if (channel.size() < Integer.BYTES + Long.BYTES || input.readInt() != MAGIC) {
+                throw new IOException("Not a cache trace: " + file);
+            }
+            double sampleRate = Double.longBitsToDouble(input.readLong());
+            List<Accesses> caches = new ArrayList<>();
+            Map<String, Accesses> accessesByCache = new LinkedHashMap<>();
+            try {
+                while (input.hasRemaining()) {
+                    int type = input.readByte();
+                    if (type == CACHE_RECORD) {
+                        Accesses accesses = accessesByCache.computeIfAbsent(input.readString(), name -> new Accesses());
+                        caches.add(accesses);
+                    } else if (type <= OPERATIONS.length) {
+                        Accesses accesses = caches.get((int) input.readVarLong());
+                        accesses.add(OPERATIONS[type - 1], input.readZigZagLong());
+                    } else {
+                        throw new IOException("Unknown record type " + type + " in cache trace " + file);
+                    }
+                }
+            } catch (BufferUnderflowException e) {
+                // the last record was not written completely
+            }
+            return new CacheTrace(sampleRate, accessesByCache);
+        }
+    }
+
+    /**
+     * Returns the share of the keys that were recorded.
+     *
+     * @return The sample rate, between 0 and 1.
+     */
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Returns the names of the caches with recorded accesses.
+     *
+     * @return The cache names, in the order they were first accessed.
+     */
+    public List<String> getCacheNames() {
+        return Collections.unmodifiableList(new ArrayList<>(accessesByCache.keySet()));
+    }
+
+    /**
+     * Returns the number of recorded accesses of a cache.
+     *
+     * @param cacheName The name of the cache.
+     * @param operation The operation to count.
+     * @return The number of accesses.
+     */
+    public int count(String cacheName, TraceOperation operation) {
+        Accesses accesses = accessesByCache.get(cacheName);
+        if (accesses == null) {
+            return 0;
+        }
+        int count = 0;
+        for (int i = 0; i < accesses.size; i++) {
+            if (accesses.operations[i] == operation.ordinal()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Replays the recorded accesses of a cache in their original order.
+     *
+     * @param cacheName The name of the cache.
+     * @param visitor   The visitor receiving every access.
+     */
+    public void replay(String cacheName, AccessVisitor visitor) {
+        Accesses accesses = accessesByCache.get(cacheName);
+        if (accesses == null) {
+            return;
+        }
+        for (int i = 0; i < accesses.size; i++) {
+            visitor.visit(OPERATIONS[accesses.operations[i]], accesses.keys[i]);
+        }
+    }
+
+    /**
+     * Returns the id a key is recorded under.
+     *
+     * @param key The key of the access.
+     * @return The id of the key.
+     */
+    public static long keyId(Object key) {
+        if (key instanceof Long number) {
+            return number;
+        }
+        if (key instanceof Integer number) {
+            return number;
+        }
+        return key == null ? 0 : key.hashCode() * 0x9e3779b97f4a7c15L;
+    }
+
+    /**
+     * The {@code AccessVisitor} interface receives the accesses replayed by {@link #replay}.
+     */
+    @FunctionalInterface
+    public interface AccessVisitor {
+
+        /**
+         * Receives a single access.
+         *
+         * @param operation The operation of the access.
+         * @param keyId     The id of the accessed key.
+         */
+        void visit(TraceOperation operation, long keyId);
+    }
+
+    private static final class Accesses {
+
+        private byte[] operations = new byte[1024];
+        private long[] keys = new long[1024];
+        private int size;
+
+        private void add(TraceOperation operation, long keyId) {
+            if (size == keys.length) {
+                operations = Arrays.copyOf(operations, size * 2);
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            operations[size] = (byte) operation.ordinal();
+            keys[size++] = keyId;
+        }
+    }
+}
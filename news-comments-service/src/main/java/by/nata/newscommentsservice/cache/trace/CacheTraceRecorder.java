@@ -0,0 +1,186 @@
+package by.nata.newscommentsservice.cache.trace;
+
+import by.nata.newscommentsservice.cache.codec.BinaryOutput;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code CacheTraceRecorder} class records the accesses of the caching aspect to a {@link CacheTrace} file,
+ * from which the miss ratio of every cache algorithm and size can be simulated offline with the
+ * {@link CacheSimulator}. Recording is enabled with "cache.trace.enabled" and writes to "cache.trace.file".
+ *
+ * <p>Only the keys whose hashed id falls into the "cache.trace.sampleRate" share are recorded, but all their
+ * accesses are, so the trace keeps the reuse pattern of the sampled keys. The calling thread only hashes the key
+ * and offers sampled accesses to a bounded queue; a background thread encodes them and appends them to the file.
+ * Accesses that find the queue full are dropped and counted instead of slowing down the request.</p>
+ *
+ * <p>Dependencies:</p>
+ * <p>- {@link CacheProperties}: The "cache.trace.*" settings.</p>
+ */
+@Slf4j
+@Component
+@Profile("(dev | aspect) & !spring")
+public class CacheTraceRecorder implements SmartLifecycle {
+
+    private static final int SAMPLE_SPACE = 1 << 16;
+    private static final int BATCH_SIZE = 1024;
+
+    private final CacheProperties.Trace settings;
+    private final int sampleThreshold;
+    private final BlockingQueue<Access> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean running;
+    private Thread writer;
+
+    /**
+     * Constructs an instance of {@code CacheTraceRecorder}.
+     *
+     * @param cacheProperties The configuration properties for the caches, including the trace settings.
+     */
+    @Autowired
+    public CacheTraceRecorder(CacheProperties cacheProperties) {
+        this.settings = cacheProperties.getTrace();
+        this.sampleThreshold = (int) Math.round(Math.min(Math.max(settings.getSampleRate(), 0.0), 1.0) * SAMPLE_SPACE);
+        this.queue = new ArrayBlockingQueue<>(Math.max(settings.getQueueCapacity(), 1));
+    }
+
+    /**
+     * Records an access of a cache if recording is enabled and the key is sampled.
+     *
+     * @param cacheName The name of the accessed cache.
+     * @param operation The operation of the access.
+     * @param key       The accessed key, ignored for {@link TraceOperation#CLEAR}.
+     */
+    public void record(String cacheName, TraceOperation operation, Object key) {
+        if (!running) {
+            return;
+        }
+        long keyId = CacheTrace.keyId(key);
+        if (operation != TraceOperation.CLEAR && !isSampled(keyId)) {
+            return;
+        }
+        if (!queue.offer(new Access(cacheName, operation, keyId))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        Path file = Path.of(settings.getFile());
+        OutputStream stream;
+        try {
+            stream = Files.newOutputStream(file);
+            BinaryOutput header = new BinaryOutput(Integer.BYTES + Long.BYTES);
+            header.writeInt(CacheTrace.MAGIC);
+            header.writeLong(Double.doubleToLongBits(sampleThreshold / (double) SAMPLE_SPACE));
+            stream.write(header.buffer(), 0, header.position());
+        } catch (IOException e) {
+            log.warn("Cannot record cache trace to {}", file, e);
+            return;
+        }
+        running = true;
+        writer = new Thread(() -> write(stream, file), "cache-trace-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Recording {} of the cache keys to {}", sampleThreshold / (double) SAMPLE_SPACE, file);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+        if (dropped.get() > 0) {
+            log.warn("Dropped {} cache trace records because the queue was full", dropped.get());
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return writer != null;
+    }
+
+    /**
+     * Returns the number of accesses that were not recorded because the queue was full.
+     *
+     * @return The number of dropped accesses.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void write(OutputStream stream, Path file) {
+        Map<String, Integer> cacheIndexes = new HashMap<>();
+        List<Access> batch = new ArrayList<>(BATCH_SIZE);
+        BinaryOutput output = new BinaryOutput(BATCH_SIZE * 16);
+        try (stream) {
+            while (running || !queue.isEmpty()) {
+                Access first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                for (Access access : batch) {
+                    Integer index = cacheIndexes.get(access.cacheName());
+                    if (index == null) {
+                        index = cacheIndexes.size();
+                        cacheIndexes.put(access.cacheName(), index);
+                        output.writeByte(CacheTrace.CACHE_RECORD);
+                        output.writeString(access.cacheName());
+                    }
+                    output.writeByte(access.operation().ordinal() + 1);
+                    output.writeVarLong(index);
+                    output.writeZigZagLong(access.keyId());
+                }
+                stream.write(output.buffer(), 0, output.position());
+                output.reset(0);
+                batch.clear();
+            }
+        } catch (IOException e) {
+            running = false;
+            log.warn("Stopped recording cache trace to {}", file, e);
+        } catch (InterruptedException e) {
+            running = false;
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean isSampled(long keyId) {
+        if (sampleThreshold >= SAMPLE_SPACE) {
+            return true;
+        }
+        long hash = (keyId ^ (keyId >>> 33)) * 0xff51afd7ed558ccdL;
+        return ((hash ^ (hash >>> 33)) & (SAMPLE_SPACE - 1)) < sampleThreshold;
+    }
+
+    private record Access(String cacheName, TraceOperation operation, long keyId) {
+    }
+}
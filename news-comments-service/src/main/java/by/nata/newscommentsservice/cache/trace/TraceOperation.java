@@ -0,0 +1,13 @@
+package by.nata.newscommentsservice.cache.trace;
+
+/**
+ * The {@code TraceOperation} enum lists the cache operations recorded in a {@link CacheTrace}.
+ *
+ * <p>- {@link #GET}: A cached method was called; on a miss its result is stored.</p>
+ * <p>- {@link #PUT}: The result of a method was stored unconditionally.</p>
+ * <p>- {@link #DELETE}: An entry was evicted by a method.</p>
+ * <p>- {@link #CLEAR}: All entries of the cache were evicted; the key of the access is not used.</p>
+ */
+public enum TraceOperation {
+    GET, PUT, DELETE, CLEAR
+}
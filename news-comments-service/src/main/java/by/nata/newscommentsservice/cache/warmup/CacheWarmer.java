@@ -0,0 +1,188 @@
+package by.nata.newscommentsservice.cache.warmup;
+
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import by.nata.newscommentsservice.cache.hotkey.HotKeyRegistry;
+import by.nata.newscommentsservice.database.repository.NewsRepository;
+import by.nata.newscommentsservice.service.api.INewsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code CacheWarmer} class preloads news into the caches when the application starts, so the first
+ * requests after a deploy do not all miss. It loads the newest news and the news listed in the hot-key
+ * file through {@link INewsService#getNewsById(Long)}, which fills whichever cache is active in the
+ * current profile.
+ *
+ * <p>The ids are loaded in batches by a fixed number of threads. The instance reports
+ * {@link ReadinessState#REFUSING_TRAFFIC} while the warm-up runs and {@link ReadinessState#ACCEPTING_TRAFFIC}
+ * once it has finished or timed out; with the Eureka health check enabled the instance is registered as
+ * out of service until then.</p>
+ *
+ * <p>The hot-key file is a plain text file with one news id per line; blank lines and lines starting
+ * with {@code #} are ignored. It is written on shutdown by the {@link HotKeyRegistry} from the hot keys of the
+ * {@value #CACHE_NAME} cache.</p>
+ *
+ * <p>Dependencies:</p>
+ * <p>- {@link CacheProperties}: The "cache.warmup.*" settings, the warm-up runs only with
+ *   "cache.warmup.enabled=true".</p>
+ * <p>- {@link NewsRepository}: Provides the ids of the newest news.</p>
+ * <p>- {@link INewsService}: Loads the news into the caches.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "cache.warmup", name = "enabled", havingValue = "true")
+public class CacheWarmer {
+
+    public static final String CACHE_NAME = "news";
+
+    private final INewsService newsService;
+    private final NewsRepository newsRepository;
+    private final CacheProperties.Warmup settings;
+
+    /**
+     * Constructs an instance of {@code CacheWarmer}.
+     *
+     * @param newsService     The service the news are loaded through.
+     * @param newsRepository  The repository providing the ids of the newest news.
+     * @param cacheProperties The configuration properties for the caches, including the warm-up settings.
+     */
+    @Autowired
+    public CacheWarmer(INewsService newsService, NewsRepository newsRepository, CacheProperties cacheProperties) {
+        this.newsService = newsService;
+        this.newsRepository = newsRepository;
+        this.settings = cacheProperties.getWarmup();
+    }
+
+    /**
+     * Warms up the caches once the application has started and keeps the instance out of traffic meanwhile.
+     *
+     * @param event The event published when the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        AvailabilityChangeEvent.publish(event.getApplicationContext(), ReadinessState.REFUSING_TRAFFIC);
+        try {
+            warmUp();
+        } finally {
+            AvailabilityChangeEvent.publish(event.getApplicationContext(), ReadinessState.ACCEPTING_TRAFFIC);
+        }
+    }
+
+    /**
+     * Loads the newest and the hot news into the caches, waiting at most the configured timeout.
+     *
+     * @return The number of news loaded.
+     */
+    public int warmUp() {
+        long start = System.nanoTime();
+        Set<Long> ids = collectIds();
+        AtomicInteger loaded = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, settings.getParallelism()));
+        try {
+            List<CompletableFuture<Void>> batches = new ArrayList<>();
+            for (List<Long> batch : partition(ids, Math.max(1, settings.getBatchSize()))) {
+                batches.add(CompletableFuture.runAsync(() -> loadBatch(batch, loaded), executor));
+            }
+            CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new))
+                    .get(settings.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Cache warm-up timed out after {}", settings.getTimeout());
+        } catch (ExecutionException e) {
+            log.warn("Cache warm-up failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("Cache warm-up loaded {} of {} news in {} ms", loaded.get(), ids.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return loaded.get();
+    }
+
+    private Set<Long> collectIds() {
+        Set<Long> ids = new LinkedHashSet<>();
+        if (settings.getNewestCount() > 0) {
+            ids.addAll(newsRepository.findLatestIds(PageRequest.of(0, settings.getNewestCount())));
+        }
+        if (settings.getHotKeysFile() != null) {
+            ids.addAll(readHotKeys(Path.of(settings.getHotKeysFile())));
+        }
+        return ids;
+    }
+
+    private static List<Long> readHotKeys(Path file) {
+        List<Long> ids = new ArrayList<>();
+        if (!Files.isReadable(file)) {
+            log.debug("Hot-key file {} does not exist", file);
+            return ids;
+        }
+        try {
+            for (String line : Files.readAllLines(file)) {
+                String id = line.trim();
+                if (id.isEmpty() || id.startsWith("#")) {
+                    continue;
+                }
+                try {
+                    ids.add(Long.valueOf(id));
+                } catch (NumberFormatException e) {
+                    log.warn("Skipping invalid news id '{}' in hot-key file {}", id, file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Cannot read hot-key file {}", file, e);
+        }
+        return ids;
+    }
+
+    private void loadBatch(List<Long> batch, AtomicInteger loaded) {
+        for (Long id : batch) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            try {
+                newsService.getNewsById(id);
+                loaded.incrementAndGet();
+            } catch (RuntimeException e) {
+                log.debug("Cannot warm up news with id {}", id, e);
+            }
+        }
+    }
+
+    private static List<List<Long>> partition(Set<Long> ids, int batchSize) {
+        List<List<Long>> batches = new ArrayList<>();
+        List<Long> batch = new ArrayList<>(batchSize);
+        for (Long id : ids) {
+            batch.add(id);
+            if (batch.size() == batchSize) {
+                batches.add(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+}
@@ -5,6 +5,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -28,6 +30,16 @@ public interface CommentRepository extends JpaRepository<Comment, Long>, JpaSpec
      */
     Page<Comment> findByNewsIdOrderByTimeDesc(Long newsId, Pageable pageable);
 
+    /**
+     * Retrieves the ids of a page of comments for a specific news article, ordered by creation time in descending order.
+     *
+     * @param newsId    The unique identifier of the news article.
+     * @param pageable  A {@link Pageable} object specifying the page and sorting options.
+     * @return The ids of the comments on the page.
+     */
+    @Query("select c.id from Comment c where c.news.id = :newsId order by c.time desc")
+    List<Long> findIdsByNewsIdOrderByTimeDesc(@Param("newsId") Long newsId, Pageable pageable);
+
     /**
      * Retrieves a list of comments for a specific news article.
      *
@@ -1,8 +1,12 @@
 package by.nata.newscommentsservice.database.repository;
 
 import by.nata.newscommentsservice.database.model.News;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 /**
  * The {@code NewsRepository} interface is a Spring Data JPA repository that provides methods for
@@ -14,4 +18,13 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
  *   retrieving, updating, or deleting news articles.</p>
  */
 public interface NewsRepository extends JpaRepository<News, Long>, JpaSpecificationExecutor<News> {
+
+    /**
+     * Retrieves the ids of the most recently published news articles.
+     *
+     * @param pageable The number of ids to retrieve.
+     * @return The ids ordered from the newest to the oldest news article.
+     */
+    @Query("select n.id from News n order by n.time desc")
+    List<Long> findLatestIds(Pageable pageable);
 }
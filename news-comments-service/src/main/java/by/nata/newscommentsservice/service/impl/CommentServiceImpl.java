@@ -1,5 +1,9 @@
 package by.nata.newscommentsservice.service.impl;
 
+import by.nata.newscommentsservice.cache.bulk.BulkCache;
+import by.nata.newscommentsservice.cache.negative.NegativeResultCache;
+import by.nata.newscommentsservice.cache.query.QueryResultCache;
+import by.nata.newscommentsservice.cache.tag.CacheTags;
 import by.nata.newscommentsservice.database.model.Comment;
 import by.nata.newscommentsservice.database.repository.CommentRepository;
 import by.nata.newscommentsservice.database.util.CommentSpecification;
@@ -7,6 +11,7 @@ import by.nata.newscommentsservice.service.api.ICommentService;
 import by.nata.newscommentsservice.service.dto.CommentRequestDto;
 import by.nata.newscommentsservice.service.dto.CommentResponseDto;
 import by.nata.newscommentsservice.service.mapper.CommentMapper;
+import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,8 +25,12 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * The {@code CommentServiceImpl} class provides the service implementation for managing comments in the application.
@@ -33,24 +42,42 @@ import java.util.Optional;
 @Slf4j
 @Service
 @RequiredArgsConstructor
-@CacheConfig(cacheNames = "comment")
+@CacheConfig(cacheNames = CommentServiceImpl.COMMENT_CACHE)
 public class CommentServiceImpl implements ICommentService {
 
     private final CommentRepository commentRepository;
     private final CommentMapper commentMapper;
+    private final NegativeResultCache negativeResultCache;
+    private final QueryResultCache queryResultCache;
+    private final BulkCache bulkCache;
+    private final CacheTags cacheTags;
 
+    public static final String COMMENT_CACHE = "comment";
     public static final String MESSAGE_COMMENT_NOT_FOUND = "Comment with id %d not found";
 
+    /**
+     * Tags every cached comment with the news it belongs to, so the comments are evicted with the news.
+     */
+    @PostConstruct
+    void tagCachedComments() {
+        cacheTags.tagWrites(COMMENT_CACHE, (key, value) -> value instanceof CommentResponseDto comment
+                && comment.newsId() != null ? List.of(CacheTags.news(comment.newsId())) : List.of());
+    }
+
     @Override
     @Transactional
     @CachePut(key = "#result.id")
     public CommentResponseDto save(CommentRequestDto comment) {
         log.info("Call method save() from CommentService with CommentRequestDto: {}", comment);
-        return Optional.of(comment)
+        CommentResponseDto savedComment = Optional.of(comment)
                 .map(commentMapper::dtoToEntity)
                 .map(commentRepository::save)
                 .map(commentMapper::entityToDto)
                 .orElseThrow();
+        negativeResultCache.invalidate(NegativeResultCache.COMMENT, savedComment.id());
+        queryResultCache.invalidate(QueryResultCache.COMMENT);
+        cacheTags.invalidate(CacheTags.newsView(savedComment.newsId()));
+        return savedComment;
     }
 
     @Override
@@ -59,20 +86,25 @@ public class CommentServiceImpl implements ICommentService {
     public CommentResponseDto update(Long id, CommentRequestDto comment) {
         log.info("Call method update() from CommentService with id: {} and CommentRequestDto: {}", id, comment);
         Comment existingComment = commentRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(String.format(MESSAGE_COMMENT_NOT_FOUND, id)));
+                .orElseThrow(() -> commentNotFound(id));
         existingComment.setText(comment.text());
         Comment updatedComment = commentRepository.save(existingComment);
+        queryResultCache.invalidate(QueryResultCache.COMMENT);
+        cacheTags.invalidate(CacheTags.newsView(newsIdOf(updatedComment)));
         log.debug("Complet methot update() from CommentService with id: {}, found and update entity Comment: {}", id, updatedComment);
         return commentMapper.entityToDto(updatedComment);
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(key = "#id")
+    @Cacheable(key = "#id", sync = true)
     public CommentResponseDto getCommentById(Long id) {
         log.info("Call method getCommentById() from CommentService with id: {}", id);
+        if (negativeResultCache.isKnownMissing(NegativeResultCache.COMMENT, id)) {
+            throw new EntityNotFoundException(String.format(MESSAGE_COMMENT_NOT_FOUND, id));
+        }
         Comment comment = commentRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(String.format(MESSAGE_COMMENT_NOT_FOUND, id)));
+                .orElseThrow(() -> commentNotFound(id));
         log.debug("Complet methot getCommentById() from CommentService with id: {}, found entity Comment: {}", id, comment);
         return commentMapper.entityToDto(comment);
     }
@@ -81,10 +113,9 @@ public class CommentServiceImpl implements ICommentService {
     @Transactional(readOnly = true)
     public List<CommentResponseDto> findByNewsIdOrderByTimeDesc(Long newsId, Pageable pageable) {
         log.info("Call method findByNewsIdOrderByTimeDesc() from CommentService with news id: {}, pageNumber: {}, pageSize: {}", newsId, pageable.getPageNumber(), pageable.getPageSize());
-        Page<Comment> commentPage = commentRepository.findByNewsIdOrderByTimeDesc(newsId, pageable);
-        return commentPage.getContent().stream()
-                .map(commentMapper::entityToDto)
-                .toList();
+        List<Long> commentIds = queryResultCache.getOrLoad(QueryResultCache.COMMENT, "findByNewsIdOrderByTimeDesc", pageable,
+                () -> commentRepository.findIdsByNewsIdOrderByTimeDesc(newsId, pageable), newsId);
+        return bulkCache.getOrLoadAll(COMMENT_CACHE, commentIds, this::loadComments);
     }
 
     @Override
@@ -103,8 +134,10 @@ public class CommentServiceImpl implements ICommentService {
     public void delete(Long id) {
         log.info("Call method delete() from CommentService with id: {}", id);
         Comment comment = commentRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(String.format(MESSAGE_COMMENT_NOT_FOUND, id)));
+                .orElseThrow(() -> commentNotFound(id));
         commentRepository.delete(comment);
+        queryResultCache.invalidate(QueryResultCache.COMMENT);
+        cacheTags.invalidate(CacheTags.newsView(newsIdOf(comment)));
     }
 
     @Override
@@ -120,6 +153,28 @@ public class CommentServiceImpl implements ICommentService {
 
     @Override
     public boolean isCommentExist(Long id) {
-        return commentRepository.existsById(id);
+        if (negativeResultCache.isKnownMissing(NegativeResultCache.COMMENT, id)) {
+            return false;
+        }
+        boolean exists = commentRepository.existsById(id);
+        if (!exists) {
+            negativeResultCache.recordMissing(NegativeResultCache.COMMENT, id);
+        }
+        return exists;
+    }
+
+    private Map<Long, CommentResponseDto> loadComments(Collection<Long> ids) {
+        return commentRepository.findAllById(ids).stream()
+                .map(commentMapper::entityToDto)
+                .collect(Collectors.toMap(CommentResponseDto::id, Function.identity()));
+    }
+
+    private static Long newsIdOf(Comment comment) {
+        return comment.getNews() != null ? comment.getNews().getId() : null;
+    }
+
+    private EntityNotFoundException commentNotFound(Long id) {
+        negativeResultCache.recordMissing(NegativeResultCache.COMMENT, id);
+        return new EntityNotFoundException(String.format(MESSAGE_COMMENT_NOT_FOUND, id));
     }
 }
@@ -1,5 +1,8 @@
 package by.nata.newscommentsservice.service.impl;
 
+import by.nata.newscommentsservice.cache.negative.NegativeResultCache;
+import by.nata.newscommentsservice.cache.query.QueryResultCache;
+import by.nata.newscommentsservice.cache.tag.CacheTags;
 import by.nata.newscommentsservice.database.model.News;
 import by.nata.newscommentsservice.database.repository.NewsRepository;
 import by.nata.newscommentsservice.database.util.NewsSpecification;
@@ -10,6 +13,7 @@ import by.nata.newscommentsservice.service.dto.NewsRequestDto;
 import by.nata.newscommentsservice.service.dto.NewsResponseDto;
 import by.nata.newscommentsservice.service.dto.NewsWithCommentsResponseDto;
 import by.nata.newscommentsservice.service.mapper.NewsMapper;
+import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -48,19 +52,35 @@ public class NewsServiceImpl implements INewsService {
     private final NewsRepository newsRepository;
     private final NewsMapper newsMapper;
     private final ICommentService commentService;
+    private final NegativeResultCache negativeResultCache;
+    private final QueryResultCache queryResultCache;
+    private final CacheTags cacheTags;
 
+    public static final String NEWS_WITH_COMMENTS_CACHE = "newsWithComments";
     public static final String MESSAGE_NEWS_NOT_FOUND = "News with id %d not found";
 
+    /**
+     * Tags every cached view of a news with its comments, so the views are evicted when the news or its comments change.
+     */
+    @PostConstruct
+    void tagCachedViews() {
+        cacheTags.tagWrites(NEWS_WITH_COMMENTS_CACHE, (key, value) -> value instanceof NewsWithCommentsResponseDto view
+                ? List.of(CacheTags.news(view.id()), CacheTags.newsView(view.id())) : List.of());
+    }
+
     @Override
     @Transactional
     @CachePut(key = "#result.id")
     public NewsResponseDto save(NewsRequestDto news) {
         log.info("Call methot save() from NewsService with NewsRequestDto: {}", news);
-        return Optional.of(news)
+        NewsResponseDto savedNews = Optional.of(news)
                 .map(newsMapper::dtoToEntity)
                 .map(newsRepository::save)
                 .map(newsMapper::entityToDto)
                 .orElseThrow();
+        negativeResultCache.invalidate(NegativeResultCache.NEWS, savedNews.id());
+        queryResultCache.invalidate(QueryResultCache.NEWS);
+        return savedNews;
     }
 
     @Override
@@ -69,21 +89,26 @@ public class NewsServiceImpl implements INewsService {
     public NewsResponseDto update(Long id, NewsRequestDto news) {
         log.info("Call methot update() from NewsService with id: {} and NewsRequestDto: {}", id, news);
         News existingNews = newsRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(String.format(MESSAGE_NEWS_NOT_FOUND, id)));
+                .orElseThrow(() -> newsNotFound(id));
         existingNews.setTitle(news.title());
         existingNews.setText(news.text());
         News updatedNews = newsRepository.save(existingNews);
+        queryResultCache.invalidate(QueryResultCache.NEWS);
+        cacheTags.invalidate(CacheTags.newsView(id));
         log.debug("Complet methot update() from NewsService with id: {}, found and update entity News: {}", id, updatedNews);
         return newsMapper.entityToDto(updatedNews);
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(key = "#id")
+    @Cacheable(key = "#id", sync = true)
     public NewsResponseDto getNewsById(Long id) {
         log.info("Call method getNewsById() from NewsService with id: {}", id);
+        if (negativeResultCache.isKnownMissing(NegativeResultCache.NEWS, id)) {
+            throw new EntityNotFoundException(String.format(MESSAGE_NEWS_NOT_FOUND, id));
+        }
         News news = newsRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(String.format(MESSAGE_NEWS_NOT_FOUND, id)));
+                .orElseThrow(() -> newsNotFound(id));
         log.debug("Complet methot getNewsById() from NewsService with id: {}, found entity News: {}", id, news);
         return newsMapper.entityToDto(news);
     }
@@ -92,19 +117,23 @@ public class NewsServiceImpl implements INewsService {
     @Transactional(readOnly = true)
     public List<NewsResponseDto> getAllNews(Pageable pageable) {
         log.info("Call method getAllNews() from NewsService with pageNumber: {}, pageSize: {}", pageable.getPageNumber(), pageable.getPageSize());
-        Page<News> newsPage = newsRepository.findAll(pageable);
-        return newsPage.getContent().stream()
-                .map(newsMapper::entityToDto)
-                .toList();
+        return queryResultCache.getOrLoad(QueryResultCache.NEWS, "getAllNews", pageable, () -> {
+            Page<News> newsPage = newsRepository.findAll(pageable);
+            return newsPage.getContent().stream()
+                    .map(newsMapper::entityToDto)
+                    .toList();
+        });
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = NEWS_WITH_COMMENTS_CACHE, sync = true,
+            key = "T(by.nata.newscommentsservice.service.impl.NewsServiceImpl).newsWithCommentsKey(#newsId, #pageable)")
     public NewsWithCommentsResponseDto getNewsWithComments(Long newsId, Pageable pageable) {
         log.info("Call method getNewsWithComments() from NewsService with id: {}, pageNumber: {}, pageSize: {}", newsId, pageable.getPageNumber(), pageable.getPageSize());
         SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
         News news = newsRepository.findById(newsId)
-                .orElseThrow(() -> new EntityNotFoundException(String.format(MESSAGE_NEWS_NOT_FOUND, newsId)));
+                .orElseThrow(() -> newsNotFound(newsId));
 
         List<CommentResponseDto> comments = commentService.findByNewsIdOrderByTimeDesc(newsId, pageable);
 
@@ -123,25 +152,57 @@ public class NewsServiceImpl implements INewsService {
     public void delete(Long id) {
         log.info("Call method delete() from NewsService with id: {}", id);
         News news = newsRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(String.format(MESSAGE_NEWS_NOT_FOUND, id)));
+                .orElseThrow(() -> newsNotFound(id));
         newsRepository.delete(news);
+        queryResultCache.invalidate(QueryResultCache.NEWS);
+        queryResultCache.invalidate(QueryResultCache.COMMENT);
+        cacheTags.invalidate(CacheTags.news(id));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<NewsResponseDto> searchNews(String keyword, String dateString, Pageable pageable) {
         log.info("Call method searchNews() from NewsService with keyword: {}, dateString: {}, pageNumber: {}, pageSize: {}", keyword, dateString, pageable.getPageNumber(), pageable.getPageSize());
-        Specification<News> spec = NewsSpecification.search(keyword, convertStringToDate(dateString));
+        Date date = convertStringToDate(dateString);
+        String normalizedKeyword = keyword == null || keyword.trim().isEmpty() ? null : keyword.toLowerCase();
         Pageable pageable1 = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("time").descending());
-        Page<News> newsPage = newsRepository.findAll(spec, pageable1);
-        return newsPage.getContent().stream()
-                .map(newsMapper::entityToDto)
-                .toList();
+        return queryResultCache.getOrLoad(QueryResultCache.NEWS, "searchNews", pageable1, () -> {
+            Specification<News> spec = NewsSpecification.search(normalizedKeyword, date);
+            Page<News> newsPage = newsRepository.findAll(spec, pageable1);
+            return newsPage.getContent().stream()
+                    .map(newsMapper::entityToDto)
+                    .toList();
+        }, normalizedKeyword, date);
     }
 
     @Override
     public boolean isNewsExist(Long id) {
-        return newsRepository.existsById(id);
+        if (negativeResultCache.isKnownMissing(NegativeResultCache.NEWS, id)) {
+            return false;
+        }
+        boolean exists = newsRepository.existsById(id);
+        if (!exists) {
+            negativeResultCache.recordMissing(NegativeResultCache.NEWS, id);
+        }
+        return exists;
+    }
+
+    /**
+     * Returns the key of a page of {@link #getNewsWithComments(Long, Pageable)} in the "newsWithComments" cache.
+     *
+     * @param newsId   The id of the news.
+     * @param pageable The requested page of comments.
+     * @return The cache key.
+     */
+    public static String newsWithCommentsKey(Long newsId, Pageable pageable) {
+        return pageable.isPaged()
+                ? newsId + ":" + pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort()
+                : newsId + ":unpaged:" + pageable.getSort();
+    }
+
+    private EntityNotFoundException newsNotFound(Long id) {
+        negativeResultCache.recordMissing(NegativeResultCache.NEWS, id);
+        return new EntityNotFoundException(String.format(MESSAGE_NEWS_NOT_FOUND, id));
     }
 
     private Date convertStringToDate(String dateString) {
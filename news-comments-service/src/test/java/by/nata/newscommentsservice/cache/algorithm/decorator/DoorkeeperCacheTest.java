@@ -0,0 +1,102 @@
+package by.nata.newscommentsservice.cache.algorithm.decorator;
+
+import by.nata.newscommentsservice.cache.algorithm.impl.LRUCache;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import by.nata.newscommentsservice.cache.stats.CacheStatsCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DoorkeeperCacheTest {
+
+    private final CacheStatsCounter counter = new CacheStatsCounter();
+    private CacheProperties cacheProperties;
+
+    @BeforeEach
+    void setUp() {
+        cacheProperties = new CacheProperties();
+        cacheProperties.setMaxSize(3);
+    }
+
+    @Test
+    void admitKeyOnSecondPut() {
+        DoorkeeperCache<Long, String> cache = new DoorkeeperCache<>(new LRUCache<>(cacheProperties), 100, 0.01, counter);
+
+        cache.put(1L, "first");
+        assertNull(cache.get(1L));
+
+        cache.put(1L, "second");
+        assertEquals("second", cache.get(1L));
+        assertEquals(1, counter.snapshot().rejectionCount());
+    }
+
+    @Test
+    void keepHotEntriesWhenKeysAreRequestedOnce() {
+        DoorkeeperCache<Long, String> cache = new DoorkeeperCache<>(new LRUCache<>(cacheProperties), 100, 0.01, counter);
+        for (long key = 1; key <= 3; key++) {
+            cache.put(key, "hot");
+            cache.put(key, "hot");
+        }
+
+        for (long key = 100; key < 110; key++) {
+            cache.put(key, "requested once");
+        }
+
+        assertEquals("hot", cache.get(1L));
+        assertEquals("hot", cache.get(2L));
+        assertEquals("hot", cache.get(3L));
+        assertEquals(13, counter.snapshot().rejectionCount());
+    }
+
+    @Test
+    void forgetKeysWhenWindowIsFull() {
+        DoorkeeperCache<Long, String> cache = new DoorkeeperCache<>(new LRUCache<>(cacheProperties), 2, 0.01, counter);
+
+        cache.put(1L, "first");
+        cache.put(2L, "other");
+        cache.put(1L, "second");
+
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void deleteOldValueWhenPutIsRejected() {
+        DoorkeeperCache<Long, String> cache = new DoorkeeperCache<>(new LRUCache<>(cacheProperties), 2, 0.01, counter);
+        cache.put(1L, "old");
+        cache.put(1L, "old");
+        cache.put(2L, "other");
+
+        cache.put(1L, "updated");
+
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void putAllStoresOnlyAdmittedEntries() {
+        DoorkeeperCache<Long, String> cache = new DoorkeeperCache<>(new LRUCache<>(cacheProperties), 100, 0.01, counter);
+        cache.put(1L, "seen");
+        Map<Long, String> entries = new LinkedHashMap<>();
+        entries.put(1L, "A");
+        entries.put(2L, "B");
+
+        cache.putAll(entries);
+
+        assertEquals(Map.of(1L, "A"), cache.getAll(List.of(1L, 2L)));
+        assertEquals(2, counter.snapshot().rejectionCount());
+    }
+
+    @Test
+    void restoreBypassesFilter() {
+        DoorkeeperCache<Long, String> cache = new DoorkeeperCache<>(new LRUCache<>(cacheProperties), 100, 0.01, counter);
+
+        cache.restore(1L, "restored", 1);
+
+        assertEquals("restored", cache.get(1L));
+    }
+}
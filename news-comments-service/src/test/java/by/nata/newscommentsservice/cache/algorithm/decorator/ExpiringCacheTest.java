@@ -0,0 +1,136 @@
+package by.nata.newscommentsservice.cache.algorithm.decorator;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.algorithm.api.EntryVisitor;
+import by.nata.newscommentsservice.cache.algorithm.api.EvictionListener;
+import by.nata.newscommentsservice.cache.algorithm.impl.LRUCache;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ExpiringCacheTest {
+
+    private final AtomicLong ticker = new AtomicLong();
+    private CacheProperties cacheProperties;
+
+    @BeforeEach
+    void setUp() {
+        cacheProperties = new CacheProperties();
+        cacheProperties.setMaxSize(10);
+    }
+
+    @Test
+    void expireEntryAfterWrite() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(new LRUCache<>(cacheProperties),
+                Duration.ofMinutes(5), null, ticker::get);
+        cache.put("a", "A");
+
+        ticker.addAndGet(Duration.ofMinutes(4).toNanos());
+        assertEquals("A", cache.get("a"));
+
+        ticker.addAndGet(Duration.ofMinutes(1).toNanos());
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void extendEntryLifetimeOnAccessWhenExpireAfterAccess() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(new LRUCache<>(cacheProperties),
+                null, Duration.ofMinutes(5), ticker::get);
+        cache.put("a", "A");
+
+        ticker.addAndGet(Duration.ofMinutes(4).toNanos());
+        assertEquals("A", cache.get("a"));
+
+        ticker.addAndGet(Duration.ofMinutes(4).toNanos());
+        assertEquals("A", cache.get("a"));
+
+        ticker.addAndGet(Duration.ofMinutes(5).toNanos());
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void restartLifetimeWhenValueIsReplaced() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(new LRUCache<>(cacheProperties),
+                Duration.ofMinutes(5), null, ticker::get);
+        cache.put("a", "A");
+
+        ticker.addAndGet(Duration.ofMinutes(4).toNanos());
+        cache.put("a", "A2");
+        ticker.addAndGet(Duration.ofMinutes(4).toNanos());
+
+        assertEquals("A2", cache.get("a"));
+    }
+
+    @Test
+    void getAllSkipsExpiredEntries() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(new LRUCache<>(cacheProperties),
+                Duration.ofMinutes(5), null, ticker::get);
+        cache.put("a", "A");
+        ticker.addAndGet(Duration.ofMinutes(4).toNanos());
+        cache.putAll(Map.of("b", "B"));
+
+        ticker.addAndGet(Duration.ofMinutes(1).toNanos());
+
+        assertEquals(Map.of("b", "B"), cache.getAll(List.of("a", "b", "c")));
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void keepValueWrittenAfterExpiredEntryWasRead() {
+        LRUCache<String, ExpiringCache.Expirable<String>> stored = new LRUCache<>(cacheProperties);
+        List<ExpiringCache<String, String>> cacheHolder = new ArrayList<>();
+        Cache<String, ExpiringCache.Expirable<String>> racingDelegate = new Cache<>() {
+            private boolean raced;
+
+            @Override
+            public ExpiringCache.Expirable<String> get(String key) {
+                ExpiringCache.Expirable<String> expirable = stored.get(key);
+                if (!raced) {
+                    raced = true;
+                    cacheHolder.get(0).put(key, "A2");
+                }
+                return expirable;
+            }
+
+            @Override
+            public ExpiringCache.Expirable<String> put(String key, ExpiringCache.Expirable<String> value) {
+                return stored.put(key, value);
+            }
+
+            @Override
+            public void delete(String key) {
+                stored.delete(key);
+            }
+
+            @Override
+            public void setEvictionListener(EvictionListener<String, ExpiringCache.Expirable<String>> listener) {
+                stored.setEvictionListener(listener);
+            }
+
+            @Override
+            public void forEachEntry(EntryVisitor<String, ExpiringCache.Expirable<String>> visitor) {
+                stored.forEachEntry(visitor);
+            }
+        };
+        ExpiringCache<String, String> cache = new ExpiringCache<>(racingDelegate, Duration.ofMinutes(5), null, ticker::get);
+        cacheHolder.add(cache);
+        List<String> evicted = new ArrayList<>();
+        cache.setEvictionListener((key, value) -> evicted.add(value));
+        cache.put("a", "A");
+        ticker.addAndGet(Duration.ofMinutes(5).toNanos());
+
+        assertNull(cache.get("a"));
+
+        assertEquals("A2", cache.get("a"));
+        assertEquals(List.of(), evicted);
+    }
+}
@@ -0,0 +1,147 @@
+package by.nata.newscommentsservice.cache.algorithm.decorator;
+
+import by.nata.newscommentsservice.cache.algorithm.impl.ConcurrentLRUCache;
+import by.nata.newscommentsservice.cache.algorithm.impl.LRUCache;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import by.nata.newscommentsservice.service.dto.CommentResponseDto;
+import by.nata.newscommentsservice.service.dto.NewsResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WeightedCacheTest {
+
+    private WeightedCache<String, String> cache;
+    private List<String> evicted;
+
+    @BeforeEach
+    void setUp() {
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.setMaxSize(100);
+        cache = new WeightedCache<>(new LRUCache<>(cacheProperties), 100, (key, value) -> value.length());
+        evicted = new ArrayList<>();
+        cache.setEvictionListener((key, value) -> evicted.add(key));
+    }
+
+    @Test
+    void evictLeastRecentlyUsedEntriesWhenBudgetIsExceeded() {
+        cache.put("a", "x".repeat(40));
+        cache.put("b", "x".repeat(40));
+        cache.get("a");
+
+        cache.put("c", "x".repeat(40));
+
+        assertEquals(List.of("b"), evicted);
+        assertNull(cache.get("b"));
+        assertEquals(80, cache.getTotalWeight());
+    }
+
+    @Test
+    void evictSeveralLightEntriesForOneHeavyEntry() {
+        for (int i = 0; i < 10; i++) {
+            cache.put("light" + i, "x".repeat(10));
+        }
+
+        cache.put("heavy", "x".repeat(50));
+
+        assertEquals(List.of("light0", "light1", "light2", "light3", "light4", "light5"), evicted);
+        assertEquals(90, cache.getTotalWeight());
+    }
+
+    @Test
+    void neverCacheEntryHeavierThanBudget() {
+        cache.put("a", "x".repeat(10));
+
+        cache.put("a", "x".repeat(101));
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.getTotalWeight());
+    }
+
+    @Test
+    void releaseWeightOfReplacedAndDeletedEntries() {
+        cache.putAll(Map.of("a", "x".repeat(30), "b", "x".repeat(30)));
+        cache.put("a", "x".repeat(10));
+
+        cache.delete("b");
+
+        assertEquals(10, cache.getTotalWeight());
+        assertEquals(List.of(), evicted);
+    }
+
+    @Test
+    void weighNewsByItsTextLength() {
+        RetainedSizeWeigher<Long, Object> weigher = new RetainedSizeWeigher<>();
+        NewsResponseDto news = new NewsResponseDto(1L, "2024-01-01 10:00", "Title", "x".repeat(10_000), "author");
+        CommentResponseDto comment = new CommentResponseDto(1L, "Nice", "reader", "2024-01-01 11:00", 1L);
+
+        long newsWeight = weigher.weigh(1L, news);
+        long commentWeight = weigher.weigh(1L, comment);
+
+        assertTrue(newsWeight > 10_000, "news weight " + newsWeight);
+        assertTrue(newsWeight > 20 * commentWeight, "news " + newsWeight + ", comment " + commentWeight);
+    }
+
+    @Test
+    void releaseWeightOfExpiredEntriesBeforeEvictingLiveOnes() {
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.setMaxSize(100);
+        AtomicLong ticker = new AtomicLong();
+        ExpiringCache<String, String> expiring = new ExpiringCache<>(new LRUCache<>(cacheProperties),
+                Duration.ofSeconds(10), null, ticker::get);
+        WeightedCache<String, String> weighted = new WeightedCache<>(expiring, 1000, (key, value) -> 100);
+        List<String> evictedKeys = new ArrayList<>();
+        weighted.setEvictionListener((key, value) -> evictedKeys.add(key));
+        for (int i = 0; i < 9; i++) {
+            weighted.put("old" + i, "value");
+        }
+        ticker.addAndGet(Duration.ofSeconds(11).toNanos());
+
+        for (int i = 0; i < 5; i++) {
+            weighted.put("new" + i, "value");
+        }
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("value", weighted.get("new" + i));
+        }
+        assertEquals(500, weighted.getTotalWeight());
+        assertEquals(9, evictedKeys.size());
+        assertTrue(evictedKeys.stream().allMatch(key -> key.startsWith("old")));
+        List<String> stored = new ArrayList<>();
+        expiring.forEachEntry((key, value, frequency) -> stored.add(key));
+        assertEquals(List.of("new0", "new1", "new2", "new3", "new4"), stored);
+    }
+
+    @Test
+    void keepTotalWeightWithinBudgetUnderConcurrentWrites() throws InterruptedException {
+        WeightedCache<String, String> concurrent = new WeightedCache<>(new ConcurrentLRUCache<>(1000, 16), 5000,
+                (key, value) -> value.length());
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int writer = t;
+            writers.add(new Thread(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    concurrent.put(writer + ":" + i, "x".repeat(10 + i % 90));
+                }
+            }));
+        }
+        writers.forEach(Thread::start);
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        AtomicLong stored = new AtomicLong();
+        concurrent.forEachEntry((key, value, frequency) -> stored.addAndGet(value.length()));
+        assertTrue(stored.get() <= concurrent.getTotalWeight(), "stored " + stored + ", total " + concurrent.getTotalWeight());
+        assertTrue(concurrent.getTotalWeight() <= 5000, "total weight " + concurrent.getTotalWeight());
+    }
+}
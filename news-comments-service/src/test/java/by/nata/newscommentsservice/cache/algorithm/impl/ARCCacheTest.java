@@ -0,0 +1,82 @@
+package by.nata.newscommentsservice.cache.algorithm.impl;
+
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ARCCacheTest {
+
+    private ARCCache<Integer, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.setMaxSize(10);
+        cache = new ARCCache<>(cacheProperties);
+    }
+
+    @Test
+    void keepFrequentlyUsedEntriesWhenScanned() {
+        for (int key = 0; key < 5; key++) {
+            getOrLoad(key);
+            getOrLoad(key);
+        }
+
+        for (int key = 100; key < 200; key++) {
+            getOrLoad(key);
+        }
+
+        for (int key = 0; key < 5; key++) {
+            assertEquals("value" + key, cache.get(key));
+        }
+    }
+
+    @Test
+    void promoteKeyRememberedByGhostList() {
+        getOrLoad(0);
+        getOrLoad(0);
+        for (int key = 1; key <= 10; key++) {
+            getOrLoad(key);
+        }
+        assertNull(cache.get(1));
+
+        getOrLoad(1);
+
+        List<String> visited = new ArrayList<>();
+        cache.forEachEntry((key, value, frequency) -> visited.add(key + ":" + frequency));
+        assertEquals("1:2", visited.get(visited.size() - 1));
+    }
+
+    @Test
+    void neverExceedMaximumSize() {
+        for (int key = 0; key < 1_000; key++) {
+            getOrLoad(key);
+            getOrLoad(key % 7);
+        }
+
+        List<Integer> visited = new ArrayList<>();
+        cache.forEachEntry((key, value, frequency) -> visited.add(key));
+        assertEquals(10, visited.size());
+    }
+
+    @Test
+    void deleteRemovesEntry() {
+        getOrLoad(1);
+
+        cache.delete(1);
+
+        assertNull(cache.get(1));
+    }
+
+    private void getOrLoad(int key) {
+        if (cache.get(key) == null) {
+            cache.put(key, "value" + key);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package by.nata.newscommentsservice.cache.algorithm.impl;
+
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import by.nata.newscommentsservice.cache.stats.CacheStatsRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveCacheTest {
+
+    private static final int HOT_KEYS = 32;
+
+    private CacheProperties cacheProperties;
+    private AdaptiveCache<Integer, String> cache;
+    // The gauges only hold the cache weakly, so the registry holding it strongly must stay reachable
+    private CacheStatsRegistry cacheStatsRegistry;
+
+    @BeforeEach
+    void setUp() {
+        cacheProperties = new CacheProperties();
+        cacheProperties.setMaxSize(64);
+        cacheProperties.getAdaptive().setPolicies(List.of("LRU", "LFU"));
+        cacheProperties.getAdaptive().setSampleRate(1.0);
+        cacheProperties.getAdaptive().setEvaluationPeriod(1_000);
+        cacheProperties.getAdaptive().setRequiredWindows(2);
+        cache = new AdaptiveCache<>(cacheProperties);
+    }
+
+    @Test
+    void startWithFirstCandidatePolicy() {
+        cache.put(1, "one");
+
+        assertEquals("LRU", cache.getPolicy());
+        assertEquals("one", cache.get(1));
+        assertEquals(0, cache.getSwitchCount());
+    }
+
+    @Test
+    void switchToPolicyWithBetterShadowHitRatio() {
+        readHotKeysTwiceBetweenScans(5_000);
+
+        assertEquals("LFU", cache.getPolicy());
+        assertEquals(1, cache.getSwitchCount());
+        assertTrue(cache.getShadowHitRatios().get("LFU") > cache.getShadowHitRatios().get("LRU"));
+    }
+
+    @Test
+    void keepEntriesWhenSwitchingPolicy() {
+        readHotKeysTwiceBetweenScans(5_000);
+
+        for (int key = 0; key < HOT_KEYS; key++) {
+            assertEquals("value" + key, cache.get(key));
+        }
+    }
+
+    @Test
+    void publishPolicyDecisionsAsMeters() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        cacheStatsRegistry = new CacheStatsRegistry(meterRegistry);
+        cacheStatsRegistry.registerAdaptive("news", cache);
+
+        readHotKeysTwiceBetweenScans(5_000);
+
+        assertEquals(1.0, meterRegistry.get("custom.cache.adaptive.active").tag("policy", "LFU").gauge().value());
+        assertEquals(0.0, meterRegistry.get("custom.cache.adaptive.active").tag("policy", "LRU").gauge().value());
+        assertEquals(1.0, meterRegistry.get("custom.cache.adaptive.switches").functionCounter().count());
+    }
+
+    @Test
+    void rejectUnknownPolicy() {
+        cacheProperties.getAdaptive().setPolicies(List.of("LRU", "RANDOM"));
+
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveCache<>(cacheProperties));
+    }
+
+    private void readHotKeysTwiceBetweenScans(int rounds) {
+        int scanKey = 1_000;
+        for (int round = 0; round < rounds; round++) {
+            getOrLoad(round % HOT_KEYS);
+            getOrLoad(round % HOT_KEYS);
+            for (int i = 0; i < 4; i++) {
+                getOrLoad(scanKey++);
+            }
+        }
+    }
+
+    private void getOrLoad(int key) {
+        if (cache.get(key) == null) {
+            cache.put(key, "value" + key);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package by.nata.newscommentsservice.cache.algorithm.impl;
+
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ClockCacheTest {
+
+    private ClockCache<String, String> cache;
+    private List<String> evicted;
+
+    @BeforeEach
+    void setUp() {
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.setMaxSize(3);
+        cache = new ClockCache<>(cacheProperties);
+        evicted = new ArrayList<>();
+        cache.setEvictionListener((key, value) -> evicted.add(key));
+    }
+
+    @Test
+    void giveReferencedEntriesSecondChance() {
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.put("c", "C");
+        cache.get("a");
+
+        cache.put("d", "D");
+
+        assertEquals(List.of("b"), evicted);
+        assertEquals("A", cache.get("a"));
+        assertEquals("C", cache.get("c"));
+        assertEquals("D", cache.get("d"));
+    }
+
+    @Test
+    void evictInInsertionOrderWhenNothingIsReferenced() {
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.put("c", "C");
+
+        cache.put("d", "D");
+        cache.put("e", "E");
+
+        assertEquals(List.of("a", "b"), evicted);
+    }
+
+    @Test
+    void deleteRemovesEntryAndFreesCapacity() {
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.put("c", "C");
+
+        cache.delete("b");
+        cache.put("d", "D");
+
+        assertNull(cache.get("b"));
+        assertEquals("A", cache.get("a"));
+        assertEquals("C", cache.get("c"));
+        assertEquals("D", cache.get("d"));
+        assertEquals(List.of(), evicted);
+    }
+
+    @Test
+    void visitUnreferencedEntriesFirst() {
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.get("a");
+        List<String> visited = new ArrayList<>();
+
+        cache.forEachEntry((key, value, frequency) -> visited.add(key + frequency));
+
+        assertEquals(List.of("b1", "a2"), visited);
+    }
+}
@@ -0,0 +1,94 @@
+package by.nata.newscommentsservice.cache.algorithm.impl;
+
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ConcurrentLRUCacheTest {
+
+    @Test
+    void evictLeastRecentlyUsedWhenSingleSegmentIsFull() {
+        ConcurrentLRUCache<String, String> cache = new ConcurrentLRUCache<>(createProperties(3, 1));
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.put("c", "C");
+        cache.get("a");
+
+        cache.put("d", "D");
+
+        assertNull(cache.get("b"));
+        assertEquals("A", cache.get("a"));
+        assertEquals("C", cache.get("c"));
+        assertEquals("D", cache.get("d"));
+    }
+
+    @Test
+    void getAllReturnsFoundEntriesInKeyOrderAcrossSegments() {
+        ConcurrentLRUCache<Integer, String> cache = new ConcurrentLRUCache<>(createProperties(64, 8));
+        Map<Integer, String> entries = new LinkedHashMap<>();
+        for (int key = 0; key < 20; key++) {
+            entries.put(key, "value" + key);
+        }
+        cache.putAll(entries);
+
+        Map<Integer, String> found = cache.getAll(List.of(19, 100, 3, 11, 0));
+
+        assertEquals(List.of(19, 3, 11, 0), new ArrayList<>(found.keySet()));
+        assertEquals("value11", found.get(11));
+    }
+
+    @Test
+    void deleteRemovesEntry() {
+        ConcurrentLRUCache<String, String> cache = new ConcurrentLRUCache<>(createProperties(8, 4));
+        cache.put("a", "A");
+
+        cache.delete("a");
+
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void keepConsistentValuesUnderConcurrentAccess() throws Exception {
+        ConcurrentLRUCache<Integer, Integer> cache = new ConcurrentLRUCache<>(createProperties(64, 16));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        int key = ThreadLocalRandom.current().nextInt(256);
+                        Integer value = cache.get(key);
+                        if (value == null) {
+                            cache.put(key, key * 10);
+                        } else {
+                            assertEquals(key * 10, value);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static CacheProperties createProperties(int maxSize, int concurrencyLevel) {
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.setMaxSize(maxSize);
+        cacheProperties.setConcurrencyLevel(concurrencyLevel);
+        return cacheProperties;
+    }
+}
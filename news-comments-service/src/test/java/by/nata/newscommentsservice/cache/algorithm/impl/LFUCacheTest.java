@@ -0,0 +1,80 @@
+package by.nata.newscommentsservice.cache.algorithm.impl;
+
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LFUCacheTest {
+
+    private LFUCache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.setMaxSize(3);
+        cache = new LFUCache<>(cacheProperties);
+    }
+
+    @Test
+    void evictLeastFrequentlyUsedWhenCacheIsFull() {
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.put("c", "C");
+        cache.get("a");
+        cache.get("b");
+
+        cache.put("d", "D");
+
+        assertNull(cache.get("c"));
+        assertEquals("A", cache.get("a"));
+        assertEquals("B", cache.get("b"));
+        assertEquals("D", cache.get("d"));
+    }
+
+    @Test
+    void evictLeastRecentlyUsedWhenFrequenciesAreEqual() {
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.put("c", "C");
+        cache.get("b");
+        cache.get("a");
+        cache.get("c");
+
+        cache.put("d", "D");
+
+        assertNull(cache.get("b"));
+        assertEquals("A", cache.get("a"));
+        assertEquals("C", cache.get("c"));
+    }
+
+    @Test
+    void keepFrequencyWhenValueIsReplaced() {
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.put("a", "A2");
+        cache.put("c", "C");
+
+        cache.put("d", "D");
+
+        assertEquals("A2", cache.get("a"));
+        assertNull(cache.get("b"));
+    }
+
+    @Test
+    void deleteRemovesEntryAndFreesCapacity() {
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.put("c", "C");
+
+        cache.delete("b");
+        cache.put("d", "D");
+
+        assertNull(cache.get("b"));
+        assertEquals("A", cache.get("a"));
+        assertEquals("C", cache.get("c"));
+        assertEquals("D", cache.get("d"));
+    }
+}
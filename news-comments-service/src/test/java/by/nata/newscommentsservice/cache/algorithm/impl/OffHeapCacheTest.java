@@ -0,0 +1,155 @@
+package by.nata.newscommentsservice.cache.algorithm.impl;
+
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import by.nata.newscommentsservice.service.dto.NewsResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class OffHeapCacheTest {
+
+    private OffHeapCache<Object, Object> cache;
+    private List<Object> evicted;
+    private CacheProperties cacheProperties;
+
+    @BeforeEach
+    void setUp() {
+        cacheProperties = new CacheProperties();
+        cacheProperties.getOffHeap().setMaxBytes(DataSize.ofBytes(4096));
+        cacheProperties.getOffHeap().setSlabSize(DataSize.ofBytes(1024));
+        cacheProperties.getSerialization().setCompressionThreshold(0);
+        cache = new OffHeapCache<>(cacheProperties);
+        evicted = new ArrayList<>();
+        cache.setEvictionListener((key, value) -> evicted.add(key));
+    }
+
+    @Test
+    void decodeStoredValueOnEveryRead() {
+        NewsResponseDto news = news(1L, "Text");
+        cache.put(1L, news);
+
+        Object first = cache.get(1L);
+        Object second = cache.get(1L);
+
+        assertEquals(news, first);
+        assertEquals(news, second);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void replaceValueOfExistingKey() {
+        cache.put(1L, news(1L, "Old"));
+        cache.put(1L, news(1L, "New"));
+
+        assertEquals(news(1L, "New"), cache.get(1L));
+        assertEquals(1, cache.size());
+        assertEquals(List.of(), evicted);
+    }
+
+    @Test
+    void deleteRemovesEntry() {
+        cache.put(1L, news(1L, "Text"));
+        cache.put("1", "One");
+
+        cache.delete(1L);
+
+        assertNull(cache.get(1L));
+        assertEquals("One", cache.get("1"));
+    }
+
+    @Test
+    void evictOldestSlabWhenMemoryLimitIsReached() {
+        for (long id = 1; id <= 40; id++) {
+            cache.put(id, news(id, "x".repeat(200)));
+        }
+
+        assertNull(cache.get(1L));
+        assertEquals(news(40L, "x".repeat(200)), cache.get(40L));
+        assertEquals(1L, evicted.get(0));
+        assertEquals(40, cache.size() + evicted.size());
+    }
+
+    @Test
+    void neverCacheValueLargerThanSlab() {
+        cache.put(1L, news(1L, "Short"));
+
+        cache.put(1L, news(1L, "x".repeat(2048)));
+
+        assertNull(cache.get(1L));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void keepKeysSharingIdApart() {
+        cache.put(7L, "Long");
+        cache.put(7, "Integer");
+
+        assertNull(cache.get(7L));
+        assertEquals("Integer", cache.get(7));
+        assertEquals(List.of(7L), evicted);
+    }
+
+    @Test
+    void visitEntriesFromOldestToNewest() {
+        for (long id = 1; id <= 12; id++) {
+            cache.put(id, news(id, "x".repeat(200)));
+        }
+        List<Object> visited = new ArrayList<>();
+
+        cache.forEachEntry((key, value, frequency) -> {
+            assertNotNull(value);
+            visited.add(key);
+        });
+
+        assertEquals(cache.size(), visited.size());
+        assertEquals(12L, visited.get(visited.size() - 1));
+        for (int i = 1; i < visited.size(); i++) {
+            assertEquals((Long) visited.get(i - 1) + 1, visited.get(i));
+        }
+    }
+
+    @Test
+    void skipDecodingRecycledRecordsWithoutEvictionListener() {
+        OffHeapCache<Object, Object> unobserved = new OffHeapCache<>(cacheProperties);
+        DecodeCounter.DECODED.set(0);
+
+        for (long id = 1; id <= 40; id++) {
+            unobserved.put(id, new DecodeCounter("x".repeat(200)));
+        }
+
+        assertNull(unobserved.get(1L));
+        assertEquals(0, DecodeCounter.DECODED.get());
+    }
+
+    private static NewsResponseDto news(Long id, String text) {
+        return new NewsResponseDto(id, "2024-01-01 10:00", "Title " + id, text, "author");
+    }
+
+    private static class DecodeCounter implements Serializable {
+
+        private static final AtomicInteger DECODED = new AtomicInteger();
+        private final String text;
+
+        DecodeCounter(String text) {
+            this.text = text;
+        }
+
+        @Serial
+        private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+            in.defaultReadObject();
+            DECODED.incrementAndGet();
+        }
+    }
+}
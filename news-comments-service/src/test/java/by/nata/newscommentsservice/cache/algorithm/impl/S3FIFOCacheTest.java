@@ -0,0 +1,90 @@
+package by.nata.newscommentsservice.cache.algorithm.impl;
+
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class S3FIFOCacheTest {
+
+    private S3FIFOCache<Integer, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.setMaxSize(10);
+        cache = new S3FIFOCache<>(cacheProperties);
+    }
+
+    @Test
+    void keepEntriesReadWhileInSmallQueueWhenScanned() {
+        getOrLoad(1);
+        getOrLoad(1);
+
+        for (int key = 100; key < 200; key++) {
+            getOrLoad(key);
+        }
+
+        assertEquals("value1", cache.get(1));
+    }
+
+    @Test
+    void admitKeyRememberedByGhostQueueIntoMainQueue() {
+        for (int key = 0; key <= 10; key++) {
+            getOrLoad(key);
+        }
+        assertNull(cache.get(0));
+
+        getOrLoad(0);
+        for (int key = 100; key < 200; key++) {
+            getOrLoad(key);
+        }
+
+        assertEquals("value0", cache.get(0));
+    }
+
+    @Test
+    void evictOneHitWondersFirst() {
+        List<Integer> evicted = new ArrayList<>();
+        cache.setEvictionListener((key, value) -> evicted.add(key));
+        for (int key = 0; key < 10; key++) {
+            getOrLoad(key);
+        }
+
+        getOrLoad(10);
+
+        assertEquals(List.of(0), evicted);
+    }
+
+    @Test
+    void neverExceedMaximumSize() {
+        for (int key = 0; key < 1_000; key++) {
+            getOrLoad(key);
+            getOrLoad(key % 7);
+        }
+
+        List<Integer> visited = new ArrayList<>();
+        cache.forEachEntry((key, value, frequency) -> visited.add(key));
+        assertEquals(10, visited.size());
+    }
+
+    @Test
+    void deleteRemovesEntry() {
+        getOrLoad(1);
+
+        cache.delete(1);
+
+        assertNull(cache.get(1));
+    }
+
+    private void getOrLoad(int key) {
+        if (cache.get(key) == null) {
+            cache.put(key, "value" + key);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package by.nata.newscommentsservice.cache.algorithm.impl;
+
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TinyLFUCacheTest {
+
+    private TinyLFUCache<Integer, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.setMaxSize(100);
+        cache = new TinyLFUCache<>(cacheProperties);
+    }
+
+    @Test
+    void keepFrequentlyUsedEntriesWhenScanned() {
+        for (int round = 0; round < 5; round++) {
+            for (int key = 0; key < 20; key++) {
+                getOrLoad(key);
+            }
+        }
+
+        for (int key = 1_000; key < 1_500; key++) {
+            getOrLoad(key);
+        }
+
+        for (int key = 0; key < 20; key++) {
+            assertEquals("value" + key, cache.get(key));
+        }
+    }
+
+    @Test
+    void neverExceedMaximumSize() {
+        for (int key = 0; key < 1_000; key++) {
+            getOrLoad(key);
+        }
+
+        int present = 0;
+        for (int key = 0; key < 1_000; key++) {
+            if (cache.get(key) != null) {
+                present++;
+            }
+        }
+        assertEquals(100, present);
+    }
+
+    @Test
+    void deleteRemovesEntry() {
+        getOrLoad(1);
+
+        cache.delete(1);
+
+        assertNull(cache.get(1));
+    }
+
+    private void getOrLoad(int key) {
+        if (cache.get(key) == null) {
+            cache.put(key, "value" + key);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package by.nata.newscommentsservice.cache.algorithm.impl;
+
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TwoQueueCacheTest {
+
+    private TwoQueueCache<Integer, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.setMaxSize(8);
+        cache = new TwoQueueCache<>(cacheProperties);
+    }
+
+    @Test
+    void promoteKeyRememberedByGhostQueue() {
+        for (int key = 0; key <= 8; key++) {
+            cache.put(key, "value" + key);
+        }
+        assertNull(cache.get(0));
+
+        cache.put(0, "value0");
+
+        List<String> visited = new ArrayList<>();
+        cache.forEachEntry((key, value, frequency) -> visited.add(key + ":" + frequency));
+        assertEquals("0:2", visited.get(visited.size() - 1));
+    }
+
+    @Test
+    void keepPromotedEntriesWhenScanned() {
+        for (int key = 0; key <= 8; key++) {
+            cache.put(key, "value" + key);
+        }
+        cache.put(0, "value0");
+
+        for (int key = 100; key < 200; key++) {
+            cache.put(key, "value" + key);
+        }
+
+        assertEquals("value0", cache.get(0));
+    }
+
+    @Test
+    void neverExceedMaximumSize() {
+        for (int key = 0; key < 100; key++) {
+            cache.put(key, "value" + key);
+            cache.put(key % 10, "value" + key % 10);
+        }
+
+        List<Integer> visited = new ArrayList<>();
+        cache.forEachEntry((key, value, frequency) -> visited.add(key));
+        assertEquals(8, visited.size());
+    }
+
+    @Test
+    void deleteRemovesEntry() {
+        cache.put(1, "value1");
+
+        cache.delete(1);
+
+        assertNull(cache.get(1));
+    }
+}
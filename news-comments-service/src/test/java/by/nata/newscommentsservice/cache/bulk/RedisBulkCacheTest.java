@@ -0,0 +1,109 @@
+package by.nata.newscommentsservice.cache.bulk;
+
+import by.nata.newscommentsservice.cache.codec.StampedValue;
+import by.nata.newscommentsservice.cache.key.RedisCacheKeys;
+import by.nata.newscommentsservice.cache.tag.CacheTags;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RedisBulkCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private RedisCache redisCache;
+    private RedisConnection connection;
+    private RedisStringCommands stringCommands;
+    private CacheTags cacheTags;
+    private RedisBulkCache bulkCache;
+
+    @BeforeEach
+    void setUp() {
+        RedisCacheManager cacheManager = RedisCacheManager.builder(mock(RedisCacheWriter.class))
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig().entryTtl(TTL))
+                .build();
+        redisCache = (RedisCache) cacheManager.getCache("comment");
+        RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+        connection = mock(RedisConnection.class);
+        stringCommands = mock(RedisStringCommands.class);
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        cacheTags = mock(CacheTags.class);
+        bulkCache = new RedisBulkCache(cacheManager, connectionFactory, cacheTags);
+    }
+
+    @Test
+    void readAllKeysWithSingleMget() {
+        when(stringCommands.mGet(any(byte[][].class))).thenReturn(Arrays.asList(
+                serializeValue("comment 1"),
+                null,
+                serializeValue(new StampedValue("comment 3", 1700000000000L, 5L)),
+                "unreadable".getBytes(StandardCharsets.UTF_8)));
+
+        Map<Long, String> found = bulkCache.getAll("comment", List.of(1L, 2L, 3L, 4L));
+
+        assertEquals(Map.of(1L, "comment 1", 3L, "comment 3"), found);
+        ArgumentCaptor<byte[][]> keys = ArgumentCaptor.forClass(byte[][].class);
+        verify(stringCommands).mGet(keys.capture());
+        assertArrayEquals(new byte[][]{key(1L), key(2L), key(3L), key(4L)}, keys.getValue());
+        verify(connection).close();
+    }
+
+    @Test
+    void writeAllEntriesWithPipelinedSetAndTimeToLive() {
+        Map<Long, String> entries = new LinkedHashMap<>();
+        entries.put(1L, "comment 1");
+        entries.put(2L, "comment 2");
+
+        bulkCache.putAll("comment", entries);
+
+        InOrder inOrder = inOrder(connection, stringCommands, cacheTags);
+        inOrder.verify(connection).openPipeline();
+        ArgumentCaptor<byte[]> keys = ArgumentCaptor.forClass(byte[].class);
+        ArgumentCaptor<byte[]> values = ArgumentCaptor.forClass(byte[].class);
+        ArgumentCaptor<Expiration> expirations = ArgumentCaptor.forClass(Expiration.class);
+        inOrder.verify(stringCommands, times(2)).set(keys.capture(), values.capture(), expirations.capture(),
+                eq(RedisStringCommands.SetOption.upsert()));
+        inOrder.verify(connection).closePipeline();
+        inOrder.verify(cacheTags).tagWritten("comment", entries);
+        assertArrayEquals(key(1L), keys.getAllValues().get(0));
+        assertArrayEquals(key(2L), keys.getAllValues().get(1));
+        assertArrayEquals(serializeValue("comment 1"), values.getAllValues().get(0));
+        assertEquals(TTL.toMillis(), expirations.getValue().getExpirationTimeInMilliseconds());
+    }
+
+    private byte[] key(Long id) {
+        return RedisCacheKeys.serialize(redisCache, id);
+    }
+
+    private byte[] serializeValue(Object value) {
+        return ByteUtils.getBytes(redisCache.getCacheConfiguration().getValueSerializationPair().write(value));
+    }
+}
@@ -0,0 +1,50 @@
+package by.nata.newscommentsservice.cache.codec;
+
+import by.nata.newscommentsservice.service.dto.CommentResponseDto;
+import by.nata.newscommentsservice.service.dto.NewsResponseDto;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactCodecTest {
+
+    @Test
+    void decodeEncodedValues() {
+        NewsResponseDto news = new NewsResponseDto(1L, "2023-11-20 10:00:00", "Title", "\u0422\u0435\u043a\u0441\u0442", "journalist");
+        CommentResponseDto comment = new CommentResponseDto(2L, "Comment", null, "2023-11-20 11:00:00", 1L);
+        BinaryOutput output = new BinaryOutput(16);
+
+        for (Object value : new Object[]{news, comment, -5L, Long.MAX_VALUE, 42, "key", null}) {
+            CompactCodec.encode(value, output);
+        }
+        BinaryInput input = new BinaryInput(output.toByteArray());
+
+        assertEquals(news, CompactCodec.decode(input));
+        assertEquals(comment, CompactCodec.decode(input));
+        assertEquals(-5L, CompactCodec.decode(input));
+        assertEquals(Long.MAX_VALUE, CompactCodec.decode(input));
+        assertEquals(42, CompactCodec.decode(input));
+        assertEquals("key", CompactCodec.decode(input));
+        assertEquals(null, CompactCodec.decode(input));
+        assertFalse(input.hasRemaining());
+    }
+
+    @Test
+    void encodeSmallIdsInFewBytes() {
+        BinaryOutput output = new BinaryOutput();
+
+        CompactCodec.encode(7L, output);
+
+        assertEquals(2, output.position());
+    }
+
+    @Test
+    void rejectUnsupportedTypes() {
+        assertTrue(CompactCodec.supports(1L));
+        assertFalse(CompactCodec.supports(new Object()));
+        assertThrows(IllegalArgumentException.class, () -> CompactCodec.encode(new Object(), new BinaryOutput()));
+    }
+}
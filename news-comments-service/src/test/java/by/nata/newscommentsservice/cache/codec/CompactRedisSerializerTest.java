@@ -0,0 +1,91 @@
+package by.nata.newscommentsservice.cache.codec;
+
+import by.nata.newscommentsservice.service.dto.CommentResponseDto;
+import by.nata.newscommentsservice.service.dto.NewsResponseDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactRedisSerializerTest {
+
+    private final CompactRedisSerializer serializer = new CompactRedisSerializer(1024);
+
+    @Test
+    void deserializeSerializedValues() {
+        NewsResponseDto news = new NewsResponseDto(1L, "2023-11-20 10:00:00", "Title", "Text", "journalist");
+        CommentResponseDto comment = new CommentResponseDto(2L, "Comment", "subscriber", "2023-11-20 11:00:00", 1L);
+        StampedValue stamped = new StampedValue(news, 1700000000000L, 35L);
+
+        assertEquals(news, serializer.deserialize(serializer.serialize(news)));
+        assertEquals(comment, serializer.deserialize(serializer.serialize(comment)));
+        assertEquals(stamped, serializer.deserialize(serializer.serialize(stamped)));
+        assertEquals(7L, serializer.deserialize(serializer.serialize(7L)));
+    }
+
+    @Test
+    void serializeNullAsEmptyPayload() {
+        assertArrayEquals(new byte[0], serializer.serialize(null));
+        assertNull(serializer.deserialize(new byte[0]));
+        assertNull(serializer.deserialize(null));
+    }
+
+    @Test
+    void compressLongText() {
+        NewsResponseDto news = new NewsResponseDto(1L, "2023-11-20 10:00:00", "Title",
+                "The quick brown fox jumps over the lazy dog. ".repeat(200), "journalist");
+
+        byte[] compressed = serializer.serialize(news);
+        byte[] uncompressed = new CompactRedisSerializer(0).serialize(news);
+
+        assertTrue(compressed.length < uncompressed.length / 4);
+        assertEquals(news, serializer.deserialize(compressed));
+        assertEquals(news, serializer.deserialize(uncompressed));
+    }
+
+    @Test
+    void serializeSmallerThanJavaSerialization() {
+        CommentResponseDto comment = new CommentResponseDto(2L, "Comment", "subscriber", "2023-11-20 11:00:00", 1L);
+        NewsResponseDto news = new NewsResponseDto(1L, "2023-11-20 10:00:00", "Title",
+                "The quick brown fox jumps over the lazy dog. ".repeat(3), "journalist");
+        StampedValue longNews = new StampedValue(new NewsResponseDto(1L, "2023-11-20 10:00:00", "Title",
+                "The quick brown fox jumps over the lazy dog. ".repeat(200), "journalist"), 1700000000000L, 12L);
+        JdkSerializationRedisSerializer javaSerializer = new JdkSerializationRedisSerializer();
+
+        assertTrue(serializer.serialize(comment).length * 5 < javaSerializer.serialize(comment).length);
+        assertTrue(serializer.serialize(news).length * 2 < javaSerializer.serialize(news).length);
+        assertTrue(serializer.serialize(longNews).length * 4 < javaSerializer.serialize(longNews).length);
+    }
+
+    @Test
+    void fallBackToJavaSerializationForUnsupportedTypes() {
+        List<Long> ids = new ArrayList<>(List.of(1L, 2L, 3L));
+        StampedValue stamped = new StampedValue(ids, 1700000000000L, 5L);
+
+        assertEquals(ids, serializer.deserialize(serializer.serialize(ids)));
+        assertEquals(stamped, serializer.deserialize(serializer.serialize(stamped)));
+    }
+
+    @Test
+    void readValuesWrittenWithJavaSerialization() {
+        NewsResponseDto news = new NewsResponseDto(1L, "2023-11-20 10:00:00", "Title", "Text", "journalist");
+
+        byte[] legacy = new JdkSerializationRedisSerializer().serialize(news);
+
+        assertEquals(news, serializer.deserialize(legacy));
+    }
+
+    @Test
+    void rejectUnknownPayloads() {
+        assertThrows(SerializationException.class, () -> serializer.deserialize(new byte[]{0x7F, 1, 2}));
+        assertThrows(SerializationException.class, () -> serializer.deserialize(new byte[]{0x10, 9}));
+    }
+}
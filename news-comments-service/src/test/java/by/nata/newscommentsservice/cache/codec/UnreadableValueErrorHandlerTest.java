@@ -0,0 +1,35 @@
+package by.nata.newscommentsservice.cache.codec;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UnreadableValueErrorHandlerTest {
+
+    private final UnreadableValueErrorHandler errorHandler = new UnreadableValueErrorHandler();
+    private final Cache cache = new ConcurrentMapCache("news");
+
+    @Test
+    void evictValueThatCannotBeDeserialized() {
+        cache.put(1L, "payload of another format");
+
+        errorHandler.handleCacheGetError(new IllegalStateException("Cannot read value",
+                new SerializationException("Cannot deserialize")), cache, 1L);
+
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void rethrowOtherErrors() {
+        cache.put(1L, "news 1");
+        IllegalStateException exception = new IllegalStateException("Connection lost");
+
+        assertSame(exception, assertThrows(IllegalStateException.class,
+                () -> errorHandler.handleCacheGetError(exception, cache, 1L)));
+    }
+}
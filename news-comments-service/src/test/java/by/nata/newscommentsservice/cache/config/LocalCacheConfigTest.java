@@ -0,0 +1,107 @@
+package by.nata.newscommentsservice.cache.config;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.algorithm.impl.CacheAlgorithms;
+import by.nata.newscommentsservice.cache.algorithm.impl.ConcurrentLRUCache;
+import by.nata.newscommentsservice.cache.aspect.CachingAspect;
+import by.nata.newscommentsservice.cache.manager.LocalCacheManager;
+import by.nata.newscommentsservice.cache.stats.CacheStatsRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Profiles;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = LocalCacheConfigTest.SpringProfileConfig.class, properties = "ACTIVE_PROFILE=spring")
+class LocalCacheConfigTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CacheRegistry cacheRegistry;
+
+    @Autowired
+    private NewsLoader newsLoader;
+
+    @Test
+    void startSpringProfileWithAlgorithmAndCacheNamesOfProfileFile() {
+        assertInstanceOf(LocalCacheManager.class, cacheManager);
+        assertInstanceOf(ConcurrentLRUCache.class, context.getBean(Cache.class));
+        assertEquals(List.of("news", "comment", "newsWithComments"), cacheManager.getCacheNames());
+        assertNull(cacheManager.getCache("users"));
+        assertTrue(context.getBeansOfType(CachingAspect.class).isEmpty());
+    }
+
+    @Test
+    void serveCacheableMethodsFromConfiguredAlgorithm() {
+        assertEquals("News 1", newsLoader.load(1L));
+        assertEquals("News 1", newsLoader.load(1L));
+
+        assertEquals(1, newsLoader.getLoadCount());
+        assertEquals("News 1", cacheRegistry.getCache("news").get(1L));
+    }
+
+    @Test
+    void leaveCachingAspectOffWhenSpringIsCombinedWithDev() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.setActiveProfiles("dev", "spring");
+
+        assertFalse(environment.acceptsProfiles(Profiles.of(CachingAspect.class.getAnnotation(Profile.class).value())));
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(CacheProperties.class)
+    @ComponentScan(basePackageClasses = CacheAlgorithms.class)
+    @Import({LocalCacheConfig.class, CacheFactory.class, CacheRegistry.class, CacheStatsRegistry.class, CachingAspect.class})
+    static class SpringProfileConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        NewsLoader newsLoader() {
+            return new NewsLoader();
+        }
+    }
+
+    static class NewsLoader {
+
+        private final AtomicInteger loads = new AtomicInteger();
+
+        @Cacheable(cacheNames = "news", key = "#id", sync = true)
+        public String load(Long id) {
+            loads.incrementAndGet();
+            return "News " + id;
+        }
+
+        public int getLoadCount() {
+            return loads.get();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package by.nata.newscommentsservice.cache.hotkey;
+
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class HotKeyCacheTest {
+
+    private final AtomicLong ticker = new AtomicLong();
+    private final Cache delegate = spy(new ConcurrentMapCache("news"));
+    private HotKeyDetector detector;
+    private HotKeyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        CacheProperties.HotKeys settings = new CacheProperties.HotKeys();
+        settings.setCapacity(8);
+        settings.setSampleRate(1.0);
+        settings.setMinShare(0.5);
+        detector = new HotKeyDetector(settings);
+        cache = new HotKeyCache(delegate, detector, Duration.ofSeconds(1), 16, ticker::get);
+        for (long key = 1; key <= 10; key++) {
+            delegate.put(key, "news " + key);
+        }
+    }
+
+    @Test
+    void detectKeyReceivingMostReads() {
+        readMostlyKeyOne(20);
+
+        assertTrue(detector.isHot(1L));
+        assertFalse(detector.isHot(2L));
+        assertEquals(List.of(1L), detector.getHotKeys().stream().map(HotKey::key).toList());
+    }
+
+    @Test
+    void serveHotKeyFromReplicaUntilItExpires() {
+        readMostlyKeyOne(20);
+        ticker.addAndGet(Duration.ofSeconds(1).toNanos());
+        clearInvocations(delegate);
+        cache.get(1L);
+        verify(delegate, times(1)).get(1L);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("news 1", cache.get(1L).get());
+        }
+        verify(delegate, times(1)).get(1L);
+
+        ticker.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertEquals("news 1", cache.get(1L).get());
+        verify(delegate, times(2)).get(1L);
+    }
+
+    @Test
+    void dropReplicaWhenKeyIsWritten() {
+        readMostlyKeyOne(20);
+        cache.get(1L);
+
+        cache.put(1L, "updated news 1");
+
+        assertEquals("updated news 1", cache.get(1L).get());
+    }
+
+    @Test
+    void dropReplicaWhenEntryIsEvictedFromUnderlyingCache() {
+        readMostlyKeyOne(20);
+        cache.get(1L);
+
+        delegate.evict(1L);
+        cache.evictReplicas(List.of(1L));
+
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void forgetKeysThatAreNoLongerRead() {
+        CacheProperties.HotKeys settings = new CacheProperties.HotKeys();
+        settings.setCapacity(8);
+        settings.setSampleRate(1.0);
+        settings.setMinShare(0.5);
+        settings.setWindowSize(40);
+        HotKeyDetector windowedDetector = new HotKeyDetector(settings);
+        for (int i = 0; i < 20; i++) {
+            windowedDetector.record(1L);
+        }
+        assertTrue(windowedDetector.isHot(1L));
+
+        for (int i = 0; i < 200; i++) {
+            windowedDetector.record(2L + i % 5);
+        }
+
+        assertFalse(windowedDetector.isHot(1L));
+    }
+
+    private void readMostlyKeyOne(int reads) {
+        for (int i = 0; i < reads; i++) {
+            cache.get(i % 4 == 0 ? 2L + i % 8 : 1L, String.class);
+        }
+    }
+}
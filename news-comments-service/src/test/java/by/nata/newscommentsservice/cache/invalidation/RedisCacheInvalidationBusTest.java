@@ -0,0 +1,75 @@
+package by.nata.newscommentsservice.cache.invalidation;
+
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class RedisCacheInvalidationBusTest {
+
+    private final CacheProperties cacheProperties = new CacheProperties();
+    private final List<Object> received = new ArrayList<>();
+    private RedisTemplate<Object, Object> redisTemplate;
+    private RedisCacheInvalidationBus sender;
+    private RedisCacheInvalidationBus receiver;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        sender = new RedisCacheInvalidationBus(redisTemplate, cacheProperties);
+        receiver = new RedisCacheInvalidationBus(redisTemplate, cacheProperties);
+        sender.subscribe("news-query", received::add);
+        receiver.subscribe("news-query", received::add);
+    }
+
+    @Test
+    void notifyListenersOfOtherInstanceOnly() {
+        sender.publish("news-query", 42L);
+        Message message = sentMessage();
+
+        sender.onMessage(message, null);
+        assertTrue(received.isEmpty());
+
+        receiver.onMessage(message, null);
+        assertEquals(List.of(42L), received);
+    }
+
+    @Test
+    void ignoreMessagesOfUnknownCaches() {
+        sender.publish("news", 42L);
+
+        receiver.onMessage(sentMessage(), null);
+
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    void ignoreUnreadableMessages() {
+        receiver.onMessage(new DefaultMessage(new byte[0], "garbage".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertTrue(received.isEmpty());
+    }
+
+    private Message sentMessage() {
+        ArgumentCaptor<Object> message = ArgumentCaptor.forClass(Object.class);
+        verify(redisTemplate).convertAndSend(eq(cacheProperties.getNear().getChannel()), message.capture());
+        CacheInvalidationMessage invalidation = (CacheInvalidationMessage) message.getValue();
+        byte[] body = new JdkSerializationRedisSerializer().serialize(invalidation);
+        return new DefaultMessage(cacheProperties.getNear().getChannel().getBytes(StandardCharsets.UTF_8), body);
+    }
+}
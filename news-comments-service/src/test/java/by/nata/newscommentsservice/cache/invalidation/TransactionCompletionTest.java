@@ -0,0 +1,57 @@
+package by.nata.newscommentsservice.cache.invalidation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TransactionCompletionTest {
+
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void runAtOnceOutsideTransaction() {
+        TransactionCompletion.afterCompletion(runs::incrementAndGet);
+        TransactionCompletion.nowAndAfterCompletion(runs::incrementAndGet);
+
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void runAfterCompletionInsideTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        TransactionCompletion.afterCompletion(runs::incrementAndGet);
+        assertEquals(0, runs.get());
+
+        complete();
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void runNowAndAgainAfterCompletionInsideTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        TransactionCompletion.nowAndAfterCompletion(runs::incrementAndGet);
+        assertEquals(1, runs.get());
+
+        complete();
+        assertEquals(2, runs.get());
+    }
+
+    private static void complete() {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+}
@@ -0,0 +1,124 @@
+package by.nata.newscommentsservice.cache.key;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.interceptor.SimpleKey;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheKeyResolverTest {
+
+    private final CacheKeyResolver cacheKeyResolver = new CacheKeyResolver();
+    private final SampleService sampleService = new SampleService();
+
+    @Test
+    void resolveCacheNamesFromClassWhenAnnotationHasNone() throws NoSuchMethodException {
+        CacheOperation operation = resolve("findById", Cacheable.class, Long.class);
+
+        assertEquals(List.of("sample"), operation.cacheNames());
+    }
+
+    @Test
+    void resolveCacheNamesFromAnnotation() throws NoSuchMethodException {
+        CacheOperation operation = resolve("findByName", Cacheable.class, String.class, int.class);
+
+        assertEquals(List.of("byName", "sample"), operation.cacheNames());
+    }
+
+    @Test
+    void resolveArgumentKeyByName() throws NoSuchMethodException {
+        CacheOperation operation = resolve("findById", Cacheable.class, Long.class);
+
+        assertEquals(7L, operation.generateKey(new Object[]{7L}, null));
+    }
+
+    @Test
+    void resolveDefaultKeyOfAllArguments() throws NoSuchMethodException {
+        CacheOperation operation = resolve("findByName", Cacheable.class, String.class, int.class);
+
+        assertEquals(new SimpleKey("name", 2), operation.generateKey(new Object[]{"name", 2}, null));
+    }
+
+    @Test
+    void resolveResultPropertyKey() throws NoSuchMethodException {
+        CacheOperation operation = resolve("save", CachePut.class, String.class);
+
+        assertEquals(5L, operation.generateKey(new Object[]{"name"}, new Sample(5L, "name")));
+        assertNull(operation.generateKey(new Object[]{"name"}, null));
+    }
+
+    @Test
+    void resolveExpressionKey() throws NoSuchMethodException {
+        CacheOperation operation = resolve("delete", CacheEvict.class, String.class, int.class);
+
+        assertEquals("name:2", operation.generateKey(new Object[]{"name", 2}, null));
+        assertTrue(operation.allEntries());
+    }
+
+    @Test
+    void resolveOperationOnlyOncePerMethod() throws NoSuchMethodException {
+        CacheOperation first = resolve("findById", Cacheable.class, Long.class);
+        CacheOperation second = resolve("findById", Cacheable.class, Long.class);
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void throwExceptionWhenNoCacheNamesConfigured() throws NoSuchMethodException {
+        Method method = UnnamedService.class.getMethod("findById", Long.class);
+
+        assertThrows(IllegalStateException.class,
+                () -> cacheKeyResolver.resolve(method, new UnnamedService(), Cacheable.class));
+    }
+
+    private CacheOperation resolve(String methodName, Class<? extends Annotation> operationType,
+                                   Class<?>... parameterTypes) throws NoSuchMethodException {
+        Method method = SampleService.class.getMethod(methodName, parameterTypes);
+        return cacheKeyResolver.resolve(method, sampleService, operationType);
+    }
+
+    record Sample(Long id, String name) {
+    }
+
+    @CacheConfig(cacheNames = "sample")
+    static class SampleService {
+
+        @Cacheable(key = "#id")
+        public Sample findById(Long id) {
+            return new Sample(id, "name");
+        }
+
+        @Cacheable(cacheNames = {"byName", "sample"})
+        public Sample findByName(String name, int version) {
+            return new Sample(1L, name);
+        }
+
+        @CachePut(key = "#result.id")
+        public Sample save(String name) {
+            return new Sample(1L, name);
+        }
+
+        @CacheEvict(key = "#name + ':' + #version", allEntries = true)
+        public void delete(String name, int version) {
+        }
+    }
+
+    static class UnnamedService {
+
+        @Cacheable
+        public Sample findById(Long id) {
+            return new Sample(id, "name");
+        }
+    }
+}
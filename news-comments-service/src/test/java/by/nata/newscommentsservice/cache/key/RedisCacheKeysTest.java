@@ -0,0 +1,78 @@
+package by.nata.newscommentsservice.cache.key;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class RedisCacheKeysTest {
+
+    private final RedisCacheWriter cacheWriter = mock(RedisCacheWriter.class);
+
+    @Test
+    void serializeKeysLikeRedisCacheWritesThem() {
+        RedisCache cache = cache(RedisCacheConfiguration.defaultCacheConfig());
+
+        assertSameKeyAsRedisCache(cache, "title");
+        assertSameKeyAsRedisCache(cache, 42L);
+        assertSameKeyAsRedisCache(cache, new Long[]{1L, 2L});
+        assertSameKeyAsRedisCache(cache, List.of(1L, 2L));
+        assertSameKeyAsRedisCache(cache, new PageKey(42L, 1));
+        assertSameKeyAsRedisCache(cache, List.of(new PageKey(42L, 1), new PageKey(42L, 2)));
+        assertSameKeyAsRedisCache(cache, Map.of(new PageKey(42L, 1), 7L));
+    }
+
+    @Test
+    void applyKeyPrefixOfConfiguration() {
+        RedisCache prefixed = cache(RedisCacheConfiguration.defaultCacheConfig().computePrefixWith(name -> name + ":v2:"));
+        RedisCache unprefixed = cache(RedisCacheConfiguration.defaultCacheConfig().disableKeyPrefix());
+
+        assertEquals("news:v2:42", RedisCacheKeys.createCacheKey(prefixed, 42L));
+        assertEquals("42", RedisCacheKeys.createCacheKey(unprefixed, 42L));
+        assertSameKeyAsRedisCache(prefixed, 42L);
+        assertSameKeyAsRedisCache(unprefixed, 42L);
+    }
+
+    @Test
+    void createKeyWithFallbackForElementsWithoutConverter() {
+        RedisCache cache = cache(RedisCacheConfiguration.defaultCacheConfig());
+
+        assertEquals("news::[PageKey[newsId=42, page=1],PageKey[newsId=42, page=2]]",
+                RedisCacheKeys.createCacheKey(cache, List.of(new PageKey(42L, 1), new PageKey(42L, 2))));
+    }
+
+    private RedisCache cache(RedisCacheConfiguration configuration) {
+        return (RedisCache) RedisCacheManager.builder(cacheWriter)
+                .cacheDefaults(configuration.entryTtl(Duration.ofMinutes(5)))
+                .build()
+                .getCache("news");
+    }
+
+    private void assertSameKeyAsRedisCache(RedisCache cache, Object key) {
+        cache.put(key, "value");
+
+        ArgumentCaptor<byte[]> written = ArgumentCaptor.forClass(byte[].class);
+        verify(cacheWriter, atLeastOnce()).put(eq("news"), written.capture(), any(), any());
+        byte[] expected = written.getValue();
+        assertArrayEquals(expected, RedisCacheKeys.serialize(cache, key),
+                "key " + new String(expected, StandardCharsets.UTF_8));
+    }
+
+    private record PageKey(long newsId, int page) {
+    }
+}
@@ -0,0 +1,116 @@
+package by.nata.newscommentsservice.cache.loader;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightLoaderTest {
+
+    private static final int THREADS = 8;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    private final SingleFlightLoader<String> singleFlightLoader = new SingleFlightLoader<>(Duration.ofSeconds(5));
+    private final CountDownLatch started = new CountDownLatch(THREADS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void loadValueOnceForConcurrentMissesOfSameKey() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = submitLoads(() -> {
+            loads.incrementAndGet();
+            release.await();
+            return "News 1";
+        });
+        awaitWaitingThreads();
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("News 1", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void propagateLoaderExceptionToWaitingThreads() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = submitLoads(() -> {
+            release.await();
+            throw new IllegalStateException("Database is unavailable");
+        });
+        awaitWaitingThreads();
+        release.countDown();
+
+        for (Future<String> result : results) {
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, exception.getCause());
+        }
+    }
+
+    @Test
+    void loadOnOwnWhenLeaderExceedsTimeout() throws Throwable {
+        SingleFlightLoader<String> loader = new SingleFlightLoader<>(Duration.ofMillis(50));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> {
+            try {
+                return loader.load("news_1", () -> {
+                    leaderStarted.countDown();
+                    release.await();
+                    return "slow";
+                });
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        assertEquals("fast", loader.load("news_1", () -> "fast"));
+
+        release.countDown();
+        assertEquals("slow", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    private List<Future<String>> submitLoads(SingleFlightLoader.Loader<String> valueLoader) {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executor.submit(() -> {
+                started.countDown();
+                try {
+                    return singleFlightLoader.load("news_1", valueLoader);
+                } catch (Exception e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+        }
+        return results;
+    }
+
+    private void awaitWaitingThreads() throws InterruptedException {
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+    }
+}
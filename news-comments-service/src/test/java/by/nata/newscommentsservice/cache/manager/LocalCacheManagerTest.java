@@ -0,0 +1,143 @@
+package by.nata.newscommentsservice.cache.manager;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.algorithm.impl.LRUCache;
+import by.nata.newscommentsservice.cache.config.CacheFactory;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import by.nata.newscommentsservice.cache.config.CacheRegistry;
+import by.nata.newscommentsservice.cache.stats.CacheStatsRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LocalCacheManagerTest {
+
+    private CacheRegistry cacheRegistry;
+    private CacheStatsRegistry cacheStatsRegistry;
+
+    @BeforeEach
+    void setUp() {
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.setMaxSize(2);
+        ObjectProvider<Cache<?, ?>> cacheProvider = mock(ObjectProvider.class);
+        when(cacheProvider.getObject()).thenAnswer(invocation -> new LRUCache<>(cacheProperties));
+        cacheStatsRegistry = new CacheStatsRegistry(new SimpleMeterRegistry());
+        cacheRegistry = new CacheRegistry(new CacheFactory(cacheProvider, cacheProperties, cacheStatsRegistry));
+    }
+
+    @Test
+    void shareEntriesWithCacheRegistry() {
+        LocalCacheManager cacheManager = createCacheManager(List.of());
+
+        cacheManager.getCache("news").put(1L, "News 1");
+        cacheRegistry.getCache("news").put(2L, "News 2");
+
+        assertEquals("News 1", cacheRegistry.getCache("news").get(1L));
+        assertEquals("News 2", cacheManager.getCache("news").get(2L, String.class));
+        assertSame(cacheRegistry.getCache("news"), cacheManager.getCache("news").getNativeCache());
+    }
+
+    @Test
+    void evictEntriesByAlgorithmOfCache() {
+        org.springframework.cache.Cache cache = createCacheManager(List.of()).getCache("news");
+
+        cache.put(1L, "News 1");
+        cache.put(2L, "News 2");
+        cache.get(1L);
+        cache.put(3L, "News 3");
+
+        assertNull(cache.get(2L));
+        assertEquals("News 1", cache.get(1L, String.class));
+    }
+
+    @Test
+    void removeEntryWhenNullIsPutAndDropAllOnClear() {
+        org.springframework.cache.Cache cache = createCacheManager(List.of()).getCache("news");
+        cache.put(1L, "News 1");
+        cache.put(2L, "News 2");
+
+        cache.put(1L, null);
+        assertNull(cache.get(1L));
+
+        cache.clear();
+        assertNull(cache.get(2L));
+    }
+
+    @Test
+    void provideOnlyConfiguredCacheNames() {
+        LocalCacheManager cacheManager = createCacheManager(List.of("news", "comment"));
+
+        assertNull(cacheManager.getCache("users"));
+        assertEquals("comment", cacheManager.getCache("comment").getName());
+        assertEquals(List.of("news", "comment"), cacheManager.getCacheNames());
+    }
+
+    @Test
+    void serveCacheableMethodsThroughSpringAnnotations() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.registerBean(LocalCacheManager.class, () -> createCacheManager(List.of("news")));
+            context.register(CachingConfig.class);
+            context.refresh();
+            NewsLoader newsLoader = context.getBean(NewsLoader.class);
+
+            assertEquals("News 1", newsLoader.load(1L));
+            assertEquals("News 1", newsLoader.load(1L));
+            assertEquals(1, newsLoader.getLoadCount());
+
+            newsLoader.evict(1L);
+            assertEquals("News 1", newsLoader.load(1L));
+            assertEquals(2, newsLoader.getLoadCount());
+            assertEquals(2, cacheStatsRegistry.snapshots().get("news").loadCount());
+        }
+    }
+
+    private LocalCacheManager createCacheManager(List<String> cacheNames) {
+        return new LocalCacheManager(cacheRegistry, cacheStatsRegistry, cacheNames, Duration.ofSeconds(5));
+    }
+
+    @Configuration
+    @EnableCaching
+    static class CachingConfig {
+
+        @Bean
+        NewsLoader newsLoader() {
+            return new NewsLoader();
+        }
+    }
+
+    static class NewsLoader {
+
+        private final AtomicInteger loads = new AtomicInteger();
+
+        @Cacheable(cacheNames = "news", key = "#id", sync = true)
+        public String load(Long id) {
+            loads.incrementAndGet();
+            return "News " + id;
+        }
+
+        @CacheEvict(cacheNames = "news", key = "#id")
+        public void evict(Long id) {
+        }
+
+        public int getLoadCount() {
+            return loads.get();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package by.nata.newscommentsservice.cache.manager;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.algorithm.impl.ConcurrentLRUCache;
+import by.nata.newscommentsservice.cache.config.CacheFactory;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import by.nata.newscommentsservice.cache.invalidation.RedisCacheInvalidationBus;
+import by.nata.newscommentsservice.cache.stats.CacheStatsRegistry;
+import by.nata.newscommentsservice.service.dto.NewsResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Testcontainers
+class TwoLevelCacheManagerIntegrationTest {
+
+    private static final String CHANNEL = "test:cache-invalidation";
+    private static final String CACHE_NAME = "news";
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private LettuceConnectionFactory connectionFactory;
+    private final List<RedisMessageListenerContainer> listenerContainers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.getConnection().serverCommands().flushAll();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (RedisMessageListenerContainer listenerContainer : listenerContainers) {
+            listenerContainer.destroy();
+        }
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void serveEntryFromLocalCacheAfterFirstRead() {
+        TwoLevelCacheManager writer = createInstance();
+        TwoLevelCacheManager reader = createInstance();
+        NewsResponseDto news = createNews(1L, "News 1");
+
+        writer.getCache(CACHE_NAME).put(1L, news);
+        assertEquals(news, reader.getCache(CACHE_NAME).get(1L, NewsResponseDto.class));
+
+        connectionFactory.getConnection().serverCommands().flushAll();
+
+        assertEquals(news, reader.getCache(CACHE_NAME).get(1L, NewsResponseDto.class));
+    }
+
+    @Test
+    void invalidateLocalEntryOfOtherInstancesWhenEntryIsUpdated() {
+        TwoLevelCacheManager writer = createInstance();
+        TwoLevelCacheManager reader = createInstance();
+        writer.getCache(CACHE_NAME).put(1L, createNews(1L, "News 1"));
+        reader.getCache(CACHE_NAME).get(1L);
+
+        NewsResponseDto updated = createNews(1L, "Updated News 1");
+        writer.getCache(CACHE_NAME).put(1L, updated);
+
+        awaitEquals(updated, () -> reader.getCache(CACHE_NAME).get(1L, NewsResponseDto.class));
+    }
+
+    @Test
+    void invalidateLocalEntryOfOtherInstancesWhenEntryIsEvicted() {
+        TwoLevelCacheManager writer = createInstance();
+        TwoLevelCacheManager reader = createInstance();
+        writer.getCache(CACHE_NAME).put(1L, createNews(1L, "News 1"));
+        reader.getCache(CACHE_NAME).get(1L);
+
+        writer.getCache(CACHE_NAME).evict(1L);
+
+        awaitEquals(null, () -> reader.getCache(CACHE_NAME).get(1L));
+        assertNull(writer.getCache(CACHE_NAME).get(1L));
+    }
+
+    @SuppressWarnings("unchecked")
+    private TwoLevelCacheManager createInstance() {
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.setMaxSize(10);
+        ObjectProvider<Cache<?, ?>> cacheProvider = mock(ObjectProvider.class);
+        when(cacheProvider.getObject()).thenAnswer(invocation -> new ConcurrentLRUCache<>(cacheProperties));
+        CacheFactory cacheFactory = new CacheFactory(cacheProvider, cacheProperties, new CacheStatsRegistry(new SimpleMeterRegistry()));
+
+        RedisTemplate<Object, Object> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig().disableCachingNullValues())
+                .build();
+        cacheProperties.getNear().setChannel(CHANNEL);
+        RedisCacheInvalidationBus cacheInvalidationBus = new RedisCacheInvalidationBus(redisTemplate, cacheProperties);
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(redisCacheManager, cacheFactory,
+                cacheInvalidationBus, Duration.ofSeconds(5), Duration.ofMinutes(1));
+
+        RedisMessageListenerContainer listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+        listenerContainer.addMessageListener(cacheInvalidationBus, new ChannelTopic(CHANNEL));
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+        listenerContainers.add(listenerContainer);
+        return cacheManager;
+    }
+
+    private static NewsResponseDto createNews(Long id, String title) {
+        return NewsResponseDto.builder()
+                .withId(id)
+                .withTime("2023-11-03 01:46:22")
+                .withTitle(title)
+                .withText("This is a test news")
+                .withUsername("journalist")
+                .build();
+    }
+
+    private static void awaitEquals(Object expected, Supplier<Object> actual) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            Object value = actual.get();
+            if (expected == null ? value == null : expected.equals(value)) {
+                return;
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+        assertEquals(expected, actual.get());
+    }
+}
@@ -0,0 +1,77 @@
+package by.nata.newscommentsservice.cache.manager;
+
+import by.nata.newscommentsservice.cache.algorithm.impl.ConcurrentLRUCache;
+import by.nata.newscommentsservice.cache.config.CacheFactory;
+import by.nata.newscommentsservice.cache.invalidation.CacheInvalidationBus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TwoLevelCacheManagerTest {
+
+    private static final Duration LOCAL_TTL = Duration.ofMinutes(1);
+
+    private final ConcurrentMapCache remote = new ConcurrentMapCache("news");
+    private CacheFactory cacheFactory;
+    private CacheInvalidationBus cacheInvalidationBus;
+    private TwoLevelCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        RedisCacheManager redisCacheManager = mock(RedisCacheManager.class);
+        when(redisCacheManager.getCache("news")).thenReturn(remote);
+        cacheFactory = mock(CacheFactory.class);
+        when(cacheFactory.create("news", LOCAL_TTL)).thenAnswer(invocation -> new ConcurrentLRUCache<>(10, 1));
+        cacheInvalidationBus = mock(CacheInvalidationBus.class);
+        cacheManager = new TwoLevelCacheManager(redisCacheManager, cacheFactory, cacheInvalidationBus,
+                Duration.ofSeconds(5), LOCAL_TTL);
+    }
+
+    @Test
+    void createLocalCacheWithDefaultExpiry() {
+        cacheManager.getCache("news");
+
+        verify(cacheFactory).create("news", LOCAL_TTL);
+    }
+
+    @Test
+    void announceChangesOnInvalidationBus() {
+        Cache cache = cacheManager.getCache("news");
+
+        cache.put(1L, "news 1");
+        cache.clear();
+
+        verify(cacheInvalidationBus).publish("news", 1L);
+        verify(cacheInvalidationBus).publish("news", null);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void dropLocalEntryChangedByOtherInstance() {
+        Cache cache = cacheManager.getCache("news");
+        cache.put(1L, "news 1");
+        ArgumentCaptor<Consumer<Object>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(cacheInvalidationBus).subscribe(eq("news"), listener.capture());
+
+        remote.put(1L, "news 1 changed");
+        listener.getValue().accept(1L);
+        assertEquals("news 1 changed", cache.get(1L).get());
+
+        remote.clear();
+        listener.getValue().accept(null);
+        assertNull(cache.get(1L));
+    }
+}
@@ -0,0 +1,90 @@
+package by.nata.newscommentsservice.cache.negative;
+
+import by.nata.newscommentsservice.cache.config.CacheFactory;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import by.nata.newscommentsservice.cache.invalidation.CacheInvalidationBus;
+import by.nata.newscommentsservice.cache.stats.CacheStatsRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class NegativeResultCacheTest {
+
+    private CacheProperties cacheProperties;
+    private CacheFactory cacheFactory;
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @BeforeEach
+    void setUp() {
+        cacheProperties = new CacheProperties();
+        cacheProperties.setMaxSize(10);
+        cacheFactory = new CacheFactory(mock(ObjectProvider.class), cacheProperties,
+                new CacheStatsRegistry(new SimpleMeterRegistry()));
+        cacheInvalidationBus = mock(CacheInvalidationBus.class);
+    }
+
+    @Test
+    void rememberMissingIdPerEntityType() {
+        NegativeResultCache negativeResultCache = new NegativeResultCache(cacheProperties, cacheFactory, cacheInvalidationBus);
+
+        negativeResultCache.recordMissing(NegativeResultCache.NEWS, 1L);
+
+        assertTrue(negativeResultCache.isKnownMissing(NegativeResultCache.NEWS, 1L));
+        assertFalse(negativeResultCache.isKnownMissing(NegativeResultCache.COMMENT, 1L));
+        assertFalse(negativeResultCache.isKnownMissing(NegativeResultCache.NEWS, 2L));
+    }
+
+    @Test
+    void forgetMissingIdWhenInvalidated() {
+        NegativeResultCache negativeResultCache = new NegativeResultCache(cacheProperties, cacheFactory, cacheInvalidationBus);
+        negativeResultCache.recordMissing(NegativeResultCache.COMMENT, 1L);
+
+        negativeResultCache.invalidate(NegativeResultCache.COMMENT, 1L);
+
+        assertFalse(negativeResultCache.isKnownMissing(NegativeResultCache.COMMENT, 1L));
+    }
+
+    @Test
+    void announceInvalidationToOtherInstances() {
+        NegativeResultCache negativeResultCache = new NegativeResultCache(cacheProperties, cacheFactory, cacheInvalidationBus);
+
+        negativeResultCache.invalidate(NegativeResultCache.NEWS, 1L);
+
+        verify(cacheInvalidationBus).invalidate("news-negative", 1L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void forgetMissingIdWhenInvalidatedOnOtherInstance() {
+        NegativeResultCache negativeResultCache = new NegativeResultCache(cacheProperties, cacheFactory, cacheInvalidationBus);
+        negativeResultCache.recordMissing(NegativeResultCache.NEWS, 1L);
+        negativeResultCache.recordMissing(NegativeResultCache.NEWS, 2L);
+        ArgumentCaptor<Consumer<Object>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(cacheInvalidationBus).subscribe(eq("news-negative"), listener.capture());
+
+        listener.getValue().accept(1L);
+
+        assertFalse(negativeResultCache.isKnownMissing(NegativeResultCache.NEWS, 1L));
+        assertTrue(negativeResultCache.isKnownMissing(NegativeResultCache.NEWS, 2L));
+    }
+
+    @Test
+    void ignoreMissingIdsWhenDisabled() {
+        cacheProperties.getNegative().setEnabled(false);
+        NegativeResultCache negativeResultCache = new NegativeResultCache(cacheProperties, cacheFactory, cacheInvalidationBus);
+
+        negativeResultCache.recordMissing(NegativeResultCache.NEWS, 1L);
+
+        assertFalse(negativeResultCache.isKnownMissing(NegativeResultCache.NEWS, 1L));
+    }
+}
@@ -0,0 +1,103 @@
+package by.nata.newscommentsservice.cache.query;
+
+import by.nata.newscommentsservice.cache.config.CacheFactory;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import by.nata.newscommentsservice.cache.invalidation.CacheInvalidationBus;
+import by.nata.newscommentsservice.cache.stats.CacheStatsRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class QueryResultCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Supplier<List<String>> loader = () -> List.of("result" + loads.incrementAndGet());
+    private CacheProperties cacheProperties;
+    private CacheInvalidationBus cacheInvalidationBus;
+    private QueryResultCache queryResultCache;
+
+    @BeforeEach
+    void setUp() {
+        cacheProperties = new CacheProperties();
+        cacheInvalidationBus = mock(CacheInvalidationBus.class);
+        CacheFactory cacheFactory = new CacheFactory(mock(ObjectProvider.class), cacheProperties,
+                new CacheStatsRegistry(new SimpleMeterRegistry()));
+        queryResultCache = new QueryResultCache(cacheProperties, cacheFactory, cacheInvalidationBus);
+    }
+
+    @Test
+    void returnCachedResultForSameQuery() {
+        List<String> first = queryResultCache.getOrLoad(QueryResultCache.NEWS, "search", PageRequest.of(0, 10), loader, "a", null);
+        List<String> second = queryResultCache.getOrLoad(QueryResultCache.NEWS, "search", PageRequest.of(0, 10), loader, "a", null);
+
+        assertEquals(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void loadResultForDifferentPageSortOrParameters() {
+        queryResultCache.getOrLoad(QueryResultCache.NEWS, "search", PageRequest.of(0, 10), loader, "a");
+        queryResultCache.getOrLoad(QueryResultCache.NEWS, "search", PageRequest.of(1, 10), loader, "a");
+        queryResultCache.getOrLoad(QueryResultCache.NEWS, "search", PageRequest.of(0, 10, Sort.by("time")), loader, "a");
+        queryResultCache.getOrLoad(QueryResultCache.NEWS, "search", PageRequest.of(0, 10), loader, "b");
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void loadResultAgainAfterInvalidationOfEntityType() {
+        queryResultCache.getOrLoad(QueryResultCache.NEWS, "all", PageRequest.of(0, 10), loader);
+        queryResultCache.getOrLoad(QueryResultCache.COMMENT, "all", PageRequest.of(0, 10), loader);
+
+        queryResultCache.invalidate(QueryResultCache.NEWS);
+        List<String> news = queryResultCache.getOrLoad(QueryResultCache.NEWS, "all", PageRequest.of(0, 10), loader);
+        List<String> comments = queryResultCache.getOrLoad(QueryResultCache.COMMENT, "all", PageRequest.of(0, 10), loader);
+
+        assertEquals(List.of("result3"), news);
+        assertEquals(List.of("result2"), comments);
+    }
+
+    @Test
+    void announceInvalidationToOtherInstances() {
+        queryResultCache.invalidate(QueryResultCache.NEWS);
+
+        verify(cacheInvalidationBus).invalidate("news-query", null);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void loadResultAgainAfterInvalidationOnOtherInstance() {
+        queryResultCache.getOrLoad(QueryResultCache.NEWS, "all", PageRequest.of(0, 10), loader);
+        ArgumentCaptor<Consumer<Object>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(cacheInvalidationBus).subscribe(eq("news-query"), listener.capture());
+
+        listener.getValue().accept(null);
+        List<String> news = queryResultCache.getOrLoad(QueryResultCache.NEWS, "all", PageRequest.of(0, 10), loader);
+
+        assertEquals(List.of("result2"), news);
+    }
+
+    @Test
+    void alwaysLoadResultWhenDisabled() {
+        cacheProperties.getQuery().setEnabled(false);
+
+        queryResultCache.getOrLoad(QueryResultCache.NEWS, "all", PageRequest.of(0, 10), loader);
+        queryResultCache.getOrLoad(QueryResultCache.NEWS, "all", PageRequest.of(0, 10), loader);
+
+        assertEquals(2, loads.get());
+    }
+}
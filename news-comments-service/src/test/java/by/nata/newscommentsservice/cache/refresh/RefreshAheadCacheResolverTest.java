@@ -0,0 +1,97 @@
+package by.nata.newscommentsservice.cache.refresh;
+
+import by.nata.newscommentsservice.cache.codec.StampedValue;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.AnnotationCacheOperationSource;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.interceptor.CacheInterceptor;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.CachePutOperation;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class RefreshAheadCacheResolverTest {
+
+    private final ConcurrentMapCache delegate = new ConcurrentMapCache("news");
+    private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    private final AtomicInteger advised = new AtomicInteger();
+    private RefreshAheadCacheResolver resolver;
+    private NewsSource proxy;
+
+    @BeforeEach
+    void setUp() {
+        CacheProperties.RefreshAhead settings = new CacheProperties.RefreshAhead();
+        settings.setEnabled(true);
+        settings.setFraction(0.0);
+        resolver = new RefreshAheadCacheResolver(context -> List.of(delegate), name -> Duration.ofMinutes(5),
+                settings, beanFactory);
+        CacheInterceptor cacheInterceptor = new CacheInterceptor();
+        cacheInterceptor.setCacheOperationSource(new AnnotationCacheOperationSource());
+        cacheInterceptor.setCacheResolver(resolver);
+        cacheInterceptor.afterPropertiesSet();
+        cacheInterceptor.afterSingletonsInstantiated();
+        ProxyFactory proxyFactory = new ProxyFactory(new NewsSource());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(cacheInterceptor);
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+            advised.incrementAndGet();
+            return invocation.proceed();
+        });
+        proxy = (NewsSource) proxyFactory.getProxy();
+        beanFactory.registerSingleton("newsSource", proxy);
+    }
+
+    @Test
+    void refreshByCallingMethodThroughProxyOfTargetBean() throws Exception {
+        assertEquals("news 1 #1", proxy.find(1L));
+
+        assertEquals("news 1 #1", proxy.find(1L));
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!"news 1 #2".equals(cachedValue()) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals("news 1 #2", cachedValue());
+        assertEquals(2, advised.get());
+    }
+
+    @Test
+    void returnDecoratedCachesWithoutViewsForOtherOperations() {
+        CacheOperationInvocationContext<?> context = mock(CacheOperationInvocationContext.class);
+        doReturn(new CachePutOperation.Builder().build()).when(context).getOperation();
+
+        Cache cache = resolver.resolveCaches(context).iterator().next();
+
+        assertSame(RefreshAheadCache.class, cache.getClass());
+    }
+
+    private Object cachedValue() {
+        Cache.ValueWrapper wrapper = delegate.get(1L);
+        return wrapper != null && wrapper.get() instanceof StampedValue stamped
+                ? stamped.value() : null;
+    }
+
+    public static class NewsSource {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Cacheable(cacheNames = "news", key = "#p0", sync = true)
+        public String find(Long id) {
+            return "news " + id + " #" + calls.incrementAndGet();
+        }
+    }
+}
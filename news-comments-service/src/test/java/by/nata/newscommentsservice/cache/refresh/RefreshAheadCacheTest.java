@@ -0,0 +1,119 @@
+package by.nata.newscommentsservice.cache.refresh;
+
+import by.nata.newscommentsservice.cache.codec.StampedValue;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RefreshAheadCacheTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<Runnable> refreshes = new ArrayList<>();
+    private final AtomicInteger reloads = new AtomicInteger();
+    private final Callable<Object> reloader = () -> "reloaded" + reloads.incrementAndGet();
+    private final ConcurrentMapCache delegate = new ConcurrentMapCache("news");
+    private CacheProperties.RefreshAhead settings;
+
+    @BeforeEach
+    void setUp() {
+        settings = new CacheProperties.RefreshAhead();
+        settings.setEnabled(true);
+        settings.setFraction(0.8);
+    }
+
+    @Test
+    void returnCachedValueWithoutRefreshBeforeRefreshPoint() {
+        Cache cache = createCache(() -> 1.0).forInvocation(reloader);
+        cache.get(1L, () -> "v" + loads.incrementAndGet());
+
+        clock.addAndGet(Duration.ofMinutes(3).toMillis());
+
+        assertEquals("v1", cache.get(1L, () -> "v" + loads.incrementAndGet()));
+        assertTrue(refreshes.isEmpty());
+    }
+
+    @Test
+    void returnStaleValueAndRefreshInBackgroundAfterRefreshPoint() {
+        Cache cache = createCache(() -> 1.0).forInvocation(reloader);
+        cache.get(1L, () -> "v" + loads.incrementAndGet());
+
+        clock.addAndGet(Duration.ofMinutes(4).toMillis());
+
+        assertEquals("v1", cache.get(1L, () -> "v" + loads.incrementAndGet()));
+        assertEquals("v1", cache.get(1L, () -> "v" + loads.incrementAndGet()));
+        assertEquals(1, refreshes.size());
+
+        refreshes.get(0).run();
+
+        assertEquals("reloaded1", cache.get(1L, () -> "v" + loads.incrementAndGet()));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void refreshEarlierWithSmallRandomNumberWhenLoadIsSlow() {
+        Cache cache = createCache(() -> 1e-9).forInvocation(reloader);
+        cache.get(1L, () -> {
+            clock.addAndGet(Duration.ofSeconds(10).toMillis());
+            return "v" + loads.incrementAndGet();
+        });
+
+        clock.addAndGet(Duration.ofMinutes(1).toMillis());
+        cache.get(1L, () -> "v" + loads.incrementAndGet());
+
+        assertEquals(1, refreshes.size());
+    }
+
+    @Test
+    void neverRefreshWithValueLoaderOfReadingInvocation() {
+        RefreshAheadCache cache = createCache(() -> 1.0);
+        cache.get(1L, () -> "v" + loads.incrementAndGet());
+
+        clock.addAndGet(Duration.ofMinutes(4).toMillis());
+
+        assertEquals("v1", cache.get(1L, () -> "v" + loads.incrementAndGet()));
+        assertTrue(refreshes.isEmpty());
+    }
+
+    @Test
+    void storeStampedValuesAndUnwrapThemOnRead() {
+        RefreshAheadCache cache = createCache(() -> 1.0);
+
+        cache.put(1L, "v1");
+
+        assertInstanceOf(StampedValue.class, delegate.get(1L).get());
+        assertEquals("v1", cache.get(1L).get());
+        assertEquals("v1", cache.get(1L, String.class));
+    }
+
+    @Test
+    void neitherStampNorRefreshWhenDisabled() {
+        settings.setEnabled(false);
+        RefreshAheadCache cache = createCache(() -> 1.0);
+        cache.get(1L, () -> "v" + loads.incrementAndGet());
+
+        clock.addAndGet(Duration.ofMinutes(10).toMillis());
+
+        assertEquals("v1", cache.get(1L, () -> "v" + loads.incrementAndGet()));
+        assertEquals("v1", delegate.get(1L).get());
+        assertTrue(refreshes.isEmpty());
+    }
+
+    private RefreshAheadCache createCache(DoubleSupplier random) {
+        return new RefreshAheadCache(delegate, Duration.ofMinutes(5), settings, refreshes::add, clock::get, random);
+    }
+}
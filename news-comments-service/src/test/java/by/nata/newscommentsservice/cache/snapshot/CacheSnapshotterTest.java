@@ -0,0 +1,188 @@
+package by.nata.newscommentsservice.cache.snapshot;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.algorithm.decorator.ExpiringCache;
+import by.nata.newscommentsservice.cache.algorithm.impl.LFUCache;
+import by.nata.newscommentsservice.cache.algorithm.impl.LRUCache;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import by.nata.newscommentsservice.cache.config.CacheRegistry;
+import by.nata.newscommentsservice.service.dto.NewsResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CacheSnapshotterTest {
+
+    @Mock
+    private CacheRegistry cacheRegistry;
+
+    @TempDir
+    private Path tempDir;
+
+    private CacheProperties cacheProperties;
+    private final Map<String, Cache<Object, Object>> caches = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        cacheProperties = new CacheProperties();
+        cacheProperties.setMaxSize(3);
+        cacheProperties.getSnapshot().setFile(tempDir.resolve("cache.snapshot").toString());
+    }
+
+    @Test
+    void restoreEntriesWithTheirFrequencies() {
+        Cache<Object, Object> news = new LFUCache<>(cacheProperties);
+        news.put(1L, news(1L));
+        news.put(2L, news(2L));
+        news.put(3L, news(3L));
+        news.get(1L);
+        news.get(1L);
+        news.get(2L);
+        news.put(new Object(), "unsupported key");
+        caches.put("news", news);
+        when(cacheRegistry.getCaches()).thenReturn(caches);
+
+        int saved = new CacheSnapshotter(cacheRegistry, cacheProperties).save();
+
+        Cache<Object, Object> restoredNews = new LFUCache<>(cacheProperties);
+        when(cacheRegistry.getCache("news")).thenReturn(restoredNews);
+        int restored = new CacheSnapshotter(cacheRegistry, cacheProperties).restore();
+
+        assertEquals(2, saved);
+        assertEquals(2, restored);
+        restoredNews.put(4L, news(4L));
+        restoredNews.put(5L, news(5L));
+        assertEquals(news(1L), restoredNews.get(1L));
+        assertNull(restoredNews.get(4L));
+    }
+
+    @Test
+    void restoreEntriesWithRemainingTimeToLive() {
+        AtomicLong ticker = new AtomicLong();
+        Cache<Object, Object> news = new ExpiringCache<>(new LRUCache<>(cacheProperties), Duration.ofMinutes(5),
+                null, ticker::get);
+        news.put(1L, news(1L));
+        ticker.addAndGet(Duration.ofMinutes(3).toNanos());
+        news.put(2L, news(2L));
+        caches.put("news", news);
+        when(cacheRegistry.getCaches()).thenReturn(caches);
+        new CacheSnapshotter(cacheRegistry, cacheProperties).save();
+
+        AtomicLong restoredTicker = new AtomicLong();
+        Cache<Object, Object> restoredNews = new ExpiringCache<>(new LRUCache<>(cacheProperties),
+                Duration.ofMinutes(5), null, restoredTicker::get);
+        when(cacheRegistry.getCache("news")).thenReturn(restoredNews);
+        assertEquals(2, new CacheSnapshotter(cacheRegistry, cacheProperties).restore());
+
+        restoredTicker.addAndGet(Duration.ofMinutes(3).toNanos());
+        assertNull(restoredNews.get(1L));
+        assertEquals(news(2L), restoredNews.get(2L));
+    }
+
+    @Test
+    void skipEntriesWhoseTimeToLiveHasPassed() {
+        AtomicLong ticker = new AtomicLong();
+        Cache<Object, Object> news = new ExpiringCache<>(new LRUCache<>(cacheProperties), Duration.ofMinutes(5),
+                null, ticker::get);
+        news.put(1L, news(1L));
+        ticker.addAndGet(Duration.ofMinutes(3).toNanos());
+        caches.put("news", news);
+        when(cacheRegistry.getCaches()).thenReturn(caches);
+        new CacheSnapshotter(cacheRegistry, cacheProperties).save();
+
+        Cache<Object, Object> restoredNews = new ExpiringCache<>(new LRUCache<>(cacheProperties),
+                Duration.ofMinutes(2), null, () -> 0L);
+        when(cacheRegistry.getCache("news")).thenReturn(restoredNews);
+
+        assertEquals(0, new CacheSnapshotter(cacheRegistry, cacheProperties).restore());
+        assertNull(restoredNews.get(1L));
+    }
+
+    @Test
+    void restoreSnapshotLargerThanOneChunk() {
+        cacheProperties.setMaxSize(1000);
+        Cache<Object, Object> news = new LRUCache<>(cacheProperties);
+        for (long id = 0; id < 1000; id++) {
+            news.put(id, new NewsResponseDto(id, "2023-11-20 10:00:00", "Title " + id, "Text ".repeat(50), "journalist"));
+        }
+        caches.put("news", news);
+        when(cacheRegistry.getCaches()).thenReturn(caches);
+        new CacheSnapshotter(cacheRegistry, cacheProperties).save();
+
+        Cache<Object, Object> restoredNews = new LRUCache<>(cacheProperties);
+        when(cacheRegistry.getCache("news")).thenReturn(restoredNews);
+
+        assertEquals(1000, new CacheSnapshotter(cacheRegistry, cacheProperties).restore());
+        assertEquals("Title 999", ((NewsResponseDto) restoredNews.get(999L)).title());
+    }
+
+    @Test
+    void ignoreSnapshotOlderThanMaxAge() {
+        caches.put("news", new LFUCache<>(cacheProperties));
+        caches.get("news").put(1L, news(1L));
+        when(cacheRegistry.getCaches()).thenReturn(caches);
+        new CacheSnapshotter(cacheRegistry, cacheProperties).save();
+
+        cacheProperties.getSnapshot().setMaxAge(Duration.ofMillis(-1));
+
+        assertEquals(0, new CacheSnapshotter(cacheRegistry, cacheProperties).restore());
+    }
+
+    @Test
+    void ignoreFileWithUnknownFormat() throws IOException {
+        Files.writeString(Path.of(cacheProperties.getSnapshot().getFile()), "not a snapshot");
+
+        assertEquals(0, new CacheSnapshotter(cacheRegistry, cacheProperties).restore());
+    }
+
+    @Test
+    void saveAllEntriesWhileRequestsReadLruCache() throws InterruptedException {
+        Cache<Object, Object> news = new LRUCache<>(cacheProperties);
+        news.put(1L, news(1L));
+        news.put(2L, news(2L));
+        news.put(3L, news(3L));
+        caches.put("news", news);
+        when(cacheRegistry.getCaches()).thenReturn(caches);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                news.get(1L);
+                news.get(2L);
+                news.get(3L);
+            }
+        });
+        reader.start();
+
+        CacheSnapshotter snapshotter = new CacheSnapshotter(cacheRegistry, cacheProperties);
+        try {
+            for (int i = 0; i < 200; i++) {
+                assertEquals(3, snapshotter.save());
+            }
+        } finally {
+            running.set(false);
+            reader.join();
+        }
+    }
+
+    private static NewsResponseDto news(Long id) {
+        return new NewsResponseDto(id, "2023-11-20 10:00:00", "Title " + id, "Text " + id, "journalist");
+    }
+}
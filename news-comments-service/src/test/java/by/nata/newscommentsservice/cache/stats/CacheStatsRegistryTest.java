@@ -0,0 +1,58 @@
+package by.nata.newscommentsservice.cache.stats;
+
+import by.nata.newscommentsservice.cache.algorithm.decorator.StatsCache;
+import by.nata.newscommentsservice.cache.algorithm.impl.LRUCache;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CacheStatsRegistryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CacheStatsRegistry cacheStatsRegistry;
+    private StatsCache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cacheStatsRegistry = new CacheStatsRegistry(meterRegistry);
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.setMaxSize(1);
+        cache = new StatsCache<>(new LRUCache<>(cacheProperties), cacheStatsRegistry.counter("news"));
+    }
+
+    @Test
+    void recordHitsMissesPutsAndEvictions() {
+        cache.get("news_1");
+        cache.put("news_1", "News 1");
+        cache.get("news_1");
+        cache.put("news_2", "News 2");
+
+        CacheStats stats = cacheStatsRegistry.snapshots().get("news");
+
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+        assertEquals(2, stats.putCount());
+        assertEquals(1, stats.evictionCount());
+        assertEquals(0.5, stats.hitRatio());
+    }
+
+    @Test
+    void publishStatisticsAsMetersTaggedWithCacheName() {
+        cache.get("news_1");
+        cache.put("news_1", "News 1");
+        cache.get("news_1");
+        cacheStatsRegistry.counter("news").recordLoad(1_000_000);
+
+        assertEquals(1.0, meterRegistry.get("custom.cache.gets")
+                .tags("cache", "news", "result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("custom.cache.gets")
+                .tags("cache", "news", "result", "miss").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("custom.cache.puts").tag("cache", "news").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("custom.cache.loads").tag("cache", "news").functionTimer().count());
+        assertEquals(0.5, meterRegistry.get("custom.cache.hit.ratio").tag("cache", "news").gauge().value());
+    }
+}
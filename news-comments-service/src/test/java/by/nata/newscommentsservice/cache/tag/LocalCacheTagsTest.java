@@ -0,0 +1,123 @@
+package by.nata.newscommentsservice.cache.tag;
+
+import by.nata.newscommentsservice.cache.algorithm.api.Cache;
+import by.nata.newscommentsservice.cache.algorithm.impl.LRUCache;
+import by.nata.newscommentsservice.cache.config.CacheFactory;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import by.nata.newscommentsservice.cache.config.CacheRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class LocalCacheTagsTest {
+
+    @Mock
+    private CacheFactory cacheFactory;
+
+    private CacheRegistry cacheRegistry;
+    private Cache<Object, Object> comments;
+    private Cache<Object, Object> views;
+    private LocalCacheTags cacheTags;
+
+    @BeforeEach
+    void setUp() {
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.setMaxSize(3);
+        doAnswer(invocation -> new LRUCache<>(cacheProperties)).when(cacheFactory).create(anyString());
+        cacheRegistry = new CacheRegistry(cacheFactory);
+        cacheTags = new LocalCacheTags(cacheRegistry);
+        comments = cacheRegistry.getCache("comment");
+        views = cacheRegistry.getCache("newsWithComments");
+    }
+
+    @Test
+    void evictEntriesOfAllCachesTaggedWithTheTag() {
+        comments.put(1L, "comment 1 of news 42");
+        comments.put(2L, "comment 2 of news 42");
+        comments.put(3L, "comment of news 7");
+        views.put("42:0:10", "view of news 42");
+        cacheTags.tagAll("comment", List.of(1L, 2L), List.of(CacheTags.news(42L)));
+        cacheTags.tag("comment", 3L, CacheTags.news(7L));
+        cacheTags.tag("newsWithComments", "42:0:10", CacheTags.news(42L), CacheTags.newsView(42L));
+
+        cacheTags.invalidate(CacheTags.news(42L));
+
+        assertNull(comments.get(1L));
+        assertNull(comments.get(2L));
+        assertNull(views.get("42:0:10"));
+        assertEquals("comment of news 7", comments.get(3L));
+    }
+
+    @Test
+    void forgetEvictedTags() {
+        views.put("42:0:10", "view of news 42");
+        cacheTags.tag("newsWithComments", "42:0:10", CacheTags.newsView(42L));
+        cacheTags.invalidate(CacheTags.newsView(42L));
+        views.put("42:0:10", "reloaded view of news 42");
+
+        cacheTags.invalidate(CacheTags.newsView(42L));
+
+        assertEquals("reloaded view of news 42", views.get("42:0:10"));
+    }
+
+    @Test
+    void tagEntriesWrittenToCacheWithTagger() {
+        cacheTags.tagWrites("comment", (key, value) -> List.of(CacheTags.news(((String) value).split(":")[0])));
+        comments.put(1L, "42:comment 1");
+        comments.putAll(Map.of(2L, "42:comment 2", 3L, "7:comment 3"));
+
+        cacheTags.invalidate(CacheTags.news(42L));
+
+        assertNull(comments.get(1L));
+        assertNull(comments.get(2L));
+        assertEquals("7:comment 3", comments.get(3L));
+    }
+
+    @Test
+    void forgetEntriesEvictedByTheCache() {
+        comments.put(1L, "comment 1 of news 42");
+        cacheTags.tag("comment", 1L, CacheTags.news(42L));
+        comments.put(2L, "comment 2");
+        comments.put(3L, "comment 3");
+        comments.put(4L, "comment 4");
+        comments.put(1L, "comment 1 of news 7");
+
+        cacheTags.invalidate(CacheTags.news(42L));
+
+        assertEquals("comment 1 of news 7", comments.get(1L));
+    }
+
+    @Test
+    void forgetDeletedEntries() {
+        comments.put(1L, "comment 1 of news 42");
+        cacheTags.tag("comment", 1L, CacheTags.news(42L));
+        comments.delete(1L);
+        comments.put(1L, "comment 1 of news 7");
+
+        cacheTags.invalidate(CacheTags.news(42L));
+
+        assertEquals("comment 1 of news 7", comments.get(1L));
+    }
+
+    @Test
+    void tagRestoredEntriesWithTagger() {
+        cacheTags.tagWrites("comment", (key, value) -> List.of(CacheTags.news(((String) value).split(":")[0])));
+        comments.restore(1L, "42:comment 1", 1, Duration.ofMinutes(1));
+
+        cacheTags.invalidate(CacheTags.news(42L));
+
+        assertNull(comments.get(1L));
+    }
+}
@@ -0,0 +1,58 @@
+package by.nata.newscommentsservice.cache.tag;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class TaggingCacheTest {
+
+    private final ConcurrentMapCache delegate = new ConcurrentMapCache("newsWithComments");
+    private final CacheTags cacheTags = mock(CacheTags.class);
+    private final List<Object> taggedWhileStored = new ArrayList<>();
+    private final Cache cache = new TaggingCache(delegate, cacheTags);
+
+    @Test
+    void tagLoadedValueAfterItIsStored() {
+        recordTaggedEntriesThatAreStored();
+
+        cache.get("42:0:10", () -> "view of news 42");
+        cache.get("42:0:10", () -> "reloaded view of news 42");
+
+        assertEquals(List.of("42:0:10"), taggedWhileStored);
+    }
+
+    @Test
+    void tagWrittenValuesAfterTheyAreStored() {
+        recordTaggedEntriesThatAreStored();
+
+        cache.put("42:0:10", "view of news 42");
+        cache.putIfAbsent("42:0:10", "other view of news 42");
+        cache.putIfAbsent("7:0:10", "view of news 7");
+
+        assertEquals(List.of("42:0:10", "7:0:10"), taggedWhileStored);
+        assertTrue(taggedWhileStored.stream().allMatch(key -> delegate.get(key) != null));
+    }
+
+    private void recordTaggedEntriesThatAreStored() {
+        doAnswer(invocation -> {
+            Map<?, ?> entries = invocation.getArgument(1);
+            entries.forEach((key, value) -> {
+                if (delegate.get(key) != null) {
+                    taggedWhileStored.add(key);
+                }
+            });
+            return null;
+        }).when(cacheTags).tagWritten(eq("newsWithComments"), any());
+    }
+}
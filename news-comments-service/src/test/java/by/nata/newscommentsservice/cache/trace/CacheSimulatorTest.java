@@ -0,0 +1,82 @@
+package by.nata.newscommentsservice.cache.trace;
+
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CacheSimulatorTest {
+
+    private static final int KEYS = 200;
+    private static final int ROUNDS = 20;
+
+    @TempDir
+    private Path tempDir;
+
+    private Path file;
+    private CacheTraceRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        file = tempDir.resolve("cache.trace");
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.getTrace().setEnabled(true);
+        cacheProperties.getTrace().setFile(file.toString());
+        cacheProperties.getTrace().setSampleRate(1.0);
+        recorder = new CacheTraceRecorder(cacheProperties);
+        recorder.start();
+    }
+
+    @Test
+    void missEveryCyclicAccessWhenLruCacheIsSmallerThanLoop() throws IOException {
+        for (int round = 0; round < ROUNDS; round++) {
+            readAllKeys();
+        }
+
+        Map<String, double[]> missRatios = CacheSimulator.simulate(stopAndRead(), "news", List.of(100, 400), List.of("LRU"));
+
+        assertEquals(1.0, missRatios.get("LRU")[0]);
+        assertEquals(1.0 / ROUNDS, missRatios.get("LRU")[1], 1e-9);
+    }
+
+    @Test
+    void missAgainAfterClear() throws IOException {
+        readAllKeys();
+        readAllKeys();
+        recorder.record("news", TraceOperation.CLEAR, null);
+        readAllKeys();
+
+        Map<String, double[]> missRatios = CacheSimulator.simulate(stopAndRead(), "news", List.of(400), List.of("LRU", "S3FIFO"));
+
+        assertEquals(2.0 / 3, missRatios.get("LRU")[0], 1e-9);
+        assertEquals(2.0 / 3, missRatios.get("S3FIFO")[0], 1e-9);
+    }
+
+    @Test
+    void rejectUnknownAlgorithm() throws IOException {
+        readAllKeys();
+        CacheTrace trace = stopAndRead();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> CacheSimulator.simulate(trace, "news", List.of(100), List.of("RANDOM")));
+    }
+
+    private void readAllKeys() {
+        for (long key = 0; key < KEYS; key++) {
+            recorder.record("news", TraceOperation.GET, key);
+        }
+    }
+
+    private CacheTrace stopAndRead() throws IOException {
+        recorder.stop();
+        return CacheTrace.read(file);
+    }
+}
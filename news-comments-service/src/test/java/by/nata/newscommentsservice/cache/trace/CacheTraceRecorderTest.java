@@ -0,0 +1,86 @@
+package by.nata.newscommentsservice.cache.trace;
+
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheTraceRecorderTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private CacheProperties cacheProperties;
+    private Path file;
+
+    @BeforeEach
+    void setUp() {
+        file = tempDir.resolve("cache.trace");
+        cacheProperties = new CacheProperties();
+        cacheProperties.getTrace().setEnabled(true);
+        cacheProperties.getTrace().setFile(file.toString());
+        cacheProperties.getTrace().setSampleRate(1.0);
+    }
+
+    @Test
+    void recordAccessesInOrderPerCache() throws IOException {
+        CacheTraceRecorder recorder = new CacheTraceRecorder(cacheProperties);
+        recorder.start();
+        recorder.record("news", TraceOperation.GET, 1L);
+        recorder.record("comments", TraceOperation.PUT, 7L);
+        recorder.record("news", TraceOperation.DELETE, 1L);
+        recorder.record("news", TraceOperation.CLEAR, null);
+        recorder.stop();
+
+        CacheTrace trace = CacheTrace.read(file);
+        List<String> news = new ArrayList<>();
+        trace.replay("news", (operation, keyId) -> news.add(operation + ":" + keyId));
+
+        assertEquals(List.of("news", "comments"), trace.getCacheNames());
+        assertEquals(List.of("GET:1", "DELETE:1", "CLEAR:0"), news);
+        assertEquals(1, trace.count("comments", TraceOperation.PUT));
+        assertEquals(1.0, trace.getSampleRate());
+    }
+
+    @Test
+    void recordAllAccessesOfSampledKeysOnly() throws IOException {
+        cacheProperties.getTrace().setSampleRate(0.25);
+        CacheTraceRecorder recorder = new CacheTraceRecorder(cacheProperties);
+        recorder.start();
+        for (long key = 0; key < 4_000; key++) {
+            recorder.record("news", TraceOperation.GET, key);
+            recorder.record("news", TraceOperation.GET, key);
+        }
+        recorder.stop();
+
+        CacheTrace trace = CacheTrace.read(file);
+        List<Long> keys = new ArrayList<>();
+        trace.replay("news", (operation, keyId) -> keys.add(keyId));
+
+        assertEquals(0.25, trace.getSampleRate(), 0.001);
+        assertTrue(keys.size() > 1_600 && keys.size() < 2_400, "recorded " + keys.size());
+        assertEquals(keys.size(), 2 * keys.stream().distinct().count());
+    }
+
+    @Test
+    void recordNothingWhenDisabled() {
+        cacheProperties.getTrace().setEnabled(false);
+        CacheTraceRecorder recorder = new CacheTraceRecorder(cacheProperties);
+        recorder.start();
+        recorder.record("news", TraceOperation.GET, 1L);
+        recorder.stop();
+
+        assertFalse(recorder.isRunning());
+        assertFalse(Files.exists(file));
+    }
+}
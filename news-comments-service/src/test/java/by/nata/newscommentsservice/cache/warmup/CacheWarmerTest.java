@@ -0,0 +1,122 @@
+package by.nata.newscommentsservice.cache.warmup;
+
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import by.nata.newscommentsservice.cache.hotkey.HotKeyDetector;
+import by.nata.newscommentsservice.cache.hotkey.HotKeyRegistry;
+import by.nata.newscommentsservice.database.repository.NewsRepository;
+import by.nata.newscommentsservice.service.api.INewsService;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmerTest {
+
+    @Mock
+    private INewsService newsService;
+
+    @Mock
+    private NewsRepository newsRepository;
+
+    @TempDir
+    private Path tempDir;
+
+    private CacheProperties cacheProperties;
+
+    @BeforeEach
+    void setUp() {
+        cacheProperties = new CacheProperties();
+        cacheProperties.getWarmup().setNewestCount(3);
+        cacheProperties.getWarmup().setBatchSize(2);
+    }
+
+    @Test
+    void loadNewestAndHotNewsOnce() throws IOException {
+        Path hotKeys = Files.writeString(tempDir.resolve("hot-keys.txt"), "# hot news\n2\n\n7\ninvalid\n");
+        cacheProperties.getWarmup().setHotKeysFile(hotKeys.toString());
+        when(newsRepository.findLatestIds(PageRequest.of(0, 3))).thenReturn(List.of(3L, 2L, 1L));
+
+        int loaded = new CacheWarmer(newsService, newsRepository, cacheProperties).warmUp();
+
+        assertEquals(4, loaded);
+        for (Long id : List.of(1L, 2L, 3L, 7L)) {
+            verify(newsService, times(1)).getNewsById(id);
+        }
+    }
+
+    @Test
+    void loadHotNewsSavedOnShutdown() {
+        cacheProperties.getWarmup().setNewestCount(0);
+        cacheProperties.getWarmup().setHotKeysFile(tempDir.resolve("hot-keys.txt").toString());
+        cacheProperties.getHotKeys().setCapacity(8);
+        cacheProperties.getHotKeys().setSampleRate(1.0);
+        cacheProperties.getHotKeys().setMinShare(0.5);
+        HotKeyRegistry hotKeyRegistry = new HotKeyRegistry(cacheProperties);
+        HotKeyDetector detector = hotKeyRegistry.detector(CacheWarmer.CACHE_NAME);
+        for (long key = 1; key <= 20; key++) {
+            detector.record(key % 4 == 0 ? key : 7L);
+        }
+        hotKeyRegistry.start();
+        hotKeyRegistry.stop();
+
+        int loaded = new CacheWarmer(newsService, newsRepository, cacheProperties).warmUp();
+
+        assertEquals(1, loaded);
+        verify(newsService, times(1)).getNewsById(7L);
+    }
+
+    @Test
+    void keepHotKeyFileWhenNoHotKeysWereDetected() throws IOException {
+        Path hotKeys = Files.writeString(tempDir.resolve("hot-keys.txt"), "2\n");
+        cacheProperties.getWarmup().setHotKeysFile(hotKeys.toString());
+        HotKeyRegistry hotKeyRegistry = new HotKeyRegistry(cacheProperties);
+        hotKeyRegistry.start();
+
+        hotKeyRegistry.stop();
+
+        assertEquals("2\n", Files.readString(hotKeys));
+    }
+
+    @Test
+    void skipNewsThatCannotBeLoaded() {
+        when(newsRepository.findLatestIds(PageRequest.of(0, 3))).thenReturn(List.of(1L, 2L));
+        when(newsService.getNewsById(1L)).thenThrow(new EntityNotFoundException());
+
+        int loaded = new CacheWarmer(newsService, newsRepository, cacheProperties).warmUp();
+
+        assertEquals(1, loaded);
+    }
+
+    @Test
+    void stopWaitingWhenWarmUpTimesOut() {
+        cacheProperties.getWarmup().setTimeout(Duration.ofMillis(50));
+        when(newsRepository.findLatestIds(PageRequest.of(0, 3))).thenReturn(List.of(1L));
+        when(newsService.getNewsById(1L)).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return null;
+        });
+
+        long start = System.nanoTime();
+        int loaded = new CacheWarmer(newsService, newsRepository, cacheProperties).warmUp();
+
+        assertEquals(0, loaded);
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0);
+    }
+}
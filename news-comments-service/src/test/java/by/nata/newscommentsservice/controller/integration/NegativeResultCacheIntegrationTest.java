@@ -0,0 +1,90 @@
+package by.nata.newscommentsservice.controller.integration;
+
+import by.nata.newscommentsservice.security.dto.AppUserResponseDto;
+import by.nata.newscommentsservice.service.dto.NewsRequestDto;
+import by.nata.newscommentsservice.service.dto.NewsResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlGroup;
+
+import static by.nata.newscommentsservice.controller.integration.NewsControllerIntegrationTest.TOKEN;
+import static by.nata.newscommentsservice.util.NewsTestData.JOURNALIST;
+import static by.nata.newscommentsservice.util.NewsTestData.ROLE_JOURNALIST;
+import static by.nata.newscommentsservice.util.NewsTestData.URL_TEMPLATE_SAVE;
+import static by.nata.newscommentsservice.util.NewsTestData.URL_TEMPLATE_UPDATE_GET_DELETE;
+import static by.nata.newscommentsservice.util.NewsTestData.createNewsRequestDtoIntegr;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "cache.negative.enabled=true")
+@DirtiesContext
+@WireMockTest(httpPort = 8180)
+@SqlGroup({
+        @Sql(scripts = "classpath:testdata/clear_news_test_data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD),
+        @Sql(scripts = "classpath:testdata/clear_news_test_data.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)})
+class NegativeResultCacheIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void shouldReturn200WhenNewsIsCreatedAfterItWasNotFound() throws JsonProcessingException {
+        wireMockResponse(new AppUserResponseDto(JOURNALIST, ROLE_JOURNALIST));
+        Long firstId = saveNews().getBody().id();
+        Long nextId = firstId + 1;
+
+        ResponseEntity<String> notFound = restTemplate.getForEntity(URL_TEMPLATE_UPDATE_GET_DELETE, String.class, nextId);
+        assertEquals(HttpStatus.NOT_FOUND, notFound.getStatusCode());
+
+        ResponseEntity<NewsResponseDto> saved = saveNews();
+        assertEquals(nextId, saved.getBody().id());
+
+        ResponseEntity<NewsResponseDto> found = restTemplate.getForEntity(URL_TEMPLATE_UPDATE_GET_DELETE,
+                NewsResponseDto.class, nextId);
+        assertEquals(HttpStatus.OK, found.getStatusCode());
+        assertEquals(saved.getBody(), found.getBody());
+    }
+
+    private ResponseEntity<NewsResponseDto> saveNews() {
+        NewsRequestDto newsRequestDto = createNewsRequestDtoIntegr();
+        ResponseEntity<NewsResponseDto> responseEntity = restTemplate.exchange(
+                URL_TEMPLATE_SAVE,
+                HttpMethod.POST,
+                new HttpEntity<>(newsRequestDto, getHttpHeaders()),
+                NewsResponseDto.class);
+        assertEquals(HttpStatus.CREATED, responseEntity.getStatusCode());
+        return responseEntity;
+    }
+
+    private static HttpHeaders getHttpHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(TOKEN);
+        return headers;
+    }
+
+    private void wireMockResponse(AppUserResponseDto user) throws JsonProcessingException {
+        String body = objectMapper.writeValueAsString(user);
+        WireMock.stubFor(WireMock.get(WireMock.urlEqualTo("/api/v1/app/users/validate"))
+                .willReturn(WireMock.aResponse().withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE).withBody(body)));
+    }
+}
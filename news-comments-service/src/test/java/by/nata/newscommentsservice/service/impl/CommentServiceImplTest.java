@@ -1,5 +1,14 @@
 package by.nata.newscommentsservice.service.impl;
 
+import by.nata.newscommentsservice.cache.bulk.BulkCache;
+import by.nata.newscommentsservice.cache.bulk.NoOpBulkCache;
+import by.nata.newscommentsservice.cache.config.CacheFactory;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import by.nata.newscommentsservice.cache.invalidation.NoOpCacheInvalidationBus;
+import by.nata.newscommentsservice.cache.negative.NegativeResultCache;
+import by.nata.newscommentsservice.cache.query.QueryResultCache;
+import by.nata.newscommentsservice.cache.stats.CacheStatsRegistry;
+import by.nata.newscommentsservice.cache.tag.CacheTags;
 import by.nata.newscommentsservice.database.model.Comment;
 import by.nata.newscommentsservice.database.model.News;
 import by.nata.newscommentsservice.database.repository.CommentRepository;
@@ -8,6 +17,7 @@ import by.nata.newscommentsservice.service.dto.CommentRequestDto;
 import by.nata.newscommentsservice.service.dto.CommentResponseDto;
 import by.nata.newscommentsservice.service.mapper.CommentMapper;
 import by.nata.newscommentsservice.util.CommentTestData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -16,7 +26,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -24,6 +36,7 @@ import org.springframework.data.jpa.domain.Specification;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -32,6 +45,8 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -49,6 +64,20 @@ class CommentServiceImplTest {
     @Mock
     private CommentMapper commentMapper;
 
+    @Mock
+    private NegativeResultCache negativeResultCache;
+
+    @Spy
+    private BulkCache bulkCache = new NoOpBulkCache();
+
+    @Spy
+    private QueryResultCache queryResultCache = new QueryResultCache(new CacheProperties(),
+            new CacheFactory(mock(ObjectProvider.class), new CacheProperties(),
+                    new CacheStatsRegistry(new SimpleMeterRegistry())), new NoOpCacheInvalidationBus());
+
+    @Mock
+    private CacheTags cacheTags;
+
     @Test
     void saveCommentWhenInvokeSave() {
         CommentRequestDto commentRequestDto = CommentTestData.createCommentRequestDto().build();
@@ -133,17 +162,40 @@ class CommentServiceImplTest {
         Long newsId = 1L;
         int pageNumber = 1;
         int pageSize = 10;
-        Page<Comment> commentPage = new PageImpl<>(CommentTestData.createCommentList());
+        List<Comment> comments = CommentTestData.createCommentList();
+        List<CommentResponseDto> commentDtos = CommentTestData.createCommentResponseDtoList();
 
-        when(commentRepository.findByNewsIdOrderByTimeDesc(newsId, PageRequest.of(pageNumber, pageSize))).thenReturn(commentPage);
+        when(commentRepository.findIdsByNewsIdOrderByTimeDesc(newsId, PageRequest.of(pageNumber, pageSize))).thenReturn(List.of(2L, 1L));
+        when(commentRepository.findAllById(List.of(2L, 1L))).thenReturn(comments);
+        when(commentMapper.entityToDto(comments.get(0))).thenReturn(commentDtos.get(0));
+        when(commentMapper.entityToDto(comments.get(1))).thenReturn(commentDtos.get(1));
 
         List<CommentResponseDto> commentResponseDtoList = commentService.findByNewsIdOrderByTimeDesc(newsId, PageRequest.of(pageNumber, pageSize));
 
         Assertions.assertThat(commentResponseDtoList)
-                .isNotEmpty()
-                .hasSize(commentPage.getNumberOfElements());
+                .containsExactly(commentDtos.get(1), commentDtos.get(0));
+
+        verify(commentRepository, times(1)).findIdsByNewsIdOrderByTimeDesc(newsId, PageRequest.of(pageNumber, pageSize));
+        verify(bulkCache, times(1)).putAll(CommentServiceImpl.COMMENT_CACHE, Map.of(1L, commentDtos.get(0), 2L, commentDtos.get(1)));
+    }
+
+    @Test
+    void findByNewsIdOrderByTimeDescLoadsOnlyCommentsMissingFromCache() {
+        Long newsId = 1L;
+        List<Comment> comments = CommentTestData.createCommentList();
+        List<CommentResponseDto> commentDtos = CommentTestData.createCommentResponseDtoList();
+
+        when(commentRepository.findIdsByNewsIdOrderByTimeDesc(newsId, PageRequest.of(0, 10))).thenReturn(List.of(2L, 1L));
+        doReturn(Map.of(1L, commentDtos.get(0))).when(bulkCache).getAll(CommentServiceImpl.COMMENT_CACHE, List.of(2L, 1L));
+        when(commentRepository.findAllById(List.of(2L))).thenReturn(List.of(comments.get(1)));
+        when(commentMapper.entityToDto(comments.get(1))).thenReturn(commentDtos.get(1));
+
+        List<CommentResponseDto> commentResponseDtoList = commentService.findByNewsIdOrderByTimeDesc(newsId, PageRequest.of(0, 10));
 
-        verify(commentRepository, times(1)).findByNewsIdOrderByTimeDesc(newsId, PageRequest.of(pageNumber, pageSize));
+        Assertions.assertThat(commentResponseDtoList)
+                .containsExactly(commentDtos.get(1), commentDtos.get(0));
+        verify(commentRepository, times(1)).findAllById(List.of(2L));
+        verify(bulkCache, times(1)).putAll(CommentServiceImpl.COMMENT_CACHE, Map.of(2L, commentDtos.get(1)));
     }
 
     @Test
@@ -173,6 +225,17 @@ class CommentServiceImplTest {
         verify(commentRepository).delete(comment);
     }
 
+    @Test
+    void deleteCommentEvictsViewsOfItsNews() {
+        Comment comment = Comment.builder().withId(COMMENT_ID).withNews(News.builder().withId(1L).build()).build();
+
+        when(commentRepository.findById(COMMENT_ID)).thenReturn(Optional.of(comment));
+
+        commentService.delete(COMMENT_ID);
+
+        verify(cacheTags).invalidate(CacheTags.newsView(1L));
+    }
+
     @Test
     void deleteCommentNotFound() {
         when(commentRepository.findById(COMMENT_ID)).thenReturn(Optional.empty());
@@ -244,5 +307,16 @@ class CommentServiceImplTest {
         boolean result = commentService.isCommentExist(COMMENT_ID);
 
         assertFalse(result);
+        verify(negativeResultCache).recordMissing(NegativeResultCache.COMMENT, COMMENT_ID);
+    }
+
+    @Test
+    void isCommentExistWhenCommentIsKnownMissingDoesNotQueryRepository() {
+        when(negativeResultCache.isKnownMissing(NegativeResultCache.COMMENT, COMMENT_ID)).thenReturn(true);
+
+        boolean result = commentService.isCommentExist(COMMENT_ID);
+
+        assertFalse(result);
+        verify(commentRepository, times(0)).existsById(COMMENT_ID);
     }
 }
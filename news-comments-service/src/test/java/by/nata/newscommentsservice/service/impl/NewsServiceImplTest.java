@@ -1,5 +1,12 @@
 package by.nata.newscommentsservice.service.impl;
 
+import by.nata.newscommentsservice.cache.config.CacheFactory;
+import by.nata.newscommentsservice.cache.config.CacheProperties;
+import by.nata.newscommentsservice.cache.invalidation.NoOpCacheInvalidationBus;
+import by.nata.newscommentsservice.cache.negative.NegativeResultCache;
+import by.nata.newscommentsservice.cache.query.QueryResultCache;
+import by.nata.newscommentsservice.cache.stats.CacheStatsRegistry;
+import by.nata.newscommentsservice.cache.tag.CacheTags;
 import by.nata.newscommentsservice.database.model.News;
 import by.nata.newscommentsservice.database.repository.NewsRepository;
 import by.nata.newscommentsservice.database.util.NewsSpecification;
@@ -10,6 +17,7 @@ import by.nata.newscommentsservice.service.dto.NewsWithCommentsResponseDto;
 import by.nata.newscommentsservice.service.mapper.NewsMapper;
 import by.nata.newscommentsservice.util.CommentTestData;
 import by.nata.newscommentsservice.util.NewsTestData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,7 +25,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -40,6 +50,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -59,6 +70,17 @@ class NewsServiceImplTest {
     @Mock
     private CommentServiceImpl commentService;
 
+    @Mock
+    private NegativeResultCache negativeResultCache;
+
+    @Spy
+    private QueryResultCache queryResultCache = new QueryResultCache(new CacheProperties(),
+            new CacheFactory(mock(ObjectProvider.class), new CacheProperties(),
+                    new CacheStatsRegistry(new SimpleMeterRegistry())), new NoOpCacheInvalidationBus());
+
+    @Mock
+    private CacheTags cacheTags;
+
     private static final Long NEWS_ID = 1L;
 
     @Test
@@ -166,6 +188,27 @@ class NewsServiceImplTest {
         verify(newsMapper, times(expectedResponse.size())).entityToDto(any(News.class));
     }
 
+    @Test
+    void getAllNewsFromCacheUntilNewsIsSaved() {
+        Pageable pageable = PageRequest.of(0, 10);
+        List<News> newsList = createNewsList();
+        NewsRequestDto requestDto = NewsTestData.createNewsRequestDto().build();
+        News news = NewsTestData.createNews().build();
+
+        when(newsRepository.findAll(pageable)).thenReturn(new PageImpl<>(newsList, pageable, newsList.size()));
+        when(newsMapper.dtoToEntity(requestDto)).thenReturn(news);
+        when(newsRepository.save(news)).thenReturn(news);
+        when(newsMapper.entityToDto(any(News.class))).thenReturn(NewsTestData.createNewsResponseDto().build());
+
+        newsService.getAllNews(pageable);
+        newsService.getAllNews(PageRequest.of(0, 10));
+        verify(newsRepository, times(1)).findAll(pageable);
+
+        newsService.save(requestDto);
+        newsService.getAllNews(pageable);
+        verify(newsRepository, times(2)).findAll(pageable);
+    }
+
     @Test
     void getNewsWithComments() {
         SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
@@ -200,6 +243,17 @@ class NewsServiceImplTest {
         verify(newsRepository).delete(news);
     }
 
+    @Test
+    void deleteNewsEvictsEntriesTaggedWithNews() {
+        News news = News.builder().withId(NEWS_ID).build();
+
+        when(newsRepository.findById(NEWS_ID)).thenReturn(Optional.of(news));
+
+        newsService.delete(NEWS_ID);
+
+        verify(cacheTags).invalidate(CacheTags.news(NEWS_ID));
+    }
+
     @Test
     void deleteNewsNotFound() {
         when(newsRepository.findById(NEWS_ID)).thenReturn(Optional.empty());